@@ -13,3 +13,16 @@
 * See the License for the specific language governing permissions and
 * limitations under the License.
 */
+
+alter table bus_objct_data add column ltst_vld_vrsn_fl char(1);
+
+alter table bus_objct_data add constraint bus_objct_data_ck2 check (ltst_vld_vrsn_fl in ('Y', 'N'));
+
+create unique index bus_objct_data_ak6 on bus_objct_data (bus_objct_frmt_id, prtn_value_tx, coalesce(prtn_value_2_tx,''), coalesce(prtn_value_3_tx,''), coalesce(prtn_value_4_tx,''), coalesce(prtn_value_5_tx,'')) where ltst_vld_vrsn_fl = 'Y';
+
+create index bus_objct_data_ix6 on bus_objct_data (updt_ts);
+
+alter table strge_unit add column strge_plcy_trnsn_chkpt_tx varchar(1024);
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_METRICS_GET', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
@@ -649,12 +649,16 @@ public class RestControllerProcessor
     {
         log.debug("Processing REST method return value \"" + returnType.getName() + "\".");
 
-        // Add the class name to the list of classes which we will create an example for.
-        exampleClassNames.add(returnType.getSimpleName());
+        // Add the success response. Methods that write the response body themselves return void and have no response schema.
+        Response response = new Response().description(returnDescription == null ? "Success" : returnDescription);
+        if (!void.class.equals(returnType))
+        {
+            // Add the class name to the list of classes which we will create an example for.
+            exampleClassNames.add(returnType.getSimpleName());
 
-        // Add the success response
-        operation.response(200, new Response().description(returnDescription == null ? "Success" : returnDescription)
-            .schema(new RefProperty(getXmlType(returnType).name().trim())));
+            response.schema(new RefProperty(getXmlType(returnType).name().trim()));
+        }
+        operation.response(200, response);
 
         // If we have an error class, add that as the default response.
         if (modelErrorClass != null)
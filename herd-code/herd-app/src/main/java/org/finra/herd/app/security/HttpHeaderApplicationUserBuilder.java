@@ -15,7 +15,9 @@
 */
 package org.finra.herd.app.security;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -23,12 +25,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.persistence.PersistenceException;
 import javax.servlet.http.HttpServletRequest;
 
+import com.codahale.metrics.MetricRegistry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
@@ -50,12 +55,25 @@ public class HttpHeaderApplicationUserBuilder implements ApplicationUserBuilder
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationUserBuilder.class);
 
+    /**
+     * The name of the counter that tracks the number of role header values whose roles were served from the cache.
+     */
+    public static final String ROLE_CACHE_HITS_METRIC_NAME = MetricRegistry.name("httpHeaderRoleCache", "hits");
+
+    /**
+     * The name of the counter that tracks the number of role header values parsed while the cache is enabled.
+     */
+    public static final String ROLE_CACHE_MISSES_METRIC_NAME = MetricRegistry.name("httpHeaderRoleCache", "misses");
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
     @Autowired
     private HerdStringHelper herdStringHelper;
 
+    @Autowired
+    private MetricRegistry metricRegistry;
+
     @Autowired
     private UserNamespaceAuthorizationHelper userNamespaceAuthorizationHelper;
 
@@ -81,6 +99,16 @@ public class HttpHeaderApplicationUserBuilder implements ApplicationUserBuilder
     // The array of all calendar patterns
     public static final String[] CALENDAR_PATTERNS = {CALENDAR_PATTERN_PWD, CALENDAR_PATTERN_SESSION, CALENDAR_PATTERN_SESSION_TZ};
 
+    /**
+     * The compiled role regex patterns keyed by the regex, so the configured regexes are not compiled again on every request.
+     */
+    private final ConcurrentMap<String, Pattern> rolePatterns = new ConcurrentHashMap<>();
+
+    /**
+     * The roles parsed from the single role header keyed by the role regex, the role regex group name, and the role header value.
+     */
+    private final ConcurrentMap<List<String>, Set<String>> parsedRolesCache = new ConcurrentHashMap<>();
+
     @Override
     public ApplicationUser build(HttpServletRequest request)
     {
@@ -305,43 +333,85 @@ public class HttpHeaderApplicationUserBuilder implements ApplicationUserBuilder
         // Do nothing if regex is not configured
         if (StringUtils.isNotBlank(regex))
         {
-            // Compile the regex
-            Pattern pattern = Pattern.compile(regex);
-
-            // Create a matcher from the regex and the given value
-            Matcher matcher = pattern.matcher(value);
-
             String roleRegexGroupName = getHttpHeaderRoleRegexGroupName();
 
-            // Use regex group name if group name is configured
-            // Do this outside the loop below to avoid calling isNotBlank() repeatedly
-            boolean useRoleRegexGroupName = StringUtils.isNotBlank(roleRegexGroupName);
-            while (matcher.find())
+            // Parse the roles on every request if the role cache is not enabled.
+            int roleCacheMaxSize = configurationHelper.getProperty(ConfigurationValue.SECURITY_HTTP_HEADER_ROLE_CACHE_MAX_SIZE, Integer.class);
+            if (roleCacheMaxSize <= 0)
             {
-                String role;
+                roles.addAll(parseRoles(value, regex, roleRegexGroupName));
+                return;
+            }
 
-                // Decide whether to use group or not
-                if (useRoleRegexGroupName)
-                {
-                    // Extract role name based on the regex group name
-                    role = matcher.group(roleRegexGroupName);
-                }
-                else
-                {
-                    // Use entire match as the role
-                    role = matcher.group();
-                }
+            // The parsed roles only depend on the regex configuration and the header value, so they never get stale.
+            List<String> cacheKey = Arrays.asList(regex, roleRegexGroupName, value);
+            Set<String> parsedRoles = parsedRolesCache.get(cacheKey);
+            if (parsedRoles != null)
+            {
+                metricRegistry.counter(ROLE_CACHE_HITS_METRIC_NAME).inc();
+            }
+            else
+            {
+                metricRegistry.counter(ROLE_CACHE_MISSES_METRIC_NAME).inc();
+                parsedRoles = Collections.unmodifiableSet(parseRoles(value, regex, roleRegexGroupName));
 
-                // If a role was matched
-                if (role != null)
+                // Keep the cache bounded by not caching any new header values once it is full.
+                if (parsedRolesCache.size() < roleCacheMaxSize)
                 {
-                    // Add the role to the result
-                    roles.add(role);
+                    parsedRolesCache.put(cacheKey, parsedRoles);
                 }
             }
+
+            roles.addAll(parsedRoles);
         }
     }
 
+    /**
+     * Parses the given header value for roles using the specified regex and regex group name.
+     *
+     * @param value - the string value to parse
+     * @param regex - the regex to match the roles with
+     * @param roleRegexGroupName - the regex group name of the role, may be blank in which case the entire match is used as the role
+     *
+     * @return the set of parsed roles
+     */
+    private Set<String> parseRoles(String value, String regex, String roleRegexGroupName)
+    {
+        Set<String> roles = new HashSet<>();
+
+        // Create a matcher from the regex and the given value
+        Matcher matcher = getRolePattern(regex).matcher(value);
+
+        // Use regex group name if group name is configured
+        // Do this outside the loop below to avoid calling isNotBlank() repeatedly
+        boolean useRoleRegexGroupName = StringUtils.isNotBlank(roleRegexGroupName);
+        while (matcher.find())
+        {
+            String role;
+
+            // Decide whether to use group or not
+            if (useRoleRegexGroupName)
+            {
+                // Extract role name based on the regex group name
+                role = matcher.group(roleRegexGroupName);
+            }
+            else
+            {
+                // Use entire match as the role
+                role = matcher.group();
+            }
+
+            // If a role was matched
+            if (role != null)
+            {
+                // Add the role to the result
+                roles.add(role);
+            }
+        }
+
+        return roles;
+    }
+
     /**
      * <p> Filters all http request header with configured header value, then parses matched headers to the given collection of roles with multiple headers
      * regex. </p> <p> The headers value are filtered with the configured value retrieved from {@link #getHttpHeaderRoleValue()} ()}. </p> <p> If no filter
@@ -363,8 +433,8 @@ public class HttpHeaderApplicationUserBuilder implements ApplicationUserBuilder
         // Do nothing if regex is not configured
         if (StringUtils.isNotBlank(httpHeaderNameRoleRegex))
         {
-            // Compile the regex
-            Pattern pattern = Pattern.compile(httpHeaderNameRoleRegex);
+            // Get the compiled regex
+            Pattern pattern = getRolePattern(httpHeaderNameRoleRegex);
             for (Map.Entry<String, String> headerEntry : httpHeaders.entrySet())
             {
                 if (StringUtils.isEmpty(httpHeaderRoleValue) || httpHeaderRoleValue.equals(headerEntry.getValue()))
@@ -381,6 +451,18 @@ public class HttpHeaderApplicationUserBuilder implements ApplicationUserBuilder
         }
     }
 
+    /**
+     * Gets the compiled pattern for the specified role regex. The regex is only compiled the first time it is used.
+     *
+     * @param regex - the regex
+     *
+     * @return the compiled pattern
+     */
+    private Pattern getRolePattern(String regex)
+    {
+        return rolePatterns.computeIfAbsent(regex, Pattern::compile);
+    }
+
     /**
      * Gets an HTTP header string value from the map of headers for the specified header name. If the header value is blank, null will be returned in its place.
      * The header name is case-insensitive, but will be converted to lower-case before retrieving the header value. The returned header value is trimmed.
@@ -27,8 +27,10 @@ import java.util.Set;
 import javax.persistence.PersistenceException;
 import javax.servlet.http.HttpServletRequest;
 
+import com.codahale.metrics.MetricRegistry;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockFilterConfig;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -52,6 +54,9 @@ public class HttpHeaderAuthenticationFilterTest extends AbstractAppTest
 {
     private final String[] TEST_FUNCTIONS = {"test_function_1", "test_function_2"};
 
+    @Autowired
+    private MetricRegistry metricRegistry;
+
     @Test
     public void testHttpHeaderAuthenticationFilter() throws Exception
     {
@@ -411,6 +416,46 @@ public class HttpHeaderAuthenticationFilterTest extends AbstractAppTest
         }
     }
 
+    @Test
+    public void testHttpHeaderAuthenticationFilterMultipleRolesRoleCacheEnabled() throws Exception
+    {
+        Map<String, Object> overrideMap = getDefaultSecurityEnvironmentVariables();
+        overrideMap.put(ConfigurationValue.SECURITY_HTTP_HEADER_ROLE_CACHE_MAX_SIZE.getKey(), "10");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            long initialCacheHits = metricRegistry.counter(HttpHeaderApplicationUserBuilder.ROLE_CACHE_HITS_METRIC_NAME).getCount();
+
+            Set<String> expectedRoles = new HashSet<>();
+            expectedRoles.add("testRole3");
+            expectedRoles.add("testRole4");
+
+            httpHeaderAuthenticationFilter.init(new MockFilterConfig());
+
+            // Authenticate the same user twice, so the roles parsed from the same role header value get served from the cache the second time.
+            for (int i = 0; i < 2; i++)
+            {
+                MockHttpServletRequest request = getRequestWithHeaders(USER_ID, SHORT_USER_ID, "testFirstName", "testLastName", "testEmail",
+                    "testRole3,testRole4", "Wed, 11 Mar 2015 10:24:09");
+
+                // Invalidate user session if exists.
+                invalidateApplicationUser(request);
+
+                httpHeaderAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+                validateHttpHeaderApplicationUser(USER_ID, "testFirstName", "testLastName", "testEmail", expectedRoles, "Wed, 11 Mar 2015 10:24:09", null,
+                    null);
+            }
+
+            assertEquals(initialCacheHits + 1, metricRegistry.counter(HttpHeaderApplicationUserBuilder.ROLE_CACHE_HITS_METRIC_NAME).getCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testHttpHeaderAuthenticationFilterEmptyRoleRegex() throws Exception
     {
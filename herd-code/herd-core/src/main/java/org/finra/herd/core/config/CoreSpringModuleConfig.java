@@ -18,6 +18,7 @@ package org.finra.herd.core.config;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.codahale.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -140,6 +141,17 @@ public class CoreSpringModuleConfig implements AsyncConfigurer
         return new SimpleAsyncUncaughtExceptionHandler();
     }
 
+    /**
+     * Gets the metric registry that holds all application metrics (e.g. the service and DAO method timers) exposed by the metrics endpoint.
+     *
+     * @return the metric registry.
+     */
+    @Bean
+    public MetricRegistry metricRegistry()
+    {
+        return new MetricRegistry();
+    }
+
     @Bean
     public SpelExpressionParser spelExpressionParser()
     {
@@ -0,0 +1,89 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core.helper;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A helper class for recording method level metrics.
+ */
+@Component
+public class MetricsHelper
+{
+    /**
+     * The suffix of the counter that tracks the number of failed method invocations.
+     */
+    public static final String ERRORS_METRIC_NAME_SUFFIX = "errors";
+
+    /**
+     * The suffix of the counter that tracks the number of method invocations currently in progress.
+     */
+    public static final String IN_FLIGHT_METRIC_NAME_SUFFIX = "inFlight";
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    /**
+     * Gets the base metric name for the method of the specified join point. The name is built as "[prefix].[target class simple name].[method name]".
+     *
+     * @param pjp the proceeding join point
+     * @param metricNamePrefix the metric name prefix
+     *
+     * @return the metric name
+     */
+    public String getMetricName(ProceedingJoinPoint pjp, String metricNamePrefix)
+    {
+        return MetricRegistry.name(metricNamePrefix, pjp.getTarget().getClass().getSimpleName(), pjp.getSignature().getName());
+    }
+
+    /**
+     * Proceeds to the join point while recording the method latency timer, the error counter, and the in-flight counter.
+     *
+     * @param pjp the proceeding join point
+     * @param metricNamePrefix the metric name prefix
+     *
+     * @return the return value of the method being invoked
+     * @throws Throwable if there were any problems executing the method
+     */
+    public Object proceedAndRecordMetrics(ProceedingJoinPoint pjp, String metricNamePrefix) throws Throwable
+    {
+        String metricName = getMetricName(pjp, metricNamePrefix);
+        Counter inFlightCounter = metricRegistry.counter(MetricRegistry.name(metricName, IN_FLIGHT_METRIC_NAME_SUFFIX));
+
+        inFlightCounter.inc();
+        Timer.Context timerContext = metricRegistry.timer(metricName).time();
+        try
+        {
+            // Proceed to the join point (i.e. call the method and let it return).
+            return pjp.proceed();
+        }
+        catch (Throwable t)
+        {
+            metricRegistry.counter(MetricRegistry.name(metricName, ERRORS_METRIC_NAME_SUFFIX)).inc();
+            throw t;
+        }
+        finally
+        {
+            timerContext.stop();
+            inFlightCounter.dec();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.codahale.metrics.MetricRegistry;
+import org.aspectj.lang.Signature;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.AbstractCoreTest;
+import org.finra.herd.core.MockMethodSignature;
+import org.finra.herd.core.MockProceedingJoinPoint;
+
+/**
+ * This class tests functionality within the MetricsHelper class.
+ */
+public class MetricsHelperTest extends AbstractCoreTest
+{
+    private static final String METRIC_NAME_PREFIX = "test";
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    @Autowired
+    private MetricsHelper metricsHelper;
+
+    @Test
+    public void testGetMetricName()
+    {
+        assertEquals("test.MockProceedingJoinPointWithName.testMethod",
+            metricsHelper.getMetricName(new MockProceedingJoinPointWithName(), METRIC_NAME_PREFIX));
+    }
+
+    @Test
+    public void testProceedAndRecordMetrics() throws Throwable
+    {
+        MockProceedingJoinPointWithName proceedingJoinPoint = new MockProceedingJoinPointWithName();
+        String metricName = metricsHelper.getMetricName(proceedingJoinPoint, METRIC_NAME_PREFIX);
+        long timerCount = metricRegistry.timer(metricName).getCount();
+        long errorCount = metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount();
+
+        // Invoke the method and validate the returned value.
+        assertSame(proceedingJoinPoint, metricsHelper.proceedAndRecordMetrics(proceedingJoinPoint, METRIC_NAME_PREFIX));
+
+        // Validate the recorded metrics.
+        assertEquals(timerCount + 1, metricRegistry.timer(metricName).getCount());
+        assertEquals(errorCount, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount());
+        assertEquals(0, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.IN_FLIGHT_METRIC_NAME_SUFFIX)).getCount());
+    }
+
+    @Test
+    public void testProceedAndRecordMetricsMethodThrowsException() throws Throwable
+    {
+        MockProceedingJoinPointThrowingException proceedingJoinPoint = new MockProceedingJoinPointThrowingException();
+        String metricName = metricsHelper.getMetricName(proceedingJoinPoint, METRIC_NAME_PREFIX);
+        long timerCount = metricRegistry.timer(metricName).getCount();
+        long errorCount = metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount();
+
+        // Invoke the method and validate that the original exception is rethrown.
+        try
+        {
+            metricsHelper.proceedAndRecordMetrics(proceedingJoinPoint, METRIC_NAME_PREFIX);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(STRING_VALUE, e.getMessage());
+        }
+
+        // Validate the recorded metrics.
+        assertEquals(timerCount + 1, metricRegistry.timer(metricName).getCount());
+        assertEquals(errorCount + 1, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount());
+        assertEquals(0, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.IN_FLIGHT_METRIC_NAME_SUFFIX)).getCount());
+    }
+
+    /**
+     * A mock proceeding join point that returns a signature with a fixed method name.
+     */
+    public class MockProceedingJoinPointWithName extends MockProceedingJoinPoint
+    {
+        @Override
+        public Signature getSignature()
+        {
+            return new MockMethodSignature()
+            {
+                @Override
+                public String getName()
+                {
+                    return "testMethod";
+                }
+            };
+        }
+    }
+
+    /**
+     * A mock proceeding join point that throws an exception when proceeding.
+     */
+    public class MockProceedingJoinPointThrowingException extends MockProceedingJoinPointWithName
+    {
+        @Override
+        public Object proceed() throws Throwable
+        {
+            throw new IllegalStateException(STRING_VALUE);
+        }
+    }
+}
@@ -16,8 +16,16 @@
 package org.finra.herd.dao;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
@@ -32,17 +40,23 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.amazonaws.services.s3control.AWSS3Control;
 import com.amazonaws.services.s3control.AWSS3ControlClient;
 import com.amazonaws.services.s3control.AWSS3ControlClientBuilder;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 
@@ -51,9 +65,35 @@ public class AwsS3ClientFactory
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsClientFactory.class);
 
+    /**
+     * The prefix of all transfer manager pool metric names.
+     */
+    public static final String TRANSFER_MANAGER_POOL_METRIC_NAME_PREFIX = "s3TransferManagerPool";
+
+    /**
+     * The number of threads used by a pooled transfer manager when the maximum number of threads is not specified. This matches the default of the AWS SDK.
+     */
+    private static final int DEFAULT_TRANSFER_MANAGER_THREADS = 10;
+
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    /**
+     * The pooled transfer managers keyed by the parameters they were created with. All access is guarded by the map itself.
+     */
+    private final Map<List<Object>, PooledTransferManager> transferManagerPool = new HashMap<>();
+
+    /**
+     * The pooled transfer managers keyed by the transfer manager instance, so they can be found when they are released. Guarded by the pool.
+     */
+    private final Map<TransferManager, PooledTransferManager> pooledTransferManagers = new IdentityHashMap<>();
+
     /**
      * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> Returns {@link
      * DefaultAWSCredentialsProviderChain} if either access or secret key is {@code null}. Otherwise returns a {@link StaticCredentialsProvider} with the
@@ -172,17 +212,88 @@ public class AwsS3ClientFactory
     }
 
     /**
-     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads.
+     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads. When transfer
+     * manager pooling is enabled, a transfer manager previously created with the same parameters is shared. The returned transfer manager must be released by
+     * calling {@link #releaseTransferManager(TransferManager)} once the transfer is complete.
      *
      * @param params the parameters.
      *
-     * @return a newly created transfer manager.
+     * @return the transfer manager.
      */
     public TransferManager getTransferManager(final S3FileTransferRequestParamsDto params)
     {
-        // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
-        // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
+        // Transfer managers using additional AWS credentials providers are never pooled, since those providers can not be compared.
+        int poolMaxSize = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_POOL_MAX_SIZE, Integer.class);
+        if (poolMaxSize <= 0 || CollectionUtils.isNotEmpty(params.getAdditionalAwsCredentialsProviders()))
+        {
+            return createTransferManager(params);
+        }
+
+        List<Object> poolKey = Arrays.asList(params.getAwsAccessKeyId(), params.getAwsSecretKey(), params.getSessionToken(), params.getHttpProxyHost(),
+            params.getHttpProxyPort(), params.getAwsRegionName(), params.getS3Endpoint(), params.getSocketTimeout(), params.getMaxThreads());
+
+        synchronized (transferManagerPool)
+        {
+            evictIdleTransferManagers();
+
+            PooledTransferManager pooledTransferManager = transferManagerPool.get(poolKey);
+            if (pooledTransferManager != null)
+            {
+                metricRegistry.counter(getTransferManagerPoolMetricName("hits")).inc();
+            }
+            else if (transferManagerPool.size() < poolMaxSize)
+            {
+                metricRegistry.counter(getTransferManagerPoolMetricName("misses")).inc();
+                pooledTransferManager = new PooledTransferManager(createPooledTransferManager(params));
+                transferManagerPool.put(poolKey, pooledTransferManager);
+                pooledTransferManagers.put(pooledTransferManager.transferManager, pooledTransferManager);
+            }
+            else
+            {
+                // The pool is full of transfer managers in use, so fall back to a transfer manager that gets shut down once it is released.
+                metricRegistry.counter(getTransferManagerPoolMetricName("overflows")).inc();
+                return createTransferManager(params);
+            }
+
+            pooledTransferManager.leaseCount++;
+            metricRegistry.counter(getTransferManagerPoolMetricName("leased")).inc();
+            return pooledTransferManager.transferManager;
+        }
+    }
+
+    /**
+     * Releases a transfer manager returned by {@link #getTransferManager(S3FileTransferRequestParamsDto)}. A pooled transfer manager is kept for reuse until it
+     * has been idle for the configured idle timeout. Any other transfer manager is shut down to release its resources.
+     *
+     * @param transferManager the transfer manager
+     */
+    public void releaseTransferManager(TransferManager transferManager)
+    {
+        synchronized (transferManagerPool)
+        {
+            PooledTransferManager pooledTransferManager = pooledTransferManagers.get(transferManager);
+            if (pooledTransferManager != null)
+            {
+                pooledTransferManager.leaseCount--;
+                pooledTransferManager.lastReleasedTimeMillis = System.currentTimeMillis();
+                metricRegistry.counter(getTransferManagerPoolMetricName("leased")).dec();
+                return;
+            }
+        }
+
+        // Shutdown the transfer manager to release resources. If this isn't done, the JVM may delay upon exiting.
+        transferManager.shutdownNow();
+    }
+
+    /**
+     * Creates a new transfer manager that is owned by a single transfer.
+     *
+     * @param params the parameters.
+     *
+     * @return a newly created transfer manager.
+     */
+    private TransferManager createTransferManager(final S3FileTransferRequestParamsDto params)
+    {
         if (params.getMaxThreads() == null)
         {
             // Create a transfer manager that will internally use an appropriate number of threads.
@@ -196,6 +307,80 @@ public class AwsS3ClientFactory
         }
     }
 
+    /**
+     * Creates a new transfer manager to be shared by the transfers with the same parameters. Its executor is bounded by the maximum number of threads, lets
+     * its threads time out while the transfer manager is idle, and uses daemon threads so a pooled transfer manager never delays the JVM upon exiting.
+     *
+     * @param params the parameters.
+     *
+     * @return a newly created transfer manager.
+     */
+    private TransferManager createPooledTransferManager(final S3FileTransferRequestParamsDto params)
+    {
+        int threads = params.getMaxThreads() != null ? params.getMaxThreads() : DEFAULT_TRANSFER_MANAGER_THREADS;
+        LOGGER.info("Creating a pooled transfer manager. fixedThreadPoolSize={}", threads);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("s3-transfer-manager-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+
+        return TransferManagerBuilder.standard().withS3Client(getAmazonS3Client(params)).withExecutorFactory(() -> executor).withShutDownThreadPools(true)
+            .build();
+    }
+
+    /**
+     * Removes the pooled transfer managers that are not in use and have been idle for longer than the configured idle timeout and shuts them down. Must be
+     * called while holding the pool lock.
+     */
+    private void evictIdleTransferManagers()
+    {
+        long idleTimeoutMillis =
+            TimeUnit.SECONDS.toMillis(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_POOL_IDLE_TIMEOUT_SECONDS, Integer.class));
+        long currentTimeMillis = System.currentTimeMillis();
+
+        Iterator<PooledTransferManager> iterator = transferManagerPool.values().iterator();
+        while (iterator.hasNext())
+        {
+            PooledTransferManager pooledTransferManager = iterator.next();
+            if (pooledTransferManager.leaseCount == 0 && currentTimeMillis - pooledTransferManager.lastReleasedTimeMillis >= idleTimeoutMillis)
+            {
+                iterator.remove();
+                pooledTransferManagers.remove(pooledTransferManager.transferManager);
+                pooledTransferManager.transferManager.shutdownNow();
+                metricRegistry.counter(getTransferManagerPoolMetricName("evictions")).inc();
+            }
+        }
+    }
+
+    /**
+     * Gets the transfer manager pool metric name for the specified suffix.
+     *
+     * @param metricNameSuffix the metric name suffix
+     *
+     * @return the metric name
+     */
+    private String getTransferManagerPoolMetricName(String metricNameSuffix)
+    {
+        return MetricRegistry.name(TRANSFER_MANAGER_POOL_METRIC_NAME_PREFIX, metricNameSuffix);
+    }
+
+    /**
+     * A transfer manager shared by all transfers with the same parameters along with its usage.
+     */
+    private static class PooledTransferManager
+    {
+        private final TransferManager transferManager;
+
+        private int leaseCount;
+
+        private long lastReleasedTimeMillis = System.currentTimeMillis();
+
+        private PooledTransferManager(TransferManager transferManager)
+        {
+            this.transferManager = transferManager;
+        }
+    }
+
     /**
      * A {@link AWSCredentialsProvider} which delegates to its wrapped {@link HerdAWSCredentialsProvider}
      */
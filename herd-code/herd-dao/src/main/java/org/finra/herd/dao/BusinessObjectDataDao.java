@@ -15,6 +15,7 @@
  */
 package org.finra.herd.dao;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +23,7 @@ import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.StoragePolicyCandidateDto;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -29,7 +31,6 @@ import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
-import org.finra.herd.model.jpa.StoragePolicyEntity;
 
 public interface BusinessObjectDataDao extends BaseJpaDao
 {
@@ -131,6 +132,27 @@ public interface BusinessObjectDataDao extends BaseJpaDao
      */
     List<BusinessObjectDataEntity> getBusinessObjectDataEntities(BusinessObjectDataKey businessObjectDataKey);
 
+    /**
+     * Selects business object data that does not have the latest valid version flag computed yet.
+     *
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of business object data entities sorted by created on timestamp
+     */
+    List<BusinessObjectDataEntity> getBusinessObjectDataWithoutLatestValidVersionFlag(int maxResult);
+
+    /**
+     * Selects business object data updated on or after the specified threshold that has the latest valid version flag set inconsistently. The flag is
+     * inconsistent when it is set, but the business object data is not VALID or a newer VALID version exists, or when it is cleared, but the business object
+     * data is VALID and no newer VALID version exists. Such flags can be left behind by concurrent business object data updates.
+     *
+     * @param updatedOnThreshold the threshold for the business object data updated on timestamp
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of business object data entities sorted by updated on timestamp
+     */
+    List<BusinessObjectDataEntity> getBusinessObjectDataWithInconsistentLatestValidVersionFlag(Timestamp updatedOnThreshold, int maxResult);
+
     /**
      * Selects business object data having storage files associated with the specified storage and status. Only tbe business object data records that are older
      * than threshold minutes will be selected.
@@ -145,24 +167,24 @@ public interface BusinessObjectDataDao extends BaseJpaDao
         List<String> businessObjectDataStatuses);
 
     /**
-     * Retrieves a map of business object data entities to their corresponding storage policy entities, where the business object data status is supported by
-     * the storage policy feature and the business object data alternate key values match storage policy's filter and transition (not taking into account
-     * storage policy rules). The storage policy priority level identifies a particular storage policy priority that will be selected by the query. The returned
-     * map is ordered by the business object data "created on" timestamp, starting with the oldest business object data entity.
+     * Retrieves a list of storage policy candidates, where each candidate identifies a business object data along with its corresponding storage policy, where
+     * the business object data status is supported by the storage policy feature and the business object data alternate key values match storage policy's
+     * filter and transition (not taking into account storage policy rules). The storage policy priority level identifies a particular storage policy priority
+     * that will be selected by the query. The query uses keyset pagination: only business object data with ID greater than the specified last business object
+     * data ID gets selected and the returned list is ordered by the business object data ID. Each business object data is listed in the result only once.
      *
      * @param storagePolicyPriorityLevel the storage policy priority level
      * @param doNotTransitionLatestValid specifies if this storage policy should not transition latest valid business object data versions
      * @param supportedBusinessObjectDataStatuses the list of business object data statuses that storage policies apply to (case-sensitive)
      * @param storagePolicyTransitionMaxAllowedAttempts the maximum number of failed storage policy transition attempts before the relative storage unit gets
      * excluded from being selected. 0 means the maximum is not set
-     * @param startPosition the position of the first result, numbered from 0
+     * @param lastBusinessObjectDataId the ID of the last business object data selected by the previous call, maybe null for the first call
      * @param maxResult the maximum number of results to retrieve
      *
-     * @return the map of business object data entities to their corresponding storage policy entities
+     * @return the list of storage policy candidates ordered by business object data ID
      */
-    Map<BusinessObjectDataEntity, StoragePolicyEntity> getBusinessObjectDataEntitiesMatchingStoragePolicies(
-        StoragePolicyPriorityLevel storagePolicyPriorityLevel, Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses,
-        int storagePolicyTransitionMaxAllowedAttempts, int startPosition, int maxResult);
+    List<StoragePolicyCandidateDto> getStoragePolicyCandidates(StoragePolicyPriorityLevel storagePolicyPriorityLevel, Boolean doNotTransitionLatestValid,
+        List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts, Long lastBusinessObjectDataId, int maxResult);
 
     /**
      * Retrieves a list of business object data by their partition value.
@@ -40,6 +40,17 @@ public interface BusinessObjectDefinitionDao extends BaseJpaDao
      */
     public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitions(Integer startPosition, Integer maxResult);
 
+    /**
+     * Gets a chunk of business object definition entities defined in the system ordered by their ids, starting right after the specified business object
+     * definition id. Unlike offset based pagination, the cost of selecting each chunk does not grow with the number of chunks that were already retrieved.
+     *
+     * @param startAfterId the id of the last business object definition retrieved by the previous chunk, or null to start from the beginning
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of business object definition entities
+     */
+    public List<BusinessObjectDefinitionEntity> getBusinessObjectDefinitionsStartingAfterId(Long startAfterId, int maxResult);
+
     /**
      * Gets a list of business object definition entities by a list of ids
      *
@@ -0,0 +1,65 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.MetricsHelper;
+
+/**
+ * Advice that records the latency timer, the error counter, and the in-flight counter for all DAO methods (e.g. S3Dao, SqsDao, IndexSearchDao, and the JPA
+ * DAOs that issue the JDBC queries). The metrics are named "dao.[DAO class simple name].[method name]".
+ */
+@Component
+@Aspect
+public class DaoMetricsAdvice
+{
+    /**
+     * The prefix of all DAO method metric names.
+     */
+    public static final String METRIC_NAME_PREFIX = "dao";
+
+    @Autowired
+    private MetricsHelper metricsHelper;
+
+    /**
+     * A pointcut for all herd DAO methods.
+     */
+    @Pointcut("execution(* org.finra.herd.dao.*Dao.*(..))")
+    protected void daoMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * Around advice that records metrics for all DAO methods.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("daoMethods()")
+    public Object recordMethodMetrics(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return metricsHelper.proceedAndRecordMetrics(pjp, METRIC_NAME_PREFIX);
+    }
+}
@@ -18,6 +18,8 @@ package org.finra.herd.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.shard.DocsStats;
@@ -148,4 +150,32 @@ public interface IndexFunctionsDao extends BaseJpaDao
      * @return index stats
      */
     DocsStats getIndexStats(String indexName);
+
+    /**
+     * The create index documents in bulk function will take as arguments the index name and a document producer. The document producer is passed a document
+     * consumer that accepts the document id and the document as a JSON string. The documents are added to an Elasticsearch bulk processor that sends them to
+     * the index in bulk requests bounded by the configured number of documents, size and flush interval, while allowing the configured number of bulk requests
+     * to be in flight concurrently. This function returns after all documents are flushed and all bulk requests have completed.
+     *
+     * @param indexName index name
+     * @param documentProducer document producer
+     *
+     * @return the number of documents that failed to get indexed
+     */
+    long createIndexDocumentsInBulk(String indexName, Consumer<BiConsumer<String, String>> documentProducer);
+
+    /**
+     * Update the index settings
+     *
+     * @param indexName index name
+     * @param settings the index settings to update
+     */
+    void updateIndexSettings(String indexName, Settings settings);
+
+    /**
+     * Refresh the index, making all operations performed since the last refresh available for search
+     *
+     * @param indexName index name
+     */
+    void refreshIndex(String indexName);
 }
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
+
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
 public interface NotificationMessageDao extends BaseJpaDao
@@ -25,4 +27,24 @@ public interface NotificationMessageDao extends BaseJpaDao
      * @return the notification message
      */
     public NotificationMessageEntity getOldestNotificationMessage();
+
+    /**
+     * Selects and locks up to the specified number of the oldest notification messages from the queue. Messages that are already locked by another
+     * transaction are skipped, so concurrent publishers never claim the same notification message.
+     *
+     * @param startAfterNotificationMessageId the optional notification message id, when specified only notification messages with greater ids are selected
+     * @param maxResults the maximum number of notification messages to select
+     *
+     * @return the list of notification messages ordered by their sequence generated ids
+     */
+    public List<NotificationMessageEntity> getOldestNotificationMessages(Long startAfterNotificationMessageId, int maxResults);
+
+    /**
+     * Deletes from the queue all notification messages with the specified ids using a single bulk delete statement.
+     *
+     * @param notificationMessageIds the list of notification message ids
+     *
+     * @return the number of deleted notification messages
+     */
+    public int deleteNotificationMessages(List<Long> notificationMessageIds);
 }
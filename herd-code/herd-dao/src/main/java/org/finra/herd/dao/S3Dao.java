@@ -18,12 +18,14 @@ package org.finra.herd.dao;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
 
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -119,6 +121,25 @@ public interface S3Dao
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a list of registered storage files from S3 to the local file system. The files are split into byte ranges that are downloaded in parallel
+     * using ranged GET requests, so no S3 listing is needed and large files do not get downloaded by a single thread. The size and ETag of each file are
+     * verified while it is downloaded. A file is first downloaded into a partial file that is accompanied by a download state file recording the completed
+     * ranges, so a failed download can be restarted without transferring again the ranges that are already on the local file system. A file registered with
+     * a size that fits in a single range is downloaded by a single GET request, without a HEAD request and without a download state file.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name is for the source of the copy. The local path is the
+     * local directory the files are downloaded to, each file being placed at its S3 key relative to that directory. The maximum number of threads is the
+     * maximum number of concurrent ranged GET requests. The optional range size is the size in bytes of each downloaded range.
+     * @param storageFiles the list of storage files to download, each one having its S3 key as the file path and its expected file size
+     *
+     * @return the file transfer results for the files downloaded by this call
+     *
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto downloadStorageFiles(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, List<StorageFile> storageFiles)
+        throws InterruptedException;
+
     /**
      * Generates a GET pre-signed URL for the given object in S3 identified by its bucket name and key. Uses the proxy information and signer override specified
      * in the given {@link S3FileTransferRequestParamsDto}.
@@ -183,6 +204,19 @@ public interface S3Dao
      */
     List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Streams all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name) to the specified consumer. The S3 objects are passed to the
+     * consumer one listing page at a time, so the full listing is never held in memory. The S3 objects are always listed serially, in S3 object key order,
+     * regardless of the listing parallelism specified in the S3 file transfer request parameters.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     * @param s3ObjectSummaryConsumer the consumer that accepts each S3 object summary that matches the prefix in the given bucket
+     */
+    void listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers,
+        Consumer<S3ObjectSummary> s3ObjectSummaryConsumer);
+
     /**
      * Lists all S3 versions matching the S3 key prefix in the given bucket (S3 bucket name). The S3 bucket name and S3 key prefix that identify the S3 versions
      * to get listed are taken from the S3 file transfer request parameters DTO.
@@ -225,6 +259,20 @@ public interface S3Dao
     void tagObjects(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto,
         final List<S3ObjectSummary> s3ObjectSummaries, final Tag tag);
 
+    /**
+     * Tags S3 objects with the specified S3 object tag in chunks of the specified size. The S3 clients and the S3 object tagger role session are created once
+     * and shared by all chunks. After each chunk gets tagged, the S3 key of the last S3 object in that chunk is passed to the specified checkpoint consumer.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name
+     * @param s3ObjectTaggerRoleParamsDto the S3 objects tagger role parameters DTO
+     * @param s3ObjectSummaries the list of S3 objects to be tagged
+     * @param tag the S3 object tag
+     * @param chunkSize the maximum number of S3 objects to tag before the checkpoint consumer gets called
+     * @param checkpointConsumer the consumer of the S3 key of the last tagged S3 object, may be null
+     */
+    void tagObjects(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto,
+        final List<S3ObjectSummary> s3ObjectSummaries, final Tag tag, final int chunkSize, final Consumer<String> checkpointConsumer);
+
     /**
      * Tags S3 versions with the specified S3 object tag.
      *
@@ -284,6 +332,22 @@ public interface S3Dao
      */
     S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a list of local files into S3 while keeping track of the upload in a local upload journal. The journal records the files that were completely
+     * uploaded along with their ETags and the multipart uploads that are still in progress, so a failed upload can be restarted with the same journal without
+     * transferring again the content that is already in S3. The files are uploaded in parallel per the file parallelism, while each file gets its parts
+     * uploaded in parallel by the transfer manager threads.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name, S3 key prefix, and the file list (files) are for the
+     * target of the copy. The local path and the file list (files) are the local files to be copied. The upload journal path is the local path to the upload
+     * journal file, which gets created when it does not exist yet. The optional file parallelism is the maximum number of files uploaded concurrently.
+     *
+     * @return the file transfer results for the files uploaded by this call
+     *
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto uploadFileListResumable(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
+
     /**
      * Validates that all specified Glacier storage class files are restored.
      *
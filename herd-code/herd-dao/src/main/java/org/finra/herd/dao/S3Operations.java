@@ -46,8 +46,10 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 import com.amazonaws.services.s3control.AWSS3Control;
 import com.amazonaws.services.s3control.model.CreateJobRequest;
 import com.amazonaws.services.s3control.model.CreateJobResult;
@@ -63,6 +65,7 @@ public interface S3Operations
     public static final String ERROR_CODE_INTERNAL_ERROR = "InternalError";
     public static final String ERROR_CODE_NO_SUCH_BUCKET = "NoSuchBucket";
     public static final String ERROR_CODE_NO_SUCH_KEY = "NoSuchKey";
+    public static final String ERROR_CODE_NO_SUCH_UPLOAD = "NoSuchUpload";
 
     /**
      * Aborts a multipart upload.
@@ -206,6 +209,16 @@ public interface S3Operations
      */
     public void restoreObject(RestoreObjectRequest requestRestore, AmazonS3 s3Client);
 
+    /**
+     * Resumes an upload operation. The parts of the multipart upload that were already uploaded to Amazon S3 are not uploaded again.
+     *
+     * @param persistableUpload the information needed to resume the upload
+     * @param transferManager the transfer manager implementation to use
+     *
+     * @return the object to use to check the state of the upload, listen for progress notifications, and otherwise manage the upload
+     */
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager);
+
     /**
      * Rolls back any updates to S3 within a given session. Whether rollback is supported or not is implementation dependent.
      */
@@ -231,6 +244,18 @@ public interface S3Operations
      */
     public Upload upload(PutObjectRequest putObjectRequest, TransferManager transferManager);
 
+    /**
+     * Schedules a new transfer to upload data to Amazon S3. The specified listener also receives the information needed to resume the upload as soon as the
+     * upload gets broken into parts.
+     *
+     * @param putObjectRequest the request containing all the parameters for the upload
+     * @param s3ProgressListener the listener to be notified of the upload progress
+     * @param transferManager the transfer manager implementation to use
+     *
+     * @return the object to use to check the state of the upload, listen for progress notifications, and otherwise manage the upload
+     */
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener s3ProgressListener, TransferManager transferManager);
+
     /**
      * Uploads all files in the directory given to the bucket named, optionally recursing for all subdirectories.
      *
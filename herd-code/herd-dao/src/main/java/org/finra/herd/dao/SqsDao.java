@@ -17,6 +17,7 @@ package org.finra.herd.dao;
 
 import java.util.List;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.model.dto.AwsParamsDto;
@@ -27,6 +28,16 @@ import org.finra.herd.model.dto.MessageHeader;
  */
 public interface SqsDao
 {
+    /**
+     * The maximum number of messages that AWS SQS accepts in a single send message batch request.
+     */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    /**
+     * The maximum total payload size in bytes that AWS SQS accepts in a single send message batch request.
+     */
+    public static final int MAX_BATCH_PAYLOAD_SIZE_BYTES = 262144;
+
     /**
      * Delivers a message to the specified queue.
      *
@@ -38,4 +49,19 @@ public interface SqsDao
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders);
+
+    /**
+     * Delivers a list of messages to the specified queue using send message batch requests. The messages are split into as many batch requests as required
+     * to stay within the AWS SQS limits on the number of entries and the total payload size per request. Each batch request entry is identified by the index
+     * of the relative message in the specified list, so callers can map successful and failed entries back to their messages.
+     *
+     * @param awsParamsDto the AWS related parameters that contain optional proxy information
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param messageTexts the list of message texts
+     * @param messageHeaders the list of optional message headers, one element per message text, or null if none of the messages have headers
+     *
+     * @return the aggregated result of all send message batch operations returned by the service
+     */
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders);
 }
@@ -15,10 +15,13 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 /**
@@ -37,4 +40,15 @@ public interface SqsOperations
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(String queueName, String messageText, Map<String, MessageAttributeValue> messageAttributes, AmazonSQS amazonSQS);
+
+    /**
+     * Delivers up to ten messages to the specified queue in a single request.
+     *
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param entries the list of send message batch request entries
+     * @param amazonSQS the client for accessing AWS SQS
+     *
+     * @return the result the send message batch operation returned by the service
+     */
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> entries, AmazonSQS amazonSQS);
 }
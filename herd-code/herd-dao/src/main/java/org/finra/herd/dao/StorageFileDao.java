@@ -16,6 +16,7 @@
 package org.finra.herd.dao;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.collections4.MultiValuedMap;
 
@@ -53,6 +54,17 @@ public interface StorageFileDao extends BaseJpaDao
      */
     MultiValuedMap<Long, String> getStorageFilePathsByStorageUnitIds(List<Long> storageUnitIds);
 
+    /**
+     * Streams storage file paths for the specified storage units to the consumer one storage unit at a time, so only the storage file paths of a single
+     * storage unit are held in memory. Storage file paths are retrieved using keyset pagination on (storage unit id, path), so the storage file paths of each
+     * storage unit are passed to the consumer ordered by path as soon as they are all retrieved. Storage units without storage files are not passed to the
+     * consumer.
+     *
+     * @param storageUnitIds the list of storage unit identifiers
+     * @param storageFilePathsConsumer the consumer that accepts a storage unit id along with all of its storage file paths
+     */
+    void processStorageFilePathsByStorageUnitIds(List<Long> storageUnitIds, BiConsumer<Long, List<String>> storageFilePathsConsumer);
+
     /**
      * Saves a list of storage file entities.
      *
@@ -130,7 +130,10 @@ public interface StorageUnitDao extends BaseJpaDao
     StorageUnitEntity getStorageUnitByStorageAndDirectoryPath(StorageEntity storageEntity, String directoryPath);
 
     /**
-     * Retrieves a list of storage unit availability DTOs per specified parameters.
+     * Retrieves a list of storage unit availability DTOs per specified parameters. The partition filters are processed in chunks. When the partition filter
+     * query parallelism is configured to be greater than one, only the first chunk is queried as part of the caller's transaction. All other chunks are queried
+     * on other threads outside of the caller's transaction, so they read committed data only and do not see any changes made by the caller's transaction that
+     * are not committed yet.
      *
      * @param businessObjectDefinitionEntity the business object definition entity
      * @param businessObjectFormatUsage the business object format usage (case-insensitive)
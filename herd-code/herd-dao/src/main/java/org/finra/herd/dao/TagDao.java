@@ -16,6 +16,7 @@
 package org.finra.herd.dao;
 
 import java.util.List;
+import java.util.Map;
 
 import org.finra.herd.model.api.xml.TagChild;
 import org.finra.herd.model.api.xml.TagKey;
@@ -33,6 +34,16 @@ public interface TagDao extends BaseJpaDao
      */
     public List<TagEntity> getChildrenTags(List<TagEntity> parentTagEntities);
 
+    /**
+     * Gets all tag entities of the specified tag type that have a parent tag along with their parent tag ids. This allows the whole tag hierarchy of a tag
+     * type to be loaded with a single query regardless of its depth.
+     *
+     * @param tagTypeEntity the tag type entity
+     *
+     * @return the map of tag entities that have a parent tag to their parent tag ids ordered by the tag display name
+     */
+    public Map<TagEntity, Long> getChildrenTagsWithParentTagIds(TagTypeEntity tagTypeEntity);
+
     /**
      * Get a tag entity by its key.
      *
@@ -18,6 +18,7 @@ package org.finra.herd.dao.config;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.sql.DataSource;
 
@@ -44,12 +45,14 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import org.finra.herd.core.ApplicationContextHolder;
@@ -396,4 +399,36 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     {
         return new SimpleExponentialBackoffStrategy();
     }
+
+    /**
+     * The task executor shared by all DAO methods that fan out requests concurrently. The thread pool and its queue are bounded and fixed at startup, so
+     * changing them requires a server restart. When the queue is full, the tasks get executed by the calling thread.
+     *
+     * @return the task executor.
+     */
+    @Bean
+    public AsyncTaskExecutor daoTaskExecutor()
+    {
+        return createDaoTaskExecutor(configurationHelper);
+    }
+
+    /**
+     * Creates the task executor shared by all DAO methods that fan out requests concurrently. This is also used by the applications that define the DAO beans
+     * they need without importing this configuration.
+     *
+     * @param configurationHelper the configuration helper
+     *
+     * @return the task executor.
+     */
+    public static ThreadPoolTaskExecutor createDaoTaskExecutor(ConfigurationHelper configurationHelper)
+    {
+        int threadCount = configurationHelper.getProperty(ConfigurationValue.DAO_TASK_EXECUTOR_THREAD_COUNT, Integer.class);
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadCount);
+        taskExecutor.setMaxPoolSize(threadCount);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.DAO_TASK_EXECUTOR_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        taskExecutor.setThreadNamePrefix("daoTaskExecutor-");
+        return taskExecutor;
+    }
 }
@@ -29,6 +29,8 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.amazonaws.services.ec2.model.AvailabilityZone;
 import com.amazonaws.services.ec2.model.SpotPrice;
@@ -37,6 +39,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
@@ -75,6 +80,20 @@ public class EmrPricingHelper extends AwsHelper
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    @Qualifier("getAsyncExecutor")
+    private TaskExecutor taskExecutor;
+
+    /**
+     * The spot price snapshots keyed by the AWS region, the availability zone, the product descriptions and the instance type.
+     */
+    private final ConcurrentMap<String, SpotPriceSnapshot> spotPriceSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * The AWS region, availability zone and product descriptions combinations that have a background spot price snapshot refresh scheduled.
+     */
+    private final Set<String> spotPriceSnapshotBackgroundRefreshes = ConcurrentHashMap.newKeySet();
+
     /**
      * Finds the best price for each master and core instances based on the subnets and master and core instance search parameters given in the definition.
      * <p/>
@@ -612,6 +631,10 @@ public class EmrPricingHelper extends AwsHelper
     /**
      * Returns a mapping of instance types to spot prices for the given AZ and instance types. The spot prices are retrieved from EC2 API.
      * <p/>
+     * When the spot price snapshot time to live is configured, the spot prices are served from the snapshots taken by the previous calls. Only the instance
+     * types that have no snapshot or have a snapshot older than the time to live are retrieved from EC2 API. The snapshots older than half of the time to live
+     * are still served, but get refreshed in the background.
+     * <p/>
      * This method also validates that the given instance types are real instance types supported by AWS.
      *
      * @param availabilityZone the AZ of the spot instances
@@ -624,6 +647,74 @@ public class EmrPricingHelper extends AwsHelper
     private Map<String, BigDecimal> getInstanceTypeSpotPrices(AvailabilityZone availabilityZone, Set<String> instanceTypes, AwsParamsDto awsParamsDto)
     {
         List<String> productDescriptions = herdStringHelper.getDelimitedConfigurationValue(ConfigurationValue.EMR_SPOT_PRICE_HISTORY_PRODUCT_DESCRIPTIONS);
+
+        int spotPriceSnapshotTimeToLiveSeconds =
+            configurationHelper.getProperty(ConfigurationValue.EMR_SPOT_PRICE_SNAPSHOT_TIME_TO_LIVE_SECONDS, Integer.class);
+
+        // Spot price snapshots are disabled unless the time to live is positive.
+        if (spotPriceSnapshotTimeToLiveSeconds <= 0)
+        {
+            return getLatestInstanceTypeSpotPrices(availabilityZone, instanceTypes, productDescriptions, awsParamsDto);
+        }
+
+        long currentTimeMillis = System.currentTimeMillis();
+        long timeToLiveMillis = spotPriceSnapshotTimeToLiveSeconds * 1000L;
+
+        Map<String, BigDecimal> instanceTypeSpotPrices = new HashMap<>();
+        Set<String> instanceTypesWithoutSnapshot = new HashSet<>();
+        Set<String> instanceTypesWithAgingSnapshot = new HashSet<>();
+        for (String instanceType : instanceTypes)
+        {
+            SpotPriceSnapshot spotPriceSnapshot =
+                spotPriceSnapshots.get(getSpotPriceSnapshotKey(availabilityZone, productDescriptions, awsParamsDto, instanceType));
+            long spotPriceSnapshotAgeMillis = spotPriceSnapshot == null ? 0 : currentTimeMillis - spotPriceSnapshot.getCreatedTimeMillis();
+
+            if (spotPriceSnapshot == null || spotPriceSnapshotAgeMillis >= timeToLiveMillis)
+            {
+                instanceTypesWithoutSnapshot.add(instanceType);
+            }
+            else
+            {
+                // A snapshot without a spot price means that AWS did not return any spot price history for this instance type.
+                if (spotPriceSnapshot.getSpotPrice() != null)
+                {
+                    instanceTypeSpotPrices.put(instanceType, spotPriceSnapshot.getSpotPrice());
+                }
+
+                if (spotPriceSnapshotAgeMillis >= timeToLiveMillis / 2)
+                {
+                    instanceTypesWithAgingSnapshot.add(instanceType);
+                }
+            }
+        }
+
+        if (!instanceTypesWithoutSnapshot.isEmpty())
+        {
+            instanceTypeSpotPrices.putAll(getLatestInstanceTypeSpotPrices(availabilityZone, instanceTypesWithoutSnapshot, productDescriptions, awsParamsDto));
+        }
+
+        if (!instanceTypesWithAgingSnapshot.isEmpty())
+        {
+            scheduleSpotPriceSnapshotBackgroundRefresh(availabilityZone, instanceTypesWithAgingSnapshot, productDescriptions, awsParamsDto);
+        }
+
+        return instanceTypeSpotPrices;
+    }
+
+    /**
+     * Retrieves the latest spot prices for the given AZ and instance types from EC2 API and takes a snapshot of them for the subsequent calls. The snapshot
+     * also records the instance types that have no spot price available, so they are not looked up again until the snapshot expires.
+     *
+     * @param availabilityZone the AZ of the spot instances
+     * @param instanceTypes the size of the spot instances
+     * @param productDescriptions the product descriptions to filter the spot price history by
+     * @param awsParamsDto the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the mapping of instance type to spot prices
+     */
+    private Map<String, BigDecimal> getLatestInstanceTypeSpotPrices(AvailabilityZone availabilityZone, Set<String> instanceTypes,
+        List<String> productDescriptions, AwsParamsDto awsParamsDto)
+    {
         List<SpotPrice> spotPrices = ec2Dao.getLatestSpotPrices(availabilityZone.getZoneName(), instanceTypes, productDescriptions, awsParamsDto);
 
         Map<String, BigDecimal> instanceTypeSpotPrices = new HashMap<>();
@@ -632,9 +723,107 @@ public class EmrPricingHelper extends AwsHelper
             instanceTypeSpotPrices.put(spotPrice.getInstanceType(), new BigDecimal(spotPrice.getSpotPrice()));
         }
 
+        long currentTimeMillis = System.currentTimeMillis();
+        for (String instanceType : instanceTypes)
+        {
+            spotPriceSnapshots.put(getSpotPriceSnapshotKey(availabilityZone, productDescriptions, awsParamsDto, instanceType),
+                new SpotPriceSnapshot(instanceTypeSpotPrices.get(instanceType), currentTimeMillis));
+        }
+
         return instanceTypeSpotPrices;
     }
 
+    /**
+     * Schedules an asynchronous refresh of the spot price snapshots for the given AZ and instance types. At most one background refresh is scheduled per AWS
+     * region, AZ and product descriptions at a time.
+     *
+     * @param availabilityZone the AZ of the spot instances
+     * @param instanceTypes the size of the spot instances
+     * @param productDescriptions the product descriptions to filter the spot price history by
+     * @param awsParamsDto the AWS related parameters for access/secret keys and proxy details
+     */
+    private void scheduleSpotPriceSnapshotBackgroundRefresh(AvailabilityZone availabilityZone, Set<String> instanceTypes, List<String> productDescriptions,
+        AwsParamsDto awsParamsDto)
+    {
+        String spotPriceSnapshotRefreshKey = getSpotPriceSnapshotKey(availabilityZone, productDescriptions, awsParamsDto, null);
+        if (!spotPriceSnapshotBackgroundRefreshes.add(spotPriceSnapshotRefreshKey))
+        {
+            return;
+        }
+
+        LOGGER.info("Scheduling a background refresh of the spot price snapshots. availabilityZone=\"{}\" instanceTypes={}", availabilityZone.getZoneName(),
+            instanceTypes);
+
+        try
+        {
+            taskExecutor.execute(() -> {
+                try
+                {
+                    getLatestInstanceTypeSpotPrices(availabilityZone, instanceTypes, productDescriptions, awsParamsDto);
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.warn("Failed to refresh the spot price snapshots in the background. availabilityZone=\"{}\" instanceTypes={}",
+                        availabilityZone.getZoneName(), instanceTypes, e);
+                }
+                finally
+                {
+                    spotPriceSnapshotBackgroundRefreshes.remove(spotPriceSnapshotRefreshKey);
+                }
+            });
+        }
+        catch (TaskRejectedException e)
+        {
+            spotPriceSnapshotBackgroundRefreshes.remove(spotPriceSnapshotRefreshKey);
+            LOGGER.warn("Failed to schedule a background refresh of the spot price snapshots. availabilityZone=\"{}\" instanceTypes={}",
+                availabilityZone.getZoneName(), instanceTypes, e);
+        }
+    }
+
+    /**
+     * Gets the key of a spot price snapshot. The physical zone id is used when AWS returns it, since the zone names are mapped to the physical zones
+     * differently in each AWS account.
+     *
+     * @param availabilityZone the AZ of the spot instances
+     * @param productDescriptions the product descriptions to filter the spot price history by
+     * @param awsParamsDto the AWS related parameters for access/secret keys and proxy details
+     * @param instanceType the size of the spot instances, may be null to get the key of all instance types
+     *
+     * @return the spot price snapshot key
+     */
+    private String getSpotPriceSnapshotKey(AvailabilityZone availabilityZone, List<String> productDescriptions, AwsParamsDto awsParamsDto,
+        String instanceType)
+    {
+        return String.format("%s|%s|%s|%s", awsParamsDto.getAwsRegionName(),
+            StringUtils.defaultIfBlank(availabilityZone.getZoneId(), availabilityZone.getZoneName()), productDescriptions, instanceType);
+    }
+
+    /**
+     * A spot price of an instance type in an AZ as it was retrieved from EC2 API at a point in time.
+     */
+    private static class SpotPriceSnapshot
+    {
+        private final BigDecimal spotPrice;
+
+        private final long createdTimeMillis;
+
+        SpotPriceSnapshot(BigDecimal spotPrice, long createdTimeMillis)
+        {
+            this.spotPrice = spotPrice;
+            this.createdTimeMillis = createdTimeMillis;
+        }
+
+        BigDecimal getSpotPrice()
+        {
+            return spotPrice;
+        }
+
+        long getCreatedTimeMillis()
+        {
+            return createdTimeMillis;
+        }
+    }
+
     /**
      * Returns a list of AZ's which the given list of subnets belong to.
      *
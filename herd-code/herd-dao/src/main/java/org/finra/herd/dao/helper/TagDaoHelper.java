@@ -16,7 +16,15 @@
 package org.finra.herd.dao.helper;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -39,6 +47,11 @@ public class TagDaoHelper
     @Autowired
     private TagDao tagDao;
 
+    /**
+     * The cached tag hierarchies keyed by the parent tag id.
+     */
+    private final ConcurrentMap<Long, TagHierarchy> tagHierarchyCache = new ConcurrentHashMap<>();
+
     /**
      * Ensures that a tag entity does not exist for a specified tag type code and display name.
      *
@@ -57,8 +70,20 @@ public class TagDaoHelper
         }
     }
 
+    /**
+     * Clears the cached tag hierarchies. This must be called whenever a tag is created, updated or deleted.
+     */
+    public void clearTagHierarchyCache()
+    {
+        tagHierarchyCache.clear();
+    }
+
     /**
      * Create a list of tag entities along with all its children tags down the hierarchy up to maximum allowed tag nesting level.
+     * <p/>
+     * When the tag hierarchy cache is disabled, only the subtree of the parent tag is loaded, one query per nesting level. When the tag hierarchy cache is
+     * enabled, a cache miss loads the tag hierarchy of the parent tag's tag type with a single query regardless of its depth and the ids of the children tags
+     * are cached per parent tag, so the subsequent calls only load the children tag entities by their ids.
      *
      * @param parentTagEntity the parent tag entity
      *
@@ -69,16 +94,62 @@ public class TagDaoHelper
         // Get the maximum allowed tag nesting level.
         Integer maxAllowedTagNesting = configurationHelper.getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class);
 
-        // Build a list of the specified tag along with all its children tags down the hierarchy up to maximum allowed tag nesting level.
+        // Get the tag hierarchy cache time to live.
+        int tagHierarchyCacheTimeToLiveSeconds = configurationHelper.getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class);
+
+        // Without the tag hierarchy cache, load only the subtree of the parent tag, so a tag with a few children does not load its whole tag type.
+        if (tagHierarchyCacheTimeToLiveSeconds <= 0)
+        {
+            List<TagEntity> parentTagEntities = new ArrayList<>();
+            parentTagEntities.add(parentTagEntity);
+            List<TagEntity> tagEntities = new ArrayList<>();
+            for (int level = 0; !parentTagEntities.isEmpty() && level < maxAllowedTagNesting; level++)
+            {
+                parentTagEntities = tagDao.getChildrenTags(parentTagEntities);
+                tagEntities.addAll(parentTagEntities);
+            }
+
+            return tagEntities;
+        }
+
+        // Use the cached children tag ids if they are still valid.
+        TagHierarchy tagHierarchy = tagHierarchyCache.get(parentTagEntity.getId());
+        if (tagHierarchy != null && tagHierarchy.getMaxAllowedTagNesting() == maxAllowedTagNesting &&
+            System.currentTimeMillis() - tagHierarchy.getCreatedTimeMillis() < tagHierarchyCacheTimeToLiveSeconds * 1000L)
+        {
+            return getTagEntitiesInOrder(tagHierarchy.getTagIds());
+        }
+
+        // Load all children tags of the tag type along with their parent tag ids and group them by their parent tag ids keeping the display name order.
+        Map<Long, List<TagEntity>> childrenTagEntitiesByParentTagId = new HashMap<>();
+        Map<TagEntity, Integer> tagEntityDisplayNameOrder = new HashMap<>();
+        for (Map.Entry<TagEntity, Long> entry : tagDao.getChildrenTagsWithParentTagIds(parentTagEntity.getTagType()).entrySet())
+        {
+            childrenTagEntitiesByParentTagId.computeIfAbsent(entry.getValue(), parentTagId -> new ArrayList<>()).add(entry.getKey());
+            tagEntityDisplayNameOrder.put(entry.getKey(), tagEntityDisplayNameOrder.size());
+        }
+
+        // Build a list of the specified tag along with all its children tags down the hierarchy up to maximum allowed tag nesting level. Each level is ordered
+        // by the tag display name.
         List<TagEntity> parentTagEntities = new ArrayList<>();
         parentTagEntities.add(parentTagEntity);
         List<TagEntity> tagEntities = new ArrayList<>();
         for (int level = 0; !parentTagEntities.isEmpty() && level < maxAllowedTagNesting; level++)
         {
-            parentTagEntities = tagDao.getChildrenTags(parentTagEntities);
+            List<TagEntity> childrenTagEntities = new ArrayList<>();
+            for (TagEntity tagEntity : parentTagEntities)
+            {
+                childrenTagEntities.addAll(childrenTagEntitiesByParentTagId.getOrDefault(tagEntity.getId(), Collections.emptyList()));
+            }
+            childrenTagEntities.sort(Comparator.comparing(tagEntityDisplayNameOrder::get));
+
+            parentTagEntities = childrenTagEntities;
             tagEntities.addAll(parentTagEntities);
         }
 
+        tagHierarchyCache.put(parentTagEntity.getId(),
+            new TagHierarchy(tagEntities.stream().map(TagEntity::getId).collect(Collectors.toList()), maxAllowedTagNesting, System.currentTimeMillis()));
+
         return tagEntities;
     }
 
@@ -137,4 +208,61 @@ public class TagDaoHelper
     {
         Assert.isTrue(tagTypeCode.equalsIgnoreCase(parentTagTypeCode), "Tag type code in parent tag key must match the tag type code in the request.");
     }
+
+    /**
+     * Loads the tag entities for the specified tag ids and returns them in the order of the ids. The tags that no longer exist are skipped.
+     *
+     * @param tagIds the list of tag ids
+     *
+     * @return the list of tag entities
+     */
+    private List<TagEntity> getTagEntitiesInOrder(List<Long> tagIds)
+    {
+        if (tagIds.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        Map<Long, TagEntity> tagEntitiesById = new HashMap<>();
+        for (TagEntity tagEntity : tagDao.getTagsByIds(tagIds))
+        {
+            tagEntitiesById.put(tagEntity.getId(), tagEntity);
+        }
+
+        return tagIds.stream().map(tagEntitiesById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * The ids of the children tags of a tag down the hierarchy as they were loaded at a point in time.
+     */
+    private static class TagHierarchy
+    {
+        private final List<Long> tagIds;
+
+        private final int maxAllowedTagNesting;
+
+        private final long createdTimeMillis;
+
+        TagHierarchy(List<Long> tagIds, int maxAllowedTagNesting, long createdTimeMillis)
+        {
+            this.tagIds = tagIds;
+            this.maxAllowedTagNesting = maxAllowedTagNesting;
+            this.createdTimeMillis = createdTimeMillis;
+        }
+
+        List<Long> getTagIds()
+        {
+            return tagIds;
+        }
+
+        int getMaxAllowedTagNesting()
+        {
+            return maxAllowedTagNesting;
+        }
+
+        long getCreatedTimeMillis()
+        {
+            return createdTimeMillis;
+        }
+    }
 }
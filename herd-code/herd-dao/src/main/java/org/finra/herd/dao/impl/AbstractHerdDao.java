@@ -22,7 +22,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
@@ -41,6 +46,7 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.HerdDaoSecurityHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.AuditableEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity_;
@@ -328,6 +334,97 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
         return predicate;
     }
 
+    /**
+     * Builds a query restriction predicate for the specified business object data entity as per specified partition filters. Unlike the restriction built by
+     * {@link #getQueryRestrictionOnPartitionValues(CriteriaBuilder, From, List)}, which has a separate conjunction per partition filter, this restriction
+     * groups the partition filters that differ only by the value of the most selective partition level and uses a single "in" clause on that partition level
+     * per group. For example, partition filters for a year of daily partitions and several sub-partition values result in a single "in" clause per
+     * sub-partition value. Please note that the caller is responsible for limiting the number of partition filters per the database "in" clause limit.
+     *
+     * @param builder the criteria builder
+     * @param businessObjectDataEntity the business object data entity that appears in the from clause
+     * @param partitionFilters the list of partition filter to be used to select business object data instances. Each partition filter contains a list of
+     * primary and sub-partition values in the right order up to the maximum partition levels allowed by business object data registration - with partition
+     * values for the relative partitions not to be used for selection passed as nulls.
+     *
+     * @return the query restriction predicate
+     */
+    protected Predicate getQueryRestrictionOnPartitionValuesUsingInClauses(CriteriaBuilder builder, From<?, BusinessObjectDataEntity> businessObjectDataEntity,
+        List<List<String>> partitionFilters)
+    {
+        // Select the partition level that has the most distinct partition values to be used for the "in" clauses.
+        int inClausePartitionLevel = 0;
+        int inClausePartitionValueCount = 0;
+        for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+        {
+            Set<String> partitionValues = new HashSet<>();
+            for (List<String> partitionFilter : partitionFilters)
+            {
+                if (StringUtils.isNotBlank(partitionFilter.get(partitionLevel)))
+                {
+                    partitionValues.add(partitionFilter.get(partitionLevel));
+                }
+            }
+            if (partitionValues.size() > inClausePartitionValueCount)
+            {
+                inClausePartitionLevel = partitionLevel;
+                inClausePartitionValueCount = partitionValues.size();
+            }
+        }
+
+        // Group the partition filters by their partition values on all partition levels other than the one selected for the "in" clauses. Blank partition
+        // values are replaced with nulls, so partition filters that select the same partition levels fall into the same group. The linked hash map is used
+        // to keep the groups in the order of the partition filters. Partition filters that do not select the partition level used for the "in" clauses are
+        // kept as they are.
+        Map<List<String>, Set<String>> inClausePartitionValuesByPartitionFilter = new LinkedHashMap<>();
+        List<List<String>> partitionFiltersWithoutInClausePartitionValue = new ArrayList<>();
+        for (List<String> partitionFilter : partitionFilters)
+        {
+            if (StringUtils.isNotBlank(partitionFilter.get(inClausePartitionLevel)))
+            {
+                List<String> groupPartitionFilter = new ArrayList<>();
+                for (String partitionValue : partitionFilter)
+                {
+                    groupPartitionFilter.add(StringUtils.isNotBlank(partitionValue) ? partitionValue : null);
+                }
+                String inClausePartitionValue = groupPartitionFilter.set(inClausePartitionLevel, null);
+                inClausePartitionValuesByPartitionFilter.computeIfAbsent(groupPartitionFilter, key -> new LinkedHashSet<>()).add(inClausePartitionValue);
+            }
+            else
+            {
+                partitionFiltersWithoutInClausePartitionValue.add(partitionFilter);
+            }
+        }
+
+        // Create a query restriction for each group of partition filters.
+        Predicate predicate = null;
+        for (Map.Entry<List<String>, Set<String>> entry : inClausePartitionValuesByPartitionFilter.entrySet())
+        {
+            Predicate partitionRestriction =
+                businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_PARTITIONS.get(inClausePartitionLevel)).in(entry.getValue());
+            for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+            {
+                String partitionValue = entry.getKey().get(partitionLevel);
+                if (partitionValue != null)
+                {
+                    partitionRestriction = builder.and(partitionRestriction,
+                        builder.equal(businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_PARTITIONS.get(partitionLevel)), partitionValue));
+                }
+            }
+            predicate = (predicate == null ? partitionRestriction : builder.or(predicate, partitionRestriction));
+        }
+
+        // Add the query restrictions for the partition filters that were not grouped.
+        if (!partitionFiltersWithoutInClausePartitionValue.isEmpty())
+        {
+            Predicate partitionRestriction =
+                getQueryRestrictionOnPartitionValues(builder, businessObjectDataEntity, partitionFiltersWithoutInClausePartitionValue);
+            predicate = (predicate == null ? partitionRestriction : builder.or(predicate, partitionRestriction));
+        }
+
+        return predicate;
+    }
+
     /**
      * TODO This method may be bdata specific. Consider creating new abstract class to group all bdata related DAO. Builds a query restriction predicate for the
      * sub-query business object data entity as per partition values from the specified main query business object data entity.
@@ -392,6 +489,33 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
         return predicate;
     }
 
+    /**
+     * Builds a query restriction predicate on the business object data status. When the status is VALID, the use of the materialized latest valid version flag
+     * is enabled, and the query does not restrict business object data by its storage units, the restriction also selects only the latest valid business
+     * object data version per business object format version and partition values. The flag is not used when the query restricts business object data by its
+     * storage units, since the latest valid version might have no matching storage unit while an older valid version does.
+     *
+     * @param builder the criteria builder
+     * @param businessObjectDataEntity the business object data entity that appears in the from clause
+     * @param businessObjectDataStatusEntity the business object data status entity
+     * @param restrictedByStorageUnits specifies if the query restricts business object data by storage or storage unit status
+     *
+     * @return the query restriction predicate
+     */
+    protected Predicate getQueryRestrictionOnBusinessObjectDataStatus(CriteriaBuilder builder, From<?, BusinessObjectDataEntity> businessObjectDataEntity,
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity, boolean restrictedByStorageUnits)
+    {
+        Predicate predicate = builder.equal(businessObjectDataEntity.get(BusinessObjectDataEntity_.statusCode), businessObjectDataStatusEntity.getCode());
+
+        if (BusinessObjectDataStatusEntity.VALID.equals(businessObjectDataStatusEntity.getCode()) && !restrictedByStorageUnits &&
+            configurationHelper.getBooleanProperty(ConfigurationValue.AVAILABILITY_DDL_LATEST_VALID_VERSION_FLAG_ENABLED))
+        {
+            predicate = builder.and(predicate, builder.isTrue(businessObjectDataEntity.get(BusinessObjectDataEntity_.latestValidVersion)));
+        }
+
+        return predicate;
+    }
+
     /**
      * Builds a query restriction predicate for the storage.
      *
@@ -522,4 +646,30 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
             }
         }
     }
+
+    /**
+     * Gets the sub-partition values for the specified list of raw sub-partition values.
+     *
+     * @param rawSubPartitionValues the list of raw sub-partition values
+     *
+     * @return the list of sub-partition values
+     */
+    protected List<String> getSubPartitionValuesFromRawSubPartitionValues(List<String> rawSubPartitionValues)
+    {
+        List<String> subPartitionValues = new ArrayList<>();
+
+        for (String rawSubPartitionValue : rawSubPartitionValues)
+        {
+            if (rawSubPartitionValue != null)
+            {
+                subPartitionValues.add(rawSubPartitionValue);
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        return subPartitionValues;
+    }
 }
@@ -17,11 +17,11 @@ package org.finra.herd.dao.impl;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,8 +34,10 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.SingularAttribute;
 
 import com.google.common.collect.Lists;
@@ -65,6 +67,8 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.PartitionValueFilter;
 import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.RegistrationDateRangeFilter;
+import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.StoragePolicyCandidateDto;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity_;
@@ -86,6 +90,8 @@ import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StoragePolicyEntity;
 import org.finra.herd.model.jpa.StoragePolicyEntity_;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity_;
 import org.finra.herd.model.jpa.StoragePolicyStatusEntity;
 import org.finra.herd.model.jpa.StoragePolicyTransitionTypeEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
@@ -185,8 +191,8 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         // Otherwise, add restriction on business object data status, if specified.
         else if (businessObjectDataStatusEntity != null)
         {
-            queryRestriction = builder.and(queryRestriction,
-                builder.equal(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode), businessObjectDataStatusEntity.getCode()));
+            queryRestriction = builder
+                .and(queryRestriction, getQueryRestrictionOnBusinessObjectDataStatus(builder, businessObjectDataEntityRoot, businessObjectDataStatusEntity, false));
         }
 
         // Add the clauses for the query.
@@ -428,9 +434,88 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     }
 
     @Override
-    public Map<BusinessObjectDataEntity, StoragePolicyEntity> getBusinessObjectDataEntitiesMatchingStoragePolicies(
-        StoragePolicyPriorityLevel storagePolicyPriorityLevel, Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses,
-        int storagePolicyTransitionMaxAllowedAttempts, int startPosition, int maxResult)
+    public List<BusinessObjectDataEntity> getBusinessObjectDataWithoutLatestValidVersionFlag(int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate queryRestriction = builder.isNull(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.latestValidVersion));
+
+        // Order results by "created on" timestamp, so the oldest business object data gets processed first.
+        Order orderBy = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn));
+
+        // Add all clauses to the query.
+        criteria.select(businessObjectDataEntityRoot).where(queryRestriction).orderBy(orderBy);
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
+    @Override
+    public List<BusinessObjectDataEntity> getBusinessObjectDataWithInconsistentLatestValidVersionFlag(Timestamp updatedOnThreshold, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+
+        // Create a subquery that selects newer VALID versions of the same business object data.
+        Subquery<Long> newerValidVersionSubquery = criteria.subquery(Long.class);
+        Root<BusinessObjectDataEntity> newerVersionEntityRoot = newerValidVersionSubquery.from(BusinessObjectDataEntity.class);
+        List<Predicate> subQueryPredicates = new ArrayList<>();
+        subQueryPredicates.add(builder.equal(newerVersionEntityRoot.get(BusinessObjectDataEntity_.businessObjectFormatId),
+            businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.businessObjectFormatId)));
+        for (SingularAttribute<BusinessObjectDataEntity, String> businessObjectDataPartition : BUSINESS_OBJECT_DATA_PARTITIONS)
+        {
+            // Sub-partition values are null when they are not registered, so they get compared as equal when both are null.
+            subQueryPredicates.add(builder.or(
+                builder.equal(newerVersionEntityRoot.get(businessObjectDataPartition), businessObjectDataEntityRoot.get(businessObjectDataPartition)),
+                builder.and(builder.isNull(newerVersionEntityRoot.get(businessObjectDataPartition)),
+                    builder.isNull(businessObjectDataEntityRoot.get(businessObjectDataPartition)))));
+        }
+        subQueryPredicates.add(builder
+            .greaterThan(newerVersionEntityRoot.get(BusinessObjectDataEntity_.version), businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version)));
+        subQueryPredicates.add(builder.equal(newerVersionEntityRoot.get(BusinessObjectDataEntity_.statusCode), BusinessObjectDataStatusEntity.VALID));
+        newerValidVersionSubquery.select(newerVersionEntityRoot.get(BusinessObjectDataEntity_.id))
+            .where(builder.and(subQueryPredicates.toArray(new Predicate[subQueryPredicates.size()])));
+
+        // Create the restriction on the flag being set, while business object data is not VALID or a newer VALID version exists.
+        Predicate inconsistentFlagSetRestriction = builder.and(builder.isTrue(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.latestValidVersion)),
+            builder.or(builder.notEqual(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode), BusinessObjectDataStatusEntity.VALID),
+                builder.exists(newerValidVersionSubquery)));
+
+        // Create the restriction on the flag being cleared, while business object data is VALID and no newer VALID version exists.
+        Predicate inconsistentFlagClearedRestriction =
+            builder.and(builder.isFalse(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.latestValidVersion)),
+                builder.equal(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode), BusinessObjectDataStatusEntity.VALID),
+                builder.not(builder.exists(newerValidVersionSubquery)));
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate queryRestriction =
+            builder.and(builder.greaterThanOrEqualTo(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.updatedOn), updatedOnThreshold),
+                builder.or(inconsistentFlagSetRestriction, inconsistentFlagClearedRestriction));
+
+        // Order results by "updated on" timestamp.
+        Order orderBy = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.updatedOn));
+
+        // Add all clauses to the query.
+        criteria.select(businessObjectDataEntityRoot).where(queryRestriction).orderBy(orderBy);
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
+    @Override
+    public List<StoragePolicyCandidateDto> getStoragePolicyCandidates(StoragePolicyPriorityLevel storagePolicyPriorityLevel,
+        Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
+        Long lastBusinessObjectDataId, int maxResult)
     {
         // Create the criteria builder and a tuple style criteria query.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
@@ -444,10 +529,23 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         Join<BusinessObjectDataEntity, StorageUnitEntity> storageUnitEntityJoin = businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.storageUnits);
         Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
             businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.businessObjectFormat);
+        Join<BusinessObjectFormatEntity, BusinessObjectDefinitionEntity> businessObjectDefinitionEntityJoin =
+            businessObjectFormatEntityJoin.join(BusinessObjectFormatEntity_.businessObjectDefinition);
+        Join<BusinessObjectDefinitionEntity, NamespaceEntity> businessObjectDefinitionNamespaceEntityJoin =
+            businessObjectDefinitionEntityJoin.join(BusinessObjectDefinitionEntity_.namespace);
+        Join<StoragePolicyEntity, NamespaceEntity> storagePolicyNamespaceEntityJoin = storagePolicyEntityRoot.join(StoragePolicyEntity_.namespace);
+        Join<StoragePolicyEntity, StoragePolicyRuleTypeEntity> storagePolicyRuleTypeEntityJoin =
+            storagePolicyEntityRoot.join(StoragePolicyEntity_.storagePolicyRuleType);
 
         // Create main query restrictions based on the specified parameters.
         List<Predicate> predicates = new ArrayList<>();
 
+        // If specified, add restriction on business object data ID to continue the scan after the last selected business object data.
+        if (lastBusinessObjectDataId != null)
+        {
+            predicates.add(builder.greaterThan(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id), lastBusinessObjectDataId));
+        }
+
         // Add restriction on business object definition.
         predicates.add(storagePolicyPriorityLevel.isBusinessObjectDefinitionIsNull() ?
             builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinitionId)) : builder
@@ -492,33 +590,69 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
                 .lessThan(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts), storagePolicyTransitionMaxAllowedAttempts)));
         }
 
-        // Order the results by business object data "created on" value.
-        Order orderByCreatedOn = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn));
-
-        // Add the select clause to the main query.
-        criteria.multiselect(businessObjectDataEntityRoot, storagePolicyEntityRoot);
+        // Order the results by business object data ID and, since multiple storage policies can contain identical filters, by storage policy ID.
+        List<Order> orderBy = Arrays.asList(builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id)),
+            builder.asc(storagePolicyEntityRoot.get(StoragePolicyEntity_.id)));
+
+        // Get the columns.
+        Path<Long> businessObjectDataIdColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id);
+        Path<String> namespaceCodeColumn = businessObjectDefinitionNamespaceEntityJoin.get(NamespaceEntity_.code);
+        Path<String> businessObjectDefinitionNameColumn = businessObjectDefinitionEntityJoin.get(BusinessObjectDefinitionEntity_.name);
+        Path<String> businessObjectFormatUsageColumn = businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.usage);
+        Path<String> businessObjectFormatFileTypeColumn = businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.fileTypeCode);
+        Path<Integer> businessObjectFormatVersionColumn = businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.businessObjectFormatVersion);
+        Path<String> primaryPartitionValueColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue);
+        Path<String> subPartitionValue1Column = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue2);
+        Path<String> subPartitionValue2Column = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue3);
+        Path<String> subPartitionValue3Column = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue4);
+        Path<String> subPartitionValue4Column = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue5);
+        Path<Integer> businessObjectDataVersionColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version);
+        Path<String> businessObjectDataStatusColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode);
+        Path<Timestamp> businessObjectDataCreatedOnColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn);
+        Path<Timestamp> businessObjectDataUpdatedOnColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.updatedOn);
+        Path<Long> storagePolicyIdColumn = storagePolicyEntityRoot.get(StoragePolicyEntity_.id);
+        Path<String> storagePolicyNamespaceCodeColumn = storagePolicyNamespaceEntityJoin.get(NamespaceEntity_.code);
+        Path<String> storagePolicyNameColumn = storagePolicyEntityRoot.get(StoragePolicyEntity_.name);
+        Path<Integer> storagePolicyVersionColumn = storagePolicyEntityRoot.get(StoragePolicyEntity_.version);
+        Path<String> storagePolicyRuleTypeColumn = storagePolicyRuleTypeEntityJoin.get(StoragePolicyRuleTypeEntity_.code);
+        Path<Integer> storagePolicyRuleValueColumn = storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyRuleValue);
 
-        // Add the where clause to the main query.
-        criteria.where(predicates.toArray(new Predicate[] {}));
-
-        // Add the order by clause to the main query.
-        criteria.orderBy(orderByCreatedOn);
+        // Add the clauses for the query.
+        criteria.multiselect(businessObjectDataIdColumn, namespaceCodeColumn, businessObjectDefinitionNameColumn, businessObjectFormatUsageColumn,
+            businessObjectFormatFileTypeColumn, businessObjectFormatVersionColumn, primaryPartitionValueColumn, subPartitionValue1Column,
+            subPartitionValue2Column, subPartitionValue3Column, subPartitionValue4Column, businessObjectDataVersionColumn, businessObjectDataStatusColumn,
+            businessObjectDataCreatedOnColumn, businessObjectDataUpdatedOnColumn, storagePolicyIdColumn, storagePolicyNamespaceCodeColumn,
+            storagePolicyNameColumn, storagePolicyVersionColumn, storagePolicyRuleTypeColumn, storagePolicyRuleValueColumn)
+            .where(predicates.toArray(new Predicate[] {})).orderBy(orderBy);
 
         // Run the query to get a list of tuples back.
-        List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(startPosition).setMaxResults(maxResult).getResultList();
+        List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
 
-        // Populate the result map from the returned tuples (i.e. 1 tuple for each row).
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = new LinkedHashMap<>();
+        // Build a list of storage policy candidates from the returned tuples (i.e. 1 tuple for each row).
+        List<StoragePolicyCandidateDto> storagePolicyCandidateDtos = new ArrayList<>();
+        Long previousBusinessObjectDataId = null;
         for (Tuple tuple : tuples)
         {
             // Since multiple storage policies can contain identical filters, we add the below check to select each business object data instance only once.
-            if (!result.containsKey(tuple.get(businessObjectDataEntityRoot)))
+            // Please note that tuples are ordered by business object data ID, so all the duplicates are listed next to each other.
+            Long businessObjectDataId = tuple.get(businessObjectDataIdColumn);
+            if (!businessObjectDataId.equals(previousBusinessObjectDataId))
             {
-                result.put(tuple.get(businessObjectDataEntityRoot), tuple.get(storagePolicyEntityRoot));
+                storagePolicyCandidateDtos.add(new StoragePolicyCandidateDto(businessObjectDataId,
+                    new BusinessObjectDataKey(tuple.get(namespaceCodeColumn), tuple.get(businessObjectDefinitionNameColumn),
+                        tuple.get(businessObjectFormatUsageColumn), tuple.get(businessObjectFormatFileTypeColumn), tuple.get(businessObjectFormatVersionColumn),
+                        tuple.get(primaryPartitionValueColumn), getSubPartitionValuesFromRawSubPartitionValues(Arrays
+                        .asList(tuple.get(subPartitionValue1Column), tuple.get(subPartitionValue2Column), tuple.get(subPartitionValue3Column),
+                            tuple.get(subPartitionValue4Column))), tuple.get(businessObjectDataVersionColumn)), tuple.get(businessObjectDataStatusColumn),
+                    HerdDateUtils.getXMLGregorianCalendarValue(tuple.get(businessObjectDataCreatedOnColumn)),
+                    HerdDateUtils.getXMLGregorianCalendarValue(tuple.get(businessObjectDataUpdatedOnColumn)), tuple.get(storagePolicyIdColumn),
+                    new StoragePolicyKey(tuple.get(storagePolicyNamespaceCodeColumn), tuple.get(storagePolicyNameColumn)),
+                    tuple.get(storagePolicyVersionColumn), tuple.get(storagePolicyRuleTypeColumn), tuple.get(storagePolicyRuleValueColumn)));
+                previousBusinessObjectDataId = businessObjectDataId;
             }
         }
 
-        return result;
+        return storagePolicyCandidateDtos;
     }
 
     /**
@@ -611,7 +745,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         else if (businessObjectDataStatusEntity != null)
         {
             mainQueryRestriction = builder.and(mainQueryRestriction,
-                builder.equal(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode), businessObjectDataStatusEntity.getCode()));
+                getQueryRestrictionOnBusinessObjectDataStatus(builder, businessObjectDataEntityRoot, businessObjectDataStatusEntity, true));
         }
 
         // If specified, add an inclusive upper bound partition value restriction.
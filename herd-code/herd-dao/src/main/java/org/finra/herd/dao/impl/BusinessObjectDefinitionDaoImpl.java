@@ -93,6 +93,32 @@ public class BusinessObjectDefinitionDaoImpl extends AbstractHerdDao implements
         return query.getResultList();
     }
 
+    @Override
+    public List<BusinessObjectDefinitionEntity> getBusinessObjectDefinitionsStartingAfterId(Long startAfterId, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDefinitionEntity> criteria = builder.createQuery(BusinessObjectDefinitionEntity.class);
+
+        // The criteria root is the business object definition.
+        Root<BusinessObjectDefinitionEntity> businessObjectDefinitionEntityRoot = criteria.from(BusinessObjectDefinitionEntity.class);
+
+        // Get the id column.
+        Path<Long> idColumn = businessObjectDefinitionEntityRoot.get(BusinessObjectDefinitionEntity_.id);
+
+        // Add the select and the order by clauses.
+        criteria.select(businessObjectDefinitionEntityRoot).orderBy(builder.asc(idColumn));
+
+        // If the start after id is specified, add the where clause.
+        if (startAfterId != null)
+        {
+            criteria.where(builder.greaterThan(idColumn, startAfterId));
+        }
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitionsByIds(List<Long> ids)
     {
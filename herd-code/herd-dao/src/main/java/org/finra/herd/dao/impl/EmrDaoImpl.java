@@ -25,9 +25,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduceClient;
 import com.amazonaws.services.elasticmapreduce.model.ActionOnFailure;
@@ -77,6 +82,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.core.HerdStringUtils;
@@ -128,6 +136,16 @@ public class EmrDaoImpl implements EmrDao
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmrDaoImpl.class);
 
+    /**
+     * The EMR cluster cache refreshes that are currently in progress keyed by the EMR cluster cache map key.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Map<String, ClusterSummary>>> emrClusterCacheRefreshes = new ConcurrentHashMap<>();
+
+    /**
+     * The EMR cluster cache map keys that have a background refresh scheduled.
+     */
+    private final Set<String> emrClusterCacheBackgroundRefreshes = ConcurrentHashMap.newKeySet();
+
     @Autowired
     private AwsClientFactory awsClientFactory;
 
@@ -155,6 +173,10 @@ public class EmrDaoImpl implements EmrDao
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    @Qualifier("getAsyncExecutor")
+    private TaskExecutor taskExecutor;
+
     @Override
     public String addEmrStep(String clusterId, StepConfig emrStepConfig, AwsParamsDto awsParamsDto) throws Exception
     {
@@ -197,10 +219,8 @@ public class EmrDaoImpl implements EmrDao
     }
 
     @Override
-    public synchronized ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
+    public ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
     {
-        LOGGER.info("Entering synchronized method.");
-
         // Initialize a cluster summary to null for the case that the cluster is not found in the list.
         ClusterSummary clusterSummary = null;
 
@@ -217,14 +237,12 @@ public class EmrDaoImpl implements EmrDao
 
             LOGGER.info("EMR cluster cache key. emrClusterCacheKey=\"{}\"", emrClusterCacheKey.toString());
 
-            // First check to see if this cluster id is stored locally in the EMR Cluster Cache.
+            // First check to see if this cluster id is stored locally in the EMR Cluster Cache. The cache is a concurrent map, so this read does not block.
             // If the EMR cluster cache does contain the cluster key use the id found in the EMR cluster cache.
             // Else the EMR cluster cache does not contain the cluster key then move on to do a list cluster.
-            if (emrClusterCache.containsKey(emrClusterCacheKey))
+            String clusterId = emrClusterCache.get(emrClusterCacheKey);
+            if (clusterId != null)
             {
-                // Get the cluster id value from the EMR cluster cache with the cluster name key.
-                String clusterId = emrClusterCache.get(emrClusterCacheKey);
-
                 // Retrieve the cluster status to validate the cluster.
                 Cluster cluster = getEmrClusterById(clusterId, awsParams);
                 ClusterStatus clusterStatus = cluster == null ? null : cluster.getStatus();
@@ -237,7 +255,9 @@ public class EmrDaoImpl implements EmrDao
                 // Else remove the cluster from the EMR cluster cache and then move on to do a list cluster.
                 if (status != null && Arrays.asList(getActiveEmrClusterStates()).contains(status))
                 {
-                    LOGGER.info("Exiting synchronized block.");
+                    // Keep the cache current for the other clusters of this account without making this caller wait for it.
+                    scheduleEmrClusterCacheBackgroundRefresh(accountId, awsParams);
+
                     return new ClusterSummary().withId(clusterId).withName(clusterName).withStatus(clusterStatus);
                 }
                 else
@@ -245,103 +265,16 @@ public class EmrDaoImpl implements EmrDao
                     LOGGER.info("Removing cluster from EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
                         clusterName.toUpperCase(), clusterId, status);
 
-                    // Remove the cluster from the cache.
-                    emrClusterCache.remove(emrClusterCacheKey);
+                    // Remove the cluster from the cache, unless it was already replaced with a newer cluster id by a concurrent caller.
+                    emrClusterCache.remove(emrClusterCacheKey, clusterId);
                 }
             }
 
             LOGGER.info("The cluster name was not in the cluster cache. Make a list cluster request to find the cluster id. emrClusterName=\"{}\"",
                 clusterName.toUpperCase());
 
-            // Get the EMR cluster cache timeout values.
-            EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
-            LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
-            LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
-
-            // New cache timeout values.
-            LocalDateTime newLastFullReload;
-            LocalDateTime newLastDeltaUpdate;
-
-            // Default the created after date to null for the full update case.
-            Date createdAfter = null;
-
-            // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
-            // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
-            if (lastDeltaUpdate == null || lastFullReload == null ||
-                Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES)
-            {
-                // Set the new last full reload time to the current time.
-                newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
-
-                // Clear the EMR cluster cache
-                emrClusterCache.clear();
-
-                LOGGER.info("EMR cluster cache cleared. Starting a full reload of the EMR cluster cache. " +
-                        "newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"", newLastFullReload, lastFullReload,
-                    System.identityHashCode(emrClusterCache));
-            }
-            else
-            {
-                // Set the created after date to the last delta update minus the delta update safety buffer time.
-                createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
-
-                // Keep the last full reload the same.
-                newLastFullReload = lastFullReload;
-
-                LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
-            }
-
-            // Set the new last delta update to the current time.
-            newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
-
-            LOGGER
-                .info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
-
-            /**
-             * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
-             * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
-             */
-            ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
-
-            /**
-             * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
-             * that can be used for subsequent calls to listClusters to get all the clusters
-             */
-            String markerForListClusters = listClustersRequest.getMarker();
-
-            // Loop through all the available clusters and look for the given cluster id
-            do
-            {
-                /**
-                 * Call AWSOperations for ListClusters API.
-                 * Need to include the Marker returned by the previous iteration
-                 */
-                ListClustersResult clusterResult = emrOperations
-                    .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
-
-                // Loop through all the active clusters returned by AWS
-                for (ClusterSummary clusterInstance : clusterResult.getClusters())
-                {
-                    LOGGER
-                        .info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
-                            clusterInstance.getId());
-
-                    // Add this cluster instance to the EMR cluster cache.
-                    emrClusterCache.put(new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId), clusterInstance.getId());
-
-                    // If the cluster name matches, then set the clusterSummary to the clusterInstance
-                    if (StringUtils.isNotBlank(clusterInstance.getName()) && clusterInstance.getName().equalsIgnoreCase(clusterName))
-                    {
-                        clusterSummary = clusterInstance;
-                    }
-                }
-                markerForListClusters = clusterResult.getMarker();
-            }
-            while (markerForListClusters != null);
-
-            // Update the cluster cache timestamps
-            emrClusterCacheTimestamps.setLastFullReload(newLastFullReload);
-            emrClusterCacheTimestamps.setLastDeltaUpdate(newLastDeltaUpdate);
+            // Refresh the EMR cluster cache for this account, joining a refresh that is already in progress for the same account if there is one.
+            clusterSummary = refreshEmrClusterCache(accountId, awsParams).get(clusterName.toUpperCase());
         }
 
         LOGGER.info("Returning clusterSummary=\"{}\"", clusterSummary == null ? null : clusterSummary.toString());
@@ -349,8 +282,6 @@ public class EmrDaoImpl implements EmrDao
         LOGGER.debug("State of cache after calling getActiveEmrClusterByNameAndAccountId. emrClusterCache=\"{}\" emrClusterCacheContents=\"{}\"",
             System.identityHashCode(emrClusterCache), emrClusterCache.toString());
 
-        LOGGER.info("Exiting synchronized method.");
-
         return clusterSummary;
     }
 
@@ -554,18 +485,23 @@ public class EmrDaoImpl implements EmrDao
     protected Map<EmrClusterCacheKey, String> getEmrClusterCacheByAccountId(String accountId)
     {
         // Get the cluster cache using the accountId as a key.
-        Map<EmrClusterCacheKey, String> emrClusterCache =
-            emrClusterCacheMap.get(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId);
+        Map<EmrClusterCacheKey, String> emrClusterCache = emrClusterCacheMap.get(getEmrClusterCacheMapKey(accountId));
 
         // If the cache is null we need to create a new cache for this account id.
         if (emrClusterCache == null)
         {
             emrClusterCache = new ConcurrentHashMap<>();
 
-            // Add the new cache to the EMR cluster cache map
-            emrClusterCacheMap.put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCache);
-
-            LOGGER.info("Adding a new EMR cluster cache for accountId=\"{}\"", accountId);
+            // Add the new cache to the EMR cluster cache map, unless a concurrent caller has already added one.
+            Map<EmrClusterCacheKey, String> existingEmrClusterCache = emrClusterCacheMap.putIfAbsent(getEmrClusterCacheMapKey(accountId), emrClusterCache);
+            if (existingEmrClusterCache != null)
+            {
+                emrClusterCache = existingEmrClusterCache;
+            }
+            else
+            {
+                LOGGER.info("Adding a new EMR cluster cache for accountId=\"{}\"", accountId);
+            }
         }
 
         return emrClusterCache;
@@ -583,24 +519,268 @@ public class EmrDaoImpl implements EmrDao
     protected EmrClusterCacheTimestamps getEmrClusterCacheTimestampsByAccountId(String accountId)
     {
         // Get the EMR cluster cache timeout values.
-        EmrClusterCacheTimestamps emrClusterCacheTimestamps =
-            emrClusterCacheTimestampsMap.get(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId);
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps = emrClusterCacheTimestampsMap.get(getEmrClusterCacheMapKey(accountId));
 
         // If the cache timestamps dto object is null we need to create a new cache timestamps dto object for this account id.
         if (emrClusterCacheTimestamps == null)
         {
             emrClusterCacheTimestamps = new EmrClusterCacheTimestamps(null, null);
 
-            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map.
-            emrClusterCacheTimestampsMap
-                .put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCacheTimestamps);
-
-            LOGGER.info("Adding a new EMR cluster cache timestamps dto for accountId=\"{}\"", accountId);
+            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map, unless a concurrent caller has already added one.
+            EmrClusterCacheTimestamps existingEmrClusterCacheTimestamps =
+                emrClusterCacheTimestampsMap.putIfAbsent(getEmrClusterCacheMapKey(accountId), emrClusterCacheTimestamps);
+            if (existingEmrClusterCacheTimestamps != null)
+            {
+                emrClusterCacheTimestamps = existingEmrClusterCacheTimestamps;
+            }
+            else
+            {
+                LOGGER.info("Adding a new EMR cluster cache timestamps dto for accountId=\"{}\"", accountId);
+            }
         }
 
         return emrClusterCacheTimestamps;
     }
 
+    /**
+     * Gets the key used to store the EMR cluster cache and the EMR cluster cache timestamps for the specified account id.
+     *
+     * @param accountId the AWS account id, may be blank
+     *
+     * @return the EMR cluster cache map key
+     */
+    private String getEmrClusterCacheMapKey(String accountId)
+    {
+        return StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId;
+    }
+
+    /**
+     * Refreshes the EMR cluster cache for the specified account id. Only one refresh runs at a time per account id. A caller that finds a refresh already in
+     * progress for the same account id waits for that refresh to complete and shares its result instead of listing the clusters again.
+     *
+     * @param accountId the AWS account id, may be blank
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the cluster summaries listed by the refresh keyed by the upper case cluster name
+     */
+    private Map<String, ClusterSummary> refreshEmrClusterCache(String accountId, AwsParamsDto awsParams)
+    {
+        String emrClusterCacheMapKey = getEmrClusterCacheMapKey(accountId);
+
+        CompletableFuture<Map<String, ClusterSummary>> emrClusterCacheRefresh = new CompletableFuture<>();
+        CompletableFuture<Map<String, ClusterSummary>> inProgressEmrClusterCacheRefresh =
+            emrClusterCacheRefreshes.putIfAbsent(emrClusterCacheMapKey, emrClusterCacheRefresh);
+
+        // If another caller is already refreshing the cache for this account, wait for its result.
+        if (inProgressEmrClusterCacheRefresh != null)
+        {
+            LOGGER.info("Waiting for the EMR cluster cache refresh that is already in progress. accountId=\"{}\"", accountId);
+
+            try
+            {
+                return inProgressEmrClusterCacheRefresh.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String.format("Interrupted while waiting for the EMR cluster cache refresh. accountId=\"%s\"", accountId), e);
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        try
+        {
+            Map<String, ClusterSummary> clusterSummaries = loadEmrClusterCache(accountId, awsParams);
+            emrClusterCacheRefresh.complete(clusterSummaries);
+            return clusterSummaries;
+        }
+        catch (RuntimeException e)
+        {
+            emrClusterCacheRefresh.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            emrClusterCacheRefreshes.remove(emrClusterCacheMapKey, emrClusterCacheRefresh);
+        }
+    }
+
+    /**
+     * Loads the active EMR clusters of the specified account id into the EMR cluster cache. This is a full reload when the cache has not been loaded yet or
+     * when the last full reload is older than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, otherwise only the clusters created since the last delta update are
+     * listed. The cache is never cleared while it is being reloaded, so the concurrent readers continue to see the previously cached clusters.
+     *
+     * @param accountId the AWS account id, may be blank
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the listed cluster summaries keyed by the upper case cluster name
+     */
+    private Map<String, ClusterSummary> loadEmrClusterCache(String accountId, AwsParamsDto awsParams)
+    {
+        // Get the cluster cache using the accountId.
+        Map<EmrClusterCacheKey, String> emrClusterCache = getEmrClusterCacheByAccountId(accountId);
+
+        // Get the EMR cluster cache timeout values.
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
+        LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
+        LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
+
+        // New cache timeout values.
+        LocalDateTime newLastFullReload;
+        LocalDateTime newLastDeltaUpdate;
+
+        // Default the created after date to null for the full update case.
+        Date createdAfter = null;
+
+        // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
+        // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
+        boolean fullReload = lastDeltaUpdate == null || lastFullReload == null ||
+            Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES;
+        if (fullReload)
+        {
+            // Set the new last full reload time to the current time.
+            newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
+
+            LOGGER.info("Starting a full reload of the EMR cluster cache. newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"",
+                newLastFullReload, lastFullReload, System.identityHashCode(emrClusterCache));
+        }
+        else
+        {
+            // Set the created after date to the last delta update minus the delta update safety buffer time.
+            createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
+
+            // Keep the last full reload the same.
+            newLastFullReload = lastFullReload;
+
+            LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
+        }
+
+        // Set the new last delta update to the current time.
+        newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
+
+        LOGGER.info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
+
+        // The cluster summaries listed by this reload and the cache keys they were stored under.
+        Map<String, ClusterSummary> clusterSummaries = new HashMap<>();
+        Set<EmrClusterCacheKey> listedEmrClusterCacheKeys = new HashSet<>();
+
+        /**
+         * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
+         * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
+         */
+        ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
+
+        /**
+         * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
+         * that can be used for subsequent calls to listClusters to get all the clusters
+         */
+        String markerForListClusters = listClustersRequest.getMarker();
+
+        // Loop through all the available clusters
+        do
+        {
+            /**
+             * Call AWSOperations for ListClusters API.
+             * Need to include the Marker returned by the previous iteration
+             */
+            ListClustersResult clusterResult = emrOperations
+                .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
+
+            // Loop through all the active clusters returned by AWS
+            for (ClusterSummary clusterInstance : clusterResult.getClusters())
+            {
+                LOGGER.info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
+                    clusterInstance.getId());
+
+                // Add this cluster instance to the EMR cluster cache.
+                EmrClusterCacheKey emrClusterCacheKey = new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId);
+                emrClusterCache.put(emrClusterCacheKey, clusterInstance.getId());
+                listedEmrClusterCacheKeys.add(emrClusterCacheKey);
+
+                // Remember the cluster summary so the callers can look up their cluster by name.
+                if (StringUtils.isNotBlank(clusterInstance.getName()))
+                {
+                    clusterSummaries.put(clusterInstance.getName().toUpperCase(), clusterInstance);
+                }
+            }
+            markerForListClusters = clusterResult.getMarker();
+        }
+        while (markerForListClusters != null);
+
+        // On a full reload, evict the clusters that are no longer active.
+        if (fullReload)
+        {
+            emrClusterCache.keySet().retainAll(listedEmrClusterCacheKeys);
+        }
+
+        // Update the cluster cache timestamps. The timestamps DTO is never modified once it is in the map. Instead, a new DTO replaces it, so the concurrent
+        // readers see both timestamps of either the previous or this reload, safely published by the concurrent map.
+        emrClusterCacheTimestampsMap.put(getEmrClusterCacheMapKey(accountId), new EmrClusterCacheTimestamps(newLastFullReload, newLastDeltaUpdate));
+
+        return clusterSummaries;
+    }
+
+    /**
+     * Schedules an asynchronous refresh of the EMR cluster cache for the specified account id when the background refresh is enabled and the last update of
+     * the cache is older than the configured background refresh interval. At most one background refresh is scheduled per account id at a time.
+     *
+     * @param accountId the AWS account id, may be blank
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     */
+    private void scheduleEmrClusterCacheBackgroundRefresh(String accountId, AwsParamsDto awsParams)
+    {
+        int backgroundRefreshIntervalSeconds =
+            configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS, Integer.class);
+
+        // Background refresh is disabled unless the interval is positive.
+        if (backgroundRefreshIntervalSeconds <= 0)
+        {
+            return;
+        }
+
+        // Do nothing if the cache is updated recently enough or if a refresh is already in progress.
+        String emrClusterCacheMapKey = getEmrClusterCacheMapKey(accountId);
+        LocalDateTime lastDeltaUpdate = getEmrClusterCacheTimestampsByAccountId(accountId).getLastDeltaUpdate();
+        if ((lastDeltaUpdate != null &&
+            Duration.between(lastDeltaUpdate, LocalDateTime.now(ZoneId.systemDefault())).getSeconds() < backgroundRefreshIntervalSeconds) ||
+            emrClusterCacheRefreshes.containsKey(emrClusterCacheMapKey) || !emrClusterCacheBackgroundRefreshes.add(emrClusterCacheMapKey))
+        {
+            return;
+        }
+
+        LOGGER.info("Scheduling a background refresh of the EMR cluster cache. accountId=\"{}\" lastDeltaUpdate=\"{}\"", accountId, lastDeltaUpdate);
+
+        try
+        {
+            taskExecutor.execute(() -> {
+                try
+                {
+                    refreshEmrClusterCache(accountId, awsParams);
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.warn("Failed to refresh the EMR cluster cache in the background. accountId=\"{}\"", accountId, e);
+                }
+                finally
+                {
+                    emrClusterCacheBackgroundRefreshes.remove(emrClusterCacheMapKey);
+                }
+            });
+        }
+        catch (TaskRejectedException e)
+        {
+            emrClusterCacheBackgroundRefreshes.remove(emrClusterCacheMapKey);
+            LOGGER.warn("Failed to schedule a background refresh of the EMR cluster cache. accountId=\"{}\"", accountId, e);
+        }
+    }
+
 
     /**
      * Creates an instance fleet configuration that describes the EC2 instances and instance configurations for clusters that use this feature.
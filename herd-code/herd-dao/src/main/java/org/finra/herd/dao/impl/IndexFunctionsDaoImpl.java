@@ -20,14 +20,23 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -52,6 +61,8 @@ import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.cluster.metadata.AliasMetadata;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -67,6 +78,7 @@ import org.springframework.stereotype.Repository;
 import org.finra.herd.dao.ElasticsearchRestHighLevelClientFactory;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.exception.ElasticsearchRestClientException;
+import org.finra.herd.model.dto.ConfigurationValue;
 
 @Repository
 public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunctionsDao
@@ -532,6 +544,149 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         return new DocsStats();
     }
 
+    @Override
+    public long createIndexDocumentsInBulk(final String indexName, final Consumer<BiConsumer<String, String>> documentProducer)
+    {
+        LOGGER.info("Creating Elasticsearch index documents in bulk, indexName={}.", indexName);
+
+        // Get the bulk processor configuration.
+        final int bulkActions = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_BULK_ACTIONS, Integer.class);
+        final int bulkSizeMb = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_BULK_SIZE_MB, Integer.class);
+        final int flushIntervalSeconds = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_FLUSH_INTERVAL_SECONDS, Integer.class);
+        final int concurrentRequests = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_CONCURRENT_REQUESTS, Integer.class);
+        final int socketTimeout = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class);
+
+        // Count the documents that failed to get indexed. The bulk processor listener is called from the bulk request threads.
+        final AtomicLong failedDocumentCount = new AtomicLong();
+
+        // Create a bulk processor listener that logs bulk request failures.
+        BulkProcessor.Listener listener = new BulkProcessor.Listener()
+        {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest bulkRequest)
+            {
+                LOGGER.debug("Sending bulk request, indexName={}, executionId={}, numberOfActions={}.", indexName, executionId,
+                    bulkRequest.numberOfActions());
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest bulkRequest, BulkResponse bulkResponse)
+            {
+                // If there are failures log them
+                if (bulkResponse.hasFailures())
+                {
+                    for (BulkItemResponse bulkItemResponse : bulkResponse.getItems())
+                    {
+                        if (bulkItemResponse.isFailed())
+                        {
+                            failedDocumentCount.incrementAndGet();
+                        }
+                    }
+
+                    LOGGER.error("Bulk response error={}.", bulkResponse.buildFailureMessage());
+                }
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest bulkRequest, Throwable failure)
+            {
+                failedDocumentCount.addAndGet(bulkRequest.numberOfActions());
+
+                LOGGER.error("Bulk request failed, indexName={}, executionId={}, numberOfActions={}.", indexName, executionId, bulkRequest.numberOfActions(),
+                    failure);
+            }
+        };
+
+        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
+        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            // Build the bulk processor that sends the bulk requests asynchronously using the REST high level client.
+            BulkProcessor bulkProcessor = BulkProcessor
+                .builder((bulkRequest, bulkListener) -> restHighLevelClient.bulkAsync(bulkRequest, RequestOptions.DEFAULT, bulkListener), listener)
+                .setBulkActions(bulkActions).setBulkSize(new ByteSizeValue(bulkSizeMb, ByteSizeUnit.MB))
+                .setFlushInterval(TimeValue.timeValueSeconds(flushIntervalSeconds)).setConcurrentRequests(concurrentRequests).build();
+
+            try
+            {
+                // Let the producer add all documents to the bulk processor.
+                documentProducer.accept((id, jsonString) -> bulkProcessor.add(new IndexRequest(indexName).id(id).source(jsonString, XContentType.JSON)));
+            }
+            finally
+            {
+                // Flush the remaining documents and wait for all in-flight bulk requests to complete.
+                if (!bulkProcessor.awaitClose(socketTimeout, TimeUnit.MILLISECONDS))
+                {
+                    LOGGER.error("Timed out waiting for bulk requests to complete, indexName={}.", indexName);
+
+                    throw new ElasticsearchRestClientException(
+                        String.format("Timed out waiting for Elasticsearch bulk requests to complete, indexName=%s.", indexName), null);
+                }
+            }
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+        catch (final InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new ElasticsearchRestClientException("Interrupted while waiting for Elasticsearch bulk requests to complete.", interruptedException);
+        }
+
+        LOGGER.info("Created Elasticsearch index documents in bulk, indexName={}, failedDocumentCount={}.", indexName, failedDocumentCount.get());
+
+        return failedDocumentCount.get();
+    }
+
+    @Override
+    public void updateIndexSettings(final String indexName, final Settings settings)
+    {
+        LOGGER.info("Updating the Elasticsearch index settings, indexName={}, settings={}.", indexName, settings);
+
+        // Build the update settings request.
+        UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(indexName).settings(settings);
+
+        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
+        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            // Make the update settings request.
+            AcknowledgedResponse acknowledgedResponse = restHighLevelClient.indices().putSettings(updateSettingsRequest, RequestOptions.DEFAULT);
+
+            LOGGER.info("Updated the Elasticsearch index settings, indexName={}, isAcknowledged={}.", indexName, acknowledgedResponse.isAcknowledged());
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+    }
+
+    @Override
+    public void refreshIndex(final String indexName)
+    {
+        LOGGER.info("Refreshing the Elasticsearch index, indexName={}.", indexName);
+
+        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
+        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            // Make the refresh request.
+            RefreshResponse refreshResponse = restHighLevelClient.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT);
+
+            LOGGER.info("Refreshed the Elasticsearch index, indexName={}, successfulShards={}, failedShards={}.", indexName,
+                refreshResponse.getSuccessfulShards(), refreshResponse.getFailedShards());
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+    }
+
     private List<String> getAliases(final String aliasName)
     {
         // Build the get aliases request.
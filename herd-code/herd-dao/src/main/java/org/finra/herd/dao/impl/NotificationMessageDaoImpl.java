@@ -17,10 +17,14 @@ package org.finra.herd.dao.impl;
 
 import java.util.List;
 
+import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.LockOptions;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.NotificationMessageDao;
@@ -52,4 +56,55 @@ public class NotificationMessageDaoImpl extends AbstractHerdDao implements Notif
         // Return the result.
         return resultList.size() > 0 ? resultList.get(0) : null;
     }
+
+    @Override
+    public List<NotificationMessageEntity> getOldestNotificationMessages(Long startAfterNotificationMessageId, int maxResults)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NotificationMessageEntity> criteria = builder.createQuery(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select clause.
+        criteria.select(notificationMessageEntity);
+
+        // Skip the notification messages that were already claimed by this publisher, if specified.
+        if (startAfterNotificationMessageId != null)
+        {
+            criteria.where(builder.greaterThan(notificationMessageEntity.get(NotificationMessageEntity_.id), startAfterNotificationMessageId));
+        }
+
+        // Add the order by clause, since we want to return the oldest notification messages first.
+        criteria.orderBy(builder.asc(notificationMessageEntity.get(NotificationMessageEntity_.id)));
+
+        // Execute the query with a pessimistic write lock that skips already locked rows (i.e. "select ... for update skip locked"), so the selected
+        // notification messages stay claimed by this transaction until they get published and deleted.
+        return entityManager.createQuery(criteria).setMaxResults(maxResults).setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint("javax.persistence.lock.timeout", LockOptions.SKIP_LOCKED).getResultList();
+    }
+
+    @Override
+    public int deleteNotificationMessages(List<Long> notificationMessageIds)
+    {
+        // Nothing to delete if the list of ids is empty.
+        if (CollectionUtils.isEmpty(notificationMessageIds))
+        {
+            return 0;
+        }
+
+        // Create the criteria builder and the delete criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<NotificationMessageEntity> criteria = builder.createCriteriaDelete(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the where clause.
+        criteria.where(getPredicateForInClause(builder, notificationMessageEntity.get(NotificationMessageEntity_.id), notificationMessageIds));
+
+        // Execute the bulk delete statement.
+        return entityManager.createQuery(criteria).executeUpdate();
+    }
 }
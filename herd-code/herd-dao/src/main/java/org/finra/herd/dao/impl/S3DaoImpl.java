@@ -17,24 +17,53 @@ package org.finra.herd.dao.impl;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.HttpMethod;
 import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -59,6 +88,7 @@ import com.amazonaws.services.s3.model.ObjectTagging;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.SSEAlgorithm;
@@ -72,10 +102,14 @@ import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableTransfer;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.internal.S3SyncProgressListener;
 import com.amazonaws.services.s3control.AWSS3Control;
 import com.amazonaws.services.s3control.model.CreateJobRequest;
 import com.amazonaws.services.s3control.model.CreateJobResult;
@@ -85,14 +119,22 @@ import com.amazonaws.services.s3control.model.JobProgressSummary;
 import com.amazonaws.services.s3control.model.JobStatus;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
@@ -110,11 +152,15 @@ import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.helper.S3BatchHelper;
 import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.BatchJobManifestDto;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
+import org.finra.herd.model.dto.S3FileDownloadStateDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3FileUploadJournalDto;
+import org.finra.herd.model.dto.S3FileUploadJournalEntryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -125,12 +171,28 @@ import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 @Repository
 public class S3DaoImpl implements S3Dao
 {
+    private static final long DEFAULT_DOWNLOAD_RANGE_SIZE_BYTES = 16 * 1024 * 1024;
+
+    private static final int DEFAULT_DOWNLOAD_THREADS = 10;
+
     private static final long DEFAULT_SLEEP_INTERVAL_MILLIS = 100;
 
+    private static final int DOWNLOAD_BUFFER_SIZE_BYTES = 64 * 1024;
+
+    private static final String DOWNLOAD_PARTIAL_FILE_SUFFIX = ".part";
+
+    private static final String DOWNLOAD_STATE_FILE_SUFFIX = ".state";
+
+    private static final long TRANSFER_PROGRESS_LOG_INTERVAL_MILLIS = 30000;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(S3DaoImpl.class);
 
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
 
+    private static final Pattern MD5_ETAG_PATTERN = Pattern.compile("[0-9a-fA-F]{32}");
+
+    private static final String S3_LISTING_DELIMITER = "/";
+
     private static final List<JobStatus> FINAL_BATCH_PROCESSING_STATES =
         Arrays.asList(JobStatus.Complete, JobStatus.Failed, JobStatus.Cancelled, JobStatus.Suspended);
 
@@ -143,6 +205,10 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private S3BatchHelper batchHelper;
 
+    @Autowired
+    @Qualifier("daoTaskExecutor")
+    private AsyncTaskExecutor daoTaskExecutor;
+
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -154,6 +220,11 @@ public class S3DaoImpl implements S3Dao
 
     private long sleepIntervalsMillis = DEFAULT_SLEEP_INTERVAL_MILLIS;
 
+    /**
+     * The S3 object tagging rate limiters by S3 bucket name.
+     */
+    private final ConcurrentMap<String, RateLimiter> taggingRateLimiters = new ConcurrentHashMap<>();
+
     @Override
     public int abortMultipartUploads(S3FileTransferRequestParamsDto params, Date thresholdDate)
     {
@@ -408,6 +479,114 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public S3FileTransferResultsDto downloadStorageFiles(final S3FileTransferRequestParamsDto params, final List<StorageFile> storageFiles)
+        throws InterruptedException
+    {
+        long rangeSizeBytes =
+            params.getRangeSizeBytes() != null && params.getRangeSizeBytes() > 0 ? params.getRangeSizeBytes() : DEFAULT_DOWNLOAD_RANGE_SIZE_BYTES;
+        int threads = Math.max(1, ObjectUtils.defaultIfNull(params.getMaxThreads(), DEFAULT_DOWNLOAD_THREADS));
+
+        LOGGER.info("Downloading a list of S3 files to the local system using ranged GET requests... " +
+                "s3BucketName=\"{}\" localDirectory=\"{}\" s3KeyCount={} rangeSizeBytes={} threads={}", params.getS3BucketName(), params.getLocalPath(),
+            storageFiles.size(), rangeSizeBytes, threads);
+
+        // The same executor first plans the download of each file and then downloads all the ranges, so the threads are shared by all the files.
+        AmazonS3Client s3Client = awsS3ClientFactory.getAmazonS3Client(params);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<RangedDownload> rangedDownloads = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong bytesTransferred = new AtomicLong();
+
+        try
+        {
+            // Start a stop watch to keep track of how long the transfer takes.
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+
+            // Plan the downloads from the registered storage files, so the S3 key prefix never needs to be listed. The local files get opened only once their
+            // first range starts downloading, so the ranges being downloaded at any time by the fixed number of threads bound the number of open files.
+            List<Future<?>> futures = new ArrayList<>();
+            for (StorageFile storageFile : storageFiles)
+            {
+                futures.add(executorService.submit(() -> {
+                    planRangedDownload(params, storageFile, rangeSizeBytes, s3Client, rangedDownloads);
+                    return null;
+                }));
+            }
+            waitForRangedDownloadTasks(futures, bytesTransferred, stopWatch);
+
+            // Download the ranges that are not on the local file system yet.
+            futures.clear();
+            long downloadedFileCount = 0;
+            long skippedFileCount = 0;
+            for (RangedDownload rangedDownload : rangedDownloads)
+            {
+                if (rangedDownload.alreadyDownloaded)
+                {
+                    skippedFileCount++;
+                    continue;
+                }
+
+                // A file without pending ranges is either empty or was completely downloaded by a previous attempt that failed before completing it.
+                downloadedFileCount++;
+                if (rangedDownload.pendingRanges.isEmpty())
+                {
+                    completeRangedDownload(rangedDownload);
+                }
+                for (Integer rangeIndex : rangedDownload.pendingRanges)
+                {
+                    futures.add(executorService.submit(() -> {
+                        downloadRange(params, rangedDownload, rangeIndex, s3Client, bytesTransferred);
+                        return null;
+                    }));
+                }
+            }
+            waitForRangedDownloadTasks(futures, bytesTransferred, stopWatch);
+
+            stopWatch.stop();
+
+            // Create the results object for the files downloaded by this call.
+            S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+            results.setDurationMillis(stopWatch.getTime());
+            results.setTotalBytesTransferred(bytesTransferred.get());
+            results.setTotalFilesTransferred(downloadedFileCount);
+
+            LOGGER.info("Downloaded a list of S3 files to the local system using ranged GET requests. " +
+                    "s3BucketName=\"{}\" localDirectory=\"{}\" s3KeyCount={} skippedFileCount={} totalBytesTransferred={} transferDuration=\"{}\"",
+                params.getS3BucketName(), params.getLocalPath(), results.getTotalFilesTransferred(), skippedFileCount, results.getTotalBytesTransferred(),
+                HerdDateUtils.formatDuration(results.getDurationMillis()));
+
+            logOverallTransferRate(results);
+
+            return results;
+        }
+        catch (ExecutionException e)
+        {
+            LOGGER.warn("Download failed. Restart it with the same local directory to skip the ranges already downloaded. localDirectory=\"{}\"",
+                params.getLocalPath());
+
+            // Rethrow the original exception, so it gets handled the same way as for the other downloads.
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            // Stop the ranges still being downloaded and release the local files and the S3 client.
+            executorService.shutdownNow();
+            synchronized (rangedDownloads)
+            {
+                for (RangedDownload rangedDownload : rangedDownloads)
+                {
+                    IOUtils.closeQuietly(rangedDownload.fileChannel);
+                }
+            }
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public String generateGetObjectPresignedUrl(String bucketName, String key, Date expiration, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
     {
@@ -523,34 +702,94 @@ public class S3DaoImpl implements S3Dao
     @Override
     public List<S3ObjectSummary> listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
     {
-        LOGGER.info("Listing S3 objects matching S3 key prefix... s3KeyPrefix=\"{}\" s3BucketName=\"{}\"", params.getS3KeyPrefix(), params.getS3BucketName());
+        LOGGER.info("Listing S3 objects matching S3 key prefix... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" listingParallelism={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getListingParallelism());
+
+        Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
+
+        AmazonS3Client s3Client = awsS3ClientFactory.getAmazonS3Client(params);
+        List<S3ObjectSummary> s3ObjectSummaries;
+
+        try
+        {
+            // List S3 objects in parallel by S3 key sub-prefixes, if listing parallelism is specified. Otherwise, list all S3 objects serially.
+            if (params.getListingParallelism() != null && params.getListingParallelism() > 1)
+            {
+                s3ObjectSummaries = listObjectsInParallel(params.getS3BucketName(), params.getS3KeyPrefix(), params.getListingParallelism(), s3Client);
+            }
+            else
+            {
+                s3ObjectSummaries =
+                    listObjects(new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix()), s3Client);
+            }
+
+            // Ignore 0 byte objects that represent S3 directories.
+            if (ignoreZeroByteDirectoryMarkers)
+            {
+                s3ObjectSummaries.removeIf(objectSummary -> objectSummary.getKey().endsWith("/") && objectSummary.getSize() == 0L);
+            }
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(
+                String.format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
+                    e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+
+        return s3ObjectSummaries;
+    }
+
+    @Override
+    public void listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers,
+        Consumer<S3ObjectSummary> s3ObjectSummaryConsumer)
+    {
+        LOGGER.info("Streaming S3 objects matching S3 key prefix... s3KeyPrefix=\"{}\" s3BucketName=\"{}\"", params.getS3KeyPrefix(),
+            params.getS3BucketName());
 
         Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
 
         AmazonS3Client s3Client = awsS3ClientFactory.getAmazonS3Client(params);
-        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
 
         try
         {
             ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
             ObjectListing objectListing;
+            long s3ObjectCount = 0;
 
             do
             {
                 objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
 
+                // Pass the S3 objects from this page to the consumer, so only a single page of the listing is held in memory at a time.
                 for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
                 {
                     // Ignore 0 byte objects that represent S3 directories.
                     if (!(ignoreZeroByteDirectoryMarkers && objectSummary.getKey().endsWith("/") && objectSummary.getSize() == 0L))
                     {
-                        s3ObjectSummaries.add(objectSummary);
+                        s3ObjectSummaryConsumer.accept(objectSummary);
+                        s3ObjectCount++;
                     }
                 }
 
                 listObjectsRequest.setMarker(objectListing.getNextMarker());
             }
             while (objectListing.isTruncated());
+
+            LOGGER.info("Streamed S3 objects matching S3 key prefix. s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3ObjectCount={}", params.getS3KeyPrefix(),
+                params.getS3BucketName(), s3ObjectCount);
         }
         catch (AmazonS3Exception amazonS3Exception)
         {
@@ -571,8 +810,6 @@ public class S3DaoImpl implements S3Dao
             // Shutdown the AmazonS3Client instance to release resources.
             s3Client.shutdown();
         }
-
-        return s3ObjectSummaries;
     }
 
     @Override
@@ -721,6 +958,13 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void tagObjects(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto,
         final List<S3ObjectSummary> s3ObjectSummaries, final Tag tag)
+    {
+        tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3ObjectSummaries, tag, Integer.MAX_VALUE, null);
+    }
+
+    @Override
+    public void tagObjects(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto,
+        final List<S3ObjectSummary> s3ObjectSummaries, final Tag tag, final int chunkSize, final Consumer<String> checkpointConsumer)
     {
         LOGGER.info("Tagging objects in S3... s3BucketName=\"{}\" s3KeyPrefix=\"{}\" s3KeyCount={} s3ObjectTagKey=\"{}\" s3ObjectTagValue=\"{}\"",
             s3FileTransferRequestParamsDto.getS3BucketName(), s3FileTransferRequestParamsDto.getS3KeyPrefix(), CollectionUtils.size(s3ObjectSummaries),
@@ -739,7 +983,7 @@ public class S3DaoImpl implements S3Dao
             }
 
             // Tag S3 objects.
-            tagVersionsHelper(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummaries, tag);
+            tagVersionsHelper(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummaries, tag, chunkSize, checkpointConsumer);
 
             // Log a list of files tagged in the S3 bucket.
             if (LOGGER.isInfoEnabled())
@@ -777,7 +1021,8 @@ public class S3DaoImpl implements S3Dao
         if (CollectionUtils.isNotEmpty(s3VersionSummariesWithoutDeleteMarkers))
         {
             // Tag S3 versions.
-            tagVersionsHelper(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummariesWithoutDeleteMarkers, tag);
+            tagVersionsHelper(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummariesWithoutDeleteMarkers, tag, Integer.MAX_VALUE,
+                null);
 
             // Log a list of S3 versions that got tagged.
             if (LOGGER.isInfoEnabled())
@@ -990,6 +1235,148 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public S3FileTransferResultsDto uploadFileListResumable(final S3FileTransferRequestParamsDto params) throws InterruptedException
+    {
+        File uploadJournalFile = new File(params.getUploadJournalPath());
+        int fileParallelism = Math.max(1, ObjectUtils.defaultIfNull(params.getFileParallelism(), 1));
+
+        LOGGER.info("Uploading a list of files from the local directory to S3 using an upload journal... " +
+                "localDirectory=\"{}\" s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} fileParallelism={} uploadJournalPath=\"{}\"", params.getLocalPath(),
+            params.getS3KeyPrefix(), params.getS3BucketName(), params.getFiles().size(), fileParallelism, uploadJournalFile.getPath());
+
+        // Load the upload journal left behind by a previous attempt or start a new one.
+        S3FileUploadJournalDto uploadJournal = readUploadJournal(uploadJournalFile, params);
+        Map<String, S3FileUploadJournalEntryDto> uploadJournalEntries = new HashMap<>();
+        for (S3FileUploadJournalEntryDto uploadJournalEntry : uploadJournal.getFiles())
+        {
+            uploadJournalEntries.put(uploadJournalEntry.getS3Key(), uploadJournalEntry);
+        }
+
+        // Build the S3 keys the same way the transfer manager does it when uploading a list of files.
+        String directoryPath = new File(params.getLocalPath()).getAbsolutePath();
+        String s3KeyPrefix = StringUtils.isEmpty(params.getS3KeyPrefix()) ? "" : StringUtils.appendIfMissing(params.getS3KeyPrefix(), "/");
+
+        // Select the files to upload, skipping the ones that the journal shows as completely uploaded and not modified locally since.
+        Map<File, S3FileUploadJournalEntryDto> filesToUpload = new LinkedHashMap<>();
+        long skippedFileCount = 0;
+        long skippedBytes = 0;
+        for (File file : params.getFiles())
+        {
+            String s3Key = s3KeyPrefix + file.getAbsolutePath().substring(directoryPath.length() + 1).replace('\\', '/');
+            S3FileUploadJournalEntryDto uploadJournalEntry = uploadJournalEntries.get(s3Key);
+
+            if (uploadJournalEntry == null || !Objects.equals(uploadJournalEntry.getFileSizeBytes(), file.length()) ||
+                !Objects.equals(uploadJournalEntry.getLastModified(), file.lastModified()))
+            {
+                // The file was not uploaded yet or it has changed since, so upload it from the beginning.
+                uploadJournal.getFiles().remove(uploadJournalEntry);
+                uploadJournalEntry = new S3FileUploadJournalEntryDto(s3Key, file.length(), file.lastModified(), null, null);
+                uploadJournal.getFiles().add(uploadJournalEntry);
+            }
+            else if (uploadJournalEntry.getETag() != null)
+            {
+                LOGGER.info("Skipping file already uploaded to S3. s3Key=\"{}\" s3BucketName=\"{}\" eTag=\"{}\"", s3Key, params.getS3BucketName(),
+                    uploadJournalEntry.getETag());
+                skippedFileCount++;
+                skippedBytes += file.length();
+                continue;
+            }
+
+            filesToUpload.put(file, uploadJournalEntry);
+        }
+        writeUploadJournal(uploadJournal, uploadJournalFile);
+
+        LOGGER.info("Selected files to upload. s3KeyPrefix=\"{}\" s3BucketName=\"{}\" filesToUploadCount={} skippedFileCount={} skippedBytes={}",
+            params.getS3KeyPrefix(), params.getS3BucketName(), filesToUpload.size(), skippedFileCount, skippedBytes);
+
+        // Get a transfer manager. Its threads upload the parts of the files, while the executor below limits how many files are uploaded concurrently.
+        TransferManager transferManager = awsS3ClientFactory.getTransferManager(params);
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(fileParallelism, filesToUpload.size())));
+
+        // Keep track of the bytes uploaded by the completed files and of the uploads in progress for the throughput reporting.
+        AtomicLong completedBytesTransferred = new AtomicLong();
+        Set<Upload> uploadsInProgress = ConcurrentHashMap.newKeySet();
+
+        try
+        {
+            // Start a stop watch to keep track of how long the transfer takes.
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<File, S3FileUploadJournalEntryDto> fileToUpload : filesToUpload.entrySet())
+            {
+                futures.add(executorService.submit(() -> {
+                    uploadJournaledFile(params, fileToUpload.getKey(), fileToUpload.getValue(), uploadJournal, uploadJournalFile, transferManager,
+                        uploadsInProgress, completedBytesTransferred);
+                    return null;
+                }));
+            }
+
+            // Wait for all the files to be uploaded, logging the overall progress every 30 seconds.
+            for (Future<?> future : futures)
+            {
+                while (true)
+                {
+                    try
+                    {
+                        future.get(TRANSFER_PROGRESS_LOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        break;
+                    }
+                    catch (TimeoutException e)
+                    {
+                        long bytesTransferred = completedBytesTransferred.get();
+                        for (Upload upload : uploadsInProgress)
+                        {
+                            bytesTransferred += upload.getProgress().getBytesTransferred();
+                        }
+
+                        LOGGER.info("progressBytesTransferred={} skippedBytes={} uploadsInProgressCount={} transferRateMegaBitsPerSecond={}", bytesTransferred,
+                            skippedBytes, uploadsInProgress.size(),
+                            new DecimalFormat("#0.00").format(awsHelper.getTransferRateInMegabitsPerSecond(bytesTransferred, stopWatch.getTime())));
+                    }
+                }
+            }
+
+            stopWatch.stop();
+
+            // Create the results object for the files uploaded by this call.
+            S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+            results.setDurationMillis(stopWatch.getTime());
+            results.setTotalBytesTransferred(completedBytesTransferred.get());
+            results.setTotalFilesTransferred((long) filesToUpload.size());
+
+            LOGGER.info("Uploaded list of files from the local directory to S3 using an upload journal. " +
+                    "localDirectory=\"{}\" s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} skippedFileCount={} totalBytesTransferred={} " +
+                        "transferDuration=\"{}\"",
+                params.getLocalPath(), params.getS3KeyPrefix(), params.getS3BucketName(), results.getTotalFilesTransferred(), skippedFileCount,
+                results.getTotalBytesTransferred(), HerdDateUtils.formatDuration(results.getDurationMillis()));
+
+            logOverallTransferRate(results);
+
+            return results;
+        }
+        catch (ExecutionException e)
+        {
+            LOGGER.warn("Upload failed. Restart it with the same upload journal to skip the content already uploaded to S3. uploadJournalPath=\"{}\"",
+                uploadJournalFile.getPath());
+
+            // Rethrow the original exception, so it gets handled the same way as for the upload of a list of files.
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            // Interrupt the uploads still in progress, so they get paused and recorded in the journal, and release the transfer manager.
+            executorService.shutdownNow();
+            awsS3ClientFactory.releaseTransferManager(transferManager);
+        }
+    }
+
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
@@ -1520,7 +1907,7 @@ public class S3DaoImpl implements S3Dao
      */
     private S3FileTransferResultsDto performTransfer(final S3FileTransferRequestParamsDto params, Transferer transferer) throws InterruptedException
     {
-        // Create a transfer manager.
+        // Get a transfer manager.
         TransferManager transferManager = awsS3ClientFactory.getTransferManager(params);
 
         try
@@ -1535,21 +1922,10 @@ public class S3DaoImpl implements S3Dao
 
             logTransferProgress(transferProgress);
 
-            long stepCount = 0;
+            // Wait until the transfer is complete.
+            waitForTransfer(transfer, transferProgress);
 
-            // Loop until the transfer is complete.
-            do
-            {
-                Thread.sleep(sleepIntervalsMillis);
-                stepCount++;
-
-                // Log progress status every 30 seconds and when transfer is complete.
-                if (transfer.isDone() || stepCount % 300 == 0)
-                {
-                    logTransferProgress(transferProgress);
-                }
-            }
-            while (!transfer.isDone());
+            logTransferProgress(transferProgress);
 
             // Stop the stop watch and create a results object.
             stopWatch.stop();
@@ -1610,78 +1986,245 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the transfer manager to release resources. If this isn't done, the JVM may delay upon exiting.
-            transferManager.shutdownNow();
+            // Release the transfer manager, so it either gets shut down or returned to the pool.
+            awsS3ClientFactory.releaseTransferManager(transferManager);
         }
     }
 
     /**
-     * Prepares the object metadata for server side encryption and reduced redundancy storage.
+     * Waits until the specified transfer is done, logging its progress every 30 seconds. The waiting thread is notified by a progress listener as soon as the
+     * transfer publishes a completed, failed or canceled event. If such an event was published while the transfer is not done yet, the transfer state gets
+     * re-checked after each sleep interval.
      *
-     * @param params   the parameters.
-     * @param metadata the metadata to prepare.
+     * @param transfer the transfer
+     * @param transferProgress the progress of the transfer
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
      */
-    private void prepareMetadata(final S3FileTransferRequestParamsDto params, ObjectMetadata metadata)
+    private void waitForTransfer(Transfer transfer, TransferProgress transferProgress) throws InterruptedException
     {
-        // Set the server side encryption
-        if (params.getKmsKeyId() != null)
-        {
-            /*
-             * TODO Use proper way to set KMS once AWS provides a way.
-             * We are modifying the raw headers directly since TransferManager's uploadFileList operation does not provide a way to set a KMS key ID.
-             * This would normally cause some issues when uploading where an MD5 checksum validation exception will be thrown, even though the object is
-             * correctly uploaded.
-             * To get around this, a system property defined at
-             * com.amazonaws.services.s3.internal.SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY must be set.
-             */
-            metadata.setSSEAlgorithm(SSEAlgorithm.KMS.getAlgorithm());
-            metadata.setHeader(Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID, params.getKmsKeyId().trim());
-        }
-        else
+        // Nothing to wait for when the transfer is already done.
+        if (transfer.isDone())
         {
-            metadata.setSSEAlgorithm(SSEAlgorithm.AES256.getAlgorithm());
+            return;
         }
 
-        // If specified, set the metadata to use RRS.
-        if (Boolean.TRUE.equals(params.isUseRrs()))
+        CountDownLatch transferDoneLatch = new CountDownLatch(1);
+        transfer.addProgressListener((ProgressListener) progressEvent -> {
+            ProgressEventType eventType = progressEvent.getEventType();
+            if (eventType == ProgressEventType.TRANSFER_COMPLETED_EVENT || eventType == ProgressEventType.TRANSFER_FAILED_EVENT ||
+                eventType == ProgressEventType.TRANSFER_CANCELED_EVENT)
+            {
+                transferDoneLatch.countDown();
+            }
+        });
+
+        long lastProgressLogTimeMillis = System.currentTimeMillis();
+        while (!transfer.isDone())
         {
-            // TODO: For upload File, we can set RRS on the putObjectRequest. For uploadDirectory, this is the only
-            // way to do it. However, setHeader() is flagged as For Internal Use Only
-            metadata.setHeader(Headers.STORAGE_CLASS, StorageClass.ReducedRedundancy.toString());
+            if (transferDoneLatch.getCount() > 0)
+            {
+                transferDoneLatch.await(TRANSFER_PROGRESS_LOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            else
+            {
+                Thread.sleep(sleepIntervalsMillis);
+            }
+
+            // Log progress status every 30 seconds while the transfer is in progress.
+            long currentTimeMillis = System.currentTimeMillis();
+            if (!transfer.isDone() && currentTimeMillis - lastProgressLogTimeMillis >= TRANSFER_PROGRESS_LOG_INTERVAL_MILLIS)
+            {
+                logTransferProgress(transferProgress);
+                lastProgressLogTimeMillis = currentTimeMillis;
+            }
         }
     }
 
     /**
-     * Tags S3 versions with the specified S3 object tag.
+     * Lists all S3 objects matching the specified list objects request by walking through all pages of the listing.
      *
-     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name
-     * @param s3ObjectTaggerRoleParamsDto    the S3 objects tagger role parameters DTO
-     * @param s3VersionSummaries             the list of S3 versions to be tagged
-     * @param tag                            the S3 object tag
+     * @param listObjectsRequest the list objects request
+     * @param s3Client the S3 client
+     *
+     * @return the list of S3 object summaries
      */
-    private void tagVersionsHelper(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto,
-        final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto, final List<S3VersionSummary> s3VersionSummaries, final Tag tag)
+    private List<S3ObjectSummary> listObjects(ListObjectsRequest listObjectsRequest, AmazonS3Client s3Client)
     {
-        // Initialize an S3 version for the error message in the catch block.
-        S3VersionSummary currentS3VersionSummary = s3VersionSummaries.get(0);
-
-        // Amazon S3 client to access S3 objects.
-        AmazonS3Client s3Client = null;
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+        ObjectListing objectListing;
 
-        // Amazon STS client to assume S3 tagger role.
-        AWSSecurityTokenService securityTokenService = null;
+        do
+        {
+            objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+            s3ObjectSummaries.addAll(objectListing.getObjectSummaries());
+            listObjectsRequest.setMarker(objectListing.getNextMarker());
+        }
+        while (objectListing.isTruncated());
 
-        // Amazon S3 client for S3 object tagging.
-        AmazonS3Client s3ObjectTaggerClient = null;
+        return s3ObjectSummaries;
+    }
 
-        try
+    /**
+     * Lists all S3 objects matching the specified S3 key prefix by splitting the key space into S3 key sub-prefixes discovered using the S3 path delimiter and
+     * listing the sub-prefixes concurrently on the shared DAO task executor. The results are merged and returned ordered by S3 object key.
+     *
+     * @param s3BucketName the S3 bucket name
+     * @param s3KeyPrefix the S3 key prefix
+     * @param listingParallelism the maximum number of S3 key sub-prefixes to list concurrently
+     * @param s3Client the S3 client
+     *
+     * @return the list of S3 object summaries ordered by S3 object key
+     */
+    private List<S3ObjectSummary> listObjectsInParallel(String s3BucketName, String s3KeyPrefix, int listingParallelism, AmazonS3Client s3Client)
+    {
+        // List S3 objects located directly under the S3 key prefix and discover the S3 key sub-prefixes.
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+        List<String> s3KeySubPrefixes = new ArrayList<>();
+        ListObjectsRequest listObjectsRequest =
+            new ListObjectsRequest().withBucketName(s3BucketName).withPrefix(s3KeyPrefix).withDelimiter(S3_LISTING_DELIMITER);
+        ObjectListing objectListing;
+        do
         {
-            // Log tagger role parameters.
-            LOGGER.info("Getting AWS temporary security credentials... sessionName={}, roleArn={}, awsRoleDurationSeconds={}",
-                s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleSessionName(), s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleArn(),
-                s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleSessionDurationSeconds());
+            objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+            s3ObjectSummaries.addAll(objectListing.getObjectSummaries());
+            s3KeySubPrefixes.addAll(objectListing.getCommonPrefixes());
+            listObjectsRequest.setMarker(objectListing.getNextMarker());
+        }
+        while (objectListing.isTruncated());
 
-            // Create an S3 client to access S3 objects.
+        LOGGER.info("Listing S3 objects by S3 key sub-prefixes... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeySubPrefixCount={}", s3KeyPrefix, s3BucketName,
+            s3KeySubPrefixes.size());
+
+        if (!s3KeySubPrefixes.isEmpty())
+        {
+            // Split the S3 key sub-prefixes into at most as many partitions as the listing parallelism and list each partition serially in a separate task
+            // on the shared DAO task executor. The S3 client is thread safe, so it is shared by all tasks.
+            int partitionCount = Math.min(listingParallelism, s3KeySubPrefixes.size());
+            List<Future<List<S3ObjectSummary>>> futures = new ArrayList<>();
+            try
+            {
+                for (List<String> partition : Lists.partition(s3KeySubPrefixes, (s3KeySubPrefixes.size() + partitionCount - 1) / partitionCount))
+                {
+                    futures.add(daoTaskExecutor.submit(() -> {
+                        List<S3ObjectSummary> partitionS3ObjectSummaries = new ArrayList<>();
+                        for (String s3KeySubPrefix : partition)
+                        {
+                            partitionS3ObjectSummaries
+                                .addAll(listObjects(new ListObjectsRequest().withBucketName(s3BucketName).withPrefix(s3KeySubPrefix), s3Client));
+                        }
+                        return partitionS3ObjectSummaries;
+                    }));
+                }
+
+                for (Future<List<S3ObjectSummary>> future : futures)
+                {
+                    s3ObjectSummaries.addAll(future.get());
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                    String.format("Interrupted while listing keys with prefix \"%s\" from bucket \"%s\".", s3KeyPrefix, s3BucketName), e);
+            }
+            catch (ExecutionException e)
+            {
+                // Rethrow the original exception, so it gets handled the same way as for the serial listing.
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            finally
+            {
+                // Cancel the tasks that are still pending or running, since the threads are shared with other callers.
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        // Merge the results in S3 object key order.
+        s3ObjectSummaries.sort(Comparator.comparing(S3ObjectSummary::getKey));
+
+        return s3ObjectSummaries;
+    }
+
+    /**
+     * Prepares the object metadata for server side encryption and reduced redundancy storage.
+     *
+     * @param params   the parameters.
+     * @param metadata the metadata to prepare.
+     */
+    private void prepareMetadata(final S3FileTransferRequestParamsDto params, ObjectMetadata metadata)
+    {
+        // Set the server side encryption
+        if (params.getKmsKeyId() != null)
+        {
+            /*
+             * TODO Use proper way to set KMS once AWS provides a way.
+             * We are modifying the raw headers directly since TransferManager's uploadFileList operation does not provide a way to set a KMS key ID.
+             * This would normally cause some issues when uploading where an MD5 checksum validation exception will be thrown, even though the object is
+             * correctly uploaded.
+             * To get around this, a system property defined at
+             * com.amazonaws.services.s3.internal.SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY must be set.
+             */
+            metadata.setSSEAlgorithm(SSEAlgorithm.KMS.getAlgorithm());
+            metadata.setHeader(Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID, params.getKmsKeyId().trim());
+        }
+        else
+        {
+            metadata.setSSEAlgorithm(SSEAlgorithm.AES256.getAlgorithm());
+        }
+
+        // If specified, set the metadata to use RRS.
+        if (Boolean.TRUE.equals(params.isUseRrs()))
+        {
+            // TODO: For upload File, we can set RRS on the putObjectRequest. For uploadDirectory, this is the only
+            // way to do it. However, setHeader() is flagged as For Internal Use Only
+            metadata.setHeader(Headers.STORAGE_CLASS, StorageClass.ReducedRedundancy.toString());
+        }
+    }
+
+    /**
+     * Tags S3 versions with the specified S3 object tag in chunks of the specified size. The S3 clients and the S3 object tagger role session are created once
+     * and shared by all chunks.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name, the S3 object tagging
+     *                                       parallelism, and the maximum number of S3 object tagging requests per second allowed for the S3 bucket
+     * @param s3ObjectTaggerRoleParamsDto    the S3 objects tagger role parameters DTO
+     * @param s3VersionSummaries             the list of S3 versions to be tagged
+     * @param tag                            the S3 object tag
+     * @param chunkSize                      the maximum number of S3 versions to tag before the checkpoint consumer gets called
+     * @param checkpointConsumer             the consumer of the S3 key of the last S3 version tagged in each chunk, may be null
+     */
+    private void tagVersionsHelper(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto,
+        final S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto, final List<S3VersionSummary> s3VersionSummaries, final Tag tag, final int chunkSize,
+        final Consumer<String> checkpointConsumer)
+    {
+        // Initialize an S3 version for the error message in the catch block.
+        AtomicReference<S3VersionSummary> currentS3VersionSummary = new AtomicReference<>(s3VersionSummaries.get(0));
+
+        // Amazon S3 client to access S3 objects.
+        AmazonS3Client s3Client = null;
+
+        // Amazon STS client to assume S3 tagger role.
+        AWSSecurityTokenService securityTokenService = null;
+
+        // Amazon S3 client for S3 object tagging.
+        AmazonS3Client s3ObjectTaggerClient = null;
+
+        // Executor service for tagging S3 versions in parallel.
+        ExecutorService taggingExecutorService = null;
+
+        try
+        {
+            // Log tagger role parameters.
+            LOGGER.info("Getting AWS temporary security credentials... sessionName={}, roleArn={}, awsRoleDurationSeconds={}",
+                s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleSessionName(), s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleArn(),
+                s3ObjectTaggerRoleParamsDto.getS3ObjectTaggerRoleSessionDurationSeconds());
+
+            // Create an S3 client to access S3 objects.
             s3Client = awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto);
 
             // Create an STS client.
@@ -1698,20 +2241,155 @@ public class S3DaoImpl implements S3Dao
             // Create an S3 client for S3 object tagging.
             s3ObjectTaggerClient = awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto, credentialsProvider);
 
-            // Create a get object tagging request.
-            GetObjectTaggingRequest getObjectTaggingRequest = new GetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null);
+            // Get the rate limiter shared by all S3 object tagging requests sent to this S3 bucket.
+            RateLimiter rateLimiter =
+                getTaggingRateLimiter(s3FileTransferRequestParamsDto.getS3BucketName(), s3FileTransferRequestParamsDto.getTaggingMaxRequestsPerSecond());
+
+            // If tagging parallelism is specified, create a dedicated executor service with as many threads, so the tagging parallelism is not capped by and
+            // does not compete for the threads of the shared DAO task executor used by S3 listing and SQS.
+            Integer taggingParallelism = s3FileTransferRequestParamsDto.getTaggingParallelism();
+            if (taggingParallelism != null && taggingParallelism > 1 && s3VersionSummaries.size() > 1)
+            {
+                taggingExecutorService = Executors.newFixedThreadPool(Math.min(taggingParallelism, s3VersionSummaries.size()));
+            }
+
+            for (List<S3VersionSummary> chunk : Lists.partition(s3VersionSummaries, chunkSize))
+            {
+                // Tag S3 versions in parallel, if tagging parallelism is specified. Otherwise, tag all S3 versions serially.
+                if (taggingExecutorService != null && chunk.size() > 1)
+                {
+                    tagVersionsInParallel(s3FileTransferRequestParamsDto.getS3BucketName(), chunk, tag, taggingParallelism, rateLimiter,
+                        currentS3VersionSummary, s3Client, s3ObjectTaggerClient, taggingExecutorService);
+                }
+                else
+                {
+                    tagVersions(s3FileTransferRequestParamsDto.getS3BucketName(), chunk, tag, rateLimiter, currentS3VersionSummary, s3Client,
+                        s3ObjectTaggerClient);
+                }
+
+                // Report the last tagged S3 key, so the caller can checkpoint its progress.
+                if (checkpointConsumer != null)
+                {
+                    checkpointConsumer.accept(chunk.get(chunk.size() - 1).getKey());
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to tag S3 object with \"%s\" key and \"%s\" version id in \"%s\" bucket. Reason: %s", currentS3VersionSummary.get().getKey(),
+                    currentS3VersionSummary.get().getVersionId(), s3FileTransferRequestParamsDto.getS3BucketName(), e.getMessage()), e);
+        }
+        finally
+        {
+            // Stop the tagging tasks that are still running after a failure.
+            if (taggingExecutorService != null)
+            {
+                taggingExecutorService.shutdownNow();
+            }
+
+            if (s3Client != null)
+            {
+                s3Client.shutdown();
+            }
+
+            if (securityTokenService != null)
+            {
+                securityTokenService.shutdown();
+            }
+
+            if (s3ObjectTaggerClient != null)
+            {
+                s3ObjectTaggerClient.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Tags S3 versions with the specified S3 object tag by splitting them into partitions that get tagged concurrently on the tagging executor service. The S3
+     * clients are thread safe, so they are shared by all partitions.
+     *
+     * @param s3BucketName            the S3 bucket name
+     * @param s3VersionSummaries      the list of S3 versions to be tagged
+     * @param tag                     the S3 object tag
+     * @param taggingParallelism      the maximum number of S3 versions to tag concurrently
+     * @param rateLimiter             the rate limiter for the S3 object tagging requests, may be null
+     * @param currentS3VersionSummary the reference to be set to the S3 version that failed to be tagged
+     * @param s3Client                the S3 client to access S3 objects
+     * @param s3ObjectTaggerClient    the S3 client for S3 object tagging
+     * @param taggingExecutorService  the executor service dedicated to tagging S3 versions, having as many threads as the tagging parallelism
+     */
+    private void tagVersionsInParallel(String s3BucketName, List<S3VersionSummary> s3VersionSummaries, Tag tag, int taggingParallelism,
+        RateLimiter rateLimiter, AtomicReference<S3VersionSummary> currentS3VersionSummary, AmazonS3Client s3Client, AmazonS3Client s3ObjectTaggerClient,
+        ExecutorService taggingExecutorService)
+    {
+        int partitionCount = Math.min(taggingParallelism, s3VersionSummaries.size());
+        List<List<S3VersionSummary>> partitions =
+            Lists.partition(s3VersionSummaries, (s3VersionSummaries.size() + partitionCount - 1) / partitionCount);
+
+        LOGGER.info("Tagging S3 versions in parallel... s3BucketName=\"{}\" s3VersionCount={} taggingParallelism={}", s3BucketName,
+            s3VersionSummaries.size(), partitions.size());
 
-            // Create a set object tagging request.
-            SetObjectTaggingRequest setObjectTaggingRequest = new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null, null);
+        List<Future<?>> futures = new ArrayList<>();
+        try
+        {
+            for (List<S3VersionSummary> partition : partitions)
+            {
+                futures.add(taggingExecutorService.submit(() -> {
+                    tagVersions(s3BucketName, partition, tag, rateLimiter, currentS3VersionSummary, s3Client, s3ObjectTaggerClient);
+                    return null;
+                }));
+            }
 
-            for (S3VersionSummary s3VersionSummary : s3VersionSummaries)
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("Interrupted while tagging S3 versions in \"%s\" bucket.", s3BucketName), e);
+        }
+        catch (ExecutionException e)
+        {
+            // Rethrow the original exception, so it gets handled the same way as for the serial tagging.
+            if (e.getCause() instanceof RuntimeException)
             {
-                // Set the current S3 version summary.
-                currentS3VersionSummary = s3VersionSummary;
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
+    /**
+     * Tags S3 versions serially with the specified S3 object tag.
+     *
+     * @param s3BucketName            the S3 bucket name
+     * @param s3VersionSummaries      the list of S3 versions to be tagged
+     * @param tag                     the S3 object tag
+     * @param rateLimiter             the rate limiter for the S3 object tagging requests, may be null
+     * @param currentS3VersionSummary the reference to be set to the S3 version that failed to be tagged
+     * @param s3Client                the S3 client to access S3 objects
+     * @param s3ObjectTaggerClient    the S3 client for S3 object tagging
+     */
+    private void tagVersions(String s3BucketName, List<S3VersionSummary> s3VersionSummaries, Tag tag, RateLimiter rateLimiter,
+        AtomicReference<S3VersionSummary> currentS3VersionSummary, AmazonS3Client s3Client, AmazonS3Client s3ObjectTaggerClient)
+    {
+        // Create a get object tagging request.
+        GetObjectTaggingRequest getObjectTaggingRequest = new GetObjectTaggingRequest(s3BucketName, null, null);
+
+        // Create a set object tagging request.
+        SetObjectTaggingRequest setObjectTaggingRequest = new SetObjectTaggingRequest(s3BucketName, null, null, null);
+
+        for (S3VersionSummary s3VersionSummary : s3VersionSummaries)
+        {
+            try
+            {
                 // Retrieve the current tagging information for the S3 version.
                 getObjectTaggingRequest.setKey(s3VersionSummary.getKey());
                 getObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
+                acquireTaggingPermit(rateLimiter);
                 GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(getObjectTaggingRequest, s3Client);
 
                 // Update the list of tags to include the specified S3 object tag.
@@ -1732,34 +2410,611 @@ public class S3DaoImpl implements S3Dao
                 setObjectTaggingRequest.setKey(s3VersionSummary.getKey());
                 setObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
                 setObjectTaggingRequest.setTagging(new ObjectTagging(updatedTags));
+                acquireTaggingPermit(rateLimiter);
                 s3Operations.setObjectTagging(setObjectTaggingRequest, s3ObjectTaggerClient);
             }
+            catch (RuntimeException e)
+            {
+                // Remember the S3 version that failed to be tagged, so it gets reported in the error message.
+                currentS3VersionSummary.set(s3VersionSummary);
+                throw e;
+            }
         }
-        catch (Exception e)
+    }
+
+    /**
+     * Gets the rate limiter for S3 object tagging requests sent to the specified S3 bucket. The rate limiter is shared by all threads tagging S3 objects in
+     * this S3 bucket.
+     *
+     * @param s3BucketName         the S3 bucket name
+     * @param maxRequestsPerSecond the maximum number of S3 object tagging requests per second, may be null
+     *
+     * @return the rate limiter or null if S3 object tagging requests are not rate limited
+     */
+    private RateLimiter getTaggingRateLimiter(String s3BucketName, Integer maxRequestsPerSecond)
+    {
+        if (maxRequestsPerSecond == null || maxRequestsPerSecond <= 0)
         {
-            throw new IllegalStateException(
-                String.format("Failed to tag S3 object with \"%s\" key and \"%s\" version id in \"%s\" bucket. Reason: %s", currentS3VersionSummary.getKey(),
-                    currentS3VersionSummary.getVersionId(), s3FileTransferRequestParamsDto.getS3BucketName(), e.getMessage()), e);
+            return null;
+        }
+
+        RateLimiter rateLimiter = taggingRateLimiters.computeIfAbsent(s3BucketName, key -> RateLimiter.create(maxRequestsPerSecond));
+
+        // Apply the requested rate, in case it got changed since the rate limiter was created.
+        if (rateLimiter.getRate() != maxRequestsPerSecond)
+        {
+            rateLimiter.setRate(maxRequestsPerSecond);
+        }
+
+        return rateLimiter;
+    }
+
+    /**
+     * Blocks until an S3 object tagging request is permitted by the rate limiter.
+     *
+     * @param rateLimiter the rate limiter, may be null
+     */
+    private void acquireTaggingPermit(RateLimiter rateLimiter)
+    {
+        if (rateLimiter != null)
+        {
+            rateLimiter.acquire();
+        }
+    }
+
+    /**
+     * Marks a ranged download as complete by replacing the local file with the partial file that now has all the ranges and removing the download state.
+     *
+     * @param rangedDownload the ranged download
+     */
+    private void completeRangedDownload(RangedDownload rangedDownload)
+    {
+        try
+        {
+            // Getting the file channel creates the partial file of an empty file or a file with all its ranges downloaded by a previous attempt.
+            getFileChannel(rangedDownload).close();
+
+            // Validate the local file size before making the file visible under its final name.
+            long partialFileSizeBytes = Files.size(rangedDownload.partialFilePath);
+            if (partialFileSizeBytes != rangedDownload.downloadState.getFileSizeBytes())
+            {
+                throw new IllegalStateException(String.format(
+                    "Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                    rangedDownload.localFilePath, rangedDownload.downloadState.getFileSizeBytes(), partialFileSizeBytes));
+            }
+
+            Files.move(rangedDownload.partialFilePath, rangedDownload.localFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(rangedDownload.downloadStateFilePath);
+
+            LOGGER.info("Downloaded S3 file to the local system. s3Key=\"{}\" eTag=\"{}\" localPath=\"{}\"", rangedDownload.downloadState.getS3Key(),
+                rangedDownload.downloadState.getETag(), rangedDownload.localFilePath);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(String.format("Failed to complete the download of \"%s\" S3 file to \"%s\" local file.",
+                rangedDownload.downloadState.getS3Key(), rangedDownload.localFilePath), e);
+        }
+    }
+
+    /**
+     * Downloads a single range of a file with a ranged GET request and writes it at its position in the partial file. The request is conditional on the ETag
+     * seen when the download was planned, so all the ranges of a file come from the same version of the S3 object. A file planned without a HEAD request is
+     * downloaded by a single GET request instead, which provides the size and the ETag of the S3 object. When the file is downloaded by a single request and
+     * its ETag is the MD5 of its content, the MD5 of the received content is verified as well.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param rangedDownload the ranged download the range belongs to
+     * @param rangeIndex the index of the range to download
+     * @param s3Client the S3 client
+     * @param bytesTransferred the total number of bytes downloaded so far, to be updated as the range gets downloaded
+     */
+    private void downloadRange(S3FileTransferRequestParamsDto params, RangedDownload rangedDownload, int rangeIndex, AmazonS3Client s3Client,
+        AtomicLong bytesTransferred)
+    {
+        S3FileDownloadStateDto downloadState = rangedDownload.downloadState;
+        long rangeStart = rangeIndex * downloadState.getRangeSizeBytes();
+        long rangeEnd = Math.min(rangeStart + downloadState.getRangeSizeBytes(), downloadState.getFileSizeBytes()) - 1;
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(params.getS3BucketName(), downloadState.getS3Key());
+        if (!rangedDownload.singleRequest)
+        {
+            getObjectRequest.withRange(rangeStart, rangeEnd);
+        }
+        if (downloadState.getETag() != null)
+        {
+            getObjectRequest.withMatchingETagConstraint(downloadState.getETag());
+        }
+
+        S3Object s3Object;
+        try
+        {
+            s3Object = s3Operations.getS3Object(getObjectRequest, s3Client);
+        }
+        catch (AmazonServiceException e)
+        {
+            throw translateObjectNotFoundException(e, params.getS3BucketName(), downloadState.getS3Key());
+        }
+        if (s3Object == null)
+        {
+            throw new IllegalStateException(String.format("S3 file \"%s\" in \"%s\" bucket was modified while being downloaded. Expected ETag: \"%s\".",
+                downloadState.getS3Key(), params.getS3BucketName(), downloadState.getETag()));
+        }
+
+        long position = rangeStart;
+        try (S3ObjectInputStream inputStream = s3Object.getObjectContent())
+        {
+            // Without a HEAD request, the size and the ETag of the S3 object come from the response and the size gets validated before reading the content.
+            if (rangedDownload.singleRequest)
+            {
+                ObjectMetadata objectMetadata = s3Object.getObjectMetadata();
+                if (objectMetadata.getContentLength() != downloadState.getFileSizeBytes())
+                {
+                    inputStream.abort();
+                    throw new IllegalStateException(String.format(
+                        "Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3.",
+                        downloadState.getFileSizeBytes(), downloadState.getS3Key(), objectMetadata.getContentLength()));
+                }
+                downloadState.setETag(objectMetadata.getETag());
+                rangedDownload.verifyMd5 = isMd5ETag(objectMetadata);
+            }
+
+            MessageDigest messageDigest = rangedDownload.verifyMd5 ? DigestUtils.getMd5Digest() : null;
+            FileChannel fileChannel = getFileChannel(rangedDownload);
+            byte[] buffer = new byte[DOWNLOAD_BUFFER_SIZE_BYTES];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1)
+            {
+                // Use positional writes, so the ranges of the same file can be written concurrently through a single file channel.
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+                while (byteBuffer.hasRemaining())
+                {
+                    position += fileChannel.write(byteBuffer, position);
+                }
+
+                if (messageDigest != null)
+                {
+                    messageDigest.update(buffer, 0, bytesRead);
+                }
+                bytesTransferred.addAndGet(bytesRead);
+            }
+
+            // Make sure the range is on disk before it gets recorded as completed.
+            fileChannel.force(false);
+
+            // Validate the size and the checksum of the received content.
+            if (position != rangeEnd + 1)
+            {
+                throw new IllegalStateException(String.format(
+                    "Received %d bytes instead of %d bytes when downloading bytes %d-%d of \"%s\" S3 file from \"%s\" bucket.", position - rangeStart,
+                    rangeEnd - rangeStart + 1, rangeStart, rangeEnd, downloadState.getS3Key(), params.getS3BucketName()));
+            }
+            if (messageDigest != null && !Hex.encodeHexString(messageDigest.digest()).equalsIgnoreCase(downloadState.getETag()))
+            {
+                throw new IllegalStateException(String.format(
+                    "MD5 checksum of the downloaded \"%s\" S3 file from \"%s\" bucket does not match its ETag \"%s\".", downloadState.getS3Key(),
+                    params.getS3BucketName(), downloadState.getETag()));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(String.format("Failed to download bytes %d-%d of \"%s\" S3 file from \"%s\" bucket to \"%s\" local file.",
+                rangeStart, rangeEnd, downloadState.getS3Key(), params.getS3BucketName(), rangedDownload.partialFilePath), e);
+        }
+
+        // Record the completed range, so it does not get downloaded again when the download gets restarted, and complete the file after its last range. A
+        // file downloaded by a single request has nothing to resume, so it has no download state.
+        boolean lastRange;
+        synchronized (rangedDownload)
+        {
+            downloadState.getCompletedRanges().add(rangeIndex);
+            if (!rangedDownload.singleRequest)
+            {
+                writeJsonFile(downloadState, rangedDownload.downloadStateFilePath.toFile(), "download state");
+            }
+            lastRange = downloadState.getCompletedRanges().size() == rangedDownload.rangeCount;
+        }
+        if (lastRange)
+        {
+            completeRangedDownload(rangedDownload);
+        }
+    }
+
+    /**
+     * Gets the file channel for the positional writes of the ranges to the partial file, opening it when the first range of the file starts downloading. The
+     * partial file is truncated when it is opened, unless the download resumes from the ranges downloaded by a previous attempt.
+     *
+     * @param rangedDownload the ranged download
+     *
+     * @return the file channel
+     * @throws IOException if the partial file can not be opened
+     */
+    private FileChannel getFileChannel(RangedDownload rangedDownload) throws IOException
+    {
+        synchronized (rangedDownload)
+        {
+            if (rangedDownload.fileChannel == null)
+            {
+                Files.createDirectories(rangedDownload.localFilePath.getParent());
+                rangedDownload.fileChannel = rangedDownload.resumed ?
+                    FileChannel.open(rangedDownload.partialFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE) :
+                    FileChannel.open(rangedDownload.partialFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            return rangedDownload.fileChannel;
+        }
+    }
+
+    /**
+     * Checks whether the ETag of an S3 object is the MD5 of its content, which is not the case for the objects uploaded using a multipart upload or encrypted
+     * with SSE-KMS.
+     *
+     * @param objectMetadata the metadata of the S3 object
+     *
+     * @return true if the ETag is the MD5 of the content of the S3 object
+     */
+    private boolean isMd5ETag(ObjectMetadata objectMetadata)
+    {
+        return objectMetadata.getETag() != null && MD5_ETAG_PATTERN.matcher(objectMetadata.getETag()).matches() &&
+            !SSEAlgorithm.KMS.getAlgorithm().equals(objectMetadata.getSSEAlgorithm());
+    }
+
+    /**
+     * Plans the download of a registered storage file. A local file that is already there with the expected size is not downloaded again. A file registered
+     * with a size that fits in a single range is downloaded by a single GET request without a HEAD request. Otherwise, the current size and ETag of the S3
+     * object are validated against the registered file size and any download state left behind by a previous attempt, so only the ranges that are not on the
+     * local file system yet get downloaded.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param storageFile the storage file to download
+     * @param rangeSizeBytes the size in bytes of each downloaded range
+     * @param s3Client the S3 client
+     * @param rangedDownloads the list of ranged downloads to add the planned download to
+     */
+    private void planRangedDownload(S3FileTransferRequestParamsDto params, StorageFile storageFile, long rangeSizeBytes, AmazonS3Client s3Client,
+        List<RangedDownload> rangedDownloads) throws IOException
+    {
+        RangedDownload rangedDownload = new RangedDownload();
+        rangedDownload.localFilePath = Paths.get(params.getLocalPath(), storageFile.getFilePath());
+        rangedDownload.partialFilePath = Paths.get(rangedDownload.localFilePath + DOWNLOAD_PARTIAL_FILE_SUFFIX);
+        rangedDownload.downloadStateFilePath = Paths.get(rangedDownload.partialFilePath + DOWNLOAD_STATE_FILE_SUFFIX);
+
+        // Skip the file when a previous attempt already downloaded it completely. Without a registered file size, a local file can not be told apart from a
+        // partial one, so it is downloaded again.
+        if (storageFile.getFileSizeBytes() != null && Files.isRegularFile(rangedDownload.localFilePath) &&
+            Files.size(rangedDownload.localFilePath) == storageFile.getFileSizeBytes() && !Files.exists(rangedDownload.downloadStateFilePath))
+        {
+            LOGGER.info("Skipping S3 file already downloaded to the local system. s3Key=\"{}\" localPath=\"{}\"", storageFile.getFilePath(),
+                rangedDownload.localFilePath);
+            rangedDownload.downloadState = new S3FileDownloadStateDto(storageFile.getFilePath(), null, storageFile.getFileSizeBytes(), rangeSizeBytes,
+                new ArrayList<>());
+            rangedDownload.alreadyDownloaded = true;
+            rangedDownloads.add(rangedDownload);
+            return;
+        }
+
+        // A file that fits in a single range has no ranges to resume, so the GET request that downloads it also provides its size and ETag.
+        if (storageFile.getFileSizeBytes() != null && storageFile.getFileSizeBytes() <= rangeSizeBytes)
+        {
+            rangedDownload.downloadState = new S3FileDownloadStateDto(storageFile.getFilePath(), null, storageFile.getFileSizeBytes(), rangeSizeBytes,
+                new ArrayList<>());
+            rangedDownload.singleRequest = true;
+            rangedDownload.rangeCount = 1;
+            rangedDownload.pendingRanges.add(0);
+            Files.deleteIfExists(rangedDownload.downloadStateFilePath);
+            rangedDownloads.add(rangedDownload);
+            return;
+        }
+
+        // Get the current size and ETag of the S3 object and validate the size against the registered file size.
+        ObjectMetadata objectMetadata;
+        try
+        {
+            objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), storageFile.getFilePath(), s3Client);
+        }
+        catch (AmazonServiceException e)
+        {
+            throw translateObjectNotFoundException(e, params.getS3BucketName(), storageFile.getFilePath());
+        }
+        if (storageFile.getFileSizeBytes() != null && objectMetadata.getContentLength() != storageFile.getFileSizeBytes())
+        {
+            throw new IllegalStateException(String.format(
+                "Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3.", storageFile.getFileSizeBytes(),
+                storageFile.getFilePath(), objectMetadata.getContentLength()));
+        }
+
+        // Resume from the download state left behind by a previous attempt, as long as it was downloading the same version of the S3 object.
+        S3FileDownloadStateDto downloadState = null;
+        if (Files.isRegularFile(rangedDownload.downloadStateFilePath) && Files.isRegularFile(rangedDownload.partialFilePath))
+        {
+            downloadState = jsonHelper.unmarshallJsonToObject(S3FileDownloadStateDto.class,
+                new String(Files.readAllBytes(rangedDownload.downloadStateFilePath), StandardCharsets.UTF_8));
+            if (!Objects.equals(downloadState.getETag(), objectMetadata.getETag()) ||
+                !Objects.equals(downloadState.getFileSizeBytes(), objectMetadata.getContentLength()) ||
+                !Objects.equals(downloadState.getRangeSizeBytes(), rangeSizeBytes))
+            {
+                LOGGER.info("Discarding the partially downloaded file that does not match the S3 file. s3Key=\"{}\" localPath=\"{}\"",
+                    storageFile.getFilePath(), rangedDownload.partialFilePath);
+                downloadState = null;
+            }
+        }
+        rangedDownload.resumed = downloadState != null;
+        if (!rangedDownload.resumed)
+        {
+            downloadState = new S3FileDownloadStateDto(storageFile.getFilePath(), objectMetadata.getETag(), objectMetadata.getContentLength(), rangeSizeBytes,
+                new ArrayList<>());
+        }
+        rangedDownload.downloadState = downloadState;
+        rangedDownload.rangeCount = (int) ((objectMetadata.getContentLength() + rangeSizeBytes - 1) / rangeSizeBytes);
+
+        // The MD5 of the content can only be verified when it is received by a single request and the ETag is not from a multipart upload or SSE-KMS.
+        rangedDownload.verifyMd5 = rangedDownload.rangeCount == 1 && isMd5ETag(objectMetadata);
+
+        for (int rangeIndex = 0; rangeIndex < rangedDownload.rangeCount; rangeIndex++)
+        {
+            if (!downloadState.getCompletedRanges().contains(rangeIndex))
+            {
+                rangedDownload.pendingRanges.add(rangeIndex);
+            }
+        }
+
+        // Record the download state, so the download can be resumed from now on. The partial file gets opened when its first range starts downloading.
+        Files.createDirectories(rangedDownload.localFilePath.getParent());
+        rangedDownloads.add(rangedDownload);
+        writeJsonFile(downloadState, rangedDownload.downloadStateFilePath.toFile(), "download state");
+
+        LOGGER.info("Planned the download of S3 file. s3Key=\"{}\" eTag=\"{}\" fileSizeBytes={} rangeCount={} pendingRangeCount={}", storageFile.getFilePath(),
+            downloadState.getETag(), downloadState.getFileSizeBytes(), rangedDownload.rangeCount, rangedDownload.pendingRanges.size());
+    }
+
+    /**
+     * Reads the upload journal from the specified file. A new empty upload journal is returned when the file does not exist.
+     *
+     * @param uploadJournalFile the upload journal file
+     * @param params the S3 file transfer request parameters
+     *
+     * @return the upload journal
+     */
+    private S3FileUploadJournalDto readUploadJournal(File uploadJournalFile, S3FileTransferRequestParamsDto params)
+    {
+        if (!uploadJournalFile.isFile())
+        {
+            return new S3FileUploadJournalDto(params.getS3BucketName(), params.getS3KeyPrefix(), new ArrayList<>());
+        }
+
+        S3FileUploadJournalDto uploadJournal;
+        try
+        {
+            uploadJournal = jsonHelper.unmarshallJsonToObject(S3FileUploadJournalDto.class,
+                new String(Files.readAllBytes(uploadJournalFile.toPath()), StandardCharsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(String.format("Failed to read the upload journal \"%s\".", uploadJournalFile.getPath()), e);
+        }
+
+        // Make sure the journal was written by an upload to the same S3 location.
+        if (!Objects.equals(uploadJournal.getS3BucketName(), params.getS3BucketName()) ||
+            !Objects.equals(uploadJournal.getS3KeyPrefix(), params.getS3KeyPrefix()))
+        {
+            throw new IllegalArgumentException(String.format(
+                "The upload journal \"%s\" belongs to an upload to a different S3 location. Upload journal S3 bucket name: \"%s\". " +
+                    "Upload journal S3 key prefix: \"%s\".", uploadJournalFile.getPath(), uploadJournal.getS3BucketName(), uploadJournal.getS3KeyPrefix()));
+        }
+
+        LOGGER.info("Loaded the upload journal. uploadJournalPath=\"{}\" uploadJournalEntryCount={}", uploadJournalFile.getPath(),
+            uploadJournal.getFiles().size());
+
+        return uploadJournal;
+    }
+
+    /**
+     * Translates an Amazon service exception for an S3 object that does not exist to an object not found exception.
+     *
+     * @param e the Amazon service exception
+     * @param s3BucketName the S3 bucket name
+     * @param s3Key the S3 key
+     *
+     * @return the object not found exception for a "not found" status code, otherwise the Amazon service exception
+     */
+    private RuntimeException translateObjectNotFoundException(AmazonServiceException e, String s3BucketName, String s3Key)
+    {
+        if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND)
+        {
+            return new ObjectNotFoundException(String.format("File not found at s3://%s/%s location.", s3BucketName, s3Key));
+        }
+        return e;
+    }
+
+    /**
+     * Uploads a single file while recording its progress in the upload journal. A multipart upload recorded in the journal is resumed, so only its missing
+     * parts get uploaded.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param file the local file to upload
+     * @param uploadJournalEntry the upload journal entry for the file
+     * @param uploadJournal the upload journal, also used to synchronize the journal updates
+     * @param uploadJournalFile the upload journal file
+     * @param transferManager the transfer manager
+     * @param uploadsInProgress the uploads in progress, used for the throughput reporting
+     * @param completedBytesTransferred the number of bytes transferred by the completed uploads
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting for the upload to complete
+     */
+    private void uploadJournaledFile(S3FileTransferRequestParamsDto params, File file, S3FileUploadJournalEntryDto uploadJournalEntry,
+        S3FileUploadJournalDto uploadJournal, File uploadJournalFile, TransferManager transferManager, Set<Upload> uploadsInProgress,
+        AtomicLong completedBytesTransferred) throws InterruptedException
+    {
+        Upload upload;
+        boolean resumed = uploadJournalEntry.getPersistableUpload() != null;
+        if (resumed)
+        {
+            LOGGER.info("Resuming multipart upload. s3Key=\"{}\" s3BucketName=\"{}\"", uploadJournalEntry.getS3Key(), params.getS3BucketName());
+            upload = s3Operations.resumeUpload(PersistableTransfer.deserializeFrom(uploadJournalEntry.getPersistableUpload()), transferManager);
+        }
+        else
+        {
+            ObjectMetadata metadata = new ObjectMetadata();
+            prepareMetadata(params, metadata);
+            PutObjectRequest putObjectRequest = new PutObjectRequest(params.getS3BucketName(), uploadJournalEntry.getS3Key(), file);
+            putObjectRequest.setMetadata(metadata);
+
+            // Record the multipart upload as soon as it gets initiated, so it can be resumed if this upload does not complete.
+            upload = s3Operations.upload(putObjectRequest, new S3SyncProgressListener()
+            {
+                @Override
+                public void onPersistableTransfer(PersistableTransfer persistableTransfer)
+                {
+                    synchronized (uploadJournal)
+                    {
+                        uploadJournalEntry.setPersistableUpload(persistableTransfer.serialize());
+                        writeUploadJournal(uploadJournal, uploadJournalFile);
+                    }
+                }
+            }, transferManager);
+        }
+
+        uploadsInProgress.add(upload);
+        try
+        {
+            waitForTransfer(upload, upload.getProgress());
+        }
+        catch (InterruptedException e)
+        {
+            // Pause the upload instead of aborting it, so the parts already uploaded can be reused when the upload gets restarted.
+            PersistableUpload persistableUpload = upload.tryPause(true).getInfoToResume();
+            if (persistableUpload != null)
+            {
+                synchronized (uploadJournal)
+                {
+                    uploadJournalEntry.setPersistableUpload(persistableUpload.serialize());
+                    writeUploadJournal(uploadJournal, uploadJournalFile);
+                }
+            }
+            throw e;
         }
         finally
         {
-            if (s3Client != null)
+            uploadsInProgress.remove(upload);
+        }
+
+        if (upload.getState() == TransferState.Failed)
+        {
+            AmazonClientException amazonClientException = upload.waitForException();
+
+            // A multipart upload that was aborted or cleaned up since it got recorded cannot be resumed, so upload the whole file again.
+            if (resumed && amazonClientException instanceof AmazonServiceException &&
+                S3Operations.ERROR_CODE_NO_SUCH_UPLOAD.equals(((AmazonServiceException) amazonClientException).getErrorCode()))
             {
-                s3Client.shutdown();
+                LOGGER.info("The recorded multipart upload no longer exists, so the file gets uploaded again. s3Key=\"{}\" s3BucketName=\"{}\"",
+                    uploadJournalEntry.getS3Key(), params.getS3BucketName());
+                synchronized (uploadJournal)
+                {
+                    uploadJournalEntry.setPersistableUpload(null);
+                    writeUploadJournal(uploadJournal, uploadJournalFile);
+                }
+                uploadJournaledFile(params, file, uploadJournalEntry, uploadJournal, uploadJournalFile, transferManager, uploadsInProgress,
+                    completedBytesTransferred);
+                return;
             }
 
-            if (securityTokenService != null)
+            if (amazonClientException == null)
             {
-                securityTokenService.shutdown();
+                throw new IllegalStateException("The transfer operation \"" + upload.getDescription() + "\" failed for an unknown reason.");
             }
+            throw amazonClientException;
+        }
+        else if (upload.getState() != TransferState.Completed)
+        {
+            throw new IllegalStateException(
+                "The transfer operation \"" + upload.getDescription() + "\" did not complete successfully. Current state: \"" + upload.getState() + "\".");
+        }
 
-            if (s3ObjectTaggerClient != null)
+        // Validate the uploaded S3 object and record its ETag, so the file gets skipped when the upload gets restarted.
+        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), uploadJournalEntry.getS3Key(),
+            transferManager.getAmazonS3Client());
+        if (objectMetadata.getContentLength() != file.length())
+        {
+            throw new IllegalStateException(String.format("Size of the uploaded S3 object does not match the local file size. s3Key=\"%s\" " +
+                "s3BucketName=\"%s\" s3ObjectSizeBytes=%d fileSizeBytes=%d", uploadJournalEntry.getS3Key(), params.getS3BucketName(),
+                objectMetadata.getContentLength(), file.length()));
+        }
+
+        synchronized (uploadJournal)
+        {
+            uploadJournalEntry.setETag(StringUtils.defaultString(objectMetadata.getETag()));
+            uploadJournalEntry.setPersistableUpload(null);
+            writeUploadJournal(uploadJournal, uploadJournalFile);
+        }
+
+        completedBytesTransferred.addAndGet(upload.getProgress().getBytesTransferred());
+
+        LOGGER.info("Uploaded file to S3. s3Key=\"{}\" s3BucketName=\"{}\" eTag=\"{}\"", uploadJournalEntry.getS3Key(), params.getS3BucketName(),
+            objectMetadata.getETag());
+    }
+
+    /**
+     * Waits for the specified ranged download tasks to complete, logging the overall progress every 30 seconds.
+     *
+     * @param futures the futures of the ranged download tasks
+     * @param bytesTransferred the total number of bytes downloaded so far
+     * @param stopWatch the stop watch started when the download started
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException if any of the tasks failed
+     */
+    private void waitForRangedDownloadTasks(List<Future<?>> futures, AtomicLong bytesTransferred, StopWatch stopWatch)
+        throws InterruptedException, ExecutionException
+    {
+        for (Future<?> future : futures)
+        {
+            while (true)
             {
-                s3ObjectTaggerClient.shutdown();
+                try
+                {
+                    future.get(TRANSFER_PROGRESS_LOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                }
+                catch (TimeoutException e)
+                {
+                    LOGGER.info("progressBytesTransferred={} transferRateMegaBitsPerSecond={}", bytesTransferred.get(),
+                        new DecimalFormat("#0.00").format(awsHelper.getTransferRateInMegabitsPerSecond(bytesTransferred.get(), stopWatch.getTime())));
+                }
             }
         }
     }
 
+    /**
+     * Writes the specified object as JSON to the specified file. The JSON is first written to a temporary file that then replaces the file, so a process crash
+     * never leaves a partially written file behind.
+     *
+     * @param object the object to write
+     * @param file the file
+     * @param description the description of the file to be used in the error message
+     */
+    private void writeJsonFile(Object object, File file, String description)
+    {
+        Path temporaryFilePath = Paths.get(file.getPath() + ".tmp");
+        try
+        {
+            Files.write(temporaryFilePath, jsonHelper.objectToJson(object).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryFilePath, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(String.format("Failed to write the %s \"%s\".", description, file.getPath()), e);
+        }
+    }
+
+    /**
+     * Writes the upload journal to the specified file.
+     *
+     * @param uploadJournal the upload journal
+     * @param uploadJournalFile the upload journal file
+     */
+    private void writeUploadJournal(S3FileUploadJournalDto uploadJournal, File uploadJournalFile)
+    {
+        writeJsonFile(uploadJournal, uploadJournalFile, "upload journal");
+    }
+
     /**
      * An object that can perform a transfer using a transform manager.
      */
@@ -1773,4 +3028,32 @@ public class S3DaoImpl implements S3Dao
          */
         Transfer performTransfer(TransferManager transferManager);
     }
+
+    /**
+     * The download of a single file split into ranges.
+     */
+    private static class RangedDownload
+    {
+        private Path localFilePath;
+
+        private Path partialFilePath;
+
+        private Path downloadStateFilePath;
+
+        private S3FileDownloadStateDto downloadState;
+
+        private int rangeCount;
+
+        private List<Integer> pendingRanges = new ArrayList<>();
+
+        private boolean verifyMd5;
+
+        private boolean alreadyDownloaded;
+
+        private boolean singleRequest;
+
+        private boolean resumed;
+
+        private FileChannel fileChannel;
+    }
 }
@@ -46,8 +46,10 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 import com.amazonaws.services.s3control.AWSS3Control;
 import com.amazonaws.services.s3control.model.CreateJobRequest;
 import com.amazonaws.services.s3control.model.CreateJobResult;
@@ -142,6 +144,12 @@ public class S3OperationsImpl implements S3Operations
         s3Client.restoreObjectV2(requestRestore);
     }
 
+    @Override
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager)
+    {
+        return transferManager.resumeUpload(persistableUpload);
+    }
+
     @Override
     public void rollback()
     {
@@ -160,6 +168,12 @@ public class S3OperationsImpl implements S3Operations
         return transferManager.upload(putObjectRequest);
     }
 
+    @Override
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener s3ProgressListener, TransferManager transferManager)
+    {
+        return transferManager.upload(putObjectRequest, s3ProgressListener);
+    }
+
     @Override
     public MultipleFileUpload uploadDirectory(String s3BucketName, String virtualDirectoryKeyPrefix, File directory, boolean includeSubdirectories,
         ObjectMetadataProvider metadataProvider, TransferManager transferManager)
@@ -15,20 +15,40 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Repository;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.HerdThreadHelper;
 import org.finra.herd.dao.AwsClientFactory;
 import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.SqsOperations;
 import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.MessageHeader;
 
 /**
@@ -37,14 +57,324 @@ import org.finra.herd.model.dto.MessageHeader;
 @Repository
 public class SqsDaoImpl implements SqsDao
 {
+    /**
+     * The suffix of the per queue counter that tracks the number of messages successfully sent to the queue.
+     */
+    public static final String MESSAGES_SENT_METRIC_NAME_SUFFIX = "messagesSent";
+
+    /**
+     * The suffix of the per queue counter that tracks the number of messages that failed to be sent to the queue after all retry attempts.
+     */
+    public static final String MESSAGES_FAILED_METRIC_NAME_SUFFIX = "messagesFailed";
+
+    /**
+     * The suffix of the per queue counter that tracks the number of failed send message batch request entries that got resent to the queue.
+     */
+    public static final String MESSAGES_RETRIED_METRIC_NAME_SUFFIX = "messagesRetried";
+
+    /**
+     * The suffix of the per queue timer that tracks the latency of send message batch requests.
+     */
+    public static final String SEND_MESSAGE_BATCH_METRIC_NAME_SUFFIX = "sendMessageBatch";
+
+    /**
+     * The maximum delay in milliseconds before failed send message batch request entries get resent.
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 10000;
+
+    /**
+     * The prefix of all per queue metric names.
+     */
+    private static final String METRIC_NAME_PREFIX = "sqs";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqsDaoImpl.class);
+
     @Autowired
     private AwsClientFactory awsClientFactory;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    @Qualifier("daoTaskExecutor")
+    private AsyncTaskExecutor daoTaskExecutor;
+
+    @Autowired
+    private HerdThreadHelper herdThreadHelper;
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
     @Autowired
     private SqsOperations sqsOperations;
 
     @Override
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders)
+    {
+        SendMessageResult sendMessageResult =
+            sqsOperations.sendMessage(queueName, messageText, getMessageAttributes(messageHeaders), awsClientFactory.getAmazonSQSClient(awsParamsDto));
+        metricRegistry.counter(getMetricName(queueName, MESSAGES_SENT_METRIC_NAME_SUFFIX)).inc();
+        return sendMessageResult;
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders)
+    {
+        // Get the AWS SQS client once, so it is shared by all batch requests. The AWS SQS client is thread safe.
+        AmazonSQS amazonSQS = awsClientFactory.getAmazonSQSClient(awsParamsDto);
+
+        // Get the maximum number of batch requests to send concurrently, the maximum number of retry attempts for failed batch request entries, and the base
+        // delay before the failed batch request entries get resent.
+        int sendMessageBatchParallelism = configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class);
+        int maxRetryAttempts = configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class);
+        int retryBaseDelayMillis = configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class);
+
+        // Split the messages into batches.
+        List<List<SendMessageBatchRequestEntry>> batches = getBatches(messageTexts, messageHeaders);
+
+        // Create the aggregated result.
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+
+        // Send the batches serially, unless concurrent batch requests are enabled and there is more than one batch to send.
+        if (sendMessageBatchParallelism <= 1 || batches.size() <= 1)
+        {
+            for (List<SendMessageBatchRequestEntry> entries : batches)
+            {
+                addSendMessageBatchResult(sendMessageBatchResult,
+                    sendMessageBatchWithRetries(queueName, entries, maxRetryAttempts, retryBaseDelayMillis, amazonSQS));
+            }
+        }
+        else
+        {
+            // Split the batches into at most as many consecutive groups as the parallelism and send each group serially in a separate task on the shared DAO
+            // task executor.
+            int groupCount = Math.min(sendMessageBatchParallelism, batches.size());
+            List<Future<SendMessageBatchResult>> futures = new ArrayList<>();
+            try
+            {
+                for (List<List<SendMessageBatchRequestEntry>> group : Lists.partition(batches, (batches.size() + groupCount - 1) / groupCount))
+                {
+                    futures.add(daoTaskExecutor.submit(() -> {
+                        SendMessageBatchResult groupSendMessageBatchResult = new SendMessageBatchResult();
+                        for (List<SendMessageBatchRequestEntry> entries : group)
+                        {
+                            addSendMessageBatchResult(groupSendMessageBatchResult,
+                                sendMessageBatchWithRetries(queueName, entries, maxRetryAttempts, retryBaseDelayMillis, amazonSQS));
+                        }
+                        return groupSendMessageBatchResult;
+                    }));
+                }
+
+                // Merge the results in the batch order.
+                for (Future<SendMessageBatchResult> future : futures)
+                {
+                    addSendMessageBatchResult(sendMessageBatchResult, future.get());
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String.format("Interrupted while sending messages to \"%s\" AWS SQS queue.", queueName), e);
+            }
+            catch (ExecutionException e)
+            {
+                // Rethrow the original exception, so it gets handled the same way as for the serial send.
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            finally
+            {
+                // Cancel the batch requests that are still pending or running, since the threads are shared with other callers.
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        return sendMessageBatchResult;
+    }
+
+    /**
+     * Splits the messages into lists of send message batch request entries, so each list stays within the AWS SQS limits on the number of entries and the
+     * total payload size per request. Each batch request entry is identified by the index of the relative message in the specified list.
+     *
+     * @param messageTexts the list of message texts
+     * @param messageHeaders the list of optional message headers, one element per message text, or null if none of the messages have headers
+     *
+     * @return the list of batches of send message batch request entries
+     */
+    private List<List<SendMessageBatchRequestEntry>> getBatches(List<String> messageTexts, List<List<MessageHeader>> messageHeaders)
+    {
+        List<List<SendMessageBatchRequestEntry>> batches = new ArrayList<>();
+
+        // Build batch request entries and start a new batch as soon as the next entry would exceed either the maximum batch size or the maximum batch payload
+        // size.
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        int payloadSize = 0;
+        for (int i = 0; i < messageTexts.size(); i++)
+        {
+            SendMessageBatchRequestEntry entry = new SendMessageBatchRequestEntry().withId(String.valueOf(i)).withMessageBody(messageTexts.get(i))
+                .withMessageAttributes(getMessageAttributes(messageHeaders != null ? messageHeaders.get(i) : null));
+            int entryPayloadSize = getPayloadSize(entry);
+
+            if (!entries.isEmpty() && (entries.size() == MAX_BATCH_SIZE || payloadSize + entryPayloadSize > MAX_BATCH_PAYLOAD_SIZE_BYTES))
+            {
+                batches.add(entries);
+                entries = new ArrayList<>();
+                payloadSize = 0;
+            }
+
+            entries.add(entry);
+            payloadSize += entryPayloadSize;
+        }
+
+        // Add the last batch.
+        if (!entries.isEmpty())
+        {
+            batches.add(entries);
+        }
+
+        return batches;
+    }
+
+    /**
+     * Sends a single batch of messages to the specified queue. Entries that failed not due to a sender fault get resent up to the specified maximum number of
+     * retry attempts, keeping their original ids. Before each retry attempt, this method waits for an exponential backoff delay with full jitter. Only the
+     * entries that still failed after all retry attempts or failed due to a sender fault are reported as failed.
+     *
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param entries the send message batch request entries
+     * @param maxRetryAttempts the maximum number of retry attempts for failed entries
+     * @param retryBaseDelayMillis the base delay in milliseconds before failed entries get resent
+     * @param amazonSQS the AWS SQS client
+     *
+     * @return the send message batch result
+     */
+    private SendMessageBatchResult sendMessageBatchWithRetries(String queueName, List<SendMessageBatchRequestEntry> entries, int maxRetryAttempts,
+        int retryBaseDelayMillis, AmazonSQS amazonSQS)
+    {
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+        Timer timer = metricRegistry.timer(getMetricName(queueName, SEND_MESSAGE_BATCH_METRIC_NAME_SUFFIX));
+
+        List<SendMessageBatchRequestEntry> pendingEntries = entries;
+        for (int attempt = 0; !pendingEntries.isEmpty(); attempt++)
+        {
+            // Send the pending entries.
+            SendMessageBatchResult attemptResult;
+            Timer.Context timerContext = timer.time();
+            try
+            {
+                attemptResult = sqsOperations.sendMessageBatch(queueName, pendingEntries, amazonSQS);
+            }
+            finally
+            {
+                timerContext.stop();
+            }
+
+            if (CollectionUtils.isNotEmpty(attemptResult.getSuccessful()))
+            {
+                sendMessageBatchResult.getSuccessful().addAll(attemptResult.getSuccessful());
+                metricRegistry.counter(getMetricName(queueName, MESSAGES_SENT_METRIC_NAME_SUFFIX)).inc(attemptResult.getSuccessful().size());
+            }
+
+            // Collect failed entries that should be resent. All other failed entries are reported as failed.
+            List<SendMessageBatchRequestEntry> retryEntries = new ArrayList<>();
+            if (CollectionUtils.isNotEmpty(attemptResult.getFailed()))
+            {
+                Map<String, SendMessageBatchRequestEntry> pendingEntriesById = new HashMap<>();
+                for (SendMessageBatchRequestEntry entry : pendingEntries)
+                {
+                    pendingEntriesById.put(entry.getId(), entry);
+                }
+
+                for (BatchResultErrorEntry failedEntry : attemptResult.getFailed())
+                {
+                    if (attempt < maxRetryAttempts && !BooleanUtils.isTrue(failedEntry.getSenderFault()) && pendingEntriesById.containsKey(failedEntry.getId()))
+                    {
+                        retryEntries.add(pendingEntriesById.get(failedEntry.getId()));
+                    }
+                    else
+                    {
+                        sendMessageBatchResult.getFailed().add(failedEntry);
+                        metricRegistry.counter(getMetricName(queueName, MESSAGES_FAILED_METRIC_NAME_SUFFIX)).inc();
+                    }
+                }
+            }
+
+            if (!retryEntries.isEmpty())
+            {
+                long retryDelayMillis = getRetryDelayMillis(retryBaseDelayMillis, attempt);
+                LOGGER.warn("Resending failed AWS SQS send message batch request entries... queueName=\"{}\" failedEntryCount={} attempt={} " +
+                    "retryDelayMillis={}", queueName, retryEntries.size(), attempt + 1, retryDelayMillis);
+                metricRegistry.counter(getMetricName(queueName, MESSAGES_RETRIED_METRIC_NAME_SUFFIX)).inc(retryEntries.size());
+
+                // Back off before resending the failed entries, since they most likely failed due to throttling or a transient service error.
+                herdThreadHelper.sleep(retryDelayMillis);
+            }
+
+            pendingEntries = retryEntries;
+        }
+
+        return sendMessageBatchResult;
+    }
+
+    /**
+     * Gets the delay before failed send message batch request entries get resent. The delay is a random value between zero and the base delay doubled with
+     * each retry attempt, capped at {@value #MAX_RETRY_DELAY_MILLIS} milliseconds (i.e. an exponential backoff with full jitter).
+     *
+     * @param retryBaseDelayMillis the base delay in milliseconds
+     * @param attempt the zero-based number of the attempt that failed
+     *
+     * @return the delay in milliseconds
+     */
+    private long getRetryDelayMillis(int retryBaseDelayMillis, int attempt)
+    {
+        long maxDelayMillis = Math.min(MAX_RETRY_DELAY_MILLIS, (long) retryBaseDelayMillis << Math.min(attempt, 16));
+        return maxDelayMillis > 0 ? ThreadLocalRandom.current().nextLong(maxDelayMillis + 1) : 0;
+    }
+
+    /**
+     * Adds successful and failed entries of a send message batch result to the aggregated result.
+     *
+     * @param aggregatedResult the aggregated send message batch result
+     * @param sendMessageBatchResult the send message batch result returned by the service
+     */
+    private void addSendMessageBatchResult(SendMessageBatchResult aggregatedResult, SendMessageBatchResult sendMessageBatchResult)
+    {
+        if (CollectionUtils.isNotEmpty(sendMessageBatchResult.getSuccessful()))
+        {
+            aggregatedResult.getSuccessful().addAll(sendMessageBatchResult.getSuccessful());
+        }
+
+        if (CollectionUtils.isNotEmpty(sendMessageBatchResult.getFailed()))
+        {
+            aggregatedResult.getFailed().addAll(sendMessageBatchResult.getFailed());
+        }
+    }
+
+    /**
+     * Gets the per queue metric name. The name is built as "sqs.[queue name].[suffix]".
+     *
+     * @param queueName the name of the Amazon SQS queue
+     * @param metricNameSuffix the metric name suffix
+     *
+     * @return the metric name
+     */
+    private String getMetricName(String queueName, String metricNameSuffix)
+    {
+        return MetricRegistry.name(METRIC_NAME_PREFIX, queueName, metricNameSuffix);
+    }
+
+    /**
+     * Converts a list of message headers to SQS message attributes.
+     *
+     * @param messageHeaders the optional list of message headers
+     *
+     * @return the SQS message attributes or null when no message headers are specified
+     */
+    private Map<String, MessageAttributeValue> getMessageAttributes(List<MessageHeader> messageHeaders)
     {
         Map<String, MessageAttributeValue> messageAttributes = null;
 
@@ -58,6 +388,32 @@ public class SqsDaoImpl implements SqsDao
             }
         }
 
-        return sqsOperations.sendMessage(queueName, messageText, messageAttributes, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+        return messageAttributes;
+    }
+
+    /**
+     * Gets the payload size of a send message batch request entry as counted by AWS SQS, that is the size of the message body plus the size of all message
+     * attribute names, data types and values.
+     *
+     * @param entry the send message batch request entry
+     *
+     * @return the payload size in bytes
+     */
+    private int getPayloadSize(SendMessageBatchRequestEntry entry)
+    {
+        int payloadSize = entry.getMessageBody() != null ? entry.getMessageBody().getBytes(StandardCharsets.UTF_8).length : 0;
+
+        if (entry.getMessageAttributes() != null)
+        {
+            for (Map.Entry<String, MessageAttributeValue> messageAttribute : entry.getMessageAttributes().entrySet())
+            {
+                payloadSize += messageAttribute.getKey().getBytes(StandardCharsets.UTF_8).length;
+                payloadSize += messageAttribute.getValue().getDataType().getBytes(StandardCharsets.UTF_8).length;
+                payloadSize += messageAttribute.getValue().getStringValue() != null ?
+                    messageAttribute.getValue().getStringValue().getBytes(StandardCharsets.UTF_8).length : 0;
+            }
+        }
+
+        return payloadSize;
     }
 }
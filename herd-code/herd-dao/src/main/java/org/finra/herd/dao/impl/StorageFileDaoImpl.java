@@ -20,14 +20,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
@@ -59,8 +64,18 @@ import org.finra.herd.model.jpa.StorageUnitEntity_;
 @Repository
 public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDao
 {
+    /**
+     * The number of bind parameters per row in the insert into storage file table SQL statement.
+     */
+    private static final int INSERT_STORAGE_FILE_PARAMETERS_PER_ROW = 4;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(StorageFileDaoImpl.class);
 
+    /**
+     * The maximum number of rows per multi-row insert statement, so the statement stays within the PostgreSQL limit of 32767 bind parameters.
+     */
+    private static final int MAX_INSERT_ROWS_PER_STATEMENT = Short.MAX_VALUE / INSERT_STORAGE_FILE_PARAMETERS_PER_ROW;
+
     @Autowired
     HerdDaoSecurityHelper herdDaoSecurityHelper;
 
@@ -117,6 +132,15 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
         // Create a map that can hold a collection of values against each key.
         MultiValuedMap<Long, String> result = new ArrayListValuedHashMap<>();
 
+        // Populate the result map with all storage file paths.
+        processStorageFilePathsByStorageUnitIds(storageUnitIds, result::putAll);
+
+        return result;
+    }
+
+    @Override
+    public void processStorageFilePathsByStorageUnitIds(List<Long> storageUnitIds, BiConsumer<Long, List<String>> storageFilePathsConsumer)
+    {
         // Retrieve the chunk size configured in the system to use when listing storage unit ids in the "in" clause.
         Integer inClauseChunkSize = configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_IN_CLAUSE_CHUNK_SIZE, Integer.class);
 
@@ -134,6 +158,10 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
         Path<Long> storageUnitIdColumn = storageFileEntity.get(StorageFileEntity_.storageUnitId);
         Path<String> storageFilePathColumn = storageFileEntity.get(StorageFileEntity_.path);
 
+        // Create the parameters that hold the keyset of the last row returned by the previous page.
+        ParameterExpression<Long> lastStorageUnitIdParameter = builder.parameter(Long.class);
+        ParameterExpression<String> lastStorageFilePathParameter = builder.parameter(String.class);
+
         // Add the select clause.
         criteria.multiselect(storageUnitIdColumn, storageFilePathColumn);
 
@@ -156,25 +184,52 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
             // Get a sub-list for the current chunk of data.
             List<Long> storageUnitIdsSubList = storageUnitIds.subList(i, (listSize > (i + inClauseChunkSize) ? (i + inClauseChunkSize) : listSize));
 
-            // Add the where clause for the sub list.
-            criteria.where(getPredicateForInClause(builder, storageUnitIdColumn, storageUnitIdsSubList));
+            // Create the "in" clause restriction for the sub list.
+            Predicate storageUnitIdsRestriction = getPredicateForInClause(builder, storageUnitIdColumn, storageUnitIdsSubList);
+
+            // Create the keyset restriction that selects only rows that follow the last row of the previous page.
+            Predicate keysetRestriction = builder.or(builder.greaterThan(storageUnitIdColumn, lastStorageUnitIdParameter), builder
+                .and(builder.equal(storageUnitIdColumn, lastStorageUnitIdParameter), builder.greaterThan(storageFilePathColumn, lastStorageFilePathParameter)));
 
-            // Execute the query using pagination and populate the result map.
-            int startPosition = 0;
+            // Execute the query using keyset pagination, so each page is retrieved by an index seek instead of re-scanning the skipped rows.
+            Long lastStorageUnitId = null;
+            String lastStorageFilePath = null;
+            List<String> storageFilePaths = new ArrayList<>();
             while (true)
             {
+                // Build the query for the current page. The first page has no keyset restriction.
+                TypedQuery<Tuple> query;
+                if (lastStorageUnitId == null)
+                {
+                    criteria.where(storageUnitIdsRestriction);
+                    query = entityManager.createQuery(criteria);
+                }
+                else
+                {
+                    criteria.where(builder.and(storageUnitIdsRestriction, keysetRestriction));
+                    query = entityManager.createQuery(criteria).setParameter(lastStorageUnitIdParameter, lastStorageUnitId)
+                        .setParameter(lastStorageFilePathParameter, lastStorageFilePath);
+                }
+
                 // Run the query to get a list of tuples back.
-                List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(startPosition).setMaxResults(paginationSize).getResultList();
+                List<Tuple> tuples = query.setMaxResults(paginationSize).getResultList();
 
-                // Populate the result map from the returned tuples (i.e. 1 tuple for each row).
+                // Collect the storage file paths from the returned tuples (i.e. 1 tuple for each row).
                 for (Tuple tuple : tuples)
                 {
                     // Extract the tuple values.
                     Long storageUnitId = tuple.get(storageUnitIdColumn);
-                    String storageFilePath = tuple.get(storageFilePathColumn);
-
-                    // Update the result map.
-                    result.put(storageUnitId, storageFilePath);
+                    lastStorageFilePath = tuple.get(storageFilePathColumn);
+
+                    // Since rows are ordered by storage unit id, pass the storage file paths of the previous storage unit to the consumer once a row of
+                    // the next storage unit is returned.
+                    if (lastStorageUnitId != null && !lastStorageUnitId.equals(storageUnitId))
+                    {
+                        storageFilePathsConsumer.accept(lastStorageUnitId, storageFilePaths);
+                        storageFilePaths = new ArrayList<>();
+                    }
+                    lastStorageUnitId = storageUnitId;
+                    storageFilePaths.add(lastStorageFilePath);
                 }
 
                 // Break out of the while loop if we got less results than the pagination size.
@@ -182,36 +237,73 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
                 {
                     break;
                 }
+            }
 
-                // Increment the start position.
-                startPosition += paginationSize;
+            // Pass the storage file paths of the last storage unit in this chunk to the consumer.
+            if (lastStorageUnitId != null)
+            {
+                storageFilePathsConsumer.accept(lastStorageUnitId, storageFilePaths);
             }
         }
-
-        return result;
     }
 
     @Override
     public void saveStorageFiles(final List<StorageFileEntity> storageFileEntities)
     {
-        // Get the current user id.
-        String currentUserId = herdDaoSecurityHelper.getCurrentUsername();
-
-        // Create the insert into storage file table sql.
-        final String INSERT_INTO_STORAGE_FILE_TABLE_SQL =
-            "INSERT INTO strge_file " + "(strge_file_id, fully_qlfd_file_nm, file_size_in_bytes_nb, row_ct, strge_unit_id, creat_ts, creat_user_id) " +
-                "VALUES (nextval('strge_file_seq'), ?, ?, ?, ?, current_timestamp, '" + currentUserId + "')";
+        // Retrieve the number of rows to insert per multi-row insert statement configured in the system.
+        final int rowsPerStatement =
+            Math.min(configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class), MAX_INSERT_ROWS_PER_STATEMENT);
 
         // Obtain the datasource.
         final DataSource dataSource = jdbcTemplate.getDataSource();
 
-        // Both Connection and PreparedStatement classes extend AutoCloseable so use try with resources.
-        try (final Connection connection = dataSource.getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL))
+        // Connection class extends AutoCloseable so use try with resources.
+        try (final Connection connection = dataSource.getConnection())
         {
-            // Set auto commit to false to perform a batch insert.
+            // Set auto commit to false to perform all inserts in a single transaction.
             connection.setAutoCommit(false);
 
+            // Insert the storage files using multi-row insert statements, unless they are disabled.
+            if (rowsPerStatement > 1)
+            {
+                insertStorageFilesUsingMultiRowStatements(connection, storageFileEntities, rowsPerStatement);
+            }
+            else
+            {
+                insertStorageFilesUsingBatch(connection, storageFileEntities);
+            }
+
+            // Commit the updates.
+            connection.commit();
+        }
+        catch (final BatchUpdateException batchUpdateException)
+        {
+            LOGGER
+                .error("Caught batch update exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\", updateCounts={}", batchUpdateException.getSQLState(),
+                    batchUpdateException.getMessage(), batchUpdateException.getErrorCode(), Arrays.toString(batchUpdateException.getUpdateCounts()));
+            throw new PersistenceException(batchUpdateException);
+        }
+        catch (final SQLException sqlException)
+        {
+            LOGGER.error("Caught SQL exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\"", sqlException.getSQLState(), sqlException.getMessage(),
+                sqlException.getErrorCode());
+            throw new PersistenceException(sqlException);
+        }
+    }
+
+    /**
+     * Inserts storage files using single-row insert prepared statements that are executed in batches of the configured JDBC batch size.
+     *
+     * @param connection the database connection
+     * @param storageFileEntities the list of storage file entities to insert
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void insertStorageFilesUsingBatch(final Connection connection, final List<StorageFileEntity> storageFileEntities) throws SQLException
+    {
+        // PreparedStatement class extends AutoCloseable so use try with resources.
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(getInsertIntoStorageFileTableSql(1)))
+        {
             // Retrieve the JDBC batch size configured in the system.
             final int batchSize = configurationHelper.getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class);
 
@@ -221,37 +313,7 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
             // For each storage file entry add to a prepared statement batch and execute.
             for (final StorageFileEntity storageFileEntity : storageFileEntities)
             {
-                // Set the path value in the prepared statement as parameter 1.
-                if (storageFileEntity.getPath() == null)
-                {
-                    preparedStatement.setNull(1, Types.VARCHAR);
-                }
-                else
-                {
-                    preparedStatement.setString(1, storageFileEntity.getPath());
-                }
-
-                // Set the file size bytes in the prepared statement as parameter 2.
-                if (storageFileEntity.getFileSizeBytes() == null)
-                {
-                    preparedStatement.setNull(2, Types.BIGINT);
-                }
-                else
-                {
-                    preparedStatement.setLong(2, storageFileEntity.getFileSizeBytes());
-                }
-
-                // Set the row count in the prepared statement as parameter 3.
-                if (storageFileEntity.getRowCount() == null)
-                {
-                    preparedStatement.setNull(3, Types.BIGINT);
-                }
-                else
-                {
-                    preparedStatement.setLong(3, storageFileEntity.getRowCount());
-                }
-
-                preparedStatement.setLong(4, storageFileEntity.getStorageUnit().getId());
+                setStorageFileParameters(preparedStatement, 0, storageFileEntity);
                 preparedStatement.addBatch();
 
                 LOGGER.debug("Preparing to execute statement: " + preparedStatement.toString());
@@ -269,22 +331,142 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
                     LOGGER.info("Batch update complete updateCounts={}", Arrays.toString(updateCounts));
                 }
             }
+        }
+    }
 
-            // Commit the updates.
-            connection.commit();
+    /**
+     * Inserts storage files using multi-row insert prepared statements, so each database round trip inserts up to the specified number of rows.
+     *
+     * @param connection the database connection
+     * @param storageFileEntities the list of storage file entities to insert
+     * @param rowsPerStatement the maximum number of rows to insert per statement
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void insertStorageFilesUsingMultiRowStatements(final Connection connection, final List<StorageFileEntity> storageFileEntities,
+        final int rowsPerStatement) throws SQLException
+    {
+        // Split the storage files into chunks, where each chunk gets inserted by a single statement.
+        List<List<StorageFileEntity>> storageFileEntityChunks = Lists.partition(storageFileEntities, rowsPerStatement);
+
+        long startTime = System.currentTimeMillis();
+
+        // Keep a reusable prepared statement for the full size chunks, since all but the last chunk have the same size.
+        PreparedStatement fullChunkPreparedStatement = null;
+        try
+        {
+            for (List<StorageFileEntity> storageFileEntityChunk : storageFileEntityChunks)
+            {
+                PreparedStatement preparedStatement;
+                if (storageFileEntityChunk.size() == rowsPerStatement)
+                {
+                    if (fullChunkPreparedStatement == null)
+                    {
+                        fullChunkPreparedStatement = connection.prepareStatement(getInsertIntoStorageFileTableSql(rowsPerStatement));
+                    }
+                    preparedStatement = fullChunkPreparedStatement;
+                }
+                else
+                {
+                    preparedStatement = connection.prepareStatement(getInsertIntoStorageFileTableSql(storageFileEntityChunk.size()));
+                }
+
+                try
+                {
+                    // Set the parameters for all rows in this chunk.
+                    for (int i = 0; i < storageFileEntityChunk.size(); i++)
+                    {
+                        setStorageFileParameters(preparedStatement, i * INSERT_STORAGE_FILE_PARAMETERS_PER_ROW, storageFileEntityChunk.get(i));
+                    }
+
+                    int updateCount = preparedStatement.executeUpdate();
+                    LOGGER.debug("Multi-row insert complete updateCount={}", updateCount);
+                }
+                finally
+                {
+                    if (preparedStatement != fullChunkPreparedStatement)
+                    {
+                        preparedStatement.close();
+                    }
+                }
+            }
         }
-        catch (final BatchUpdateException batchUpdateException)
+        finally
         {
-            LOGGER
-                .error("Caught batch update exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\", updateCounts={}", batchUpdateException.getSQLState(),
-                    batchUpdateException.getMessage(), batchUpdateException.getErrorCode(), Arrays.toString(batchUpdateException.getUpdateCounts()));
-            throw new PersistenceException(batchUpdateException);
+            if (fullChunkPreparedStatement != null)
+            {
+                fullChunkPreparedStatement.close();
+            }
         }
-        catch (final SQLException sqlException)
+
+        long elapsedTimeMillis = Math.max(System.currentTimeMillis() - startTime, 1L);
+        LOGGER.info("Inserted storage files using multi-row insert statements. storageFileCount={} statementCount={} elapsedTimeMillis={} rowsPerSecond={}",
+            storageFileEntities.size(), storageFileEntityChunks.size(), elapsedTimeMillis, storageFileEntities.size() * 1000L / elapsedTimeMillis);
+    }
+
+    /**
+     * Builds the insert into storage file table SQL statement for the specified number of rows. The storage file ids are assigned from the storage file
+     * sequence by the database as part of the statement, so no separate round trips are needed to allocate them.
+     *
+     * @param rowCount the number of rows to insert with the statement
+     *
+     * @return the insert SQL statement
+     */
+    private String getInsertIntoStorageFileTableSql(int rowCount)
+    {
+        // Get the current user id.
+        String currentUserId = herdDaoSecurityHelper.getCurrentUsername();
+
+        // Build the values clause for a single row.
+        String rowValues = "(nextval('strge_file_seq'), ?, ?, ?, ?, current_timestamp, '" + currentUserId + "')";
+
+        // Create the insert into storage file table sql.
+        return "INSERT INTO strge_file " + "(strge_file_id, fully_qlfd_file_nm, file_size_in_bytes_nb, row_ct, strge_unit_id, creat_ts, creat_user_id) " +
+            "VALUES " + String.join(", ", Collections.nCopies(rowCount, rowValues));
+    }
+
+    /**
+     * Sets the prepared statement parameters for a single storage file row.
+     *
+     * @param preparedStatement the prepared statement
+     * @param parameterOffset the number of parameters that precede the parameters of this row
+     * @param storageFileEntity the storage file entity
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void setStorageFileParameters(PreparedStatement preparedStatement, int parameterOffset, StorageFileEntity storageFileEntity) throws SQLException
+    {
+        // Set the path value in the prepared statement as parameter 1.
+        if (storageFileEntity.getPath() == null)
         {
-            LOGGER.error("Caught SQL exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\"", sqlException.getSQLState(), sqlException.getMessage(),
-                sqlException.getErrorCode());
-            throw new PersistenceException(sqlException);
+            preparedStatement.setNull(parameterOffset + 1, Types.VARCHAR);
+        }
+        else
+        {
+            preparedStatement.setString(parameterOffset + 1, storageFileEntity.getPath());
         }
+
+        // Set the file size bytes in the prepared statement as parameter 2.
+        if (storageFileEntity.getFileSizeBytes() == null)
+        {
+            preparedStatement.setNull(parameterOffset + 2, Types.BIGINT);
+        }
+        else
+        {
+            preparedStatement.setLong(parameterOffset + 2, storageFileEntity.getFileSizeBytes());
+        }
+
+        // Set the row count in the prepared statement as parameter 3.
+        if (storageFileEntity.getRowCount() == null)
+        {
+            preparedStatement.setNull(parameterOffset + 3, Types.BIGINT);
+        }
+        else
+        {
+            preparedStatement.setLong(parameterOffset + 3, storageFileEntity.getRowCount());
+        }
+
+        // Set the storage unit id in the prepared statement as parameter 4.
+        preparedStatement.setLong(parameterOffset + 4, storageFileEntity.getStorageUnit().getId());
     }
 }
@@ -22,6 +22,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -37,12 +39,18 @@ import javax.xml.datatype.XMLGregorianCalendar;
 import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StorageUnitAvailabilityDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity_;
@@ -70,6 +78,12 @@ import org.finra.herd.model.jpa.StorageUnitStatusEntity_;
 @Repository
 public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDao
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageUnitDaoImpl.class);
+
+    @Autowired
+    @Qualifier("daoTaskExecutor")
+    private AsyncTaskExecutor daoTaskExecutor;
+
     @Override
     public StorageUnitEntity getExplicitlyRegisteredSubPartition(StorageEntity storageEntity, BusinessObjectFormatEntity businessObjectFormatEntity,
         String partitionValue, List<String> subPartitionValues, Integer businessObjectDataVersion)
@@ -418,16 +432,34 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
     {
         List<StorageUnitAvailabilityDto> results = new ArrayList<>();
 
+        // Get the number of partition filters to be processed per query. When partition value "in" clauses are used, the partition filters are chunked per
+        // the database "in" clause chunk size, since none of the "in" clauses can hold more partition values than there are partition filters in the chunk.
+        boolean usePartitionValueInClauses =
+            configurationHelper.getBooleanProperty(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_IN_CLAUSES_ENABLED);
+        int partitionFilterChunkSize = usePartitionValueInClauses ?
+            configurationHelper.getProperty(ConfigurationValue.DB_IN_CLAUSE_CHUNK_SIZE, Integer.class) : MAX_PARTITION_FILTERS_PER_REQUEST;
+
+        // If configured, query the chunks of partition filters concurrently.
+        int partitionFilterQueryParallelism =
+            configurationHelper.getProperty(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_QUERY_PARALLELISM, Integer.class);
+        if (partitionFilterQueryParallelism > 1 && partitionFilters.size() > partitionFilterChunkSize)
+        {
+            return getStorageUnitsByPartitionFiltersInParallel(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity,
+                businessObjectFormatVersion, partitionFilters, businessObjectDataVersion, businessObjectDataStatusEntity, storageEntities,
+                storagePlatformEntity, excludedStoragePlatformEntity, selectOnlyAvailableStorageUnits, asOfTime, partitionFilterQueryParallelism,
+                partitionFilterChunkSize, usePartitionValueInClauses);
+        }
+
         // Loop through each chunk of partition filters until we have reached the end of the list.
-        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        for (int i = 0; i < partitionFilters.size(); i += partitionFilterChunkSize)
         {
             // Get a sub-list for the current chunk of partition filters.
             List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtosSubset =
                 getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity, businessObjectFormatVersion,
                     partitionFilters, businessObjectDataVersion, businessObjectDataStatusEntity, storageEntities, storagePlatformEntity,
                     excludedStoragePlatformEntity, selectOnlyAvailableStorageUnits, i,
-                    (i + MAX_PARTITION_FILTERS_PER_REQUEST) > partitionFilters.size() ? partitionFilters.size() - i : MAX_PARTITION_FILTERS_PER_REQUEST,
-                    asOfTime);
+                    (i + partitionFilterChunkSize) > partitionFilters.size() ? partitionFilters.size() - i : partitionFilterChunkSize,
+                    usePartitionValueInClauses, asOfTime);
 
             // Add the sub-list to the result.
             results.addAll(storageUnitAvailabilityDtosSubset);
@@ -489,6 +521,104 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    /**
+     * Retrieves a list of storage unit availability DTOs per specified parameters by querying the chunks of partition filters concurrently. The first chunk is
+     * queried on the current thread as part of the current transaction. All other chunks are queried on the shared DAO task executor, where each query runs
+     * outside of the current transaction using its own entity manager and database connection, so it reads committed data only. The results are merged in the
+     * partition filter chunk order, so they are the same as the ones returned when the chunks are queried serially.
+     *
+     * @param businessObjectDefinitionEntity the business object definition entity
+     * @param businessObjectFormatUsage the business object format usage (case-insensitive)
+     * @param fileTypeEntity the file type entity
+     * @param businessObjectFormatVersion the optional business object format version
+     * @param partitionFilters the list of partition filter to be used to select business object data instances
+     * @param businessObjectDataVersion the optional business object data version
+     * @param businessObjectDataStatusEntity the optional business object data status entity
+     * @param storageEntities the optional list of storage entities where business object data storage units should be looked for
+     * @param storagePlatformEntity the optional storage platform entity
+     * @param excludedStoragePlatformEntity the optional storage platform entity to be excluded from search
+     * @param selectOnlyAvailableStorageUnits specifies if only available storage units will be selected or any storage units regardless of their status
+     * @param asOfTime specifies the date and time when the business object status was effective at that time
+     * @param partitionFilterQueryParallelism the maximum number of partition filter chunks to query concurrently
+     * @param partitionFilterChunkSize the maximum number of partition filters to be processed per query
+     * @param usePartitionValueInClauses specifies if the restriction on partition values is built using partition value "in" clauses
+     *
+     * @return the list of storage unit availability DTOs
+     */
+    private List<StorageUnitAvailabilityDto> getStorageUnitsByPartitionFiltersInParallel(BusinessObjectDefinitionEntity businessObjectDefinitionEntity,
+        String businessObjectFormatUsage, FileTypeEntity fileTypeEntity, Integer businessObjectFormatVersion, List<List<String>> partitionFilters,
+        Integer businessObjectDataVersion, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<StorageEntity> storageEntities,
+        StoragePlatformEntity storagePlatformEntity, StoragePlatformEntity excludedStoragePlatformEntity, boolean selectOnlyAvailableStorageUnits,
+        XMLGregorianCalendar asOfTime, int partitionFilterQueryParallelism, int partitionFilterChunkSize, boolean usePartitionValueInClauses)
+    {
+        // Load the namespace on the current thread, since it gets accessed by the concurrent queries when building the results.
+        String namespace = businessObjectDefinitionEntity.getNamespace().getCode();
+
+        LOGGER.info("Selecting storage units by partition filters concurrently... namespace=\"{}\" businessObjectDefinitionName=\"{}\" " +
+                "partitionFilterCount={} partitionFilterQueryParallelism={}", namespace, businessObjectDefinitionEntity.getName(), partitionFilters.size(),
+            partitionFilterQueryParallelism);
+
+        List<StorageUnitAvailabilityDto> results = new ArrayList<>();
+        List<Future<List<StorageUnitAvailabilityDto>>> futures = new ArrayList<>();
+        try
+        {
+            // Split all chunks of partition filters but the first one into at most as many consecutive groups of chunks as the remaining parallelism and
+            // submit each group to the shared DAO task executor, where the chunks of a group get queried serially.
+            int remainingChunkCount = (partitionFilters.size() - 1) / partitionFilterChunkSize;
+            int groupCount = Math.min(partitionFilterQueryParallelism - 1, remainingChunkCount);
+            int groupChunkCount = (remainingChunkCount + groupCount - 1) / groupCount;
+            for (int i = partitionFilterChunkSize; i < partitionFilters.size(); i += partitionFilterChunkSize * groupChunkCount)
+            {
+                int groupFromIndex = i;
+                int groupToIndex = Math.min(i + partitionFilterChunkSize * groupChunkCount, partitionFilters.size());
+                futures.add(daoTaskExecutor.submit(() -> {
+                    List<StorageUnitAvailabilityDto> groupResults = new ArrayList<>();
+                    for (int j = groupFromIndex; j < groupToIndex; j += partitionFilterChunkSize)
+                    {
+                        groupResults.addAll(getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity,
+                            businessObjectFormatVersion, partitionFilters, businessObjectDataVersion, businessObjectDataStatusEntity, storageEntities,
+                            storagePlatformEntity, excludedStoragePlatformEntity, selectOnlyAvailableStorageUnits, j,
+                            Math.min(partitionFilterChunkSize, groupToIndex - j), usePartitionValueInClauses, asOfTime));
+                    }
+                    return groupResults;
+                }));
+            }
+
+            // Query the first chunk of partition filters on the current thread.
+            results.addAll(getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity,
+                businessObjectFormatVersion, partitionFilters, businessObjectDataVersion, businessObjectDataStatusEntity, storageEntities,
+                storagePlatformEntity, excludedStoragePlatformEntity, selectOnlyAvailableStorageUnits, 0, partitionFilterChunkSize,
+                usePartitionValueInClauses, asOfTime));
+
+            // Merge the results of the remaining chunks in the partition filter chunk order.
+            for (Future<List<StorageUnitAvailabilityDto>> future : futures)
+            {
+                results.addAll(future.get());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while selecting storage units by partition filters.", e);
+        }
+        catch (ExecutionException e)
+        {
+            // Rethrow the original exception, so it gets handled the same way as for the serial selection.
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            // Cancel the queries that are still pending or running, since the threads are shared with other callers.
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return results;
+    }
+
     /**
      * Retrieves a list of storage unit availability DTOs per specified parameters. This method processes a sublist of partition filters specified by
      * partitionFilterSubListFromIndex and partitionFilterSubListSize parameters.
@@ -513,6 +643,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
      * @param partitionFilterSubListFromIndex the index of the first element in the partition filter sublist
      * @param partitionFilterSubListSize the size of the partition filter sublist
      * @param selectOnlyAvailableStorageUnits specifies if only available storage units will be selected or any storage units regardless of their status
+     * @param usePartitionValueInClauses specifies if the restriction on partition values is built using partition value "in" clauses
      * @param asOfTime specifies the date and time when the business object status was effective at that time
      *
      * @return the list of storage unit availability DTOs sorted by partition values
@@ -521,7 +652,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         String businessObjectFormatUsage, FileTypeEntity fileTypeEntity, Integer businessObjectFormatVersion, List<List<String>> partitionFilters,
         Integer businessObjectDataVersion, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<StorageEntity> storageEntities,
         StoragePlatformEntity storagePlatformEntity, StoragePlatformEntity excludedStoragePlatformEntity, boolean selectOnlyAvailableStorageUnits,
-        int partitionFilterSubListFromIndex, int partitionFilterSubListSize, XMLGregorianCalendar asOfTime)
+        int partitionFilterSubListFromIndex, int partitionFilterSubListSize, boolean usePartitionValueInClauses, XMLGregorianCalendar asOfTime)
     {
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
@@ -543,8 +674,11 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
                 businessObjectFormatVersion);
 
         // Add restriction as per specified primary and/or sub-partition values.
-        mainQueryRestriction = builder.and(mainQueryRestriction, getQueryRestrictionOnPartitionValues(builder, businessObjectDataEntityJoin,
-            partitionFilters.subList(partitionFilterSubListFromIndex, partitionFilterSubListFromIndex + partitionFilterSubListSize)));
+        List<List<String>> partitionFiltersSubList =
+            partitionFilters.subList(partitionFilterSubListFromIndex, partitionFilterSubListFromIndex + partitionFilterSubListSize);
+        mainQueryRestriction = builder.and(mainQueryRestriction,
+            usePartitionValueInClauses ? getQueryRestrictionOnPartitionValuesUsingInClauses(builder, businessObjectDataEntityJoin, partitionFiltersSubList) :
+                getQueryRestrictionOnPartitionValues(builder, businessObjectDataEntityJoin, partitionFiltersSubList));
 
         // If specified, add restriction on business object data version.
         if (businessObjectDataVersion != null)
@@ -556,9 +690,12 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         // When asOfTime is specified, we will apply business object data status fileter later in the code.
         else if (businessObjectDataStatusEntity != null && asOfTime == null)
         {
-
+            // The latest valid version flag can be used only when neither storage nor storage unit status restriction is applied.
+            boolean restrictedByStorageUnits = !CollectionUtils.isEmpty(storageEntities) || storagePlatformEntity != null ||
+                excludedStoragePlatformEntity != null || selectOnlyAvailableStorageUnits;
             mainQueryRestriction = builder.and(mainQueryRestriction,
-                builder.equal(businessObjectDataEntityJoin.get(BusinessObjectDataEntity_.statusCode), businessObjectDataStatusEntity.getCode()));
+                getQueryRestrictionOnBusinessObjectDataStatus(builder, businessObjectDataEntityJoin, businessObjectDataStatusEntity,
+                    restrictedByStorageUnits));
         }
 
         Path<Timestamp> businessObjectDataStatusCreatedTime = null;
@@ -617,22 +754,25 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         Path<String> businessObjectDataStatusColumn = businessObjectDataEntityJoin.get(BusinessObjectDataEntity_.statusCode);
         Path<String> storageUnitStatusColumn = storageUnitEntityRoot.get(StorageUnitEntity_.statusCode);
         Path<Boolean> storageUnitAvailableColumn = storageUnitStatusEntityJoin.get(StorageUnitStatusEntity_.available);
-
+        Path<Timestamp> businessObjectDataUpdatedOnColumn = businessObjectDataEntityJoin.get(BusinessObjectDataEntity_.updatedOn);
+        Path<Timestamp> storageUnitUpdatedOnColumn = storageUnitEntityRoot.get(StorageUnitEntity_.updatedOn);
 
         // Add the clauses for the query.
         if (asOfTime == null)
         {
             criteria.multiselect(storageUnitIdColumn, businessObjectFormatUsageColumn, businessObjectFormatVersionColumn, primaryPartitionValueColumn,
                 subPartitionValue1Column, subPartitionValue2Column, subPartitionValue3Column, subPartitionValue4Column, businessObjectDataVersionColumn,
-                storageNameColumn, storageUnitDirectoryPathColumn, businessObjectDataStatusColumn, storageUnitStatusColumn, storageUnitAvailableColumn)
-                .where(mainQueryRestriction).orderBy(orderBy);
+                storageNameColumn, storageUnitDirectoryPathColumn, businessObjectDataStatusColumn, storageUnitStatusColumn, storageUnitAvailableColumn,
+                businessObjectDataUpdatedOnColumn, storageUnitUpdatedOnColumn).where(mainQueryRestriction).orderBy(orderBy);
         }
         else
         {
             criteria.multiselect(storageUnitIdColumn, businessObjectFormatUsageColumn, businessObjectFormatVersionColumn, primaryPartitionValueColumn,
                 subPartitionValue1Column, subPartitionValue2Column, subPartitionValue3Column, subPartitionValue4Column, businessObjectDataVersionColumn,
                 storageNameColumn, storageUnitDirectoryPathColumn, businessObjectDataStatusColumn, storageUnitStatusColumn, storageUnitAvailableColumn,
-                businessObjectDataStatusCreatedTime, businessObjectDataHistoryStatusColumn).where(mainQueryRestriction).orderBy(orderBy);
+                businessObjectDataUpdatedOnColumn, storageUnitUpdatedOnColumn, businessObjectDataStatusCreatedTime, businessObjectDataHistoryStatusColumn)
+                .where(mainQueryRestriction)
+                .orderBy(orderBy);
         }
 
         // Run the query to get a list of tuples back.
@@ -658,7 +798,9 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
                     .asList(tuple.get(subPartitionValue1Column), tuple.get(subPartitionValue2Column), tuple.get(subPartitionValue3Column),
                         tuple.get(subPartitionValue4Column))), tuple.get(businessObjectDataVersionColumn)), tuple.get(storageNameColumn),
                 tuple.get(storageUnitDirectoryPathColumn), tuple.get(businessObjectDataStatusColumn), tuple.get(storageUnitStatusColumn),
-                tuple.get(storageUnitAvailableColumn), businessObjectDataStatusHistoryStatus, businessObjectDataStatusHistoryCreatedTime);
+                tuple.get(storageUnitAvailableColumn), businessObjectDataStatusHistoryStatus, businessObjectDataStatusHistoryCreatedTime,
+                HerdDateUtils.getXMLGregorianCalendarValue(tuple.get(businessObjectDataUpdatedOnColumn)),
+                HerdDateUtils.getXMLGregorianCalendarValue(tuple.get(storageUnitUpdatedOnColumn)));
 
             storageUnitAvailabilityDtos.add(storageUnitAvailabilityDto);
         }
@@ -757,32 +899,6 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         return partitionValues;
     }
 
-    /**
-     * Gets the sub-partition values for the specified list of raw sub-partition values.
-     *
-     * @param rawSubPartitionValues the list of raw sub-partition values
-     *
-     * @return the list of sub-partition values
-     */
-    private List<String> getSubPartitionValuesFromRawSubPartitionValues(List<String> rawSubPartitionValues)
-    {
-        List<String> subPartitionValues = new ArrayList<>();
-
-        for (String rawSubPartitionValue : rawSubPartitionValues)
-        {
-            if (rawSubPartitionValue != null)
-            {
-                subPartitionValues.add(rawSubPartitionValue);
-            }
-            else
-            {
-                break;
-            }
-        }
-
-        return subPartitionValues;
-    }
-
     /**
      * Create storage unit availability dtos based on business object status history
      *
@@ -17,9 +17,12 @@ package org.finra.herd.dao.impl;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -69,6 +72,39 @@ public class TagDaoImpl extends AbstractHerdDao implements TagDao
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public Map<TagEntity, Long> getChildrenTagsWithParentTagIds(TagTypeEntity tagTypeEntity)
+    {
+        // Create the criteria builder and a tuple style criteria query.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+        // The criteria root is the tag entity.
+        Root<TagEntity> tagEntityRoot = criteria.from(TagEntity.class);
+
+        // Join to the parent tag, so only the tags that have a parent tag are selected.
+        Join<TagEntity, TagEntity> parentTagEntityJoin = tagEntityRoot.join(TagEntity_.parentTagEntity);
+
+        // Get the columns.
+        Path<Long> parentTagIdColumn = parentTagEntityJoin.get(TagEntity_.id);
+        Path<String> tagDisplayNameColumn = tagEntityRoot.get(TagEntity_.displayName);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate predicate = builder.equal(tagEntityRoot.get(TagEntity_.tagType), tagTypeEntity);
+
+        // Add all clauses to the query.
+        criteria.multiselect(tagEntityRoot, parentTagIdColumn).where(predicate).orderBy(builder.asc(tagDisplayNameColumn));
+
+        // Run the query and build a map of tag entities to their parent tag ids that keeps the order of the query results.
+        Map<TagEntity, Long> tagEntities = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(criteria).getResultList())
+        {
+            tagEntities.put(tuple.get(tagEntityRoot), tuple.get(parentTagIdColumn));
+        }
+
+        return tagEntities;
+    }
+
     @Override
     public TagEntity getTagByKey(TagKey tagKey)
     {
@@ -413,8 +413,12 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String EMR_CLUSTER_ID = "UT_EMR_ClusterId_" + RANDOM_SUFFIX;
 
+    public static final String EMR_CLUSTER_ID_2 = "UT_EMR_ClusterId_2_" + RANDOM_SUFFIX;
+
     public static final String EMR_CLUSTER_NAME = "UT_EMR_CLUSTER" + RANDOM_SUFFIX;
 
+    public static final String EMR_CLUSTER_NAME_2 = "UT_EMR_CLUSTER_2_" + RANDOM_SUFFIX;
+
     public static final String EMR_CONFIGURE_DAEMON = "UT_EMR_CONFIGURE_DAEMON_" + RANDOM_SUFFIX;
 
     public static final String EMR_INVALID_STATE = "UT_EMR_InValidState_" + RANDOM_SUFFIX;
@@ -756,6 +760,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Boolean NO_BDATA_STATUS_PRE_REGISTRATION_FLAG_SET = false;
 
+    public static final XMLGregorianCalendar NO_BDATA_UPDATED_ON_WATERMARK = null;
+
     public static final String NO_BDEF_COLUMN_DESCRIPTION = null;
 
     public static final String NO_BDEF_DESCRIPTION = null;
@@ -906,6 +912,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String NO_S3_ENDPOINT = null;
 
+    public static final Integer NO_S3_OBJECT_TAGGING_PARALLELISM = null;
+
     public static final String NO_S3_TRUSTING_ACCOUNT_STAGING_BUCKET_NAME = null;
 
     public static final List<SampleDataFile> NO_SAMPLE_DATA_FILES = new ArrayList<>();
@@ -928,6 +936,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String NO_STORAGE_PLATFORM_TYPE = null;
 
+    public static final String NO_STORAGE_POLICY_TRANSITION_CHECKPOINT = null;
+
     public static final String NO_STORAGE_UNIT_STATUS = null;
 
     public static final Boolean NO_STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET = false;
@@ -1013,6 +1023,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String S3_ATTRIBUTE_NAME_BUCKET_NAME = "UT_S3_Attribute_Name_Bucket_Name_" + RANDOM_SUFFIX;
 
+    public static final String S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM = "UT_S3_Attribute_Name_Tag_Objects_Parallelism_" + RANDOM_SUFFIX;
+
     public static final String S3_ATTRIBUTE_NAME_VALIDATE_FILE_EXISTENCE = "UT_S3_Attribute_Name_Validate_File_Existence_" + RANDOM_SUFFIX;
 
     public static final String S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE = "UT_S3_Attribute_Name_Validate_File_Size_" + RANDOM_SUFFIX;
@@ -1043,6 +1055,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String S3_OBJECT_TAGGER_ROLE_SESSION_NAME = "UT_S3_Object_Tagger_Role_Session_Name_" + RANDOM_SUFFIX;
 
+    public static final Integer S3_OBJECT_TAGGING_PARALLELISM = 4;
+
     public static final String S3_OBJECT_TAG_KEY = "UT_S3_Object_Tag_Key_1_" + RANDOM_SUFFIX;
 
     public static final String S3_OBJECT_TAG_KEY_2 = "UT_S3_Object_Tag_Key_2_" + RANDOM_SUFFIX;
@@ -1264,6 +1278,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String STORAGE_POLICY_NAME_2 = "UT_Storage_Policy_Name_2_" + RANDOM_SUFFIX;
 
+    public static final Integer STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS = 1000;
+
     public static final String STORAGE_POLICY_RULE_TYPE = "UT_Storage_Policy_Rule_Type_1_" + RANDOM_SUFFIX;
 
     public static final String STORAGE_POLICY_RULE_TYPE_2 = "UT_Storage_Policy_Rule_Type_2_" + RANDOM_SUFFIX;
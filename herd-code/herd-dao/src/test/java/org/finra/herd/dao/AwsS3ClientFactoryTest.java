@@ -0,0 +1,118 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+public class AwsS3ClientFactoryTest extends AbstractDaoTest
+{
+    @Autowired
+    private AwsS3ClientFactory awsS3ClientFactory;
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    @Test
+    public void testGetTransferManager()
+    {
+        S3FileTransferRequestParamsDto params = getS3FileTransferRequestParamsDto(HTTP_PROXY_HOST);
+
+        // Without transfer manager pooling, every transfer gets its own transfer manager.
+        TransferManager transferManager = awsS3ClientFactory.getTransferManager(params);
+        TransferManager transferManager2 = awsS3ClientFactory.getTransferManager(params);
+        assertNotSame(transferManager, transferManager2);
+
+        awsS3ClientFactory.releaseTransferManager(transferManager);
+        awsS3ClientFactory.releaseTransferManager(transferManager2);
+    }
+
+    @Test
+    public void testGetTransferManagerPooled() throws Exception
+    {
+        S3FileTransferRequestParamsDto params = getS3FileTransferRequestParamsDto(HTTP_PROXY_HOST);
+        S3FileTransferRequestParamsDto params2 = getS3FileTransferRequestParamsDto(HTTP_PROXY_HOST_2);
+
+        long initialHits = getTransferManagerPoolCount("hits");
+        long initialMisses = getTransferManagerPoolCount("misses");
+        long initialOverflows = getTransferManagerPoolCount("overflows");
+        long initialEvictions = getTransferManagerPoolCount("evictions");
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_TRANSFER_MANAGER_POOL_MAX_SIZE.getKey(), "1");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Transfers with the same parameters share the pooled transfer manager.
+            TransferManager transferManager = awsS3ClientFactory.getTransferManager(params);
+            assertSame(transferManager, awsS3ClientFactory.getTransferManager(getS3FileTransferRequestParamsDto(HTTP_PROXY_HOST)));
+            awsS3ClientFactory.releaseTransferManager(transferManager);
+            awsS3ClientFactory.releaseTransferManager(transferManager);
+
+            // The pool is full and its transfer manager is not idle long enough to be evicted, so a transfer with other parameters gets its own transfer
+            // manager.
+            TransferManager transferManager2 = awsS3ClientFactory.getTransferManager(params2);
+            assertNotSame(transferManager, transferManager2);
+            awsS3ClientFactory.releaseTransferManager(transferManager2);
+            assertSame(transferManager, awsS3ClientFactory.getTransferManager(params));
+            awsS3ClientFactory.releaseTransferManager(transferManager);
+
+            // Once the pooled transfer manager is idle long enough, it gets evicted to make room for a transfer manager with other parameters.
+            overrideMap.put(ConfigurationValue.S3_TRANSFER_MANAGER_POOL_IDLE_TIMEOUT_SECONDS.getKey(), "0");
+            restorePropertySourceInEnvironment();
+            modifyPropertySourceInEnvironment(overrideMap);
+            TransferManager transferManager3 = awsS3ClientFactory.getTransferManager(params2);
+            assertNotSame(transferManager, transferManager3);
+            awsS3ClientFactory.releaseTransferManager(transferManager3);
+
+            // The same applies the other way around.
+            awsS3ClientFactory.releaseTransferManager(awsS3ClientFactory.getTransferManager(params));
+
+            assertEquals(initialHits + 2, getTransferManagerPoolCount("hits"));
+            assertEquals(initialMisses + 3, getTransferManagerPoolCount("misses"));
+            assertEquals(initialOverflows + 1, getTransferManagerPoolCount("overflows"));
+            assertEquals(initialEvictions + 2, getTransferManagerPoolCount("evictions"));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    private long getTransferManagerPoolCount(String metricNameSuffix)
+    {
+        return metricRegistry.counter(MetricRegistry.name(AwsS3ClientFactory.TRANSFER_MANAGER_POOL_METRIC_NAME_PREFIX, metricNameSuffix)).getCount();
+    }
+
+    private S3FileTransferRequestParamsDto getS3FileTransferRequestParamsDto(String httpProxyHost)
+    {
+        return S3FileTransferRequestParamsDto.builder().withHttpProxyHost(httpProxyHost).withHttpProxyPort(HTTP_PROXY_PORT)
+            .withAwsRegionName(AWS_REGION_NAME_US_EAST_1).build();
+    }
+}
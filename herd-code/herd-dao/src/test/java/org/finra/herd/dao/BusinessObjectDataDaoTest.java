@@ -16,6 +16,7 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -57,6 +58,8 @@ import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.RegistrationDateRangeFilter;
 import org.finra.herd.model.api.xml.SchemaColumn;
 import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.StoragePolicyCandidateDto;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -164,6 +167,51 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetBusinessObjectDataByAltKeyAndStatusUsingLatestValidVersionFlag() throws Exception
+    {
+        // Create two VALID business object data versions. Only the initial version has the latest valid version flag set,
+        // so the flag and the status based restrictions select different business object data versions.
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION, NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        initialVersionBusinessObjectDataEntity.setLatestValidVersion(true);
+        businessObjectDataDao.saveAndRefresh(initialVersionBusinessObjectDataEntity);
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, SECOND_DATA_VERSION, LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+
+        // Get the business object data status entity.
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
+            businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(BusinessObjectDataStatusEntity.VALID);
+
+        // Build a business object data key without business object data version.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                null);
+
+        // Get the business object data by key and status using the business object data status restriction.
+        assertEquals(secondVersionBusinessObjectDataEntity,
+            businessObjectDataDao.getBusinessObjectDataByAltKeyAndStatus(businessObjectDataKey, businessObjectDataStatusEntity));
+
+        // Override configuration to use the latest valid version flag.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_LATEST_VALID_VERSION_FLAG_ENABLED.getKey(), "true");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Get the business object data by key and status using the latest valid version flag.
+            assertEquals(initialVersionBusinessObjectDataEntity,
+                businessObjectDataDao.getBusinessObjectDataByAltKeyAndStatus(businessObjectDataKey, businessObjectDataStatusEntity));
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testGetBusinessObjectDataByAltKeyAndStatusNoDataVersionSpecifiedMultipleRecordsFound()
     {
@@ -874,7 +922,67 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePolicies()
+    public void testGetBusinessObjectDataWithInconsistentLatestValidVersionFlag()
+    {
+        // Create two VALID business object data versions with the latest valid version flag set on the initial version, so both flags are inconsistent.
+        BusinessObjectDataEntity inconsistentFlagSetBusinessObjectDataEntity =
+            createBusinessObjectDataEntityWithLatestValidVersionFlag(PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true);
+        BusinessObjectDataEntity inconsistentFlagClearedBusinessObjectDataEntity =
+            createBusinessObjectDataEntityWithLatestValidVersionFlag(PARTITION_VALUE, SUBPARTITION_VALUES, SECOND_DATA_VERSION, false);
+
+        // Create two VALID business object data versions without sub-partition values with the latest valid version flag set on the second version, so
+        // both flags are consistent.
+        BusinessObjectDataEntity consistentFlagClearedBusinessObjectDataEntity =
+            createBusinessObjectDataEntityWithLatestValidVersionFlag(PARTITION_VALUE_2, NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false);
+        BusinessObjectDataEntity consistentFlagSetBusinessObjectDataEntity =
+            createBusinessObjectDataEntityWithLatestValidVersionFlag(PARTITION_VALUE_2, NO_SUBPARTITION_VALUES, SECOND_DATA_VERSION, true);
+
+        // Select business object data with an inconsistent latest valid version flag updated since yesterday.
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = businessObjectDataDao
+            .getBusinessObjectDataWithInconsistentLatestValidVersionFlag(HerdDateUtils.addDays(businessObjectDataDao.getCurrentTimestamp(), -1), MAX_RESULT);
+
+        // Validate the results.
+        assertTrue(resultBusinessObjectDataEntities.contains(inconsistentFlagSetBusinessObjectDataEntity));
+        assertTrue(resultBusinessObjectDataEntities.contains(inconsistentFlagClearedBusinessObjectDataEntity));
+        assertFalse(resultBusinessObjectDataEntities.contains(consistentFlagClearedBusinessObjectDataEntity));
+        assertFalse(resultBusinessObjectDataEntities.contains(consistentFlagSetBusinessObjectDataEntity));
+
+        // Validate that business object data updated before the threshold is not selected.
+        assertTrue(businessObjectDataDao
+            .getBusinessObjectDataWithInconsistentLatestValidVersionFlag(HerdDateUtils.addDays(businessObjectDataDao.getCurrentTimestamp(), 1), MAX_RESULT)
+            .isEmpty());
+
+        // Validate that the maximum number of results is honored.
+        assertEquals(1, businessObjectDataDao
+            .getBusinessObjectDataWithInconsistentLatestValidVersionFlag(HerdDateUtils.addDays(businessObjectDataDao.getCurrentTimestamp(), -1), 1).size());
+    }
+
+    @Test
+    public void testGetBusinessObjectDataWithoutLatestValidVersionFlag()
+    {
+        // Create two business object data entities and compute the latest valid version flag only for the second one.
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS);
+        BusinessObjectDataEntity flaggedBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS);
+        flaggedBusinessObjectDataEntity.setLatestValidVersion(false);
+        businessObjectDataDao.saveAndRefresh(flaggedBusinessObjectDataEntity);
+
+        // Select business object data without the latest valid version flag.
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = businessObjectDataDao.getBusinessObjectDataWithoutLatestValidVersionFlag(MAX_RESULT);
+
+        // Validate the results.
+        assertTrue(resultBusinessObjectDataEntities.contains(businessObjectDataEntity));
+        assertFalse(resultBusinessObjectDataEntities.contains(flaggedBusinessObjectDataEntity));
+
+        // Validate that the maximum number of results is honored.
+        assertEquals(1, businessObjectDataDao.getBusinessObjectDataWithoutLatestValidVersionFlag(1).size());
+    }
+
+    @Test
+    public void testGetStoragePolicyCandidates()
     {
         // Create and persist a storage unit with ENABLED status in the storage policy filter storage.
         StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
@@ -919,19 +1027,23 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             StoragePolicyEntity storagePolicyEntity = entry.getValue();
 
             // Retrieve the match.
-            Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-                .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, NO_DO_NOT_TRANSITION_LATEST_VALID,
-                    Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+            List<StoragePolicyCandidateDto> result = businessObjectDataDao
+                .getStoragePolicyCandidates(storagePolicyPriorityLevel, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                    Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
             // Validate the results.
-            assertEquals(1, result.size());
-            assertTrue(result.containsKey(storageUnitEntity.getBusinessObjectData()));
-            assertEquals(storagePolicyEntity, result.get(storageUnitEntity.getBusinessObjectData()));
+            BusinessObjectDataEntity businessObjectDataEntity = storageUnitEntity.getBusinessObjectData();
+            assertEquals(Collections.singletonList(new StoragePolicyCandidateDto(businessObjectDataEntity.getId(),
+                new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS, HerdDateUtils.getXMLGregorianCalendarValue(businessObjectDataEntity.getCreatedOn()),
+                HerdDateUtils.getXMLGregorianCalendarValue(businessObjectDataEntity.getUpdatedOn()), storagePolicyEntity.getId(),
+                new StoragePolicyKey(storagePolicyEntity.getNamespace().getCode(), storagePolicyEntity.getName()), INITIAL_VERSION,
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS)), result);
         }
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesTestingStartPositionAndMaxResult()
+    public void testGetStoragePolicyCandidatesTestingLastBusinessObjectDataIdAndMaxResult()
     {
         // Create and persist a storage policy entity.
         StoragePolicyEntity storagePolicyEntity = storagePolicyDaoTestHelper
@@ -945,41 +1057,43 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
-        // Apply the offset in days to business object data "created on" value.
-        businessObjectDataDaoTestHelper.ageBusinessObjectData(storageUnitEntity1.getBusinessObjectData(), BDATA_AGE_IN_DAYS + 1);
-
         // Create and persist a second storage unit with ENABLED status in the storage policy filter storage.
         StorageUnitEntity storageUnitEntity2 = storageUnitDaoTestHelper
             .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
-        // Also apply an offset to business object data "created on" value, but make this business object data older than the first.
-        businessObjectDataDaoTestHelper.ageBusinessObjectData(storageUnitEntity2.getBusinessObjectData(), BDATA_AGE_IN_DAYS + 2);
-
         // Try to retrieve both business object data instances as matching to the storage policy, but with max result limit set to 1.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, 1);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, 1);
 
-        // Validate the results. Only the oldest business object data should get selected.
+        // Validate the results. Only the business object data with the lowest ID should get selected.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity2.getBusinessObjectData()));
-        assertEquals(storagePolicyEntity, result.get(storageUnitEntity2.getBusinessObjectData()));
+        assertEquals(storageUnitEntity1.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntity.getId(), result.get(0).getStoragePolicyId());
 
         // Try to retrieve the second business object data instance matching to the storage policy
-        // by specifying the relative start position and max result limit set.
+        // by specifying the last selected business object data ID and max result limit set.
         result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 1, 1);
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, result.get(0).getBusinessObjectDataId(), 1);
 
-        // Validate the results. Now, the second oldest business object data should get selected.
+        // Validate the results. Now, the business object data with the next ID should get selected.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity1.getBusinessObjectData()));
-        assertEquals(storagePolicyEntity, result.get(storageUnitEntity1.getBusinessObjectData()));
+        assertEquals(storageUnitEntity2.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntity.getId(), result.get(0).getStoragePolicyId());
+
+        // Try to retrieve business object data after the last business object data instance matching to the storage policy.
+        result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, result.get(0).getBusinessObjectDataId(), 1);
+
+        // Validate the results. No more business object data should get selected.
+        assertEquals(0, result.size());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesMultipleStoragePoliciesMatchBusinessObjectData()
+    public void testGetStoragePolicyCandidatesMultipleStoragePoliciesMatchBusinessObjectData()
     {
         // Create and persist a storage unit with ENABLED status in the storage policy filter storage.
         StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
@@ -997,17 +1111,17 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             LATEST_VERSION_FLAG_SET);
 
         // Retrieve business object data matching storage policy.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results. Only a single match should get returned.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesInvalidSourceStorage()
+    public void testGetStoragePolicyCandidatesInvalidSourceStorage()
     {
         // Create and persist a storage policy entity.
         storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
@@ -1021,16 +1135,16 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
         // Try to retrieve the business object data matching to the storage policy.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesWithDoNotTransitionLatestValid()
+    public void testGetStoragePolicyCandidatesWithDoNotTransitionLatestValid()
     {
         // Create and persist a storage unit with ENABLED status in the storage policy filter storage.
         StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
@@ -1054,30 +1168,30 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         StoragePolicyPriorityLevel storagePolicyPriorityLevel = new StoragePolicyPriorityLevel(false, false, false);
 
         // Retrieve the match when specifying to select storage policies configured do not transition latest valid business object data versions.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> resultForDoNotTransitionLatestValidTrue = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> resultForDoNotTransitionLatestValidTrue = businessObjectDataDao
+            .getStoragePolicyCandidates(storagePolicyPriorityLevel, DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(1, resultForDoNotTransitionLatestValidTrue.size());
-        assertTrue(resultForDoNotTransitionLatestValidTrue.containsKey(storageUnitEntity.getBusinessObjectData()));
-        assertEquals(storagePolicyEntityWithWithDoNotTransitionLatestValidTrue,
-            resultForDoNotTransitionLatestValidTrue.get(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), resultForDoNotTransitionLatestValidTrue.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntityWithWithDoNotTransitionLatestValidTrue.getId(),
+            resultForDoNotTransitionLatestValidTrue.get(0).getStoragePolicyId());
 
         // Retrieve the match when specifying to select storage policies that are not configured do not transition latest valid business object data versions.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> resultForDoNotTransitionLatestValidFalse = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> resultForDoNotTransitionLatestValidFalse = businessObjectDataDao
+            .getStoragePolicyCandidates(storagePolicyPriorityLevel, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(1, resultForDoNotTransitionLatestValidFalse.size());
-        assertTrue(resultForDoNotTransitionLatestValidFalse.containsKey(storageUnitEntity.getBusinessObjectData()));
-        assertEquals(storagePolicyEntityWithWithDoNotTransitionLatestValidFalse,
-            resultForDoNotTransitionLatestValidFalse.get(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), resultForDoNotTransitionLatestValidFalse.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntityWithWithDoNotTransitionLatestValidFalse.getId(),
+            resultForDoNotTransitionLatestValidFalse.get(0).getStoragePolicyId());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesNoStoragePolicyLatestVersion()
+    public void testGetStoragePolicyCandidatesNoStoragePolicyLatestVersion()
     {
         // Create and persist an enabled storage policy entity that has no latest version flag set.
         storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
@@ -1091,16 +1205,16 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
         // Try to retrieve the business object data matching to the storage policy.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesInvalidStoragePolicyStatus()
+    public void testGetStoragePolicyCandidatesInvalidStoragePolicyStatus()
     {
         // Create and persist a disabled storage policy entity.
         storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
@@ -1114,16 +1228,16 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
         // Try to retrieve the business object data matching to the storage policy.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesInvalidBusinessObjectDataStatus()
+    public void testGetStoragePolicyCandidatesInvalidBusinessObjectDataStatus()
     {
         // Create and persist a storage policy entity.
         storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
@@ -1137,16 +1251,16 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS_2, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
         // Try to retrieve the business object data matching to the storage policy.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesWithStoragePolicyTransitionMaxAllowedAttempts()
+    public void testGetStoragePolicyCandidatesWithStoragePolicyTransitionMaxAllowedAttempts()
     {
         // Create and persist a storage policy entity.
         storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
@@ -1160,45 +1274,45 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
                 SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
 
         // Retrieve the business object data matching to the storage policy, when storagePolicyTransitionMaxAllowedAttempts is not specified.
-        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+        List<StoragePolicyCandidateDto> result = businessObjectDataDao
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 0, null, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
 
         // Retrieve the business object data matching to the storage policy, when storagePolicyTransitionMaxAllowedAttempts is specified,
         // storage unit has storagePolicyTransitionFailedAttempts set to NULL.
         storageUnitEntity.setStoragePolicyTransitionFailedAttempts(null);
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 1, 0, MAX_RESULT);
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 1, null, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
 
         // Retrieve the business object data matching to the storage policy, when storagePolicyTransitionMaxAllowedAttempts is specified,
         // storage unit has storagePolicyTransitionFailedAttempts < storagePolicyTransitionMaxAllowedAttempts.
         storageUnitEntity.setStoragePolicyTransitionFailedAttempts(0);
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 1, 0, MAX_RESULT);
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 1, null, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
-        assertTrue(result.containsKey(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storageUnitEntity.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
 
         // Try to retrieve the business object data matching to the storage policy, when storagePolicyTransitionMaxAllowedAttempts is specified,
         // storage unit has storagePolicyTransitionFailedAttempts == storagePolicyTransitionMaxAllowedAttempts.
         storageUnitEntity.setStoragePolicyTransitionFailedAttempts(1);
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 1, 0, MAX_RESULT);
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 1, null, MAX_RESULT);
 
         // Validate the results. No matches should get returned.
         assertEquals(0, result.size());
@@ -1208,8 +1322,8 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         storageUnitEntity.setStoragePolicyTransitionFailedAttempts(2);
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
-                Collections.singletonList(BDATA_STATUS), 1, 0, MAX_RESULT);
+            .getStoragePolicyCandidates(new StoragePolicyPriorityLevel(false, false, false), NO_DO_NOT_TRANSITION_LATEST_VALID,
+                Collections.singletonList(BDATA_STATUS), 1, null, MAX_RESULT);
 
         // Validate the results. No matches should get returned.
         assertEquals(0, result.size());
@@ -3443,4 +3557,24 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             .getBusinessObjectDataMinPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey, DATA_VERSION,
                 validBusinessObjectDataStatusEntity, Collections.singletonList(storageEntity), null, null));
     }
+
+    /**
+     * Creates a VALID business object data entity with the specified latest valid version flag.
+     *
+     * @param partitionValue the primary partition value
+     * @param subPartitionValues the list of sub-partition values
+     * @param businessObjectDataVersion the business object data version
+     * @param latestValidVersion the latest valid version flag
+     *
+     * @return the newly created business object data entity
+     */
+    private BusinessObjectDataEntity createBusinessObjectDataEntityWithLatestValidVersionFlag(String partitionValue, List<String> subPartitionValues,
+        Integer businessObjectDataVersion, Boolean latestValidVersion)
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, partitionValue, subPartitionValues,
+                businessObjectDataVersion, NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        businessObjectDataEntity.setLatestValidVersion(latestValidVersion);
+        return businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
+    }
 }
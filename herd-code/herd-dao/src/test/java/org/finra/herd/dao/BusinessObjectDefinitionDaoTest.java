@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import com.google.common.collect.ImmutableSet;
@@ -145,6 +146,28 @@ public class BusinessObjectDefinitionDaoTest extends AbstractDaoTest
         assertEquals(businessObjectDefinitionEntities.subList(1, 2), businessObjectDefinitionDao.getAllBusinessObjectDefinitions(1, 1));
     }
 
+    @Test
+    public void testGetBusinessObjectDefinitionsStartingAfterId()
+    {
+        // Create and persist business object definition entities.
+        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities =
+            businessObjectDefinitionDaoTestHelper.createExpectedBusinessObjectDefinitionEntities();
+
+        // Sort the entities by their ids.
+        businessObjectDefinitionEntities.sort(Comparator.comparing(BusinessObjectDefinitionEntity::getId));
+
+        // Get the first chunk of business object definitions without specifying the start after id.
+        assertEquals(businessObjectDefinitionEntities.subList(0, 2), businessObjectDefinitionDao.getBusinessObjectDefinitionsStartingAfterId(null, 2));
+
+        // Get the next chunk of business object definitions starting after the id of the last business object definition in the first chunk.
+        assertEquals(businessObjectDefinitionEntities.subList(2, 3),
+            businessObjectDefinitionDao.getBusinessObjectDefinitionsStartingAfterId(businessObjectDefinitionEntities.get(1).getId(), 2));
+
+        // Get the chunk of business object definitions starting after the id of the last business object definition.
+        assertEquals(0,
+            businessObjectDefinitionDao.getBusinessObjectDefinitionsStartingAfterId(businessObjectDefinitionEntities.get(2).getId(), 2).size());
+    }
+
     @Test
     public void testGetAllBusinessObjectDefinitionsByIds()
     {
@@ -0,0 +1,49 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.helper.MetricsHelper;
+import org.finra.herd.model.api.xml.NamespaceKey;
+
+/**
+ * This class tests functionality within the DAO metrics advice.
+ */
+public class DaoMetricsAdviceTest extends AbstractDaoTest
+{
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    @Test
+    public void testRecordMethodMetrics()
+    {
+        String metricName = MetricRegistry.name(DaoMetricsAdvice.METRIC_NAME_PREFIX, "NamespaceDaoImpl", "getNamespaceByKey");
+        long timerCount = metricRegistry.timer(metricName).getCount();
+
+        // Call a DAO method that is advised by the DAO metrics advice.
+        assertNull(namespaceDao.getNamespaceByKey(new NamespaceKey(NAMESPACE)));
+
+        // Validate that the method invocation was recorded.
+        assertEquals(timerCount + 1, metricRegistry.timer(metricName).getCount());
+        assertEquals(0, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.IN_FLIGHT_METRIC_NAME_SUFFIX)).getCount());
+    }
+}
@@ -20,7 +20,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,8 +40,14 @@ import java.util.Set;
 
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -75,11 +84,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.exception.ElasticsearchRestClientException;
 import org.finra.herd.dao.impl.IndexFunctionsDaoImpl;
+import org.finra.herd.model.dto.ConfigurationValue;
 
 public class IndexFunctionsDaoTest extends AbstractDaoTest
 {
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private ElasticsearchRestHighLevelClientFactory elasticsearchRestHighLevelClientFactory;
 
@@ -997,6 +1011,177 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         indexFunctionsDao.updateIndexDocuments(SEARCH_INDEX_NAME, documentMap);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateIndexDocumentsInBulkFunction() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        IndexResponse indexResponse = mock(IndexResponse.class);
+
+        // Each bulk response has one failed and one successfully indexed document.
+        BulkResponse bulkResponse = new BulkResponse(new BulkItemResponse[] {new BulkItemResponse(0, DocWriteRequest.OpType.INDEX,
+            new BulkItemResponse.Failure(SEARCH_INDEX_NAME, SEARCH_INDEX_TYPE, SEARCH_INDEX_DOCUMENT, new IOException(ERROR_MESSAGE))),
+            new BulkItemResponse(1, DocWriteRequest.OpType.INDEX, indexResponse)}, 0L);
+
+        // Mock the calls to external methods. Each bulk request is set to hold two documents.
+        mockBulkProcessorConfiguration(2, 0);
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        doAnswer(invocation -> {
+            ((ActionListener<BulkResponse>) invocation.getArgument(2)).onResponse(bulkResponse);
+            return null;
+        }).when(restHighLevelClient).bulkAsync(any(BulkRequest.class), eq(RequestOptions.DEFAULT), any(ActionListener.class));
+
+        // Call the method under test with four documents.
+        long failedDocumentCount = indexFunctionsDao.createIndexDocumentsInBulk(SEARCH_INDEX_NAME, documentConsumer -> {
+            for (int i = 0; i < 4; i++)
+            {
+                documentConsumer.accept(SEARCH_INDEX_DOCUMENT + i, SEARCH_INDEX_DOCUMENT_JSON);
+            }
+        });
+
+        // Validate the results.
+        assertEquals(2L, failedDocumentCount);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient, times(2)).bulkAsync(any(BulkRequest.class), eq(RequestOptions.DEFAULT), any(ActionListener.class));
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, restHighLevelClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateIndexDocumentsInBulkFunctionBulkRequestFailure() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods. All documents are sent in a single bulk request that fails.
+        mockBulkProcessorConfiguration(10, 1);
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        doAnswer(invocation -> {
+            ((ActionListener<BulkResponse>) invocation.getArgument(2)).onFailure(new IOException(ERROR_MESSAGE));
+            return null;
+        }).when(restHighLevelClient).bulkAsync(any(BulkRequest.class), eq(RequestOptions.DEFAULT), any(ActionListener.class));
+
+        // Call the method under test with three documents.
+        long failedDocumentCount = indexFunctionsDao.createIndexDocumentsInBulk(SEARCH_INDEX_NAME, documentConsumer -> {
+            for (int i = 0; i < 3; i++)
+            {
+                documentConsumer.accept(SEARCH_INDEX_DOCUMENT + i, SEARCH_INDEX_DOCUMENT_JSON);
+            }
+        });
+
+        // Validate the results.
+        assertEquals(3L, failedDocumentCount);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).bulkAsync(any(BulkRequest.class), eq(RequestOptions.DEFAULT), any(ActionListener.class));
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testCreateIndexDocumentsInBulkFunctionThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        mockBulkProcessorConfiguration(10, 1);
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        doThrow(new IOException()).when(restHighLevelClient).close();
+
+        // Call the method under test
+        indexFunctionsDao.createIndexDocumentsInBulk(SEARCH_INDEX_NAME, documentConsumer -> {
+        });
+    }
+
+    @Test
+    public void testUpdateIndexSettings() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        AcknowledgedResponse acknowledgedResponse = mock(AcknowledgedResponse.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(acknowledgedResponse);
+
+        // Call the method under test
+        indexFunctionsDao.updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().put("index.refresh_interval", "-1").build());
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).indices();
+        verify(indicesClient).putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT));
+        verify(acknowledgedResponse).isAcknowledged();
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indicesClient, acknowledgedResponse, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testUpdateIndexSettingsThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().put("index.refresh_interval", "-1").build());
+    }
+
+    @Test
+    public void testRefreshIndex() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        RefreshResponse refreshResponse = mock(RefreshResponse.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.refresh(any(RefreshRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(refreshResponse);
+
+        // Call the method under test
+        indexFunctionsDao.refreshIndex(SEARCH_INDEX_NAME);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).indices();
+        verify(indicesClient).refresh(any(RefreshRequest.class), eq(RequestOptions.DEFAULT));
+        verify(refreshResponse).getSuccessfulShards();
+        verify(refreshResponse).getFailedShards();
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indicesClient, refreshResponse, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testRefreshIndexThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.refresh(any(RefreshRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.refreshIndex(SEARCH_INDEX_NAME);
+    }
+
     @Test
     public void testGetIndexSettings() throws Exception
     {
@@ -1052,4 +1237,20 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         DocsStats docsStats = indexFunctionsDao.getIndexStats(SEARCH_INDEX_NAME);
         assertThat("The docsStats count is not correct.", docsStats.getCount(), is(equalTo(0L)));
     }
+
+    /**
+     * Mocks the configuration values used by the Elasticsearch bulk processor.
+     *
+     * @param bulkActions the maximum number of documents per bulk request
+     * @param concurrentRequests the number of concurrent bulk requests
+     */
+    private void mockBulkProcessorConfiguration(int bulkActions, int concurrentRequests)
+    {
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_BULK_ACTIONS, Integer.class)).thenReturn(bulkActions);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_BULK_SIZE_MB, Integer.class)).thenReturn(5);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_FLUSH_INTERVAL_SECONDS, Integer.class)).thenReturn(5);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_PROCESSOR_CONCURRENT_REQUESTS, Integer.class))
+            .thenReturn(concurrentRequests);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class)).thenReturn(60000);
+    }
 }
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -48,4 +49,49 @@ public class NotificationMessageDaoTest extends AbstractDaoTest
         // Try to retrieve the oldest notification message from an empty table.
         assertNull(notificationMessageDao.getOldestNotificationMessage());
     }
+
+    @Test
+    public void testGetOldestNotificationMessages()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2));
+
+        // Retrieve the oldest notification messages.
+        assertEquals(notificationMessageEntities, notificationMessageDao.getOldestNotificationMessages(null, 2));
+
+        // Retrieve the oldest notification messages with the maximum number of results set to 1.
+        assertEquals(Collections.singletonList(notificationMessageEntities.get(0)), notificationMessageDao.getOldestNotificationMessages(null, 1));
+
+        // Retrieve the oldest notification messages that follow the first one.
+        assertEquals(Collections.singletonList(notificationMessageEntities.get(1)),
+            notificationMessageDao.getOldestNotificationMessages(notificationMessageEntities.get(0).getId(), 2));
+    }
+
+    @Test
+    public void testGetOldestNotificationMessagesQueueIsEmpty()
+    {
+        // Try to retrieve the oldest notification messages from an empty table.
+        assertEquals(0, notificationMessageDao.getOldestNotificationMessages(null, 10).size());
+    }
+
+    @Test
+    public void testDeleteNotificationMessages()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2));
+
+        // Delete the oldest notification message.
+        assertEquals(1, notificationMessageDao.deleteNotificationMessages(Collections.singletonList(notificationMessageEntities.get(0).getId())));
+
+        // Validate that only the second notification message is left in the queue.
+        notificationMessageDao.getEntityManager().clear();
+        assertEquals(notificationMessageEntities.get(1).getId(), notificationMessageDao.getOldestNotificationMessage().getId());
+
+        // Validate that deleting an empty list of notification messages is a no-op.
+        assertEquals(0, notificationMessageDao.deleteNotificationMessages(Collections.emptyList()));
+    }
 }
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,8 +44,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -53,6 +57,9 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSCredentialsProviderChain;
 import com.amazonaws.auth.BasicSessionCredentials;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
@@ -94,18 +101,24 @@ import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.MockS3OperationsImpl;
 import org.finra.herd.dao.impl.S3DaoImpl;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
+import org.finra.herd.model.dto.S3FileDownloadStateDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3FileUploadJournalDto;
+import org.finra.herd.model.dto.S3FileUploadJournalEntryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -113,6 +126,9 @@ import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
  */
 public class S3DaoTest extends AbstractDaoTest
 {
+    @Autowired
+    private JsonHelper jsonHelper;
+
     private Path localTempPath;
 
     /**
@@ -943,6 +959,131 @@ public class S3DaoTest extends AbstractDaoTest
         Assert.assertTrue(destinationLocalFile.isFile());
     }
 
+    @Test
+    public void testDownloadStorageFiles() throws IOException, InterruptedException
+    {
+        // Upload local directory to s3Dao.
+        testUploadDirectory();
+
+        // Clean up the local directory, so we can test the download.
+        FileUtils.deleteDirectory(localTempPath.toFile());
+        assertTrue(localTempPath.toFile().mkdir());
+
+        // Build a list of storage files as registered for the uploaded S3 files.
+        List<StorageFile> storageFiles = new ArrayList<>();
+        for (String file : LOCAL_FILES)
+        {
+            storageFiles.add(new StorageFile(TEST_S3_KEY_PREFIX + "/" + file, FILE_SIZE_1_KB, null));
+        }
+
+        // Download the files using ranges smaller than the files.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(localTempPath.toString());
+        s3FileTransferRequestParamsDto.setMaxThreads(3);
+        s3FileTransferRequestParamsDto.setRangeSizeBytes(100L);
+        S3FileTransferResultsDto results = s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+
+        // Validate the results.
+        assertEquals(Long.valueOf(LOCAL_FILES.size()), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(LOCAL_FILES.size() * FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+
+        // Validate that we have the files downloaded from S3 and no partial files or download states left behind.
+        for (String file : LOCAL_FILES)
+        {
+            File localFile = Paths.get(localTempPath.toString(), TEST_S3_KEY_PREFIX, file).toFile();
+            assertTrue(localFile.isFile());
+            assertEquals(FILE_SIZE_1_KB, localFile.length());
+        }
+        assertEquals(LOCAL_FILES.size(), FileUtils.listFiles(localTempPath.toFile(), null, true).size());
+
+        // Download the files again and validate that the files already downloaded are skipped.
+        results = s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+        assertEquals(Long.valueOf(0L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(0L), results.getTotalBytesTransferred());
+    }
+
+    @Test
+    public void testDownloadStorageFilesFileSizeMismatch() throws IOException, InterruptedException
+    {
+        // Upload local file to s3Dao.
+        testUploadFile();
+
+        // Try to download the file registered with a different file size.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(Paths.get(localTempPath.toString(), "download").toString());
+        try
+        {
+            s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, Collections.singletonList(new StorageFile(TARGET_S3_KEY, FILE_SIZE_1_KB * 2, null)));
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(String.format("Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3.",
+                FILE_SIZE_1_KB * 2, TARGET_S3_KEY, FILE_SIZE_1_KB), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDownloadStorageFilesNoFileSize() throws IOException, InterruptedException
+    {
+        // Upload local file to s3Dao.
+        testUploadFile();
+
+        // Download the file registered without a file size.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(Paths.get(localTempPath.toString(), "download").toString());
+        List<StorageFile> storageFiles = Collections.singletonList(new StorageFile(TARGET_S3_KEY, null, null));
+        S3FileTransferResultsDto results = s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+        assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+
+        // Download the file again and validate that it is not skipped, since the local file can not be validated without a registered file size.
+        results = s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+        assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+    }
+
+    @Test
+    public void testDownloadStorageFilesResumePartialFile() throws IOException, InterruptedException
+    {
+        // Create a local test file with distinct content in each range and upload it to s3Dao.
+        byte[] content = new byte[(int) FILE_SIZE_1_KB];
+        for (int i = 0; i < content.length; i++)
+        {
+            content[i] = (byte) i;
+        }
+        File file = Paths.get(localTempPath.toString(), LOCAL_FILE).toFile();
+        Files.write(file.toPath(), content);
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(file.getPath());
+        s3Dao.uploadFile(s3FileTransferRequestParamsDto);
+        String eTag = s3Dao.getObjectMetadata(s3FileTransferRequestParamsDto).getETag();
+
+        // Create a partially downloaded file with its first 9 ranges of 100 bytes along with its download state, as left behind by a failed download.
+        Path downloadDirectoryPath = Paths.get(localTempPath.toString(), "download");
+        Path partialFilePath = Paths.get(downloadDirectoryPath.toString(), TARGET_S3_KEY + ".part");
+        Files.createDirectories(partialFilePath.getParent());
+        Files.write(partialFilePath, Arrays.copyOf(content, 900));
+        Files.write(Paths.get(partialFilePath + ".state"), jsonHelper.objectToJson(
+            new S3FileDownloadStateDto(TARGET_S3_KEY, eTag, FILE_SIZE_1_KB, 100L, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8))).getBytes(StandardCharsets.UTF_8));
+
+        // Restart the download.
+        s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(downloadDirectoryPath.toString());
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+        s3FileTransferRequestParamsDto.setRangeSizeBytes(100L);
+        S3FileTransferResultsDto results =
+            s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, Collections.singletonList(new StorageFile(TARGET_S3_KEY, FILE_SIZE_1_KB, null)));
+
+        // Validate that only the missing ranges got downloaded and that the downloaded file has the content of the S3 file.
+        assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(FILE_SIZE_1_KB - 900), results.getTotalBytesTransferred());
+        assertTrue(Arrays.equals(content, Files.readAllBytes(Paths.get(downloadDirectoryPath.toString(), TARGET_S3_KEY))));
+        assertFalse(Files.exists(partialFilePath));
+        assertFalse(Files.exists(Paths.get(partialFilePath + ".state")));
+    }
+
     /**
      * Asserts that calling generateGetObjectPresignedUrl() will return the expected mocked pre-signed URL.
      */
@@ -2020,6 +2161,136 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testListDirectoryInParallel()
+    {
+        // Put S3 objects located directly under the test S3 key prefix and under several levels of sub-prefixes, including an S3 directory marker.
+        String s3BucketName = storageDaoTestHelper.getS3LoadingDockBucketName();
+        List<String> s3ObjectKeys = Arrays
+            .asList(TEST_S3_KEY_PREFIX + "/a.dat", TEST_S3_KEY_PREFIX + "/sub1/f2.dat", TEST_S3_KEY_PREFIX + "/sub1/f1.dat",
+                TEST_S3_KEY_PREFIX + "/sub2/deep/f3.dat", TEST_S3_KEY_PREFIX + "/z.dat");
+        for (String s3ObjectKey : s3ObjectKeys)
+        {
+            s3Operations.putObject(new PutObjectRequest(s3BucketName, s3ObjectKey, new ByteArrayInputStream(new byte[1]), null), null);
+        }
+        s3Operations.putObject(new PutObjectRequest(s3BucketName, TEST_S3_KEY_PREFIX + "/sub3/", new ByteArrayInputStream(new byte[0]), null), null);
+
+        // List the S3 objects in parallel.
+        List<S3ObjectSummary> s3ObjectSummaries = s3Dao.listDirectory(
+            S3FileTransferRequestParamsDto.builder().withS3BucketName(s3BucketName).withS3KeyPrefix(TEST_S3_KEY_PREFIX + "/").withListingParallelism(2)
+                .build(), true);
+
+        // Validate the results are merged in S3 object key order.
+        List<String> expectedS3ObjectKeys = new ArrayList<>(s3ObjectKeys);
+        Collections.sort(expectedS3ObjectKeys);
+        assertEquals(expectedS3ObjectKeys, s3ObjectSummaries.stream().map(S3ObjectSummary::getKey).collect(Collectors.toList()));
+
+        // Validate that the serial listing returns the same S3 objects.
+        List<S3ObjectSummary> serialS3ObjectSummaries = s3Dao.listDirectory(
+            S3FileTransferRequestParamsDto.builder().withS3BucketName(s3BucketName).withS3KeyPrefix(TEST_S3_KEY_PREFIX + "/").build(), true);
+        assertEquals(new HashSet<>(expectedS3ObjectKeys),
+            serialS3ObjectSummaries.stream().map(S3ObjectSummary::getKey).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testListDirectoryStreamed()
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        try
+        {
+            String s3BucketName = "s3BucketName";
+            String s3KeyPrefix = "s3KeyPrefix";
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefix);
+
+            // Return two pages, where the first page has a zero byte directory marker.
+            when(mockS3Operations.listObjects(any(), any())).then(invocation -> {
+                ListObjectsRequest listObjectsRequest = invocation.getArgument(0);
+                ObjectListing objectListing = new ObjectListing();
+                S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                if (listObjectsRequest.getMarker() == null)
+                {
+                    S3ObjectSummary directoryMarker = new S3ObjectSummary();
+                    directoryMarker.setKey("directory/path/");
+                    directoryMarker.setSize(0L);
+                    objectListing.getObjectSummaries().add(directoryMarker);
+                    s3ObjectSummary.setKey("key1");
+                    objectListing.setNextMarker("key1");
+                    objectListing.setTruncated(true);
+                }
+                else
+                {
+                    s3ObjectSummary.setKey("key2");
+                    objectListing.setTruncated(false);
+                }
+                s3ObjectSummary.setSize(1024L);
+                objectListing.getObjectSummaries().add(s3ObjectSummary);
+                return objectListing;
+            });
+
+            List<String> s3ObjectKeys = new ArrayList<>();
+            s3Dao.listDirectory(s3FileTransferRequestParamsDto, true, s3ObjectSummary -> s3ObjectKeys.add(s3ObjectSummary.getKey()));
+
+            assertEquals(Arrays.asList("key1", "key2"), s3ObjectKeys);
+            verify(mockS3Operations, times(2)).listObjects(any(), any());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
+    @Test
+    public void testListDirectoryInParallelAssertHandleAmazonClientExceptionFromSubPrefixListing()
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        try
+        {
+            String s3BucketName = "s3BucketName";
+            String s3KeyPrefix = "s3KeyPrefix/";
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefix);
+            s3FileTransferRequestParamsDto.setListingParallelism(2);
+
+            // The delimiter listing discovers a single sub-prefix and the sub-prefix listing fails.
+            when(mockS3Operations.listObjects(any(), any())).then(invocation -> {
+                ListObjectsRequest listObjectsRequest = invocation.getArgument(0);
+                if (listObjectsRequest.getDelimiter() == null)
+                {
+                    throw new AmazonClientException("message");
+                }
+                ObjectListing objectListing = new ObjectListing();
+                objectListing.setCommonPrefixes(Collections.singletonList(s3KeyPrefix + "sub/"));
+                return objectListing;
+            });
+
+            try
+            {
+                s3Dao.listDirectory(s3FileTransferRequestParamsDto, true);
+                fail();
+            }
+            catch (Exception e)
+            {
+                assertEquals(IllegalStateException.class, e.getClass());
+                assertEquals("Failed to list keys with prefix \"s3KeyPrefix/\" from bucket \"s3BucketName\". Reason: message", e.getMessage());
+            }
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
     @Test
     public void testListDirectoryAssertTruncatedResult()
     {
@@ -2430,6 +2701,17 @@ public class S3DaoTest extends AbstractDaoTest
 
                     when(mockTransfer.getProgress()).thenReturn(new TransferProgress());
                     when(mockTransfer.getState()).thenReturn(TransferState.Completed);
+                    // Publish the completed event before the transfer state becomes final, so the transfer state gets re-checked on the sleep interval.
+                    doAnswer(new Answer<Void>()
+                    {
+                        @Override
+                        public Void answer(InvocationOnMock invocation) throws Throwable
+                        {
+                            ProgressListener progressListener = invocation.getArgument(0);
+                            progressListener.progressChanged(new ProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT));
+                            return null;
+                        }
+                    }).when(mockTransfer).addProgressListener(any(ProgressListener.class));
                     when(mockTransfer.isDone()).then(new Answer<Boolean>()
                     {
                         int callCount = 0;
@@ -3181,6 +3463,91 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testUploadFileListResumable() throws IOException, InterruptedException
+    {
+        // Create local test files.
+        for (String file : LOCAL_FILES)
+        {
+            createLocalFile(localTempPath.toString(), file, FILE_SIZE_1_KB);
+        }
+
+        // Create a list of files to be uploaded along with the list of expected S3 key values.
+        List<File> requestFileList = new ArrayList<>();
+        List<String> expectedKeys = new ArrayList<>();
+        for (String file : LOCAL_FILES_SUBSET)
+        {
+            requestFileList.add(Paths.get(localTempPath.toString(), file).toFile());
+            expectedKeys.add(TEST_S3_KEY_PREFIX + "/" + file.replaceAll("\\\\", "/"));
+        }
+
+        // Upload the files using an upload journal that does not exist yet.
+        File uploadJournalFile = Paths.get(localTempPath.toString(), "upload-journal.json").toFile();
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        s3FileTransferRequestParamsDto.setLocalPath(localTempPath.toString());
+        s3FileTransferRequestParamsDto.setFiles(requestFileList);
+        s3FileTransferRequestParamsDto.setFileParallelism(2);
+        s3FileTransferRequestParamsDto.setUploadJournalPath(uploadJournalFile.getPath());
+        S3FileTransferResultsDto results = s3Dao.uploadFileListResumable(s3FileTransferRequestParamsDto);
+
+        // Validate the results and the upload.
+        assertEquals(Long.valueOf(LOCAL_FILES_SUBSET.size()), results.getTotalFilesTransferred());
+        s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, expectedKeys);
+
+        // Validate that the upload journal records all the files as completely uploaded.
+        S3FileUploadJournalDto uploadJournal =
+            jsonHelper.unmarshallJsonToObject(S3FileUploadJournalDto.class, new String(Files.readAllBytes(uploadJournalFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals(s3FileTransferRequestParamsDto.getS3BucketName(), uploadJournal.getS3BucketName());
+        assertEquals(TEST_S3_KEY_PREFIX + "/", uploadJournal.getS3KeyPrefix());
+        assertEquals(expectedKeys, uploadJournal.getFiles().stream().map(S3FileUploadJournalEntryDto::getS3Key).collect(Collectors.toList()));
+        for (S3FileUploadJournalEntryDto uploadJournalEntry : uploadJournal.getFiles())
+        {
+            assertEquals(Long.valueOf(FILE_SIZE_1_KB), uploadJournalEntry.getFileSizeBytes());
+            assertNotNull(uploadJournalEntry.getETag());
+            assertNull(uploadJournalEntry.getPersistableUpload());
+        }
+
+        // Change one of the local files and restart the upload with the same journal.
+        createLocalFile(localTempPath.toString(), LOCAL_FILES_SUBSET.get(0), FILE_SIZE_1_KB * 2);
+        results = s3Dao.uploadFileListResumable(s3FileTransferRequestParamsDto);
+
+        // Validate that only the changed file got uploaded again.
+        assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(FILE_SIZE_1_KB * 2), results.getTotalBytesTransferred());
+        s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, expectedKeys);
+    }
+
+    @Test
+    public void testUploadFileListResumableUploadJournalForDifferentS3KeyPrefix() throws IOException, InterruptedException
+    {
+        // Create a local test file.
+        File file = createLocalFile(localTempPath.toString(), LOCAL_FILE, FILE_SIZE_1_KB);
+
+        // Upload the file using an upload journal.
+        File uploadJournalFile = Paths.get(localTempPath.toString(), "upload-journal.json").toFile();
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        s3FileTransferRequestParamsDto.setLocalPath(localTempPath.toString());
+        s3FileTransferRequestParamsDto.setFiles(Collections.singletonList(file));
+        s3FileTransferRequestParamsDto.setUploadJournalPath(uploadJournalFile.getPath());
+        s3Dao.uploadFileListResumable(s3FileTransferRequestParamsDto);
+
+        // Try to upload the file to a different S3 key prefix using the same upload journal.
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX_2 + "/");
+        try
+        {
+            s3Dao.uploadFileListResumable(s3FileTransferRequestParamsDto);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("The upload journal \"%s\" belongs to an upload to a different S3 location. Upload journal S3 bucket name: \"%s\". " +
+                    "Upload journal S3 key prefix: \"%s\".", uploadJournalFile.getPath(), s3FileTransferRequestParamsDto.getS3BucketName(),
+                TEST_S3_KEY_PREFIX + "/"), e.getMessage());
+        }
+    }
+
     /**
      * Test that we get an exception when trying to perform a file transfer without initialized S3FileTransferRequestParamsDto parameters.
      */
@@ -17,11 +17,20 @@ package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import org.finra.herd.dao.impl.MockSqsOperationsImpl;
+
 import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
 
@@ -48,4 +57,48 @@ public class SqsDaoTest extends AbstractDaoTest
             new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
             AWS_SNS_TOPIC_ARN, MESSAGE_TEXT, Collections.singletonList(new MessageHeader(KEY, VALUE))));
     }
+
+    @Test
+    public void testSendMessageBatch()
+    {
+        // Create more messages than a single batch request can hold, with one message that is set to fail.
+        List<String> messageTexts = new ArrayList<>();
+        List<List<MessageHeader>> messageHeaders = new ArrayList<>();
+        for (int i = 0; i < SqsDao.MAX_BATCH_SIZE + 2; i++)
+        {
+            messageTexts.add(i == 1 ? MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT : MESSAGE_TEXT);
+            messageHeaders.add(i % 2 == 0 ? Collections.singletonList(new MessageHeader(KEY, VALUE)) : NO_MESSAGE_HEADERS);
+        }
+
+        // Send the messages using batch requests.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(
+            new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
+            AWS_SQS_QUEUE_NAME, messageTexts, messageHeaders);
+
+        // Validate the results. Entry ids must match the message indexes across all batch requests.
+        assertEquals(SqsDao.MAX_BATCH_SIZE + 1, result.getSuccessful().size());
+        assertEquals(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID), result.getSuccessful().get(0));
+        assertEquals(new SendMessageBatchResultEntry().withId(String.valueOf(SqsDao.MAX_BATCH_SIZE + 1)).withMessageId(MESSAGE_ID),
+            result.getSuccessful().get(SqsDao.MAX_BATCH_SIZE));
+        assertEquals(Collections.singletonList(
+            new BatchResultErrorEntry().withId("1").withCode("InternalError").withMessage("test batch entry failure").withSenderFault(false)),
+            result.getFailed());
+    }
+
+    @Test
+    public void testSendMessageBatchMaxPayloadSize()
+    {
+        // Create messages that are too large to fit in the same batch request.
+        String messageText = StringUtils.repeat('A', SqsDao.MAX_BATCH_PAYLOAD_SIZE_BYTES / 2 + 1);
+
+        // Send the messages using batch requests without specifying message headers.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(
+            new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
+            AWS_SQS_QUEUE_NAME, Arrays.asList(messageText, messageText), null);
+
+        // Validate the results.
+        assertEquals(Arrays.asList(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID),
+            new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)), result.getSuccessful());
+        assertEquals(0, result.getFailed().size());
+    }
 }
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -162,6 +163,83 @@ public class StorageFileDaoTest extends AbstractDaoTest
         validateGetStoragePathsByStorageUnitIds(LOCAL_FILES.size() * LOCAL_FILES.size(), LOCAL_FILES.size() * LOCAL_FILES.size());
     }
 
+    @Test
+    public void testProcessStorageFilePathsByStorageUnitIdsMultipleChunksAndPageSizeOne() throws Exception
+    {
+        // Override configuration to force every storage file path to be retrieved by a separate keyset page.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_IN_CLAUSE_CHUNK_SIZE.getKey(), 2);
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create database entities required for testing.
+            List<Long> storageUnitIds = new ArrayList<>();
+            Map<Long, List<String>> expectedStorageFilePaths = new HashMap<>();
+            for (int i = 0; i < LOCAL_FILES.size(); i++)
+            {
+                StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+                    .createStorageUnitEntity(STORAGE_NAME, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                        PARTITION_VALUE + i, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+                List<String> files = new ArrayList<>(LOCAL_FILES.subList(0, LOCAL_FILES.size() - i));
+                for (String file : files)
+                {
+                    storageFileDaoTestHelper.createStorageFileEntity(storageUnitEntity, file, FILE_SIZE_1_KB, ROW_COUNT_1000);
+                }
+                Collections.sort(files);
+                expectedStorageFilePaths.put(storageUnitEntity.getId(), files);
+                storageUnitIds.add(storageUnitEntity.getId());
+            }
+
+            // Stream storage file paths for the storage units created above.
+            List<Long> actualStorageUnitIds = new ArrayList<>();
+            Map<Long, List<String>> actualStorageFilePaths = new HashMap<>();
+            storageFileDao.processStorageFilePathsByStorageUnitIds(storageUnitIds, (storageUnitId, storageFilePaths) -> {
+                actualStorageUnitIds.add(storageUnitId);
+                actualStorageFilePaths.put(storageUnitId, storageFilePaths);
+            });
+
+            // Validate that each storage unit was passed to the consumer exactly once along with all of its storage file paths ordered by path, even though
+            // its storage file paths were retrieved by separate keyset pages.
+            assertEquals(storageUnitIds.size(), actualStorageUnitIds.size());
+            assertEquals(expectedStorageFilePaths, actualStorageFilePaths);
+
+            // Validate that storage units of each chunk were passed to the consumer ordered by storage unit id.
+            for (int i = 0; i < storageUnitIds.size(); i += 2)
+            {
+                List<Long> chunkStorageUnitIds = storageUnitIds.subList(i, Math.min(i + 2, storageUnitIds.size()));
+                List<Long> actualChunkStorageUnitIds = new ArrayList<>();
+                for (Long storageUnitId : actualStorageUnitIds)
+                {
+                    if (chunkStorageUnitIds.contains(storageUnitId))
+                    {
+                        actualChunkStorageUnitIds.add(storageUnitId);
+                    }
+                }
+                List<Long> sortedChunkStorageUnitIds = new ArrayList<>(actualChunkStorageUnitIds);
+                Collections.sort(sortedChunkStorageUnitIds);
+                assertEquals(sortedChunkStorageUnitIds, actualChunkStorageUnitIds);
+            }
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testProcessStorageFilePathsByStorageUnitIdsNoStorageUnitIds()
+    {
+        // Stream storage file paths for an empty list of storage units.
+        List<String> actualStorageFilePaths = new ArrayList<>();
+        storageFileDao.processStorageFilePathsByStorageUnitIds(new ArrayList<>(), (storageUnitId, storageFilePaths) -> actualStorageFilePaths.addAll(storageFilePaths));
+
+        // Validate the results.
+        assertTrue(actualStorageFilePaths.isEmpty());
+    }
+
     private void validateGetStoragePathsByStorageUnitIds(Integer chunkSize, Integer pageSize) throws Exception
     {
         // Override configuration.
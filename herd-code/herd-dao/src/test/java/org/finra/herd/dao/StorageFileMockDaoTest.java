@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -23,7 +25,9 @@ import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.persistence.PersistenceException;
@@ -95,6 +99,7 @@ public class StorageFileMockDaoTest extends AbstractDaoTest
         when(herdDaoSecurityHelper.getCurrentUsername()).thenReturn(USER_CREDENTIAL_NAME);
         when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
         when(dataSource.getConnection()).thenReturn(connection);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class)).thenReturn(1);
         when(configurationHelper.getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class)).thenReturn(100);
         when(connection.prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL)).thenReturn(preparedStatement);
         when(preparedStatement.executeBatch()).thenThrow(new BatchUpdateException());
@@ -120,6 +125,7 @@ public class StorageFileMockDaoTest extends AbstractDaoTest
         verify(herdDaoSecurityHelper).getCurrentUsername();
         verify(jdbcTemplate).getDataSource();
         verify(dataSource).getConnection();
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class);
         verify(configurationHelper).getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class);
         verify(connection).prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL);
         verifyNoMoreInteractions(configurationHelper, connection, dataSource, jdbcTemplate, herdDaoSecurityHelper, preparedStatement);
@@ -141,6 +147,7 @@ public class StorageFileMockDaoTest extends AbstractDaoTest
         when(herdDaoSecurityHelper.getCurrentUsername()).thenReturn(USER_CREDENTIAL_NAME);
         when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
         when(dataSource.getConnection()).thenReturn(connection);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class)).thenReturn(1);
         when(configurationHelper.getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class)).thenReturn(100);
         when(connection.prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL)).thenReturn(preparedStatement);
         when(preparedStatement.executeBatch()).thenThrow(new SQLException());
@@ -166,8 +173,116 @@ public class StorageFileMockDaoTest extends AbstractDaoTest
         verify(herdDaoSecurityHelper).getCurrentUsername();
         verify(jdbcTemplate).getDataSource();
         verify(dataSource).getConnection();
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class);
         verify(configurationHelper).getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class);
         verify(connection).prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL);
         verifyNoMoreInteractions(configurationHelper, connection, dataSource, jdbcTemplate, herdDaoSecurityHelper, preparedStatement);
     }
+
+    @Test
+    public void testSaveStorageFilesMultiRowInsert() throws Exception
+    {
+        final String ROW_VALUES = "(nextval('strge_file_seq'), ?, ?, ?, ?, current_timestamp, '" + USER_CREDENTIAL_NAME + "')";
+        final String INSERT_INTO_STORAGE_FILE_TABLE_SQL_PREFIX = "INSERT INTO strge_file " +
+            "(strge_file_id, fully_qlfd_file_nm, file_size_in_bytes_nb, row_ct, strge_unit_id, creat_ts, creat_user_id) VALUES ";
+        final String INSERT_TWO_ROWS_SQL = INSERT_INTO_STORAGE_FILE_TABLE_SQL_PREFIX + ROW_VALUES + ", " + ROW_VALUES;
+        final String INSERT_ONE_ROW_SQL = INSERT_INTO_STORAGE_FILE_TABLE_SQL_PREFIX + ROW_VALUES;
+
+        // Create a storage unit entity
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(StorageEntity.MANAGED_STORAGE, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Build a mock for the prepared statement that inserts the last chunk.
+        PreparedStatement lastChunkPreparedStatement = mock(PreparedStatement.class);
+
+        // Mock the external calls.
+        when(herdDaoSecurityHelper.getCurrentUsername()).thenReturn(USER_CREDENTIAL_NAME);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class)).thenReturn(2);
+        when(connection.prepareStatement(INSERT_TWO_ROWS_SQL)).thenReturn(preparedStatement);
+        when(connection.prepareStatement(INSERT_ONE_ROW_SQL)).thenReturn(lastChunkPreparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(2);
+        when(lastChunkPreparedStatement.executeUpdate()).thenReturn(1);
+
+        // Create five storage files, so they get inserted by two full size chunks and one partial chunk.
+        List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+        for (String file : LOCAL_FILES.subList(0, 5))
+        {
+            StorageFileEntity storageFileEntity = new StorageFileEntity();
+            storageFileEntity.setStorageUnit(storageUnitEntity);
+            storageFileEntity.setPath(file);
+            storageFileEntity.setFileSizeBytes(FILE_SIZE_1_KB);
+            storageFileEntity.setRowCount(null);
+            storageFileEntities.add(storageFileEntity);
+        }
+
+        // Call method under test
+        storageFileDao.saveStorageFiles(storageFileEntities);
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class);
+        verify(jdbcTemplate).getDataSource();
+        verify(dataSource).getConnection();
+        verify(connection).setAutoCommit(false);
+        verify(herdDaoSecurityHelper, times(2)).getCurrentUsername();
+        verify(connection).prepareStatement(INSERT_TWO_ROWS_SQL);
+        verify(connection).prepareStatement(INSERT_ONE_ROW_SQL);
+        verify(preparedStatement).setString(1, LOCAL_FILES.get(0));
+        verify(preparedStatement).setString(5, LOCAL_FILES.get(1));
+        verify(preparedStatement).setString(1, LOCAL_FILES.get(2));
+        verify(preparedStatement).setString(5, LOCAL_FILES.get(3));
+        verify(preparedStatement, times(2)).setLong(2, FILE_SIZE_1_KB);
+        verify(preparedStatement, times(2)).setLong(6, FILE_SIZE_1_KB);
+        verify(preparedStatement, times(2)).setNull(3, Types.BIGINT);
+        verify(preparedStatement, times(2)).setNull(7, Types.BIGINT);
+        verify(preparedStatement, times(2)).setLong(4, storageUnitEntity.getId());
+        verify(preparedStatement, times(2)).setLong(8, storageUnitEntity.getId());
+        verify(preparedStatement, times(2)).executeUpdate();
+        verify(preparedStatement).close();
+        verify(lastChunkPreparedStatement).setString(1, LOCAL_FILES.get(4));
+        verify(lastChunkPreparedStatement).setLong(2, FILE_SIZE_1_KB);
+        verify(lastChunkPreparedStatement).setNull(3, Types.BIGINT);
+        verify(lastChunkPreparedStatement).setLong(4, storageUnitEntity.getId());
+        verify(lastChunkPreparedStatement).executeUpdate();
+        verify(lastChunkPreparedStatement).close();
+        verify(connection).commit();
+        verify(connection).close();
+        verifyNoMoreInteractions(configurationHelper, connection, dataSource, jdbcTemplate, herdDaoSecurityHelper, preparedStatement,
+            lastChunkPreparedStatement);
+    }
+
+    @Test
+    public void testSaveStorageFilesMultiRowInsertSqlException() throws Exception
+    {
+        final String INSERT_INTO_STORAGE_FILE_TABLE_SQL = "INSERT INTO strge_file " +
+            "(strge_file_id, fully_qlfd_file_nm, file_size_in_bytes_nb, row_ct, strge_unit_id, creat_ts, creat_user_id) " +
+            "VALUES (nextval('strge_file_seq'), ?, ?, ?, ?, current_timestamp, '" + USER_CREDENTIAL_NAME + "')";
+
+        // Create a storage unit entity
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(StorageEntity.MANAGED_STORAGE, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Mock the external calls.
+        when(herdDaoSecurityHelper.getCurrentUsername()).thenReturn(USER_CREDENTIAL_NAME);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_INSERT_ROWS_PER_STATEMENT, Integer.class)).thenReturn(100);
+        when(connection.prepareStatement(INSERT_INTO_STORAGE_FILE_TABLE_SQL)).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenThrow(new SQLException());
+
+        StorageFileEntity storageFileEntity = new StorageFileEntity();
+        storageFileEntity.setStorageUnit(storageUnitEntity);
+        storageFileEntity.setPath(LOCAL_FILE);
+        storageFileEntity.setFileSizeBytes(FILE_SIZE_1_KB);
+        storageFileEntity.setRowCount(ROW_COUNT_1000);
+
+        // Specify the expected exception.
+        expectedException.expect(PersistenceException.class);
+
+        // Call method under test
+        storageFileDao.saveStorageFiles(Collections.singletonList(storageFileEntity));
+    }
 }
@@ -24,10 +24,17 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.collect.Lists;
 import org.junit.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.core.HerdDateUtils;
@@ -35,6 +42,7 @@ import org.finra.herd.dao.impl.AbstractHerdDao;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StorageUnitAvailabilityDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -461,7 +469,9 @@ public class StorageUnitDaoTest extends AbstractDaoTest
                 new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
                     storageUnitEntity.getBusinessObjectData().getPartitionValue(), SUBPARTITION_VALUES, storageUnitEntity.getBusinessObjectData().getVersion()),
                 storageUnitEntity.getStorage().getName(), storageUnitEntity.getDirectoryPath(), storageUnitEntity.getBusinessObjectData().getStatus().getCode(),
-                StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null);
+                StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getUpdatedOn()));
 
             expectedMultiStorageAvailableStorageUnitAvailabilityDtos.add(storageUnitAvailabilityDto);
 
@@ -593,6 +603,297 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         assertTrue(CollectionUtils.isEmpty(results));
     }
 
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersInParallel() throws Exception
+    {
+        // Create database entities required for testing.
+        List<StorageUnitEntity> expectedStorageUnits = businessObjectDataAvailabilityTestHelper
+            .createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA, STORAGE_NAMES);
+
+        // Create a list of expected storage unit availability DTOs.
+        List<StorageUnitAvailabilityDto> expectedStorageUnitAvailabilityDtos = new ArrayList<>();
+        for (StorageUnitEntity storageUnitEntity : expectedStorageUnits)
+        {
+            expectedStorageUnitAvailabilityDtos.add(new StorageUnitAvailabilityDto(storageUnitEntity.getId(),
+                new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                    storageUnitEntity.getBusinessObjectData().getPartitionValue(), SUBPARTITION_VALUES, storageUnitEntity.getBusinessObjectData().getVersion()),
+                storageUnitEntity.getStorage().getName(), storageUnitEntity.getDirectoryPath(), storageUnitEntity.getBusinessObjectData().getStatus().getCode(),
+                StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getUpdatedOn())));
+        }
+
+        // Get business object definition and file type entities.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME));
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+
+        // Build a list of partition values, large enough to cause executing the select queries in multiple chunks. The partition values registered by this
+        // test are placed in the first chunk, since it is the only chunk that is queried as part of the current (never committed) transaction.
+        List<String> partitionValues = new ArrayList<>(UNSORTED_PARTITION_VALUES);
+        for (int i = 0; i < 2 * AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST; i++)
+        {
+            partitionValues.add(String.format("%s-%s", PARTITION_VALUE, i));
+        }
+
+        // Build a list of partition filters.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (String partitionValue : partitionValues)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, SUBPARTITION_VALUES.get(0), null, null, null));
+        }
+
+        // Override configuration to query the chunks of partition filters concurrently.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_QUERY_PARALLELISM.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Retrieve "available" storage units per specified parameters.
+            List<StorageUnitAvailabilityDto> results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                    DATA_VERSION, NO_BDATA_STATUS_ENTITY, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(expectedStorageUnitAvailabilityDtos, results);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersInParallelMultipleChunks() throws Exception
+    {
+        // Create database entities required for testing.
+        List<StorageUnitEntity> expectedStorageUnits = businessObjectDataAvailabilityTestHelper
+            .createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA, STORAGE_NAMES);
+
+        // Get business object definition and file type entities.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME));
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+
+        // Split the sorted partition values into four chunks and build a list of partition filters with the chunks in reverse order, so the results can only
+        // match when they are merged in the partition filter chunk order.
+        int partitionFilterChunkSize = 3;
+        List<List<String>> partitionValueChunks = Lists.reverse(Lists.partition(SORTED_PARTITION_VALUES, partitionFilterChunkSize));
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (List<String> partitionValueChunk : partitionValueChunks)
+        {
+            for (String partitionValue : partitionValueChunk)
+            {
+                partitionFilters.add(Arrays.asList(partitionValue, SUBPARTITION_VALUES.get(0), null, null, null));
+            }
+        }
+
+        // Create a list of expected storage unit availability DTOs, where each chunk is sorted by partition values and storage names.
+        List<StorageUnitAvailabilityDto> expectedStorageUnitAvailabilityDtos = new ArrayList<>();
+        for (List<String> partitionValueChunk : partitionValueChunks)
+        {
+            for (StorageUnitEntity storageUnitEntity : expectedStorageUnits)
+            {
+                if (partitionValueChunk.contains(storageUnitEntity.getBusinessObjectData().getPartitionValue()))
+                {
+                    expectedStorageUnitAvailabilityDtos.add(new StorageUnitAvailabilityDto(storageUnitEntity.getId(),
+                        new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                            storageUnitEntity.getBusinessObjectData().getPartitionValue(), SUBPARTITION_VALUES,
+                            storageUnitEntity.getBusinessObjectData().getVersion()), storageUnitEntity.getStorage().getName(),
+                        storageUnitEntity.getDirectoryPath(), storageUnitEntity.getBusinessObjectData().getStatus().getCode(), StorageUnitStatusEntity.ENABLED,
+                        STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+                        HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+                        HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getUpdatedOn())));
+                }
+            }
+        }
+
+        // Override configuration to query the chunks of partition filters concurrently, with the chunk size set by the partition value "in" clauses.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_IN_CLAUSES_ENABLED.getKey(), "true");
+        overrideMap.put(ConfigurationValue.DB_IN_CLAUSE_CHUNK_SIZE.getKey(), partitionFilterChunkSize);
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_QUERY_PARALLELISM.getKey(), 3);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        // Run the concurrent queries synchronously on the current thread, so the chunks queried by the DAO task executor can see the business object data
+        // registered by this (never committed) transaction.
+        Object storageUnitDaoImpl = AopTestUtils.getUltimateTargetObject(storageUnitDao);
+        AsyncTaskExecutor originalDaoTaskExecutor = (AsyncTaskExecutor) ReflectionTestUtils.getField(storageUnitDaoImpl, "daoTaskExecutor");
+        ReflectionTestUtils.setField(storageUnitDaoImpl, "daoTaskExecutor", new TaskExecutorAdapter(new SyncTaskExecutor()));
+
+        try
+        {
+            // Retrieve "available" storage units per specified parameters.
+            List<StorageUnitAvailabilityDto> results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                    DATA_VERSION, NO_BDATA_STATUS_ENTITY, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(expectedStorageUnits.size(), results.size());
+            assertEquals(expectedStorageUnitAvailabilityDtos, results);
+        }
+        finally
+        {
+            // Restore the DAO task executor and the property sources so we don't affect other tests.
+            ReflectionTestUtils.setField(storageUnitDaoImpl, "daoTaskExecutor", originalDaoTaskExecutor);
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersUsingInClauses() throws Exception
+    {
+        // Create database entities required for testing.
+        List<StorageUnitEntity> expectedStorageUnits = businessObjectDataAvailabilityTestHelper
+            .createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA, STORAGE_NAMES);
+
+        // Create a list of expected storage unit availability DTOs.
+        List<StorageUnitAvailabilityDto> expectedStorageUnitAvailabilityDtos = new ArrayList<>();
+        for (StorageUnitEntity storageUnitEntity : expectedStorageUnits)
+        {
+            expectedStorageUnitAvailabilityDtos.add(new StorageUnitAvailabilityDto(storageUnitEntity.getId(),
+                new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                    storageUnitEntity.getBusinessObjectData().getPartitionValue(), SUBPARTITION_VALUES, storageUnitEntity.getBusinessObjectData().getVersion()),
+                storageUnitEntity.getStorage().getName(), storageUnitEntity.getDirectoryPath(), storageUnitEntity.getBusinessObjectData().getStatus().getCode(),
+                StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+                HerdDateUtils.getXMLGregorianCalendarValue(storageUnitEntity.getUpdatedOn())));
+        }
+
+        // Get business object definition and file type entities.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME));
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+
+        // Build a list of partition values, large enough to cause executing the select queries in chunks when "in" clauses are not used.
+        List<String> partitionValues = new ArrayList<>();
+        for (int i = 0; i < AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST; i++)
+        {
+            partitionValues.add(String.format("%s-%s", PARTITION_VALUE, i));
+        }
+        partitionValues.addAll(UNSORTED_PARTITION_VALUES);
+
+        // Build a list of partition filters that differ only by the primary partition value. Also add a partition filter that does not select the primary
+        // partition value, so it cannot be grouped with the other partition filters, and a partition filter that does not match any business object data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (String partitionValue : partitionValues)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, SUBPARTITION_VALUES.get(0), null, null, null));
+        }
+        partitionFilters.add(Arrays.asList(BLANK_TEXT, I_DO_NOT_EXIST, null, null, null));
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE, I_DO_NOT_EXIST, null, null, null));
+
+        // Override configuration to use the partition value "in" clauses.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_PARTITION_FILTER_IN_CLAUSES_ENABLED.getKey(), "true");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Retrieve "available" storage units per specified parameters.
+            List<StorageUnitAvailabilityDto> results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                    DATA_VERSION, NO_BDATA_STATUS_ENTITY, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(expectedStorageUnitAvailabilityDtos, results);
+
+            // Retrieve "available" storage units without specifying both business object format version and business object data version.
+            results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, NO_FORMAT_VERSION, partitionFilters,
+                    NO_DATA_VERSION, NO_BDATA_STATUS_ENTITY, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(expectedStorageUnitAvailabilityDtos, results);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersUsingLatestValidVersionFlag() throws Exception
+    {
+        // Create two VALID business object data versions registered in the same storage. Only the initial version has the latest valid version flag set.
+        StorageUnitEntity initialVersionStorageUnitEntity = storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME,
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                INITIAL_DATA_VERSION), NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID, StorageUnitStatusEntity.ENABLED,
+            NO_STORAGE_DIRECTORY_PATH);
+        initialVersionStorageUnitEntity.getBusinessObjectData().setLatestValidVersion(true);
+        businessObjectDataDao.saveAndRefresh(initialVersionStorageUnitEntity.getBusinessObjectData());
+        StorageUnitEntity secondVersionStorageUnitEntity = storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME,
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                SECOND_DATA_VERSION), LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID, StorageUnitStatusEntity.ENABLED,
+            NO_STORAGE_DIRECTORY_PATH);
+
+        // Get business object definition, file type, and business object data status entities.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME));
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
+            businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(BusinessObjectDataStatusEntity.VALID);
+
+        // Build a list of partition filters to select the test business object data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE, null, null, null, null));
+
+        // Retrieve storage units for the VALID business object data using the business object data status restriction.
+        List<StorageUnitAvailabilityDto> results = storageUnitDao
+            .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                NO_DATA_VERSION, businessObjectDataStatusEntity, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+        // Validate the results.
+        assertEquals(1, results.size());
+        assertEquals(secondVersionStorageUnitEntity.getId(), results.get(0).getStorageUnitId());
+
+        // Override configuration to use the latest valid version flag.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AVAILABILITY_DDL_LATEST_VALID_VERSION_FLAG_ENABLED.getKey(), "true");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Retrieve storage units for the VALID business object data using the latest valid version flag, which is used only when neither storage nor
+            // storage unit status restriction is applied.
+            results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                    NO_DATA_VERSION, businessObjectDataStatusEntity, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    NO_SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(1, results.size());
+            assertEquals(initialVersionStorageUnitEntity.getId(), results.get(0).getStorageUnitId());
+
+            // Retrieve only "available" storage units for the VALID business object data. The latest valid version flag is not used, since the latest valid
+            // version might not have an "available" storage unit.
+            results = storageUnitDao
+                .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                    NO_DATA_VERSION, businessObjectDataStatusEntity, NO_STORAGE_ENTITIES, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                    SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+            // Validate the results.
+            assertEquals(1, results.size());
+            assertEquals(secondVersionStorageUnitEntity.getId(), results.get(0).getStorageUnitId());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testGetStorageUnitsByPartitionFiltersNotEnabledStorageUnitStatus()
     {
@@ -621,11 +922,15 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         StorageUnitAvailabilityDto enabledStorageUnitAvailabilityDto = new StorageUnitAvailabilityDto(enabledStorageUnitEntity.getId(),
             new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
                 NO_SUBPARTITION_VALUES, DATA_VERSION), STORAGE_NAME, NO_STORAGE_DIRECTORY_PATH, BDATA_STATUS, StorageUnitStatusEntity.ENABLED,
-            STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null);
+            STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+            HerdDateUtils.getXMLGregorianCalendarValue(enabledStorageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+            HerdDateUtils.getXMLGregorianCalendarValue(enabledStorageUnitEntity.getUpdatedOn()));
         StorageUnitAvailabilityDto disabledStorageUnitAvailabilityDto = new StorageUnitAvailabilityDto(disabledStorageUnitEntity.getId(),
             new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
                 NO_SUBPARTITION_VALUES, DATA_VERSION), STORAGE_NAME, NO_STORAGE_DIRECTORY_PATH, BDATA_STATUS, StorageUnitStatusEntity.DISABLED,
-            NO_STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null);
+            NO_STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null,
+            HerdDateUtils.getXMLGregorianCalendarValue(disabledStorageUnitEntity.getBusinessObjectData().getUpdatedOn()),
+            HerdDateUtils.getXMLGregorianCalendarValue(disabledStorageUnitEntity.getUpdatedOn()));
 
         // Build a list of partition filters to select business object data.
         List<List<String>> partitionFilters = new ArrayList<>();
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -64,6 +65,37 @@ public class TagDaoTest extends AbstractDaoTest
         assertTrue(tagDao.getChildrenTags(Arrays.asList(rootTagEntities.get(1))).isEmpty());
     }
 
+    @Test
+    public void testGetChildrenTagsWithParentTagIds()
+    {
+        // Create a tag type entity.
+        TagTypeEntity tagTypeEntity = tagTypeDaoTestHelper.createTagTypeEntity(TAG_TYPE, TAG_TYPE_DISPLAY_NAME, TAG_TYPE_ORDER, TAG_TYPE_DESCRIPTION);
+
+        // Create a root tag entity for the tag type.
+        TagEntity rootTagEntity = tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE, TAG_DISPLAY_NAME, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION);
+
+        // Create two children for the root tag with tag display name in reverse order.
+        List<TagEntity> childrenTagEntities = Arrays.asList(
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_3, TAG_DISPLAY_NAME_4, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION, rootTagEntity),
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_4, TAG_DISPLAY_NAME_3, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION, rootTagEntity));
+
+        // Create one grand child of the root tag.
+        TagEntity grandChildTagEntity = tagDaoTestHelper
+            .createTagEntity(tagTypeEntity, TAG_CODE_5, TAG_DISPLAY_NAME_5, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION, childrenTagEntities.get(0));
+
+        // Create a child tag for a root tag of another tag type.
+        TagTypeEntity tagTypeEntity2 = tagTypeDaoTestHelper.createTagTypeEntity(TAG_TYPE_2, TAG_TYPE_DISPLAY_NAME_2, TAG_TYPE_ORDER_2, TAG_TYPE_DESCRIPTION_2);
+        tagDaoTestHelper.createTagEntity(tagTypeEntity2, TAG_CODE_3, TAG_DISPLAY_NAME_3, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION,
+            tagDaoTestHelper.createTagEntity(tagTypeEntity2, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION));
+
+        // Get the children tags of the tag type along with their parent tag ids.
+        Map<TagEntity, Long> result = tagDao.getChildrenTagsWithParentTagIds(tagTypeEntity);
+
+        // Validate the results ordered by the tag display name.
+        assertEquals(Arrays.asList(childrenTagEntities.get(1), childrenTagEntities.get(0), grandChildTagEntity), new ArrayList<>(result.keySet()));
+        assertEquals(Arrays.asList(rootTagEntity.getId(), rootTagEntity.getId(), childrenTagEntities.get(0).getId()), new ArrayList<>(result.values()));
+    }
+
     @Test
     public void testGetTagByKey()
     {
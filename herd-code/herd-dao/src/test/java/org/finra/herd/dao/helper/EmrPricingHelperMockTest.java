@@ -0,0 +1,289 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.amazonaws.services.ec2.model.AvailabilityZone;
+import com.amazonaws.services.ec2.model.SpotPrice;
+import com.amazonaws.services.ec2.model.Subnet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.AbstractDaoTest;
+import org.finra.herd.dao.Ec2Dao;
+import org.finra.herd.model.api.xml.EmrClusterDefinition;
+import org.finra.herd.model.api.xml.InstanceDefinition;
+import org.finra.herd.model.api.xml.InstanceDefinitions;
+import org.finra.herd.model.api.xml.MasterInstanceDefinition;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.EmrClusterAlternateKeyDto;
+
+/**
+ * This class tests the spot price snapshots and the performance of the EMR pricing algorithm using mocks.
+ */
+public class EmrPricingHelperMockTest
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmrPricingHelperMockTest.class);
+
+    private static final String AVAILABILITY_ZONE_PREFIX = "UT_AvailabilityZone_";
+
+    private static final BigDecimal BEST_CORE_SPOT_PRICE = new BigDecimal("0.10");
+
+    private static final String CORE_INSTANCE_TYPE = "UT_CoreInstanceType";
+
+    private static final String MASTER_INSTANCE_TYPE = "UT_MasterInstanceType";
+
+    private static final BigDecimal MAX_SEARCH_PRICE = new BigDecimal("1.00");
+
+    private static final String SUBNET_PREFIX = "UT_Subnet_";
+
+    private final AwsParamsDto awsParamsDto = new AwsParamsDto(AbstractDaoTest.NO_AWS_ACCESS_KEY, AbstractDaoTest.NO_AWS_SECRET_KEY,
+        AbstractDaoTest.NO_SESSION_TOKEN, AbstractDaoTest.NO_HTTP_PROXY_HOST, AbstractDaoTest.NO_HTTP_PROXY_PORT, AbstractDaoTest.AWS_REGION_NAME_US_EAST_1);
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Mock
+    private Ec2Dao ec2Dao;
+
+    @InjectMocks
+    private EmrPricingHelper emrPricingHelper;
+
+    @Mock
+    private EmrVpcPricingStateFormatter emrVpcPricingStateFormatter;
+
+    @Mock
+    private HerdStringHelper herdStringHelper;
+
+    @Mock
+    private JsonHelper jsonHelper;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testUpdateEmrClusterDefinitionWithBestPriceSpotPriceSnapshots()
+    {
+        // Mock the external calls for a VPC with 3 availability zones and 2 subnets per availability zone.
+        mockVpc(3, 2, 300);
+
+        // Price two clusters.
+        EmrClusterDefinition emrClusterDefinition = updateEmrClusterDefinitionWithBestPrice();
+        EmrClusterDefinition emrClusterDefinition2 = updateEmrClusterDefinitionWithBestPrice();
+
+        // Verify that the spot prices were retrieved from AWS only once per availability zone.
+        verify(ec2Dao, times(2)).getSubnets(Collections.emptySet(), awsParamsDto);
+        verify(ec2Dao, times(2)).getAvailabilityZonesForSubnetIds(any(), eq(awsParamsDto));
+        for (int availabilityZoneIndex = 0; availabilityZoneIndex < 3; availabilityZoneIndex++)
+        {
+            verify(ec2Dao).getLatestSpotPrices(eq(AVAILABILITY_ZONE_PREFIX + availabilityZoneIndex), any(), any(), eq(awsParamsDto));
+        }
+        verifyNoMoreInteractions(ec2Dao, taskExecutor);
+
+        // Validate that both clusters got the subnet with the most available IP addresses in the cheapest availability zone.
+        assertBestPrice(getSubnetId(2, 1), emrClusterDefinition);
+        assertBestPrice(getSubnetId(2, 1), emrClusterDefinition2);
+    }
+
+    @Test
+    public void testUpdateEmrClusterDefinitionWithBestPriceSpotPriceSnapshotsDisabled()
+    {
+        // Mock the external calls for a VPC with 3 availability zones and 2 subnets per availability zone with the spot price snapshots disabled.
+        mockVpc(3, 2, 0);
+
+        // Price two clusters.
+        EmrClusterDefinition emrClusterDefinition = updateEmrClusterDefinitionWithBestPrice();
+        EmrClusterDefinition emrClusterDefinition2 = updateEmrClusterDefinitionWithBestPrice();
+
+        // Verify that the spot prices were retrieved from AWS for each cluster.
+        verify(ec2Dao, times(2)).getSubnets(Collections.emptySet(), awsParamsDto);
+        verify(ec2Dao, times(2)).getAvailabilityZonesForSubnetIds(any(), eq(awsParamsDto));
+        for (int availabilityZoneIndex = 0; availabilityZoneIndex < 3; availabilityZoneIndex++)
+        {
+            verify(ec2Dao, times(2)).getLatestSpotPrices(eq(AVAILABILITY_ZONE_PREFIX + availabilityZoneIndex), any(), any(), eq(awsParamsDto));
+        }
+        verifyNoMoreInteractions(ec2Dao, taskExecutor);
+
+        // Validate the results.
+        assertBestPrice(getSubnetId(2, 1), emrClusterDefinition);
+        assertBestPrice(getSubnetId(2, 1), emrClusterDefinition2);
+    }
+
+    /**
+     * Runs the best price algorithm for a burst of cluster creations over a large synthetic subnet and availability zone matrix. The elapsed time is logged so
+     * the algorithm can be benchmarked, while the assertions only check the selected subnet and the number of EC2 spot price lookups.
+     */
+    @Test
+    public void testUpdateEmrClusterDefinitionWithBestPriceLargeSubnetAvailabilityZoneMatrix()
+    {
+        final int availabilityZoneCount = 100;
+        final int subnetsPerAvailabilityZoneCount = 20;
+        final int emrClusterCount = 50;
+
+        // Mock the external calls.
+        mockVpc(availabilityZoneCount, subnetsPerAvailabilityZoneCount, 300);
+
+        // Price a burst of clusters.
+        long startTimeMillis = System.currentTimeMillis();
+        List<EmrClusterDefinition> emrClusterDefinitions = new ArrayList<>();
+        for (int i = 0; i < emrClusterCount; i++)
+        {
+            emrClusterDefinitions.add(updateEmrClusterDefinitionWithBestPrice());
+        }
+        LOGGER.info("Priced {} EMR clusters over {} availability zones with {} subnets each. elapsedTimeMillis={}", emrClusterCount, availabilityZoneCount,
+            subnetsPerAvailabilityZoneCount, System.currentTimeMillis() - startTimeMillis);
+
+        // Verify that the spot prices were retrieved from AWS only once per availability zone.
+        verify(ec2Dao, times(emrClusterCount)).getSubnets(Collections.emptySet(), awsParamsDto);
+        verify(ec2Dao, times(emrClusterCount)).getAvailabilityZonesForSubnetIds(any(), eq(awsParamsDto));
+        verify(ec2Dao, times(availabilityZoneCount)).getLatestSpotPrices(anyString(), any(), any(), eq(awsParamsDto));
+        verifyNoMoreInteractions(ec2Dao, taskExecutor);
+
+        // Validate that all clusters got the subnet with the most available IP addresses in the cheapest availability zone.
+        for (EmrClusterDefinition emrClusterDefinition : emrClusterDefinitions)
+        {
+            assertBestPrice(getSubnetId(availabilityZoneCount - 1, subnetsPerAvailabilityZoneCount - 1), emrClusterDefinition);
+        }
+    }
+
+    /**
+     * Validates that the cluster definition was updated with the spot pricing in the specified subnet.
+     *
+     * @param expectedSubnetId the expected subnet id
+     * @param emrClusterDefinition the EMR cluster definition updated by the best price algorithm
+     */
+    private void assertBestPrice(String expectedSubnetId, EmrClusterDefinition emrClusterDefinition)
+    {
+        assertEquals(expectedSubnetId, emrClusterDefinition.getSubnetId());
+        assertEquals(MAX_SEARCH_PRICE, emrClusterDefinition.getInstanceDefinitions().getMasterInstances().getInstanceSpotPrice());
+        assertEquals(MAX_SEARCH_PRICE, emrClusterDefinition.getInstanceDefinitions().getCoreInstances().getInstanceSpotPrice());
+        assertNull(emrClusterDefinition.getInstanceDefinitions().getCoreInstances().getInstanceMaxSearchPrice());
+    }
+
+    /**
+     * Gets the id of a synthetic subnet.
+     *
+     * @param availabilityZoneIndex the index of the availability zone of the subnet
+     * @param subnetIndex the index of the subnet within its availability zone
+     *
+     * @return the subnet id
+     */
+    private String getSubnetId(int availabilityZoneIndex, int subnetIndex)
+    {
+        return SUBNET_PREFIX + availabilityZoneIndex + "_" + subnetIndex;
+    }
+
+    /**
+     * Mocks the EC2 calls for a synthetic VPC. The core instance spot price is the lowest in the last availability zone and the number of available IP
+     * addresses grows with the subnet index.
+     *
+     * @param availabilityZoneCount the number of availability zones
+     * @param subnetsPerAvailabilityZoneCount the number of subnets in each availability zone
+     * @param spotPriceSnapshotTimeToLiveSeconds the spot price snapshot time to live in seconds
+     */
+    private void mockVpc(int availabilityZoneCount, int subnetsPerAvailabilityZoneCount, int spotPriceSnapshotTimeToLiveSeconds)
+    {
+        List<Subnet> subnets = new ArrayList<>();
+        List<AvailabilityZone> availabilityZones = new ArrayList<>();
+        for (int availabilityZoneIndex = 0; availabilityZoneIndex < availabilityZoneCount; availabilityZoneIndex++)
+        {
+            availabilityZones.add(new AvailabilityZone().withZoneName(AVAILABILITY_ZONE_PREFIX + availabilityZoneIndex));
+            for (int subnetIndex = 0; subnetIndex < subnetsPerAvailabilityZoneCount; subnetIndex++)
+            {
+                subnets.add(new Subnet().withSubnetId(getSubnetId(availabilityZoneIndex, subnetIndex))
+                    .withAvailabilityZone(AVAILABILITY_ZONE_PREFIX + availabilityZoneIndex).withAvailableIpAddressCount(100 + subnetIndex));
+            }
+        }
+
+        when(configurationHelper.getProperty(ConfigurationValue.EMR_SPOT_PRICE_SNAPSHOT_TIME_TO_LIVE_SECONDS, Integer.class))
+            .thenReturn(spotPriceSnapshotTimeToLiveSeconds);
+        when(configurationHelper.getNonNegativeBigDecimalRequiredProperty(ConfigurationValue.EMR_CLUSTER_LOWEST_CORE_INSTANCE_PRICE_PERCENTAGE))
+            .thenReturn(new BigDecimal((String) ConfigurationValue.EMR_CLUSTER_LOWEST_CORE_INSTANCE_PRICE_PERCENTAGE.getDefaultValue()));
+        when(herdStringHelper.getDelimitedConfigurationValue(ConfigurationValue.EMR_SPOT_PRICE_HISTORY_PRODUCT_DESCRIPTIONS)).thenReturn(new ArrayList<>());
+
+        // The pricing algorithm removes subnets from the returned list, so return a new list for every call.
+        when(ec2Dao.getSubnets(Collections.emptySet(), awsParamsDto)).thenAnswer(invocation -> new ArrayList<>(subnets));
+        when(ec2Dao.getAvailabilityZonesForSubnetIds(any(), eq(awsParamsDto))).thenReturn(availabilityZones);
+        when(ec2Dao.getLatestSpotPrices(anyString(), any(), any(), eq(awsParamsDto))).thenAnswer(invocation -> {
+            String availabilityZone = invocation.getArgument(0);
+            int availabilityZoneIndex = Integer.parseInt(availabilityZone.substring(AVAILABILITY_ZONE_PREFIX.length()));
+            BigDecimal coreSpotPrice = availabilityZoneIndex == availabilityZoneCount - 1 ? BEST_CORE_SPOT_PRICE :
+                new BigDecimal("0.50").add(new BigDecimal("0.01").multiply(new BigDecimal(availabilityZoneIndex)));
+            Collection<String> instanceTypes = invocation.getArgument(1);
+            return instanceTypes.stream().map(instanceType -> new SpotPrice().withAvailabilityZone(availabilityZone).withInstanceType(instanceType)
+                .withSpotPrice(CORE_INSTANCE_TYPE.equals(instanceType) ? coreSpotPrice.toString() : "0.20")).collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Creates a new EMR cluster definition that searches for the best spot price, updates it with best price algorithm, and returns the definition.
+     *
+     * @return the updated EMR cluster definition
+     */
+    private EmrClusterDefinition updateEmrClusterDefinitionWithBestPrice()
+    {
+        MasterInstanceDefinition masterInstanceDefinition = new MasterInstanceDefinition();
+        masterInstanceDefinition.setInstanceCount(1);
+        masterInstanceDefinition.setInstanceType(MASTER_INSTANCE_TYPE);
+        masterInstanceDefinition.setInstanceMaxSearchPrice(MAX_SEARCH_PRICE);
+
+        InstanceDefinition coreInstanceDefinition = new InstanceDefinition();
+        coreInstanceDefinition.setInstanceCount(2);
+        coreInstanceDefinition.setInstanceType(CORE_INSTANCE_TYPE);
+        coreInstanceDefinition.setInstanceMaxSearchPrice(MAX_SEARCH_PRICE);
+
+        InstanceDefinitions instanceDefinitions = new InstanceDefinitions();
+        instanceDefinitions.setMasterInstances(masterInstanceDefinition);
+        instanceDefinitions.setCoreInstances(coreInstanceDefinition);
+
+        EmrClusterDefinition emrClusterDefinition = new EmrClusterDefinition();
+        emrClusterDefinition.setInstanceDefinitions(instanceDefinitions);
+
+        emrPricingHelper.updateEmrClusterDefinitionWithBestPrice(new EmrClusterAlternateKeyDto(), emrClusterDefinition, awsParamsDto);
+
+        return emrClusterDefinition;
+    }
+}
@@ -19,12 +19,16 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -123,33 +127,89 @@ public class TagDaoHelperTest extends AbstractDaoTest
     @Test
     public void testGetTagChildrenEntities()
     {
-        // Create a tag type entity
-        TagTypeEntity tagTypeEntity = new TagTypeEntity();
-        tagTypeEntity.setCode(TAG_TYPE_CODE);
+        // Create a tag hierarchy with a root tag, two children tags and a grand child tag.
+        List<TagEntity> tagEntities = createTagHierarchy();
+        TagEntity rootTagEntity = tagEntities.get(0);
 
-        // Create a tag entity
-        TagEntity tagEntity = new TagEntity();
-        tagEntity.setTagType(tagTypeEntity);
-        tagEntity.setTagCode(TAG_CODE);
-        tagEntity.setDisplayName(TAG_DISPLAY_NAME);
+        // Setup when clauses
+        when(configurationHelper.getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class)).thenReturn(10);
+        when(configurationHelper.getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(0);
+        when(tagDao.getChildrenTags(Lists.newArrayList(rootTagEntity))).thenReturn(Lists.newArrayList(tagEntities.get(2), tagEntities.get(1)));
+        when(tagDao.getChildrenTags(Lists.newArrayList(tagEntities.get(2), tagEntities.get(1)))).thenReturn(Lists.newArrayList(tagEntities.get(3)));
+        when(tagDao.getChildrenTags(Lists.newArrayList(tagEntities.get(3)))).thenReturn(new ArrayList<>());
+
+        // Call the method under test
+        List<TagEntity> result = tagDaoHelper.getTagChildrenEntities(rootTagEntity);
 
-        // Create a parent tag entities array list
-        List<TagEntity> parentTagEntities = new ArrayList<>();
-        parentTagEntities.add(tagEntity);
+        // Confirm the result value. Each level of the hierarchy is ordered by display name.
+        assertThat("Result not equal to expected tag children entities list.", result,
+            is(equalTo(Lists.newArrayList(tagEntities.get(2), tagEntities.get(1), tagEntities.get(3)))));
+
+        // Setup verify clauses. Without the tag hierarchy cache, only the subtree of the parent tag is loaded one nesting level at a time.
+        verify(configurationHelper).getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class);
+        verify(tagDao).getChildrenTags(Lists.newArrayList(rootTagEntity));
+        verify(tagDao).getChildrenTags(Lists.newArrayList(tagEntities.get(2), tagEntities.get(1)));
+        verify(tagDao).getChildrenTags(Lists.newArrayList(tagEntities.get(3)));
+        verifyNoMoreInteractions(configurationHelper, tagDao);
+    }
+
+    @Test
+    public void testGetTagChildrenEntitiesMaxAllowedTagNesting()
+    {
+        // Create a tag hierarchy with a root tag, two children tags and a grand child tag.
+        List<TagEntity> tagEntities = createTagHierarchy();
+        TagEntity rootTagEntity = tagEntities.get(0);
 
         // Setup when clauses
         when(configurationHelper.getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class)).thenReturn(1);
-        when(tagDao.getChildrenTags(parentTagEntities)).thenReturn(parentTagEntities);
+        when(configurationHelper.getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(300);
+        when(tagDao.getChildrenTagsWithParentTagIds(rootTagEntity.getTagType())).thenReturn(getChildrenTagsWithParentTagIds(tagEntities));
 
         // Call the method under test
-        List<TagEntity> result = tagDaoHelper.getTagChildrenEntities(tagEntity);
+        List<TagEntity> result = tagDaoHelper.getTagChildrenEntities(rootTagEntity);
 
-        // Confirm the result value
-        assertThat("Result not equal to parent tag entities list.", result, is(equalTo(parentTagEntities)));
+        // Confirm that only the immediate children are returned.
+        assertThat("Result not equal to expected tag children entities list.", result,
+            is(equalTo(Lists.newArrayList(tagEntities.get(2), tagEntities.get(1)))));
 
         // Setup verify clauses
         verify(configurationHelper).getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class);
-        verify(tagDao).getChildrenTags(parentTagEntities);
+        verify(configurationHelper).getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class);
+        verify(tagDao).getChildrenTagsWithParentTagIds(rootTagEntity.getTagType());
+        verifyNoMoreInteractions(configurationHelper, tagDao);
+    }
+
+    @Test
+    public void testGetTagChildrenEntitiesTagHierarchyCache()
+    {
+        // Create a tag hierarchy with a root tag, two children tags and a grand child tag.
+        List<TagEntity> tagEntities = createTagHierarchy();
+        TagEntity rootTagEntity = tagEntities.get(0);
+        List<TagEntity> expectedTagChildrenEntities = Lists.newArrayList(tagEntities.get(2), tagEntities.get(1), tagEntities.get(3));
+
+        // Setup when clauses
+        when(configurationHelper.getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class)).thenReturn(10);
+        when(configurationHelper.getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(300);
+        when(tagDao.getChildrenTagsWithParentTagIds(rootTagEntity.getTagType())).thenReturn(getChildrenTagsWithParentTagIds(tagEntities));
+        when(tagDao.getTagsByIds(Lists.newArrayList(3L, 2L, 4L))).thenReturn(Lists.newArrayList(tagEntities.get(1), tagEntities.get(2), tagEntities.get(3)));
+
+        // Call the method under test twice. The second call is served from the tag hierarchy cache.
+        assertThat("Result not equal to expected tag children entities list.", tagDaoHelper.getTagChildrenEntities(rootTagEntity),
+            is(equalTo(expectedTagChildrenEntities)));
+        assertThat("Result not equal to expected tag children entities list.", tagDaoHelper.getTagChildrenEntities(rootTagEntity),
+            is(equalTo(expectedTagChildrenEntities)));
+
+        // Clear the tag hierarchy cache and call the method under test again.
+        tagDaoHelper.clearTagHierarchyCache();
+        assertThat("Result not equal to expected tag children entities list.", tagDaoHelper.getTagChildrenEntities(rootTagEntity),
+            is(equalTo(expectedTagChildrenEntities)));
+
+        // Setup verify clauses
+        verify(configurationHelper, times(3)).getProperty(ConfigurationValue.MAX_ALLOWED_TAG_NESTING, Integer.class);
+        verify(configurationHelper, times(3)).getProperty(ConfigurationValue.TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS, Integer.class);
+        verify(tagDao, times(2)).getChildrenTagsWithParentTagIds(rootTagEntity.getTagType());
+        verify(tagDao).getTagsByIds(Lists.newArrayList(3L, 2L, 4L));
         verifyNoMoreInteractions(configurationHelper, tagDao);
     }
 
@@ -354,4 +414,60 @@ public class TagDaoHelperTest extends AbstractDaoTest
                 is(equalTo("Tag type code in parent tag key must match the tag type code in the request.")));
         }
     }
+
+    /**
+     * Creates a tag hierarchy with a root tag (id 1), two children tags of the root tag (id 2 and id 3, with display names in reverse order), and a grand child
+     * tag (id 4) under the first child tag.
+     *
+     * @return the list of the root tag, the children tags and the grand child tag entities
+     */
+    private List<TagEntity> createTagHierarchy()
+    {
+        TagTypeEntity tagTypeEntity = new TagTypeEntity();
+        tagTypeEntity.setCode(TAG_TYPE_CODE);
+
+        List<TagEntity> tagEntities = new ArrayList<>();
+        tagEntities.add(createTagEntity(tagTypeEntity, 1L, TAG_CODE, TAG_DISPLAY_NAME, null));
+        tagEntities.add(createTagEntity(tagTypeEntity, 2L, TAG_CODE_2, TAG_DISPLAY_NAME_4, tagEntities.get(0)));
+        tagEntities.add(createTagEntity(tagTypeEntity, 3L, TAG_CODE_3, TAG_DISPLAY_NAME_3, tagEntities.get(0)));
+        tagEntities.add(createTagEntity(tagTypeEntity, 4L, TAG_CODE_4, TAG_DISPLAY_NAME_5, tagEntities.get(1)));
+        return tagEntities;
+    }
+
+    /**
+     * Creates a tag entity.
+     *
+     * @param tagTypeEntity the tag type entity
+     * @param id the tag id
+     * @param tagCode the tag code
+     * @param displayName the tag display name
+     * @param parentTagEntity the parent tag entity, may be null
+     *
+     * @return the tag entity
+     */
+    private TagEntity createTagEntity(TagTypeEntity tagTypeEntity, Long id, String tagCode, String displayName, TagEntity parentTagEntity)
+    {
+        TagEntity tagEntity = new TagEntity();
+        tagEntity.setId(id);
+        tagEntity.setTagType(tagTypeEntity);
+        tagEntity.setTagCode(tagCode);
+        tagEntity.setDisplayName(displayName);
+        tagEntity.setParentTagEntity(parentTagEntity);
+        return tagEntity;
+    }
+
+    /**
+     * Builds the children tags of the specified tag hierarchy along with their parent tag ids ordered by display name as returned by the tag DAO.
+     *
+     * @param tagEntities the tag entities of the hierarchy
+     *
+     * @return the map of children tag entities to their parent tag ids
+     */
+    private Map<TagEntity, Long> getChildrenTagsWithParentTagIds(List<TagEntity> tagEntities)
+    {
+        Map<TagEntity, Long> childrenTagsWithParentTagIds = new LinkedHashMap<>();
+        tagEntities.stream().filter(tagEntity -> tagEntity.getParentTagEntity() != null).sorted(Comparator.comparing(TagEntity::getDisplayName))
+            .forEach(tagEntity -> childrenTagsWithParentTagIds.put(tagEntity, tagEntity.getParentTagEntity().getId()));
+        return childrenTagsWithParentTagIds;
+    }
 }
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -37,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduce;
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduceClient;
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduceClientBuilder;
@@ -73,6 +75,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskExecutor;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.AbstractDaoTest;
@@ -138,12 +141,21 @@ public class EmrDaoImplTest extends AbstractDaoTest
     @Mock
     private JsonHelper jsonHelper;
 
+    @Mock
+    private TaskExecutor taskExecutor;
+
     @Captor
     private ArgumentCaptor<AmazonElasticMapReduceClient> amazonElasticMapReduceClientArgumentCaptor;
 
     @Captor
     private ArgumentCaptor<RunJobFlowRequest> runJobFlowRequestArgumentCaptor;
 
+    @Captor
+    private ArgumentCaptor<EmrClusterCacheTimestamps> emrClusterCacheTimestampsArgumentCaptor;
+
+    @Captor
+    private ArgumentCaptor<Runnable> runnableArgumentCaptor;
+
     @Before
     public void before()
     {
@@ -485,6 +497,8 @@ public class EmrDaoImplTest extends AbstractDaoTest
         when(configurationHelper.getProperty(ConfigurationValue.EMR_VALID_STATES)).thenReturn(ConfigurationValue.EMR_VALID_STATES.getDefaultValue().toString());
         when(configurationHelper.getProperty(ConfigurationValue.FIELD_DATA_DELIMITER))
             .thenReturn((String) ConfigurationValue.FIELD_DATA_DELIMITER.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS.getDefaultValue());
         when(awsClientFactory.getEmrClient(awsParamsDto)).thenReturn(amazonElasticMapReduceClient);
         when(emrOperations.listEmrClusters(any(AmazonElasticMapReduceClient.class), any(ListClustersRequest.class))).thenReturn(listClusterResult);
 
@@ -512,6 +526,7 @@ public class EmrDaoImplTest extends AbstractDaoTest
         {
             verify(configurationHelper).getProperty(ConfigurationValue.FIELD_DATA_DELIMITER);
             verify(configurationHelper).getProperty(ConfigurationValue.EMR_VALID_STATES);
+            verify(configurationHelper).getProperty(ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS, Integer.class);
             verify(awsClientFactory).getEmrClient(awsParamsDto);
         }
 
@@ -521,6 +536,124 @@ public class EmrDaoImplTest extends AbstractDaoTest
         assertEquals(clusterSummary, result);
     }
 
+    @Test
+    public void testGetActiveEmrClusterByNameAndAccountIdWhenClusterNameIsInCacheSchedulesBackgroundRefresh()
+    {
+        // Create an AWS parameters DTO.
+        AwsParamsDto awsParamsDto =
+            new AwsParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST, HTTP_PROXY_PORT,
+                AWS_REGION_NAME_US_EAST_1);
+
+        // Create a mock AmazonElasticMapReduceClient.
+        AmazonElasticMapReduceClient amazonElasticMapReduceClient = mock(AmazonElasticMapReduceClient.class);
+
+        // Create a cluster with a valid state.
+        Cluster cluster = new Cluster().withStatus(new ClusterStatus().withState(EMR_VALID_STATE));
+
+        // Create an EMR cluster cache timestamps dto with a delta update that is older than the background refresh interval.
+        LocalDateTime lastFullReload = LocalDateTime.now().minusMinutes(5);
+        LocalDateTime lastDeltaUpdate = LocalDateTime.now().minusMinutes(2);
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps = new EmrClusterCacheTimestamps(lastFullReload, lastDeltaUpdate);
+
+        // Build the EMR cluster cache with the cluster.
+        Map<EmrClusterCacheKey, String> emrClusterCache = new ConcurrentHashMap<>();
+        emrClusterCache.put(new EmrClusterCacheKey(EMR_CLUSTER_NAME.toUpperCase(), AWS_ACCOUNT_ID), EMR_CLUSTER_ID);
+
+        // Create a list cluster result with a cluster that was created after the last delta update.
+        ListClustersResult listClusterResult = new ListClustersResult().withClusters(new ClusterSummary().withName(EMR_CLUSTER_NAME_2).withId(EMR_CLUSTER_ID_2));
+
+        // Mock the external calls.
+        when(emrClusterCacheMap.get(AWS_ACCOUNT_ID)).thenReturn(emrClusterCache);
+        when(emrClusterCacheTimestampsMap.get(AWS_ACCOUNT_ID)).thenReturn(emrClusterCacheTimestamps);
+        when(emrOperations.describeClusterRequest(eq(amazonElasticMapReduceClient), any(DescribeClusterRequest.class)))
+            .thenReturn(new DescribeClusterResult().withCluster(cluster));
+        when(configurationHelper.getProperty(ConfigurationValue.EMR_VALID_STATES)).thenReturn(EMR_VALID_STATE);
+        when(configurationHelper.getProperty(ConfigurationValue.FIELD_DATA_DELIMITER))
+            .thenReturn((String) ConfigurationValue.FIELD_DATA_DELIMITER.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS, Integer.class)).thenReturn(60);
+        when(awsClientFactory.getEmrClient(awsParamsDto)).thenReturn(amazonElasticMapReduceClient);
+        when(emrOperations.listEmrClusters(any(AmazonElasticMapReduceClient.class), any(ListClustersRequest.class))).thenReturn(listClusterResult);
+
+        // Call the method under test.
+        ClusterSummary result = emrDaoImpl.getActiveEmrClusterByNameAndAccountId(EMR_CLUSTER_NAME, AWS_ACCOUNT_ID, awsParamsDto);
+
+        // Validate that the cluster is returned from the cache and that a background refresh got scheduled.
+        assertEquals(new ClusterSummary().withId(EMR_CLUSTER_ID).withName(EMR_CLUSTER_NAME).withStatus(cluster.getStatus()), result);
+        verify(taskExecutor).execute(runnableArgumentCaptor.capture());
+
+        // Run the background refresh.
+        runnableArgumentCaptor.getValue().run();
+
+        // Verify the external calls.
+        verify(emrOperations).describeClusterRequest(amazonElasticMapReduceClient, new DescribeClusterRequest().withClusterId(EMR_CLUSTER_ID));
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.EMR_VALID_STATES);
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.FIELD_DATA_DELIMITER);
+        verify(configurationHelper).getProperty(ConfigurationValue.EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS, Integer.class);
+        verify(awsClientFactory, times(2)).getEmrClient(awsParamsDto);
+        verify(emrOperations).listEmrClusters(amazonElasticMapReduceClient, new ListClustersRequest().withClusterStates(EMR_VALID_STATE)
+            .withCreatedAfter(Date.from(lastDeltaUpdate.minusMinutes(1).atZone(ZoneId.systemDefault()).toInstant())));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that the delta refresh added the new cluster to the cache without evicting the existing one.
+        assertEquals(EMR_CLUSTER_ID, emrClusterCache.get(new EmrClusterCacheKey(EMR_CLUSTER_NAME.toUpperCase(), AWS_ACCOUNT_ID)));
+        assertEquals(EMR_CLUSTER_ID_2, emrClusterCache.get(new EmrClusterCacheKey(EMR_CLUSTER_NAME_2.toUpperCase(), AWS_ACCOUNT_ID)));
+        // Validate that the timestamps got replaced by a new DTO with the same last full reload and a newer last delta update.
+        verify(emrClusterCacheTimestampsMap).put(eq(AWS_ACCOUNT_ID), emrClusterCacheTimestampsArgumentCaptor.capture());
+        EmrClusterCacheTimestamps updatedEmrClusterCacheTimestamps = emrClusterCacheTimestampsArgumentCaptor.getValue();
+        assertEquals(lastFullReload, updatedEmrClusterCacheTimestamps.getLastFullReload());
+        assertTrue(updatedEmrClusterCacheTimestamps.getLastDeltaUpdate().isAfter(lastDeltaUpdate));
+
+        // Validate that the previous timestamps DTO was not modified.
+        assertEquals(new EmrClusterCacheTimestamps(lastFullReload, lastDeltaUpdate), emrClusterCacheTimestamps);
+    }
+
+    @Test
+    public void testGetActiveEmrClusterByNameWhenListClustersFails()
+    {
+        // Create an AWS parameters DTO.
+        AwsParamsDto awsParamsDto =
+            new AwsParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST, HTTP_PROXY_PORT,
+                AWS_REGION_NAME_US_EAST_1);
+
+        // Create a mock AmazonElasticMapReduceClient.
+        AmazonElasticMapReduceClient amazonElasticMapReduceClient = mock(AmazonElasticMapReduceClient.class);
+
+        // Create a cluster summary.
+        ClusterSummary clusterSummary = new ClusterSummary().withName(EMR_CLUSTER_NAME).withId(EMR_CLUSTER_ID);
+
+        // Mock the external calls. The first list clusters call fails and the second one succeeds.
+        when(configurationHelper.getProperty(ConfigurationValue.EMR_VALID_STATES)).thenReturn(EMR_VALID_STATE);
+        when(configurationHelper.getProperty(ConfigurationValue.FIELD_DATA_DELIMITER))
+            .thenReturn((String) ConfigurationValue.FIELD_DATA_DELIMITER.getDefaultValue());
+        when(awsClientFactory.getEmrClient(awsParamsDto)).thenReturn(amazonElasticMapReduceClient);
+        when(emrOperations.listEmrClusters(eq(amazonElasticMapReduceClient), any(ListClustersRequest.class))).thenThrow(new AmazonServiceException(ERROR_MESSAGE))
+            .thenReturn(new ListClustersResult().withClusters(clusterSummary));
+
+        // Try to call the method under test.
+        try
+        {
+            emrDaoImpl.getActiveEmrClusterByNameAndAccountId(EMR_CLUSTER_NAME, null, awsParamsDto);
+            fail();
+        }
+        catch (AmazonServiceException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getErrorMessage());
+        }
+
+        // Call the method under test again. The failed refresh must not be left in progress.
+        ClusterSummary result = emrDaoImpl.getActiveEmrClusterByNameAndAccountId(EMR_CLUSTER_NAME, null, awsParamsDto);
+
+        // Verify the external calls.
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.EMR_VALID_STATES);
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.FIELD_DATA_DELIMITER);
+        verify(awsClientFactory, times(2)).getEmrClient(awsParamsDto);
+        verify(emrOperations, times(2)).listEmrClusters(eq(amazonElasticMapReduceClient), any(ListClustersRequest.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(clusterSummary, result);
+    }
+
     @Test
     public void testGetConfigurations()
     {
@@ -1083,6 +1216,6 @@ public class EmrDaoImplTest extends AbstractDaoTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(awsClientFactory, configurationHelper, ec2Dao, emrHelper, emrOperations, herdStringHelper, jsonHelper);
+        verifyNoMoreInteractions(awsClientFactory, configurationHelper, ec2Dao, emrHelper, emrOperations, herdStringHelper, jsonHelper, taskExecutor);
     }
 }
@@ -30,11 +30,14 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
@@ -68,6 +71,7 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
@@ -76,6 +80,7 @@ import com.amazonaws.services.s3.transfer.internal.CopyImpl;
 import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileDownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileUploadImpl;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 import com.amazonaws.services.s3.transfer.internal.TransferMonitor;
 import com.amazonaws.services.s3.transfer.internal.UploadImpl;
 import com.amazonaws.services.s3control.AWSS3Control;
@@ -83,6 +88,10 @@ import com.amazonaws.services.s3control.model.CreateJobRequest;
 import com.amazonaws.services.s3control.model.CreateJobResult;
 import com.amazonaws.services.s3control.model.DescribeJobRequest;
 import com.amazonaws.services.s3control.model.DescribeJobResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.concurrent.BasicFuture;
@@ -432,10 +441,24 @@ public class MockS3OperationsImpl implements S3Operations
     {
         MockS3Object mockS3Object = getMockS3Object(getObjectRequest.getBucketName(), getObjectRequest.getKey());
 
+        // Like S3, return null when the ETag of the object does not match the ETag constraint.
+        if (CollectionUtils.isNotEmpty(getObjectRequest.getMatchingETagConstraints()) &&
+            !getObjectRequest.getMatchingETagConstraints().contains(mockS3Object.getObjectMetadata().getETag()))
+        {
+            return null;
+        }
+
+        // Return only the requested range of bytes, if a range is specified.
+        byte[] data = mockS3Object.getData();
+        if (getObjectRequest.getRange() != null)
+        {
+            data = Arrays.copyOfRange(data, (int) getObjectRequest.getRange()[0], (int) Math.min(getObjectRequest.getRange()[1] + 1, data.length));
+        }
+
         S3Object s3Object = new S3Object();
         s3Object.setBucketName(getObjectRequest.getBucketName());
         s3Object.setKey(getObjectRequest.getKey());
-        s3Object.setObjectContent(new ByteArrayInputStream(mockS3Object.getData()));
+        s3Object.setObjectContent(new ByteArrayInputStream(data));
         s3Object.setObjectMetadata(mockS3Object.getObjectMetadata());
 
         return s3Object;
@@ -479,7 +502,8 @@ public class MockS3OperationsImpl implements S3Operations
      * {@inheritDoc}
      * <p/>
      * If the bucket does not exist, returns a listing with an empty list. If a prefix is specified in listObjectsRequest, only keys starting with the prefix
-     * will be returned.
+     * will be returned. If a delimiter is specified in listObjectsRequest, keys that contain the delimiter after the prefix are rolled up into common
+     * prefixes.
      */
     @Override
     public ObjectListing listObjects(ListObjectsRequest listObjectsRequest, AmazonS3 s3Client)
@@ -498,13 +522,23 @@ public class MockS3OperationsImpl implements S3Operations
         ObjectListing objectListing = new ObjectListing();
         objectListing.setBucketName(bucketName);
 
+        // Keep the common prefixes sorted and unique.
+        Set<String> commonPrefixes = new TreeSet<>();
+
         MockS3Bucket mockS3Bucket = mockS3Buckets.get(bucketName);
         if (mockS3Bucket != null)
         {
             for (MockS3Object mockS3Object : mockS3Bucket.getObjects().values())
             {
                 String s3ObjectKey = mockS3Object.getKey();
-                if (listObjectsRequest.getPrefix() == null || s3ObjectKey.startsWith(listObjectsRequest.getPrefix()))
+                String prefix = listObjectsRequest.getPrefix() == null ? "" : listObjectsRequest.getPrefix();
+                String delimiter = listObjectsRequest.getDelimiter();
+                if (s3ObjectKey.startsWith(prefix) && delimiter != null && s3ObjectKey.indexOf(delimiter, prefix.length()) >= 0)
+                {
+                    // Roll up the keys that contain the delimiter after the prefix into a common prefix.
+                    commonPrefixes.add(s3ObjectKey.substring(0, s3ObjectKey.indexOf(delimiter, prefix.length()) + delimiter.length()));
+                }
+                else if (s3ObjectKey.startsWith(prefix))
                 {
                     S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
                     s3ObjectSummary.setBucketName(bucketName);
@@ -517,6 +551,8 @@ public class MockS3OperationsImpl implements S3Operations
             }
         }
 
+        objectListing.setCommonPrefixes(new ArrayList<>(commonPrefixes));
+
         return objectListing;
     }
 
@@ -633,6 +669,9 @@ public class MockS3OperationsImpl implements S3Operations
         // Update the Last-Modified header value. This value not being set causes NullPointerException in S3Dao download related unit tests.
         metadata.setLastModified(new Date());
 
+        // Set the ETag header value to the MD5 of the object data, like S3 does for the objects not uploaded using a multipart upload.
+        metadata.setHeader(Headers.ETAG, DigestUtils.md5Hex(s3ObjectData));
+
         MockS3Bucket mockS3Bucket = getOrCreateBucket(s3BucketName);
 
         MockS3Object mockS3Object = new MockS3Object();
@@ -713,6 +752,28 @@ public class MockS3OperationsImpl implements S3Operations
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation uploads the whole file referenced by the persistable upload again, since the mock S3 objects are never uploaded in parts.
+     */
+    @Override
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager)
+    {
+        JsonNode persistableUploadJson;
+        try
+        {
+            persistableUploadJson = new ObjectMapper().readTree(persistableUpload.serialize());
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        return upload(new PutObjectRequest(persistableUploadJson.get("bucketName").asText(), persistableUploadJson.get("key").asText(),
+            new File(persistableUploadJson.get("file").asText())), transferManager);
+    }
+
     @Override
     public void rollback()
     {
@@ -757,6 +818,12 @@ public class MockS3OperationsImpl implements S3Operations
         return upload;
     }
 
+    @Override
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener s3ProgressListener, TransferManager transferManager)
+    {
+        return upload(putObjectRequest, transferManager);
+    }
+
     @Override
     public MultipleFileUpload uploadDirectory(String bucketName, String virtualDirectoryKeyPrefix, File directory, boolean includeSubdirectories,
         ObjectMetadataProvider metadataProvider, TransferManager transferManager)
@@ -15,11 +15,16 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.dao.AbstractDaoTest;
@@ -32,6 +37,8 @@ public class MockSqsOperationsImpl implements SqsOperations
 {
     public static final String MOCK_SQS_QUEUE_NOT_FOUND_NAME = "mock_sqs_queue_not_found_name";
 
+    public static final String MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT = "mock_sqs_batch_entry_failure_message_text";
+
     @Override
     public SendMessageResult sendMessage(String queueName, String messageText, Map<String, MessageAttributeValue> messageAttributes, AmazonSQS amazonSQS)
     {
@@ -52,4 +59,31 @@ public class MockSqsOperationsImpl implements SqsOperations
         // Nothing else to do in the normal case since our unit tests aren't reading messages once they have been published.
         return new SendMessageResult().withMessageId(AbstractDaoTest.MESSAGE_ID);
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> entries, AmazonSQS amazonSQS)
+    {
+        // Throw an illegal state exception for a specific queue name for testing purposes.
+        if (queueName.equals(MOCK_SQS_QUEUE_NOT_FOUND_NAME))
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName));
+        }
+
+        // Report entries with a specific message text as failed for testing purposes and all other entries as successful.
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : entries)
+        {
+            if (MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT.equals(entry.getMessageBody()))
+            {
+                sendMessageBatchResult.getFailed()
+                    .add(new BatchResultErrorEntry().withId(entry.getId()).withCode("InternalError").withMessage("test batch entry failure").withSenderFault(false));
+            }
+            else
+            {
+                sendMessageBatchResult.getSuccessful().add(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId(AbstractDaoTest.MESSAGE_ID));
+            }
+        }
+
+        return sendMessageBatchResult;
+    }
 }
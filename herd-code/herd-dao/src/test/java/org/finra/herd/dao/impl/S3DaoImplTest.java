@@ -18,6 +18,7 @@ package org.finra.herd.dao.impl;
 import static junit.framework.TestCase.fail;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -31,8 +32,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -44,6 +50,7 @@ import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
@@ -51,6 +58,7 @@ import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
@@ -59,6 +67,7 @@ import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.s3.model.Tag;
 import com.amazonaws.services.s3.model.Tier;
 import com.amazonaws.services.s3.model.VersionListing;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
@@ -73,6 +82,8 @@ import com.amazonaws.services.s3control.model.InternalServiceException;
 import com.amazonaws.services.s3control.model.JobDescriptor;
 import com.amazonaws.services.s3control.model.JobProgressSummary;
 import com.amazonaws.services.s3control.model.JobStatus;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.junit.Before;
@@ -81,7 +92,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.dao.AbstractDaoTest;
@@ -91,9 +105,13 @@ import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.helper.S3BatchHelper;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.BatchJobManifestDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3FileUploadJournalDto;
+import org.finra.herd.model.dto.S3FileUploadJournalEntryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -101,10 +119,14 @@ import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
  */
 public class S3DaoImplTest extends AbstractDaoTest
 {
+    private static final String MULTIPART_UPLOAD_ID = "UT_MultipartUploadId";
+
     private static final String OTHER_EXCEPTION_MESSAGE = "OtherExceptionMessage";
 
     private static final String RESTORE_ALREADY_IN_PROGRESS_EXCEPTION_MESSAGE = "RestoreAlreadyInProgress";
 
+    private static final String S3_OBJECT_ETAG = "UT_S3ObjectETag";
+
     private static final String TEST_FILE = "UT_S3DaoImplTest_Test_File";
 
     @Mock
@@ -116,6 +138,9 @@ public class S3DaoImplTest extends AbstractDaoTest
     @Mock
     private S3BatchHelper batchHelper;
 
+    @Spy
+    private AsyncTaskExecutor daoTaskExecutor = new SimpleAsyncTaskExecutor();
+
     @Mock
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -261,6 +286,109 @@ public class S3DaoImplTest extends AbstractDaoTest
         runTagObjectsTest();
     }
 
+    @Test
+    public void testTagObjectsInParallelWithRateLimit()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects with tagging parallelism and tagging rate limit specified.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setAwsRegionName(AWS_REGION_NAME_US_EAST_1);
+        s3FileTransferRequestParamsDto.setTaggingParallelism(2);
+        s3FileTransferRequestParamsDto.setTaggingMaxRequestsPerSecond(1000);
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create a list of S3 object summaries.
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+        for (String s3Key : Arrays.asList(S3_KEY + "1", S3_KEY + "2", S3_KEY + "3"))
+        {
+            S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+            s3ObjectSummary.setKey(s3Key);
+            s3ObjectSummaries.add(s3ObjectSummary);
+        }
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create mock of the s3 client used specifically for tagging
+        AmazonS3Client taggerS3client = mock(AmazonS3Client.class);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
+        when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(new ClientConfiguration());
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new GetObjectTaggingResult(null));
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test.
+        s3DaoImpl.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3ObjectSummaries, tag);
+
+        // Verify the external calls. Each S3 object is expected to be tagged exactly once.
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
+        verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(s3Operations, times(3)).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verify(s3Operations, times(3)).setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verify(s3Client).shutdown();
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that the S3 objects were tagged on a dedicated executor rather than on the shared DAO task executor.
+        verifyNoMoreInteractions(daoTaskExecutor);
+    }
+
+    @Test
+    public void testTagObjectsInChunksWithCheckpoints()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setAwsRegionName(AWS_REGION_NAME_US_EAST_1);
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create a list of S3 object summaries.
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+        for (String s3Key : Arrays.asList(S3_KEY + "1", S3_KEY + "2", S3_KEY + "3"))
+        {
+            S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+            s3ObjectSummary.setKey(s3Key);
+            s3ObjectSummaries.add(s3ObjectSummary);
+        }
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create mock of the s3 client used specifically for tagging
+        AmazonS3Client taggerS3client = mock(AmazonS3Client.class);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
+        when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(new ClientConfiguration());
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new GetObjectTaggingResult(null));
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test with two S3 objects per chunk.
+        List<String> checkpoints = new ArrayList<>();
+        s3DaoImpl.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3ObjectSummaries, tag, 2, checkpoints::add);
+
+        // Verify the external calls. The S3 clients are expected to be created only once and shared by all chunks.
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
+        verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(s3Operations, times(3)).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verify(s3Operations, times(3)).setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verify(s3Client).shutdown();
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. The checkpoint is expected to be reported after each chunk.
+        assertEquals(Arrays.asList(S3_KEY + "2", S3_KEY + "3"), checkpoints);
+    }
+
     @Test
     public void testTagObjectsNoS3ObjectSummaries()
     {
@@ -757,6 +885,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -768,6 +897,114 @@ public class S3DaoImplTest extends AbstractDaoTest
         verifyNoMoreInteractions(batchHelper, s3Operations, awsS3ClientFactory, s3Control);
     }
 
+    @Test
+    public void testDownloadStorageFilesSingleRangeWithoutHeadRequest() throws Exception
+    {
+        // Create a local directory to download a file that fits in a single range.
+        Path localTempPath = Files.createTempDirectory(null);
+        try
+        {
+            byte[] content = StringUtils.repeat('x', (int) FILE_SIZE_1_KB).getBytes(StandardCharsets.UTF_8);
+            String s3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE;
+            final S3FileTransferRequestParamsDto params =
+                S3FileTransferRequestParamsDto.builder().withS3BucketName(S3_BUCKET_NAME).withLocalPath(localTempPath.toString()).withMaxThreads(2).build();
+
+            // Mock the external calls.
+            AmazonS3Client s3Client = mock(AmazonS3Client.class);
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(content.length);
+            objectMetadata.setHeader(Headers.ETAG, DigestUtils.md5Hex(content));
+            S3Object s3Object = new S3Object();
+            s3Object.setObjectMetadata(objectMetadata);
+            s3Object.setObjectContent(new ByteArrayInputStream(content));
+            when(awsS3ClientFactory.getAmazonS3Client(params)).thenReturn(s3Client);
+            when(s3Operations.getS3Object(any(GetObjectRequest.class), eq(s3Client))).thenReturn(s3Object);
+
+            // Call the method under test.
+            S3FileTransferResultsDto results =
+                s3DaoImpl.downloadStorageFiles(params, Collections.singletonList(new StorageFile(s3Key, FILE_SIZE_1_KB, null)));
+
+            // Verify the external calls. The file gets downloaded by a single GET request without a range and without a HEAD request.
+            ArgumentCaptor<GetObjectRequest> getObjectRequestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+            verify(awsS3ClientFactory).getAmazonS3Client(params);
+            verify(s3Operations).getS3Object(getObjectRequestCaptor.capture(), eq(s3Client));
+            verifyNoMoreInteractions(awsS3ClientFactory, s3Operations);
+            assertEquals(s3Key, getObjectRequestCaptor.getValue().getKey());
+            assertNull(getObjectRequestCaptor.getValue().getRange());
+            assertTrue(getObjectRequestCaptor.getValue().getMatchingETagConstraints().isEmpty());
+
+            // Validate the results and the downloaded file.
+            assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+            assertEquals(Long.valueOf(FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+            assertTrue(Arrays.equals(content, Files.readAllBytes(localTempPath.resolve(s3Key))));
+            assertEquals(1, FileUtils.listFiles(localTempPath.toFile(), null, true).size());
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(localTempPath.toFile());
+        }
+    }
+
+    @Test
+    public void testUploadFileListResumableResumeMultipartUpload() throws Exception
+    {
+        // Create a local file along with an upload journal that records an initiated multipart upload for this file.
+        Path localTempPath = Files.createTempDirectory(null);
+        try
+        {
+            File file = AbstractDaoTest.createLocalFile(localTempPath.toString(), LOCAL_FILE, FILE_SIZE_1_KB);
+            File uploadJournalFile = AbstractDaoTest.createLocalFile(localTempPath.toString(), "upload-journal.json", 0);
+            String s3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE;
+            PersistableUpload persistableUpload = new PersistableUpload(S3_BUCKET_NAME, s3Key, file.getPath(), MULTIPART_UPLOAD_ID, 5L, 5L);
+            S3FileUploadJournalDto uploadJournal = new S3FileUploadJournalDto(S3_BUCKET_NAME, S3_KEY_PREFIX + "/", new ArrayList<>(Collections
+                .singletonList(new S3FileUploadJournalEntryDto(s3Key, file.length(), file.lastModified(), null, persistableUpload.serialize()))));
+
+            final S3FileTransferRequestParamsDto params =
+                S3FileTransferRequestParamsDto.builder().withS3BucketName(S3_BUCKET_NAME).withS3KeyPrefix(S3_KEY_PREFIX + "/")
+                    .withLocalPath(localTempPath.toString()).withFiles(Collections.singletonList(file)).withFileParallelism(4)
+                    .withUploadJournalPath(uploadJournalFile.getPath()).build();
+
+            // Mock the external calls.
+            TransferManager transferManager = mock(TransferManager.class);
+            Upload upload = mock(Upload.class);
+            TransferProgress transferProgress = new TransferProgress();
+            transferProgress.updateProgress(FILE_SIZE_1_KB);
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(FILE_SIZE_1_KB);
+            objectMetadata.setHeader(Headers.ETAG, S3_OBJECT_ETAG);
+            when(jsonHelper.unmarshallJsonToObject(S3FileUploadJournalDto.class, "")).thenReturn(uploadJournal);
+            when(jsonHelper.objectToJson(uploadJournal)).thenReturn(STRING_VALUE);
+            when(awsS3ClientFactory.getTransferManager(params)).thenReturn(transferManager);
+            when(s3Operations.resumeUpload(any(PersistableUpload.class), eq(transferManager))).thenReturn(upload);
+            when(upload.getProgress()).thenReturn(transferProgress);
+            when(upload.isDone()).thenReturn(true);
+            when(upload.getState()).thenReturn(Transfer.TransferState.Completed);
+            when(transferManager.getAmazonS3Client()).thenReturn(s3Client);
+            when(s3Operations.getObjectMetadata(S3_BUCKET_NAME, s3Key, s3Client)).thenReturn(objectMetadata);
+
+            // Call the method under test.
+            S3FileTransferResultsDto results = s3DaoImpl.uploadFileListResumable(params);
+
+            // Verify the external calls.
+            verify(awsS3ClientFactory).getTransferManager(params);
+            verify(s3Operations).resumeUpload(any(PersistableUpload.class), eq(transferManager));
+            verify(s3Operations).getObjectMetadata(S3_BUCKET_NAME, s3Key, s3Client);
+            verify(awsS3ClientFactory).releaseTransferManager(transferManager);
+            verifyNoMoreInteractions(awsS3ClientFactory, s3Operations);
+
+            // Validate the results and the journal entry of the completed file.
+            assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+            assertEquals(Long.valueOf(FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+            assertEquals(S3_OBJECT_ETAG, uploadJournal.getFiles().get(0).getETag());
+            assertNull(uploadJournal.getFiles().get(0).getPersistableUpload());
+            assertEquals(STRING_VALUE, new String(Files.readAllBytes(uploadJournalFile.toPath()), StandardCharsets.UTF_8));
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(localTempPath.toFile());
+        }
+    }
+
     @Test
     public void testBatchRestoreObjectsCompleteWithFailedTasks()
     {
@@ -830,6 +1067,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -894,6 +1132,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -964,6 +1203,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -1033,6 +1273,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -1103,6 +1344,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -1172,6 +1414,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -1241,6 +1484,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyManifest(any(), eq(S3_BUCKET_NAME), eq(params.getFiles()), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreateRestoreJobRequest(eq(manifest), any(), eq(S3_RESTORE_OBJECT_EXPIRATION_IN_DAYS), eq(ARCHIVE_RETRIEVAL_OPTION),
             eq(jobConfig));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
@@ -1313,6 +1557,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1393,6 +1638,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1464,6 +1710,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper, times(2)).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1540,6 +1787,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1616,6 +1864,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper, times(2)).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1693,6 +1942,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper, times(2)).generateDescribeJobRequest(any(), eq(jobConfig));
@@ -1774,6 +2024,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(batchHelper).createCSVBucketKeyVersionManifest(any(), eq(S3_BUCKET_NAME), eq(s3Versions), eq(jobConfig));
         verify(s3Operations).upload(any(), any());
         verify(awsS3ClientFactory).getTransferManager(eq(params));
+        verify(awsS3ClientFactory).releaseTransferManager(any(TransferManager.class));
         verify(batchHelper).generateCreatePutObjectTaggingJobRequest(eq(manifest), any(), eq(jobConfig), eq(tag));
         verify(s3Operations).createBatchJob(eq(createJobRequest), eq(s3Control));
         verify(batchHelper, times(5)).generateDescribeJobRequest(any(), eq(jobConfig));
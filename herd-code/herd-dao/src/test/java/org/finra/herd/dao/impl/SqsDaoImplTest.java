@@ -0,0 +1,253 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.HerdThreadHelper;
+import org.finra.herd.dao.AbstractDaoTest;
+import org.finra.herd.dao.AwsClientFactory;
+import org.finra.herd.dao.SqsDao;
+import org.finra.herd.dao.SqsOperations;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests functionality within the SQS DAO implementation.
+ */
+public class SqsDaoImplTest extends AbstractDaoTest
+{
+    @Mock
+    private AwsClientFactory awsClientFactory;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Spy
+    private AsyncTaskExecutor daoTaskExecutor = new SimpleAsyncTaskExecutor();
+
+    @Mock
+    private HerdThreadHelper herdThreadHelper;
+
+    @Spy
+    private MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Mock
+    private SqsOperations sqsOperations;
+
+    @InjectMocks
+    private SqsDaoImpl sqsDaoImpl;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testSendMessageBatchRetryFailedEntries()
+    {
+        // Create AWS parameters DTO and a mock AWS SQS client.
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+        AmazonSQS amazonSQS = mock(AmazonSQS.class);
+
+        // Create the batch request entries expected to be sent by the first and the second attempts.
+        List<SendMessageBatchRequestEntry> entries = Arrays.asList(new SendMessageBatchRequestEntry().withId("0").withMessageBody(MESSAGE_TEXT),
+            new SendMessageBatchRequestEntry().withId("1").withMessageBody(MESSAGE_TEXT),
+            new SendMessageBatchRequestEntry().withId("2").withMessageBody(MESSAGE_TEXT));
+        List<SendMessageBatchRequestEntry> retryEntries = Collections.singletonList(entries.get(1));
+
+        // Create the batch request entry failures. Only the failure that is not a sender fault is expected to be retried.
+        BatchResultErrorEntry retryableFailedEntry =
+            new BatchResultErrorEntry().withId("1").withCode("InternalError").withMessage(ERROR_MESSAGE).withSenderFault(false);
+        BatchResultErrorEntry senderFaultFailedEntry =
+            new BatchResultErrorEntry().withId("2").withCode("InvalidMessageContents").withMessage(ERROR_MESSAGE).withSenderFault(true);
+
+        // Mock the external calls.
+        when(awsClientFactory.getAmazonSQSClient(awsParamsDto)).thenReturn(amazonSQS);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class)).thenReturn(100);
+        when(sqsOperations.sendMessageBatch(AWS_SQS_QUEUE_NAME, entries, amazonSQS)).thenReturn(
+            new SendMessageBatchResult().withSuccessful(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID))
+                .withFailed(retryableFailedEntry, senderFaultFailedEntry));
+        when(sqsOperations.sendMessageBatch(AWS_SQS_QUEUE_NAME, retryEntries, amazonSQS))
+            .thenReturn(new SendMessageBatchResult().withSuccessful(new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)));
+
+        // Call the method under test.
+        SendMessageBatchResult result =
+            sqsDaoImpl.sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Arrays.asList(MESSAGE_TEXT, MESSAGE_TEXT, MESSAGE_TEXT), null);
+
+        // Verify the external calls.
+        verify(awsClientFactory).getAmazonSQSClient(awsParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class);
+        verify(sqsOperations).sendMessageBatch(AWS_SQS_QUEUE_NAME, entries, amazonSQS);
+        verify(sqsOperations).sendMessageBatch(AWS_SQS_QUEUE_NAME, retryEntries, amazonSQS);
+        verify(herdThreadHelper).sleep(longThat(delay -> delay >= 0 && delay <= 100));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(Arrays.asList(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID),
+            new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)), result.getSuccessful());
+        assertEquals(Collections.singletonList(senderFaultFailedEntry), result.getFailed());
+
+        // Validate the per queue metrics.
+        assertEquals(2, getCounterValue(SqsDaoImpl.MESSAGES_SENT_METRIC_NAME_SUFFIX));
+        assertEquals(1, getCounterValue(SqsDaoImpl.MESSAGES_RETRIED_METRIC_NAME_SUFFIX));
+        assertEquals(1, getCounterValue(SqsDaoImpl.MESSAGES_FAILED_METRIC_NAME_SUFFIX));
+        assertEquals(2, metricRegistry.timer(MetricRegistry.name("sqs", AWS_SQS_QUEUE_NAME, SqsDaoImpl.SEND_MESSAGE_BATCH_METRIC_NAME_SUFFIX)).getCount());
+    }
+
+    @Test
+    public void testSendMessageBatchRetryAttemptsExhausted()
+    {
+        // Create AWS parameters DTO and a mock AWS SQS client.
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+        AmazonSQS amazonSQS = mock(AmazonSQS.class);
+
+        // Create a batch request entry and a batch request entry failure that is not a sender fault.
+        List<SendMessageBatchRequestEntry> entries = Collections.singletonList(new SendMessageBatchRequestEntry().withId("0").withMessageBody(MESSAGE_TEXT));
+        BatchResultErrorEntry failedEntry = new BatchResultErrorEntry().withId("0").withCode("InternalError").withMessage(ERROR_MESSAGE).withSenderFault(false);
+
+        // Mock the external calls.
+        when(awsClientFactory.getAmazonSQSClient(awsParamsDto)).thenReturn(amazonSQS);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class)).thenReturn(100);
+        when(sqsOperations.sendMessageBatch(AWS_SQS_QUEUE_NAME, entries, amazonSQS)).thenReturn(new SendMessageBatchResult().withFailed(failedEntry));
+
+        // Call the method under test.
+        SendMessageBatchResult result = sqsDaoImpl.sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Collections.singletonList(MESSAGE_TEXT), null);
+
+        // Verify the external calls. The failed entry is expected to be resent once after a backoff delay no longer than the base delay.
+        verify(awsClientFactory).getAmazonSQSClient(awsParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class);
+        verify(sqsOperations, times(2)).sendMessageBatch(AWS_SQS_QUEUE_NAME, entries, amazonSQS);
+        verify(herdThreadHelper).sleep(longThat(delay -> delay >= 0 && delay <= 100));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(0, result.getSuccessful().size());
+        assertEquals(Collections.singletonList(failedEntry), result.getFailed());
+
+        // Validate the per queue metrics.
+        assertEquals(0, getCounterValue(SqsDaoImpl.MESSAGES_SENT_METRIC_NAME_SUFFIX));
+        assertEquals(1, getCounterValue(SqsDaoImpl.MESSAGES_RETRIED_METRIC_NAME_SUFFIX));
+        assertEquals(1, getCounterValue(SqsDaoImpl.MESSAGES_FAILED_METRIC_NAME_SUFFIX));
+    }
+
+    @Test
+    public void testSendMessageBatchConcurrentBatchRequests()
+    {
+        // Create AWS parameters DTO and a mock AWS SQS client.
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+        AmazonSQS amazonSQS = mock(AmazonSQS.class);
+
+        // Create enough messages for three batch requests.
+        int messageCount = SqsDao.MAX_BATCH_SIZE * 2 + 1;
+        List<String> messageTexts = Collections.nCopies(messageCount, MESSAGE_TEXT);
+
+        // Mock the external calls. Report all batch request entries as successful.
+        when(awsClientFactory.getAmazonSQSClient(awsParamsDto)).thenReturn(amazonSQS);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class)).thenReturn(3);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class)).thenReturn(100);
+        when(sqsOperations.sendMessageBatch(eq(AWS_SQS_QUEUE_NAME), anyList(), any(AmazonSQS.class))).thenAnswer(invocation -> {
+            List<SendMessageBatchRequestEntry> entries = invocation.getArgument(1);
+            SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+            for (SendMessageBatchRequestEntry entry : entries)
+            {
+                sendMessageBatchResult.getSuccessful().add(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId(MESSAGE_ID));
+            }
+            return sendMessageBatchResult;
+        });
+
+        // Call the method under test.
+        SendMessageBatchResult result = sqsDaoImpl.sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, messageTexts, null);
+
+        // Verify the external calls.
+        verify(awsClientFactory).getAmazonSQSClient(awsParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_PARALLELISM, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS, Integer.class);
+        verify(sqsOperations, times(3)).sendMessageBatch(eq(AWS_SQS_QUEUE_NAME), anyList(), eq(amazonSQS));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. The successful entries are expected to be listed in the original message order.
+        List<SendMessageBatchResultEntry> expectedSuccessfulEntries = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++)
+        {
+            expectedSuccessfulEntries.add(new SendMessageBatchResultEntry().withId(String.valueOf(i)).withMessageId(MESSAGE_ID));
+        }
+        assertEquals(expectedSuccessfulEntries, result.getSuccessful());
+        assertEquals(0, result.getFailed().size());
+        assertEquals(messageCount, getCounterValue(SqsDaoImpl.MESSAGES_SENT_METRIC_NAME_SUFFIX));
+    }
+
+    /**
+     * Gets the current value of the per queue counter for the test queue.
+     *
+     * @param metricNameSuffix the metric name suffix
+     *
+     * @return the counter value
+     */
+    private long getCounterValue(String metricNameSuffix)
+    {
+        return metricRegistry.counter(MetricRegistry.name("sqs", AWS_SQS_QUEUE_NAME, metricNameSuffix)).getCount();
+    }
+
+    /**
+     * Checks if any of the mocks has any interaction.
+     */
+    private void verifyNoMoreInteractionsHelper()
+    {
+        verifyNoMoreInteractions(awsClientFactory, configurationHelper, herdThreadHelper, sqsOperations);
+    }
+}
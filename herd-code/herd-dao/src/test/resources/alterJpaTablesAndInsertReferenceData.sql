@@ -34,6 +34,18 @@ DROP INDEX IF EXISTS BUS_OBJCT_FRMT_AK;
 -- Create a composite key. This is tested in a JUnit by attempting to insert 2 rows with the same format and format version.
 CREATE UNIQUE INDEX BUS_OBJCT_FRMT_AK ON BUS_OBJCT_FRMT (BUS_OBJCT_DFNTN_ID, USAGE_CD, FILE_TYPE_CD, FRMT_VRSN_NB);
 
+DROP INDEX IF EXISTS BUS_OBJCT_DATA_AK6;
+
+ALTER TABLE BUS_OBJCT_DATA DROP COLUMN IF EXISTS LTST_VLD_VRSN_PRTN_TX;
+
+-- Allow only one business object data version with the latest valid version flag set per partition. H2 does not support the partial unique index that
+-- the herd database has for this, so the index is on a computed column that is only set for the flagged business object data versions.
+ALTER TABLE BUS_OBJCT_DATA ADD COLUMN LTST_VLD_VRSN_PRTN_TX VARCHAR AS (CASE WHEN LTST_VLD_VRSN_FL = 'Y' THEN BUS_OBJCT_FRMT_ID || '|' || PRTN_VALUE_TX ||
+    '|' || COALESCE(PRTN_VALUE_2_TX, '') || '|' || COALESCE(PRTN_VALUE_3_TX, '') || '|' || COALESCE(PRTN_VALUE_4_TX, '') || '|' ||
+    COALESCE(PRTN_VALUE_5_TX, '') END);
+
+CREATE UNIQUE INDEX BUS_OBJCT_DATA_AK6 ON BUS_OBJCT_DATA (LTST_VLD_VRSN_PRTN_TX);
+
 -- TODO: Need to revisit this to see if the H2 in-memory database supports views. If so, we can un-ignore a JUnit that uses it.
 -- CREATE OR REPLACE VIEW biz_dt_file_vw AS
 -- SELECT sf.strge_file_id,
@@ -112,6 +112,12 @@ public enum ConfigurationValue
      */
     S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE("s3.attribute.name.key.prefix.velocity.template", "key.prefix.velocity.template"),
 
+    /**
+     * The storage attribute name which specifies the maximum number of S3 objects to tag concurrently when transitioning business object data stored in this
+     * storage.
+     */
+    S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM("s3.attribute.name.tag.objects.parallelism", "tag.objects.parallelism"),
+
     /**
      * The AWS region name to use when calling EMR, EC2, SNS, and SQS services. This is optional and there is no default. When AWS region is not specified using
      * this configuration option, the AWS SDK consults the default region provider chain to try and determine the region to use.
@@ -129,6 +135,29 @@ public enum ConfigurationValue
      */
     S3_ENDPOINT("s3.endpoint", null),
 
+    /**
+     * The maximum number of S3 key sub-prefixes to list concurrently when listing S3 objects matching an S3 key prefix. The default is 1, which means that S3
+     * objects get listed serially.
+     */
+    S3_LIST_OBJECTS_PARALLELISM("s3.list.objects.parallelism", 1),
+
+    /**
+     * The maximum number of S3 object tagging requests per second allowed to be sent to a single S3 bucket by this application instance. The default is 0,
+     * which means that the S3 object tagging requests are not rate limited.
+     */
+    S3_TAG_OBJECTS_MAX_REQUESTS_PER_SECOND_PER_BUCKET("s3.tag.objects.max.requests.per.second.per.bucket", 0),
+
+    /**
+     * The maximum number of S3 transfer managers shared by the S3 transfers with the same credentials and client settings. The default is 0, which means that
+     * a new transfer manager is created for every S3 transfer and shut down once the transfer is complete.
+     */
+    S3_TRANSFER_MANAGER_POOL_MAX_SIZE("s3.transfer.manager.pool.max.size", 0),
+
+    /**
+     * The time in seconds after which a pooled S3 transfer manager that is not in use gets shut down.
+     */
+    S3_TRANSFER_MANAGER_POOL_IDLE_TIMEOUT_SECONDS("s3.transfer.manager.pool.idle.timeout.seconds", 300),
+
     /**
      * The HTTP proxy hostname. This is optional and there is no default.
      */
@@ -196,6 +225,18 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The maximum number of notification messages claimed from the database queue and published as a single batch by the "jmsPublishing" system job. A value
+     * of 1 makes the system job publish notification messages one at a time, each in its own transaction. The default is 1.
+     */
+    JMS_PUBLISHING_JOB_BATCH_SIZE("jms.publishing.job.batch.size", 1),
+
+    /**
+     * The maximum number of threads used by the "jmsPublishing" system job to concurrently publish a batch of notification messages. The thread pool is
+     * created at startup, so changing this value requires a server restart. The default is 10.
+     */
+    JMS_PUBLISHING_JOB_THREAD_COUNT("jms.publishing.job.thread.count", 10),
+
     /**
      * The cron expression to schedule "relationalTableSchemaUpdate" system job.  Default is to run this system job every night at 8 AM.
      */
@@ -216,6 +257,25 @@ public enum ConfigurationValue
      */
     SAMPLE_DATA_SQS_QUEUE_NAME("sample.data.sqs.queue.name", null),
 
+    /**
+     * The maximum number of AWS SQS send message batch requests to have in flight concurrently when sending a list of messages to the same queue. The default
+     * is 1, which means that batch requests get sent serially.
+     */
+    SQS_SEND_MESSAGE_BATCH_PARALLELISM("sqs.send.message.batch.parallelism", 1),
+
+    /**
+     * The maximum number of times AWS SQS send message batch request entries that failed not due to a sender fault get resent before they are reported as
+     * failed. The default is 2.
+     */
+    SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS("sqs.send.message.batch.max.retry.attempts", 2),
+
+    /**
+     * The base delay in milliseconds before AWS SQS send message batch request entries that failed not due to a sender fault get resent. The delay doubles
+     * with each retry attempt and a random delay between zero and the doubled delay is used, so concurrent senders do not retry in lockstep. The default is
+     * 100 milliseconds.
+     */
+    SQS_SEND_MESSAGE_BATCH_RETRY_BASE_DELAY_MILLIS("sqs.send.message.batch.retry.base.delay.millis", 100),
+
     /**
      * The maximum number of business object data instances to be selected per storage policies in a single run of the storage policy selector system job. The
      * default is 1000 business object data instances.
@@ -257,6 +317,25 @@ public enum ConfigurationValue
      */
     EXPIRE_RESTORED_BDATA_JOB_MAX_BDATA_INSTANCES("expire.restored.business.object.data.job.max.business.object.data.instances", "1000"),
 
+    /**
+     * The cron expression to schedule "reconcileBusinessObjectDataLatestValidVersion" system job. The default is to run this system job every hour.
+     */
+    RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_CRON_EXPRESSION("reconcile.business.object.data.latest.valid.version.job.cron.expression", "0 30 * * * ?"),
+
+    /**
+     * The maximum number of business object data instances without a computed or with an inconsistent latest valid version flag that can get processed in a
+     * single run of this system job. The default is 1000 business object data instances.
+     */
+    RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES(
+        "reconcile.business.object.data.latest.valid.version.job.max.business.object.data.instances", "1000"),
+
+    /**
+     * The number of minutes to look back for business object data updates when the "reconcileBusinessObjectDataLatestValidVersion" system job searches for
+     * latest valid version flags left inconsistent by concurrent business object data updates. The default is 120 minutes, which covers two runs of the
+     * system job with its default schedule.
+     */
+    RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_LOOKBACK_MINUTES("reconcile.business.object.data.latest.valid.version.job.lookback.minutes", "120"),
+
     /**
      * The cron expression to schedule "cleanupLongRunningActivitiWorkflow" system job. The default is to run this system job once a day starting at 7 AM.
      */
@@ -372,11 +451,23 @@ public enum ConfigurationValue
      */
     EMR_NSCD_SCRIPT("emr.nscd.script", null),
 
+    /**
+     * The minimum number of seconds between the background refreshes of the EMR cluster cache that are scheduled when an active cluster is found in the cache.
+     * The default is 0 which disables the background refresh.
+     */
+    EMR_CLUSTER_CACHE_BACKGROUND_REFRESH_INTERVAL_SECONDS("emr.cluster.cache.background.refresh.interval.seconds", 0),
+
     /**
      * The list of product descriptions to filter by when looking up EMR spot price history.
      */
     EMR_SPOT_PRICE_HISTORY_PRODUCT_DESCRIPTIONS("emr.spot.price.history.product.descriptions", null),
 
+    /**
+     * The number of seconds the spot prices looked up by the EMR best price algorithm are reused before they are retrieved from AWS again. The spot prices are
+     * refreshed in the background once they are older than half of this value. The default is 0 which disables the spot price snapshots.
+     */
+    EMR_SPOT_PRICE_SNAPSHOT_TIME_TO_LIVE_SECONDS("emr.spot.price.snapshot.time.to.live.seconds", 0),
+
     /**
      * The threshold value in percentage when choosing an EMR cluster based on the lowest core instance price. It should be of string type so the precision can
      * be kept. The default value is 10 percent.
@@ -429,6 +520,27 @@ public enum ConfigurationValue
      */
     AVAILABILITY_DDL_MAX_PARTITION_VALUES("availability.ddl.max.partition.values", null),
 
+    /**
+     * The maximum number of partition filter chunks that get queried concurrently when selecting storage units for availability and DDL generation. Each
+     * concurrent chunk query uses its own database connection. The default is 1, which means that the chunks get queried serially.
+     */
+    AVAILABILITY_DDL_PARTITION_FILTER_QUERY_PARALLELISM("availability.ddl.partition.filter.query.parallelism", 1),
+
+    /**
+     * Specifies whether to select storage units for availability and DDL generation using a partition value "in" clause per group of partition filters that
+     * differ only by a single partition level value, instead of a separate condition per partition filter. When enabled, the partition filters are processed
+     * in chunks per the database "in" clause chunk size. The default is false.
+     */
+    AVAILABILITY_DDL_PARTITION_FILTER_IN_CLAUSES_ENABLED("availability.ddl.partition.filter.in.clauses.enabled", "false"),
+
+    /**
+     * Specifies whether to select the latest valid business object data versions for availability and DDL generation using the materialized latest valid
+     * version flag in addition to filtering business object data versions by status. The flag is used only by the queries that do not restrict business object
+     * data by storage or storage unit status. This should be enabled only after the flag got backfilled for all business object data by the
+     * "reconcileBusinessObjectDataLatestValidVersion" system job. The default is false.
+     */
+    AVAILABILITY_DDL_LATEST_VALID_VERSION_FLAG_ENABLED("availability.ddl.latest.valid.version.flag.enabled", "false"),
+
     /**
      * The chunk size to use when creating database "in" clauses. The default chunk size to use for "in" clauses is 1000. For Oracle specifically, "in" clauses
      * can't be greater than 1000 or a SQL error will be thrown.
@@ -455,6 +567,19 @@ public enum ConfigurationValue
      */
     THREAD_POOL_QUEUE_CAPACITY("thread.pool.queue.capacity", Integer.MAX_VALUE),
 
+    /**
+     * The number of threads of the thread pool shared by all DAO methods that fan out requests concurrently (e.g. the parallel S3 listing, the concurrent
+     * partition filter chunk queries and the concurrent AWS SQS batch requests). The parallel S3 object tagging uses its own threads, as many as its tagging
+     * parallelism. The thread pool is created at startup, so changing this value requires a server restart. The default is 20.
+     */
+    DAO_TASK_EXECUTOR_THREAD_COUNT("dao.task.executor.thread.count", 20),
+
+    /**
+     * The queue capacity of the thread pool shared by all DAO methods that fan out requests concurrently. When the queue is full, the tasks get executed by
+     * the calling thread. The default is 1000.
+     */
+    DAO_TASK_EXECUTOR_QUEUE_CAPACITY("dao.task.executor.queue.capacity", 1000),
+
     /**
      * The activiti thread pool core pool size.
      */
@@ -512,6 +637,18 @@ public enum ConfigurationValue
      */
     STORAGE_POLICY_PROCESSOR_BDATA_SIZE_THRESHOLD_GB("storage.policy.processor.business.object.data.size.threshold.gigabytes", 10),
 
+    /**
+     * The maximum number of S3 objects to tag concurrently by the storage policy processor, when the storage does not specify it with the storage attribute
+     * configured by "s3.attribute.name.tag.objects.parallelism". The default is 1, which means that S3 objects get tagged serially.
+     */
+    STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM("storage.policy.processor.tag.objects.parallelism", 1),
+
+    /**
+     * The number of S3 objects tagged by the storage policy processor between the storage policy transition checkpoints. After each checkpoint, a failed
+     * storage policy transition is resumed from the last tagged S3 object instead of the first one. The default is 1000.
+     */
+    STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS("storage.policy.processor.checkpoint.interval.s3.objects", 1000),
+
     /**
      * The chunk size to use when selecting storage file paths per list of storage unit ids, where storage unit ids are listed in the "in" clause. The default
      * chunk size is 100. Zero and negatives are treated as meaning no chunk size is set.
@@ -523,6 +660,13 @@ public enum ConfigurationValue
      */
     STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE("storage.file.paths.query.pagination.size", 100000),
 
+    /**
+     * The number of storage file rows to insert with a single multi-row "insert ... values" statement when registering storage files. The default is 1000
+     * rows. Values greater than 8191 are capped to stay within the bind parameter limit of a single statement. One, zero, and negatives are treated as
+     * meaning to insert storage files using single-row insert statements batched by the JDBC batch size.
+     */
+    STORAGE_FILE_INSERT_ROWS_PER_STATEMENT("storage.file.insert.rows.per.statement", 1000),
+
     /**
      * The optional Log4J override configuration name.
      */
@@ -606,11 +750,28 @@ public enum ConfigurationValue
      */
     SECURITY_HTTP_HEADER_ROLE_REGEX_GROUP("security.http.header.role.regex.group", null),
 
+    /**
+     * The maximum number of distinct role header values for which the parsed roles are cached. The default is 0 which means that role headers are parsed on
+     * every request.
+     */
+    SECURITY_HTTP_HEADER_ROLE_CACHE_MAX_SIZE("security.http.header.role.cache.max.size", 0),
+
     /**
      * Indicates whether the user namespace authorization is enabled.
      */
     USER_NAMESPACE_AUTHORIZATION_ENABLED("user.namespace.authorization.enabled", "false"),
 
+    /**
+     * The time to live in seconds of the cached namespace authorizations resolved per user. Cached entries are also evicted on this node when a user namespace
+     * authorization or a namespace is changed. The default is 0 which means that namespace authorizations are loaded from the database on every request.
+     */
+    USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS("user.namespace.authorization.cache.time.to.live.seconds", 0),
+
+    /**
+     * The maximum number of users for which the resolved namespace authorizations are cached.
+     */
+    USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_SIZE("user.namespace.authorization.cache.max.size", 10000),
+
     /**
      * Indicates whether the namespace IAM role authorization is enabled
      */
@@ -737,11 +898,22 @@ public enum ConfigurationValue
      */
     BUSINESS_OBJECT_DATA_SEARCH_QUERY_PAGINATION_SIZE("business.object.data.search.query.pagination.size", 100000),
 
+    /**
+     * The number of storage units processed at a time when business object data DDL is streamed. The generated DDL is written out after each page.
+     */
+    BUSINESS_OBJECT_DATA_DDL_STREAMING_PAGE_SIZE("business.object.data.ddl.streaming.page.size", 1_000),
+
     /**
      * The maximum number of nested tags allowed
      */
     MAX_ALLOWED_TAG_NESTING("tag.max.nesting", 10),
 
+    /**
+     * The number of seconds the tag hierarchy expanded for a tag is cached in memory. The cache is cleared on every tag create, update or delete. The default
+     * is 0 which disables the cache.
+     */
+    TAG_HIERARCHY_CACHE_TIME_TO_LIVE_SECONDS("tag.hierarchy.cache.time.to.live.seconds", 0),
+
     /**
      * The cut-off length of the short description
      */
@@ -945,6 +1117,30 @@ public enum ConfigurationValue
      */
     ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT("elasticsearch.rest.high.level.client.socket.timeout", 600000),
 
+    /**
+     * The maximum number of documents the Elasticsearch bulk processor collects before it sends a bulk request while building a search index. The default is
+     * 500.
+     */
+    ELASTICSEARCH_BULK_PROCESSOR_BULK_ACTIONS("elasticsearch.bulk.processor.bulk.actions", 500),
+
+    /**
+     * The maximum size in megabytes of the documents the Elasticsearch bulk processor collects before it sends a bulk request while building a search index.
+     * The default is 5 megabytes.
+     */
+    ELASTICSEARCH_BULK_PROCESSOR_BULK_SIZE_MB("elasticsearch.bulk.processor.bulk.size.mb", 5),
+
+    /**
+     * The interval in seconds after which the Elasticsearch bulk processor sends a bulk request regardless of the number and the size of the collected
+     * documents. The default is 5 seconds.
+     */
+    ELASTICSEARCH_BULK_PROCESSOR_FLUSH_INTERVAL_SECONDS("elasticsearch.bulk.processor.flush.interval.seconds", 5),
+
+    /**
+     * The number of bulk requests the Elasticsearch bulk processor is allowed to have in flight while it keeps collecting new documents. 0 means that bulk
+     * requests are executed synchronously. The default is 2.
+     */
+    ELASTICSEARCH_BULK_PROCESSOR_CONCURRENT_REQUESTS("elasticsearch.bulk.processor.concurrent.requests", 2),
+
     /**
      * The search index update queue name
      */
@@ -90,6 +90,10 @@ public class BusinessObjectDataEntity extends AuditableEntity
     @Type(type = "yes_no")
     private Boolean latestVersion;
 
+    @Column(name = "ltst_vld_vrsn_fl")
+    @Type(type = "yes_no")
+    private Boolean latestValidVersion;
+
     @ManyToOne
     @JoinColumn(name = "bus_objct_frmt_id", referencedColumnName = "bus_objct_frmt_id", nullable = false)
     private BusinessObjectFormatEntity businessObjectFormat;
@@ -210,6 +214,16 @@ public class BusinessObjectDataEntity extends AuditableEntity
         this.latestVersion = latestVersion;
     }
 
+    public Boolean getLatestValidVersion()
+    {
+        return latestValidVersion;
+    }
+
+    public void setLatestValidVersion(Boolean latestValidVersion)
+    {
+        this.latestValidVersion = latestValidVersion;
+    }
+
     public BusinessObjectFormatEntity getBusinessObjectFormat()
     {
         return businessObjectFormat;
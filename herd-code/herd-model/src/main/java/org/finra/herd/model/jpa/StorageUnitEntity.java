@@ -86,6 +86,9 @@ public class StorageUnitEntity extends AuditableEntity
     @Column(name = "strge_plcy_trnsn_faild_atmpts_nb")
     private Integer storagePolicyTransitionFailedAttempts;
 
+    @Column(name = "strge_plcy_trnsn_chkpt_tx", length = 1024)
+    private String storagePolicyTransitionCheckpoint;
+
     @Column(name = "final_destroy_ts")
     private Timestamp finalDestroyOn;
 
@@ -199,6 +202,16 @@ public class StorageUnitEntity extends AuditableEntity
         this.storagePolicyTransitionFailedAttempts = storagePolicyTransitionFailedAttempts;
     }
 
+    public String getStoragePolicyTransitionCheckpoint()
+    {
+        return storagePolicyTransitionCheckpoint;
+    }
+
+    public void setStoragePolicyTransitionCheckpoint(String storagePolicyTransitionCheckpoint)
+    {
+        this.storagePolicyTransitionCheckpoint = storagePolicyTransitionCheckpoint;
+    }
+
     public Timestamp getFinalDestroyOn()
     {
         return finalDestroyOn;
@@ -15,6 +15,9 @@
  */
 package org.finra.herd.rest;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -78,6 +81,12 @@ import org.finra.herd.ui.constants.UiConstants;
 @Api(tags = "Business Object Data")
 public class BusinessObjectDataRestController extends HerdBaseController
 {
+    /**
+     * The prefix of the trailer line that carries the new business object data updated on watermark at the end of the streamed DDL. The line is a Hive
+     * comment, so the streamed DDL stays executable as is.
+     */
+    public static final String DDL_STREAM_WATERMARK_TRAILER_PREFIX = "-- businessObjectDataUpdatedOnWatermark=";
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -389,6 +398,37 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
     }
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage. The DDL is written to the response as plain text while it gets generated, which keeps the server memory usage low for tables with a
+     * large number of partitions. Please note that an error which occurs after the DDL streaming has started results in a truncated response. Since the
+     * response headers are sent before the DDL is generated, the new business object data updated on watermark, when the request specifies a watermark, is
+     * returned as the last line of the response prefixed with "{@value #DDL_STREAM_WATERMARK_TRAILER_PREFIX}". <p> Requires READ permission on namespace </p>
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param httpServletResponse the HTTP servlet response
+     *
+     * @throws IOException if the DDL could not be written to the HTTP servlet response
+     */
+    @RequestMapping(value = "/businessObjectData/generateDdl/stream", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST)
+    public void generateBusinessObjectDataDdlStream(@RequestBody BusinessObjectDataDdlRequest businessObjectDataDdlRequest,
+        HttpServletResponse httpServletResponse) throws IOException
+    {
+        httpServletResponse.setContentType("text/plain");
+        httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = httpServletResponse.getWriter();
+        BusinessObjectDataDdl businessObjectDataDdl = businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, writer);
+
+        // Append the new watermark as a trailer line, so an incremental client can pass it to its next request.
+        if (businessObjectDataDdl.getBusinessObjectDataUpdatedOnWatermark() != null)
+        {
+            writer.write(String.format("\n%s%s\n", DDL_STREAM_WATERMARK_TRAILER_PREFIX, businessObjectDataDdl.getBusinessObjectDataUpdatedOnWatermark()));
+        }
+
+        httpServletResponse.flushBuffer();
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storage. <p> Requires READ permission on ALL namespaces </p>
@@ -0,0 +1,76 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.json.MetricsModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.annotations.Api;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import org.finra.herd.model.dto.SecurityFunctions;
+import org.finra.herd.ui.constants.UiConstants;
+
+/**
+ * The REST controller that exposes the application metrics (e.g. the service and DAO method timers, error counters, and in-flight counters) to be scraped by
+ * external monitoring.
+ */
+@RestController
+@RequestMapping(value = UiConstants.REST_URL_BASE)
+@Api(tags = "Metrics")
+public class MetricsRestController extends HerdBaseController
+{
+    public static final String METRICS_URI_PREFIX = "/metrics";
+
+    /**
+     * The object mapper that reports rates per second and durations in milliseconds.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new MetricsModule(TimeUnit.SECONDS, TimeUnit.MILLISECONDS, false));
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    /**
+     * Gets the application metric registry as JSON.
+     *
+     * @param httpServletResponse the HTTP servlet response
+     *
+     * @throws IOException if the metrics could not be written to the HTTP servlet response
+     */
+    @RequestMapping(value = METRICS_URI_PREFIX, method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_METRICS_GET)
+    public void getMetrics(HttpServletResponse httpServletResponse) throws IOException
+    {
+        httpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpServletResponse.setHeader("Cache-Control", "no-store, no-cache, must-revalidate, max-age=0");
+
+        try (OutputStream outputStream = httpServletResponse.getOutputStream())
+        {
+            OBJECT_MAPPER.writeValue(outputStream, metricRegistry);
+        }
+    }
+}
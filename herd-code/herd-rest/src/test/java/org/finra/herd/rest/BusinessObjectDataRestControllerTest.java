@@ -21,9 +21,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 
@@ -36,6 +39,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.AwsCredential;
@@ -291,6 +295,66 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataDdl, result);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws Exception
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create a mock HTTP servlet response along with its writer.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        PrintWriter printWriter = mock(PrintWriter.class);
+
+        // Mock the external calls.
+        when(httpServletResponse.getWriter()).thenReturn(printWriter);
+        when(businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter)).thenReturn(new BusinessObjectDataDdl());
+
+        // Call the method under test.
+        businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(httpServletResponse).setContentType("text/plain");
+        verify(httpServletResponse).setCharacterEncoding(StandardCharsets.UTF_8.name());
+        verify(httpServletResponse).getWriter();
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+        verify(httpServletResponse).flushBuffer();
+        verifyNoMoreInteractions(httpServletResponse, printWriter);
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStreamWithWatermark() throws Exception
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create a business object data ddl returned by the service with the new watermark.
+        BusinessObjectDataDdl businessObjectDataDdl = new BusinessObjectDataDdl();
+        businessObjectDataDdl.setBusinessObjectDataUpdatedOnWatermark(HerdDateUtils.getXMLGregorianCalendarValue(new Date(0)));
+
+        // Create a mock HTTP servlet response along with its writer.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        PrintWriter printWriter = mock(PrintWriter.class);
+
+        // Mock the external calls.
+        when(httpServletResponse.getWriter()).thenReturn(printWriter);
+        when(businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter)).thenReturn(businessObjectDataDdl);
+
+        // Call the method under test.
+        businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+
+        // Verify the external calls. The watermark is appended to the streamed DDL as a trailer line.
+        verify(httpServletResponse).setContentType("text/plain");
+        verify(httpServletResponse).setCharacterEncoding(StandardCharsets.UTF_8.name());
+        verify(httpServletResponse).getWriter();
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+        verify(printWriter).write("\n" + BusinessObjectDataRestController.DDL_STREAM_WATERMARK_TRAILER_PREFIX +
+            businessObjectDataDdl.getBusinessObjectDataUpdatedOnWatermark() + "\n");
+        verify(httpServletResponse).flushBuffer();
+        verifyNoMoreInteractions(httpServletResponse, printWriter);
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testGenerateBusinessObjectDataPartitions()
     {
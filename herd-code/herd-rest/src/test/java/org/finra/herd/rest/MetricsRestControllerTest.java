@@ -0,0 +1,62 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * This class tests various functionality within the metrics REST controller.
+ */
+public class MetricsRestControllerTest extends AbstractRestTest
+{
+    @InjectMocks
+    private MetricsRestController metricsRestController;
+
+    @Spy
+    private MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Before()
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testGetMetrics() throws Exception
+    {
+        // Register a test counter.
+        String metricName = "testCounter";
+        metricRegistry.counter(metricName).inc();
+
+        // Get the metrics.
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        metricsRestController.getMetrics(response);
+
+        // Validate the response.
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertTrue(response.getContentAsString().contains("\"" + metricName + "\":{\"count\":1}"));
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.finra.herd.service;
 
+import java.io.Writer;
+
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataAttributesUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
@@ -109,6 +111,17 @@ public interface BusinessObjectDataService
      */
     BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest);
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage and writes it to the specified writer as it gets generated. This method starts a new transaction.
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param ddlWriter the writer to stream the generated DDL to
+     *
+     * @return the business object data DDL information without the DDL, which is written to the specified writer
+     */
+    BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest, Writer ddlWriter);
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storages. This method starts a new transaction.
@@ -16,6 +16,7 @@
 package org.finra.herd.service;
 
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessagePublishingResultsDto;
 
 /**
  * A service that publishes notification messages.
@@ -42,4 +43,16 @@ public interface NotificationMessagePublishingService
      * @return true if notification message was successfully published and false otherwise
      */
     public boolean publishOldestNotificationMessageFromDatabaseQueue();
+
+    /**
+     * Claims up to the specified number of the oldest notification messages from the database queue, publishes them concurrently and removes the successfully
+     * published messages from the queue using a single delete statement. Notification messages that failed to get published are left in the queue. To drain
+     * the queue past such messages, pass the last claimed notification message id returned by the previous call.
+     *
+     * @param startAfterNotificationMessageId the optional notification message id, when specified only notification messages with greater ids are claimed
+     * @param maxMessages the maximum number of notification messages to publish
+     *
+     * @return the numbers of claimed and published notification messages along with the id of the last claimed notification message
+     */
+    public NotificationMessagePublishingResultsDto publishOldestNotificationMessagesFromDatabaseQueue(Long startAfterNotificationMessageId, int maxMessages);
 }
@@ -0,0 +1,44 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import java.util.List;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+
+/**
+ * The service that reconciles the latest valid version flags of business object data.
+ */
+public interface ReconcileBusinessObjectDataLatestValidVersionService
+{
+    /**
+     * Retrieves a list of keys for business object data that does not have the latest valid version flag computed yet or that was recently updated and has
+     * the flag set inconsistently. The returned keys do not have business object data version specified, since the flag gets reconciled for all versions of
+     * the business object data at once.
+     *
+     * @param maxResult the maximum number of business object data instances to select
+     *
+     * @return the list of business object data keys without business object data versions
+     */
+    List<BusinessObjectDataKey> getBusinessObjectDataToReconcile(int maxResult);
+
+    /**
+     * Reconciles the latest valid version flags on all versions of the specified business object data.
+     *
+     * @param businessObjectDataKey the business object data key, business object data version is ignored
+     */
+    void reconcileBusinessObjectData(BusinessObjectDataKey businessObjectDataKey);
+}
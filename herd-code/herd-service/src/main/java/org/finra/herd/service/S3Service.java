@@ -19,6 +19,7 @@ import java.util.List;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -104,6 +105,21 @@ public interface S3Service
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a list of registered storage files from S3 to the local file system using parallel ranged GET requests, so a failed download can be restarted
+     * without transferring again the ranges that are already on the local file system.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name is for the source of the copy. The local path is the
+     * local directory the files are downloaded to. The maximum number of threads and the optional range size control the ranged download.
+     * @param storageFiles the list of storage files to download
+     *
+     * @return the file transfer results.
+     *
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto downloadStorageFiles(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, List<StorageFile> storageFiles)
+        throws InterruptedException;
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -162,6 +178,20 @@ public interface S3Service
      */
     S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a list of local files into S3 while keeping track of the upload in a local upload journal, so a failed upload can be restarted without
+     * transferring again the content that is already in S3.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name, S3 key prefix, and the file list (files) are for the
+     * target of the copy. The local path and the file list (files) are the local files to be copied. The upload journal path and the optional file
+     * parallelism control the resumable upload.
+     *
+     * @return the file transfer results.
+     *
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto uploadFileListResumable(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
+
     /**
      * Validates that all specified Glacier storage class files are restored.
      *
@@ -34,11 +34,22 @@ public interface StoragePolicyProcessorHelperService
         StoragePolicySelection storagePolicySelection);
 
     /**
-     * Executes a storage policy transition as per specified storage policy selection.
+     * Executes a storage policy transition as per specified storage policy selection. Each time a chunk of S3 objects gets tagged, the storage policy
+     * transition checkpoint in the storage policy transition DTO is advanced and the specified checkpoint callback is called.
      *
      * @param storagePolicyTransitionParamsDto the storage policy transition DTO that contains parameters needed to perform a storage policy transition
+     * @param checkpointCallback the callback that persists the storage policy transition checkpoint, may be null
      */
-    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto);
+    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto, Runnable checkpointCallback);
+
+    /**
+     * Saves the storage policy transition checkpoint with the storage unit, so the next attempt of this storage policy transition resumes after the last tagged
+     * S3 object. This method does not fail in case storage unit entity update is unsuccessful, but simply logs the exception information as a warning.
+     *
+     * @param storagePolicyTransitionParamsDto the storage policy transition DTO that contains the storage policy transition checkpoint. The business object
+     * data key and storage name identify the storage unit to be updated
+     */
+    public void updateStoragePolicyTransitionCheckpointIgnoreException(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto);
 
     /**
      * Completes a storage policy transition as per specified storage policy selection.
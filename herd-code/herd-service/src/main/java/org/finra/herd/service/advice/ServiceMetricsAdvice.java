@@ -0,0 +1,55 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.advice;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.MetricsHelper;
+
+/**
+ * Advice that records the latency timer, the error counter, and the in-flight counter for all service methods. The metrics are named
+ * "service.[service class simple name].[method name]".
+ */
+@Component
+@Aspect
+public class ServiceMetricsAdvice extends AbstractServiceAdvice
+{
+    /**
+     * The prefix of all service method metric names.
+     */
+    public static final String METRIC_NAME_PREFIX = "service";
+
+    @Autowired
+    private MetricsHelper metricsHelper;
+
+    /**
+     * Around advice that records metrics for all service methods.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("serviceMethods()")
+    public Object recordMethodMetrics(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return metricsHelper.proceedAndRecordMetrics(pjp, METRIC_NAME_PREFIX);
+    }
+}
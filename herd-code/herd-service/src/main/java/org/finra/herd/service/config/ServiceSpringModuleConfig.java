@@ -65,6 +65,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
@@ -176,6 +177,23 @@ public class ServiceSpringModuleConfig
         return taskExecutor;
     }
 
+    /**
+     * The task executor used by the "jmsPublishing" system job to concurrently publish a batch of notification messages. The number of threads is fixed at
+     * startup, so changing it requires a server restart.
+     *
+     * @return the task executor.
+     */
+    @Bean
+    public AsyncTaskExecutor notificationMessagePublishingTaskExecutor()
+    {
+        int threadCount = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_THREAD_COUNT, Integer.class);
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadCount);
+        taskExecutor.setMaxPoolSize(threadCount);
+        taskExecutor.setThreadNamePrefix("notificationMessagePublishing-");
+        return taskExecutor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
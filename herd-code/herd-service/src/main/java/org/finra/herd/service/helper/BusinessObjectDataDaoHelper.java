@@ -324,6 +324,9 @@ public class BusinessObjectDataDaoHelper
         // Persist the new entity.
         newVersionBusinessObjectDataEntity = businessObjectDataDao.saveAndRefresh(newVersionBusinessObjectDataEntity);
 
+        // Update the latest valid version flags, since the new business object data version might be registered in the VALID status.
+        updateLatestValidVersionFlags(newVersionBusinessObjectDataEntity);
+
         // Create a status change notification to be sent on create business object data event.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(newVersionBusinessObjectDataEntity),
@@ -613,6 +616,12 @@ public class BusinessObjectDataDaoHelper
             }
         }
 
+        // If the deleted business object data version was the latest valid one, flag the previous valid version of this business object data, if it exists.
+        if (BusinessObjectDataStatusEntity.VALID.equals(businessObjectDataEntity.getStatus().getCode()))
+        {
+            updateLatestValidVersionFlags(businessObjectDataKey);
+        }
+
         // Return the deleted business object data.
         return deletedBusinessObjectData;
     }
@@ -899,12 +908,74 @@ public class BusinessObjectDataDaoHelper
         // Persist the entity.
         businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
 
+        // Update the latest valid version flags, if the business object data status change is from or to the VALID status.
+        if (BusinessObjectDataStatusEntity.VALID.equals(oldStatus) || BusinessObjectDataStatusEntity.VALID.equals(businessObjectDataStatusEntity.getCode()))
+        {
+            updateLatestValidVersionFlags(businessObjectDataEntity);
+        }
+
         // Sent a business object data status change notification.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity),
                 businessObjectDataStatusEntity.getCode(), oldStatus);
     }
 
+    /**
+     * Updates the latest valid version flags on all business object data versions registered for the same business object format version and partition
+     * values as the specified business object data. The flag gets set only on the latest business object data version in the VALID status.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     */
+    public void updateLatestValidVersionFlags(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        updateLatestValidVersionFlags(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity));
+    }
+
+    /**
+     * Updates the latest valid version flags on all business object data versions registered for the same business object format version and partition
+     * values as the specified business object data key. The flag gets set only on the latest business object data version in the VALID status. The business
+     * object data version of the specified key is ignored.
+     *
+     * @param businessObjectDataKey the business object data key
+     */
+    public void updateLatestValidVersionFlags(BusinessObjectDataKey businessObjectDataKey)
+    {
+        // Retrieve all business object data versions ordered by business object data version.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = businessObjectDataDao.getBusinessObjectDataEntities(
+            new BusinessObjectDataKey(businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName(),
+                businessObjectDataKey.getBusinessObjectFormatUsage(), businessObjectDataKey.getBusinessObjectFormatFileType(),
+                businessObjectDataKey.getBusinessObjectFormatVersion(), businessObjectDataKey.getPartitionValue(), businessObjectDataKey.getSubPartitionValues(),
+                null));
+
+        // Find the latest business object data version in the VALID status.
+        BusinessObjectDataEntity latestValidBusinessObjectDataEntity = null;
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+        {
+            if (BusinessObjectDataStatusEntity.VALID.equals(businessObjectDataEntity.getStatus().getCode()))
+            {
+                latestValidBusinessObjectDataEntity = businessObjectDataEntity;
+            }
+        }
+
+        // Clear the flag on all other business object data versions first. The database allows only one flagged business object data version per partition,
+        // so the flag must be cleared and flushed before it gets set on the latest valid version.
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+        {
+            if (businessObjectDataEntity != latestValidBusinessObjectDataEntity && !Boolean.FALSE.equals(businessObjectDataEntity.getLatestValidVersion()))
+            {
+                businessObjectDataEntity.setLatestValidVersion(false);
+                businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
+            }
+        }
+
+        // Set the flag on the latest valid version, if there is one and it is not flagged yet.
+        if (latestValidBusinessObjectDataEntity != null && !Boolean.TRUE.equals(latestValidBusinessObjectDataEntity.getLatestValidVersion()))
+        {
+            latestValidBusinessObjectDataEntity.setLatestValidVersion(true);
+            businessObjectDataDao.saveAndRefresh(latestValidBusinessObjectDataEntity);
+        }
+    }
+
     /**
      * Returns a cloned version of the specified business object data key where all fields are made lowercase.
      *
@@ -18,25 +18,32 @@ package org.finra.herd.service.helper;
 import static org.finra.herd.service.helper.DdlGenerator.NON_PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN;
 import static org.finra.herd.service.helper.DdlGenerator.PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MultiValuedMap;
-import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -73,6 +80,13 @@ import org.finra.herd.model.jpa.StoragePlatformEntity;
 @Component
 public class BusinessObjectDataDdlPartitionsHelper
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataDdlPartitionsHelper.class);
+
+    /**
+     * The maximum number of compiled Hive path patterns to keep in memory. When exceeded, the cache gets cleared.
+     */
+    static final int HIVE_PATH_PATTERN_CACHE_MAX_SIZE = 1000;
+
     /**
      * The partition key value for business object data without partitioning.
      */
@@ -95,6 +109,16 @@ public class BusinessObjectDataDdlPartitionsHelper
     public static final Set<String> SCHEMA_COLUMN_NUMERIC_TYPES =
         new HashSet<>(Arrays.asList("TINYINT", "SMALLINT", "INT", "BIGINT", "FLOAT", "DOUBLE", "DECIMAL", "NUMBER"));
 
+    /**
+     * The cache of compiled Hive path patterns keyed by the list of partition column names the pattern was built for. Since the regex depends only on the
+     * partition column names, a change to the business object format schema simply results in a different key.
+     */
+    private final ConcurrentMap<List<String>, Pattern> hivePathPatterns = new ConcurrentHashMap<>();
+
+    private final AtomicLong hivePathPatternCacheHits = new AtomicLong();
+
+    private final AtomicLong hivePathPatternCacheMisses = new AtomicLong();
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -164,6 +188,7 @@ public class BusinessObjectDataDdlPartitionsHelper
         ddlRequest.setAllowMissingData(request.isAllowMissingData());
         ddlRequest.setIncludeAllRegisteredSubPartitions(request.isIncludeAllRegisteredSubPartitions());
         ddlRequest.setSuppressScanForUnregisteredSubPartitions(request.isSuppressScanForUnregisteredSubPartitions());
+        ddlRequest.setBusinessObjectDataUpdatedOnWatermark(request.getBusinessObjectDataUpdatedOnWatermark());
         return ddlRequest;
     }
 
@@ -232,6 +257,7 @@ public class BusinessObjectDataDdlPartitionsHelper
         generateDdlRequest.tableName = request.getTableName();
         generateDdlRequest.asOfTime = request.getAsOfTime();
         generateDdlRequest.suppressQuotesInNumericTypePartitionValues = request.isSuppressQuotesInNumericTypePartitionValues();
+        generateDdlRequest.businessObjectDataUpdatedOnWatermark = request.getBusinessObjectDataUpdatedOnWatermark();
 
         // getOutputFormat == null, means it's used in generatePartitions request since getOutputFormat must not be null for generateDDL request
         if (request.getOutputFormat() == null)
@@ -370,9 +396,70 @@ public class BusinessObjectDataDdlPartitionsHelper
                     StringUtils.join(generateDdlRequest.storageNames, ",")));
             }
         }
+
+        // If a watermark is specified, keep only business object data registered or updated after the watermark.
+        if (generateDdlRequest.businessObjectDataUpdatedOnWatermark != null)
+        {
+            storageUnitAvailabilityDtos = excludeBusinessObjectDataNotUpdatedAfterWatermark(generateDdlRequest, storageUnitAvailabilityDtos);
+        }
+
         return storageUnitAvailabilityDtos;
     }
 
+    /**
+     * Excludes storage units for business object data that was not updated after the watermark specified in the generate DDL request. Business object data is
+     * considered updated when either the business object data or its storage unit was updated after the watermark. The method also calculates the new
+     * watermark and narrows down the partition filters to the changed partitions, so drop partition statements, if requested, are generated only for the
+     * partitions being re-added. Partitions that are no longer selected (e.g. deleted or invalidated business object data) are not reported, so removals
+     * require a full, non-incremental request.
+     *
+     * @param generateDdlRequest the generate DDL request wrapper object, must have the watermark specified
+     * @param storageUnitAvailabilityDtos the list of storage unit availability DTOs
+     *
+     * @return the list of storage unit availability DTOs for the business object data updated after the watermark
+     */
+    private List<StorageUnitAvailabilityDto> excludeBusinessObjectDataNotUpdatedAfterWatermark(GenerateDdlRequestWrapper generateDdlRequest,
+        List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
+    {
+        XMLGregorianCalendar watermark = generateDdlRequest.businessObjectDataUpdatedOnWatermark;
+        XMLGregorianCalendar newWatermark = watermark;
+
+        List<StorageUnitAvailabilityDto> updatedStorageUnitAvailabilityDtos = new ArrayList<>();
+        Set<List<String>> updatedPartitionFilters = new LinkedHashSet<>();
+        for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : storageUnitAvailabilityDtos)
+        {
+            // A partition also changes when only its storage unit changes (e.g. a storage unit gets restored or its directory path gets updated), so use the
+            // latest of the business object data and the storage unit update times.
+            XMLGregorianCalendar updatedOn = storageUnitAvailabilityDto.getBusinessObjectDataUpdatedOn();
+            XMLGregorianCalendar storageUnitUpdatedOn = storageUnitAvailabilityDto.getStorageUnitUpdatedOn();
+            if (storageUnitUpdatedOn != null && storageUnitUpdatedOn.compare(updatedOn) == DatatypeConstants.GREATER)
+            {
+                updatedOn = storageUnitUpdatedOn;
+            }
+
+            if (updatedOn.compare(watermark) == DatatypeConstants.GREATER)
+            {
+                updatedStorageUnitAvailabilityDtos.add(storageUnitAvailabilityDto);
+                updatedPartitionFilters.add(businessObjectDataHelper
+                    .getPartitionFilter(storageUnitAvailabilityDto.getBusinessObjectDataKey(), generateDdlRequest.partitionFilters.get(0)));
+
+                if (updatedOn.compare(newWatermark) == DatatypeConstants.GREATER)
+                {
+                    newWatermark = updatedOn;
+                }
+            }
+        }
+
+        LOGGER.info("Selected business object data updated after the watermark. businessObjectDataUpdatedOnWatermark=\"{}\" " +
+                "newBusinessObjectDataUpdatedOnWatermark=\"{}\" totalStorageUnitCount={} updatedStorageUnitCount={}", watermark, newWatermark,
+            storageUnitAvailabilityDtos.size(), updatedStorageUnitAvailabilityDtos.size());
+
+        generateDdlRequest.partitionFilters = new ArrayList<>(updatedPartitionFilters);
+        generateDdlRequest.newBusinessObjectDataUpdatedOnWatermark = newWatermark;
+
+        return updatedStorageUnitAvailabilityDtos;
+    }
+
     /**
      * Adds the relative "alter table add partition" statements for each storage unit entity. Please note that each request partition value might result in
      * multiple available storage unit entities (subpartitions).
@@ -389,11 +476,11 @@ public class BusinessObjectDataDdlPartitionsHelper
         HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormatForSchema, String ifNotExistsOption,
         List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
     {
-        // If flag is not set to suppress scan for unregistered sub-partitions, retrieve all storage
-        // file paths for the relative storage units loaded in a multi-valued map for easy access.
-        MultiValuedMap<Long, String> storageUnitIdToStorageFilePathsMap =
-            BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions) ? new ArrayListValuedHashMap<>() :
-                storageFileDao.getStorageFilePathsByStorageUnitIds(storageUnitHelper.getStorageUnitIds(storageUnitAvailabilityDtos));
+        // When DDL is streamed, storage units are processed in pages and the generated DDL is written out after each page,
+        // so only a page of storage file paths and "alter table add partition" statements is held in memory at a time.
+        int pageSize = generateDdlRequest.ddlWriter != null ?
+            configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STREAMING_PAGE_SIZE, Integer.class) :
+            Math.max(storageUnitAvailabilityDtos.size(), 1);
 
         // Crete a map of storage names in upper case to their relative S3 key prefix velocity templates.
         Map<String, String> s3KeyPrefixVelocityTemplates = new HashMap<>();
@@ -413,10 +500,56 @@ public class BusinessObjectDataDdlPartitionsHelper
             alterTableFirstToken = String.format("ALTER TABLE `%s` ADD %s", generateDdlRequest.tableName, ifNotExistsOption).trim();
         }
 
-        // Process all available business object data instances.
-        List<String> addPartitionStatements = new ArrayList<>();
+        // Get the maximum number of partitions in a single alter table statement as determined by the optionally specified
+        // maximum number of partitions in combined alter table statement. When combining without a maximum, all partitions go into one statement.
+        int chunkSize = generateDdlRequest.combinedAlterTableMaxPartitions != null ? generateDdlRequest.combinedAlterTableMaxPartitions :
+            BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? Integer.MAX_VALUE : 1;
+
+        // Process all available business object data instances one page at a time.
+        Map<Long, String> storageUnitIdToS3KeyPrefixMap = new HashMap<>();
+        Map<Long, List<HivePartitionDto>> storageUnitIdToHivePartitionsMap = new HashMap<>();
+        int storageUnitIndex = 0;
+        int addPartitionStatementCount = 0;
         for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : storageUnitAvailabilityDtos)
         {
+            // Start a new page of storage units.
+            if (storageUnitIndex % pageSize == 0)
+            {
+                // When DDL is streamed, write out the DDL generated for the previous page. The DDL is held back until the
+                // first "alter table add partition" statement is generated, since it sets the values of the custom DDL tokens.
+                if (generateDdlRequest.ddlWriter != null && addPartitionStatementCount > 0)
+                {
+                    writeDdl(generateDdlRequest, sb, replacements, false);
+                }
+
+                // Build the expected S3 key prefix for each storage unit in this page.
+                List<StorageUnitAvailabilityDto> pageStorageUnitAvailabilityDtos =
+                    storageUnitAvailabilityDtos.subList(storageUnitIndex, Math.min(storageUnitAvailabilityDtos.size(), storageUnitIndex + pageSize));
+                Map<Long, StorageUnitAvailabilityDto> storageUnitIdToStorageUnitAvailabilityDtoMap = new HashMap<>();
+                storageUnitIdToS3KeyPrefixMap.clear();
+                for (StorageUnitAvailabilityDto pageStorageUnitAvailabilityDto : pageStorageUnitAvailabilityDtos)
+                {
+                    storageUnitIdToStorageUnitAvailabilityDtoMap.put(pageStorageUnitAvailabilityDto.getStorageUnitId(), pageStorageUnitAvailabilityDto);
+                    storageUnitIdToS3KeyPrefixMap.put(pageStorageUnitAvailabilityDto.getStorageUnitId(),
+                        getS3KeyPrefix(generateDdlRequest, pageStorageUnitAvailabilityDto, dataProviderName, s3KeyPrefixVelocityTemplates,
+                            businessObjectFormats));
+                }
+
+                // If flag is not set to suppress scan for unregistered sub-partitions, stream storage file paths for the relative storage units in this
+                // page and discover their Hive partitions one storage unit at a time, so only the storage file paths of a single storage unit are held
+                // in memory. Storage units without storage files are not streamed and get processed below.
+                storageUnitIdToHivePartitionsMap.clear();
+                if (BooleanUtils.isNotTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+                {
+                    storageFileDao.processStorageFilePathsByStorageUnitIds(storageUnitHelper.getStorageUnitIds(pageStorageUnitAvailabilityDtos),
+                        (storageUnitId, storageFilePaths) -> storageUnitIdToHivePartitionsMap.put(storageUnitId,
+                            getStorageUnitHivePartitions(generateDdlRequest, businessObjectFormatForSchema,
+                                storageUnitIdToStorageUnitAvailabilityDtoMap.get(storageUnitId), storageUnitIdToS3KeyPrefixMap.get(storageUnitId),
+                                storageFilePaths)));
+                }
+            }
+            storageUnitIndex++;
+
             // Get storage name in upper case for this storage unit.
             String upperCaseStorageName = storageUnitAvailabilityDto.getStorageName().toUpperCase();
 
@@ -426,97 +559,17 @@ public class BusinessObjectDataDdlPartitionsHelper
             // Get business object data key for this business object data.
             BusinessObjectDataKey businessObjectDataKey = storageUnitAvailabilityDto.getBusinessObjectDataKey();
 
-            // Get business object format key for this business object data.
-            BusinessObjectFormatKey businessObjectFormatKey = businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectDataKey);
-
-            // Retrieve s3 key prefix velocity template for this storage.
-            String s3KeyPrefixVelocityTemplate = getS3KeyPrefixVelocityTemplate(upperCaseStorageName, storageEntity, s3KeyPrefixVelocityTemplates);
-
             // Retrieve business object format for this business object data.
-            BusinessObjectFormat businessObjectFormat = getBusinessObjectFormat(businessObjectFormatKey, businessObjectFormats);
-
-            // Build the expected S3 key prefix for this storage unit.
-            String s3KeyPrefix = s3KeyPrefixHelper.buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, dataProviderName, businessObjectFormat, businessObjectDataKey,
-                storageUnitAvailabilityDto.getStorageName());
-
-            // If flag is set to suppress scan for unregistered sub-partitions, use the directory path or the S3 key prefix
-            // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions.
-            List<String> storageFilePaths = new ArrayList<>();
-            if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
-            {
-                // Validate the directory path value if it is present.
-                if (StringUtils.isNotBlank(storageUnitAvailabilityDto.getStorageUnitDirectoryPath()))
-                {
-                    Assert.isTrue(storageUnitAvailabilityDto.getStorageUnitDirectoryPath().equals(s3KeyPrefix), String.format(
-                        "Storage directory path \"%s\" registered with business object data {%s} " +
-                            "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitAvailabilityDto.getStorageUnitDirectoryPath(),
-                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), storageUnitAvailabilityDto.getStorageName(),
-                        s3KeyPrefix));
-                }
-
-                // Add the S3 key prefix to the list of storage files.
-                // We add a trailing '/' character to the prefix, since it represents a directory.
-                storageFilePaths.add(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
-            }
-            else
-            {
-                // Retrieve storage file paths registered with this business object data in the specified storage.
-                storageFilePaths = storageUnitIdToStorageFilePathsMap.containsKey(storageUnitAvailabilityDto.getStorageUnitId()) ?
-                    new ArrayList<>(storageUnitIdToStorageFilePathsMap.get(storageUnitAvailabilityDto.getStorageUnitId())) : new ArrayList<>();
-
-                // If storage directory path is specified, prepend it to storage file paths, if not already there.
-                if (StringUtils.isNotBlank(storageUnitAvailabilityDto.getStorageUnitDirectoryPath()))
-                {
-                    // Get storage unit directory path as is.
-                    String storageUnitDirectoryPath = storageUnitAvailabilityDto.getStorageUnitDirectoryPath();
-
-                    // Since storage unit directory path represents a directory, we add a trailing '/' character to it, unless it is already present.
-                    String storageUnitDirectoryPathWithSlash = StringUtils.appendIfMissing(storageUnitAvailabilityDto.getStorageUnitDirectoryPath(), "/");
+            BusinessObjectFormat businessObjectFormat =
+                getBusinessObjectFormat(businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectDataKey), businessObjectFormats);
 
-                    // If storage file path does not start with storage unit directory path:
-                    // - For the empty folder S3 marker prepend storage unit directory path as is
-                    // - For all other storage files, prepend storage unit directory path with slash
-                    List<String> fullStorageFilePaths = new ArrayList<>();
-                    for (String storageFilePath : storageFilePaths)
-                    {
-                        if (StringUtils.startsWith(storageFilePath, storageUnitDirectoryPath))
-                        {
-                            fullStorageFilePaths.add(storageFilePath);
-                        }
-                        else
-                        {
-                            if (StringUtils.equals(storageFilePath, StorageFileEntity.S3_EMPTY_PARTITION))
-                            {
-                                fullStorageFilePaths.add(storageUnitDirectoryPath + storageFilePath);
-                            }
-                            else
-                            {
-                                fullStorageFilePaths.add(storageUnitDirectoryPathWithSlash + storageFilePath);
-                            }
-                        }
-                    }
-                    storageFilePaths = fullStorageFilePaths;
-                }
-
-                // Validate storage file paths registered with this business object data in the specified storage.
-                // The validation check below is required even if we have no storage files registered.
-                storageFileHelper.validateStorageFilePaths(storageFilePaths, s3KeyPrefix, businessObjectDataKey, storageUnitAvailabilityDto.getStorageName());
+            // Get the expected S3 key prefix for this storage unit.
+            String s3KeyPrefix = storageUnitIdToS3KeyPrefixMap.get(storageUnitAvailabilityDto.getStorageUnitId());
 
-                // If there are no storage files registered for this storage unit, we should use the storage directory path value.
-                if (storageFilePaths.isEmpty())
-                {
-                    // Validate that directory path value is present and it matches the S3 key prefix.
-                    Assert.isTrue(storageUnitAvailabilityDto.getStorageUnitDirectoryPath() != null &&
-                        storageUnitAvailabilityDto.getStorageUnitDirectoryPath().startsWith(s3KeyPrefix), String.format(
-                        "Storage directory path \"%s\" registered with business object data {%s} " +
-                            "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitAvailabilityDto.getStorageUnitDirectoryPath(),
-                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), storageUnitAvailabilityDto.getStorageName(),
-                        s3KeyPrefix));
-                    // Add storage directory path the empty storage files list.
-                    // We add a trailing '/' character to the path, since it represents a directory.
-                    storageFilePaths.add(storageUnitAvailabilityDto.getStorageUnitDirectoryPath() + "/");
-                }
-            }
+            // Get the Hive partitions for this storage unit, unless they were already discovered from its streamed storage file paths.
+            List<HivePartitionDto> hivePartitions = storageUnitIdToHivePartitionsMap.containsKey(storageUnitAvailabilityDto.getStorageUnitId()) ?
+                storageUnitIdToHivePartitionsMap.get(storageUnitAvailabilityDto.getStorageUnitId()) :
+                getStorageUnitHivePartitions(generateDdlRequest, businessObjectFormatForSchema, storageUnitAvailabilityDto, s3KeyPrefix, new ArrayList<>());
 
             // Retrieve the s3 bucket name.
             String s3BucketName = getS3BucketName(upperCaseStorageName, storageEntity, generateDdlRequest.cachedS3BucketNames);
@@ -524,43 +577,8 @@ public class BusinessObjectDataDdlPartitionsHelper
             // For partitioned table, add the relative partitions to the generated DDL.
             if (generateDdlRequest.isPartitioned)
             {
-                // If flag is set to suppress scan for unregistered sub-partitions, validate that the number of primary and sub-partition values specified for
-                // the business object data equals to the number of partition columns defined in schema for the format selected for DDL/Partitions generation.
-                if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
-                {
-                    int businessObjectDataRegisteredPartitions = 1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues());
-                    Assert.isTrue(businessObjectFormatForSchema.getSchema().getPartitions().size() == businessObjectDataRegisteredPartitions, String.format(
-                        "Number of primary and sub-partition values (%d) specified for the business object data is not equal to the number of partition " +
-                            "columns (%d) defined in the schema of the business object format selected for DDL/Partitions generation. " +
-                            "Business object data: {%s},  business object format: {%s}", businessObjectDataRegisteredPartitions,
-                        businessObjectFormatForSchema.getSchema().getPartitions().size(),
-                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), businessObjectFormatHelper
-                            .businessObjectFormatKeyToString(businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectFormatForSchema))));
-                }
-                // Otherwise, since the format version selected for DDL/Partitions generation might not match the relative business object format version that
-                // business bject data is registered against, validate that the number of sub-partition values specified for the business object data is less
-                // than the number of partition columns defined in schema for the format selected for DDL/Partitions generation.
-                else
-                {
-                    Assert.isTrue(
-                        businessObjectFormatForSchema.getSchema().getPartitions().size() > CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
-                        String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
-                                "the number of partition columns defined in the schema of the business object format selected for DDL/Partitions generation. " +
-                                "Business object data: {%s},  business object format: {%s}",
-                            businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), businessObjectFormatHelper
-                                .businessObjectFormatKeyToString(businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectFormatForSchema))));
-                }
-
-                // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories) not already included into the S3 key
-                // prefix. Each discovered partition requires a standalone "add partition" clause. Please note that due to the above validation check, there
-                // should be no auto discoverable sub-partition columns, when flag is set to suppress scan for unregistered sub-partitions.
-                List<SchemaColumn> autoDiscoverableSubPartitionColumns = businessObjectFormatForSchema.getSchema().getPartitions()
-                    .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
-                        businessObjectFormatForSchema.getSchema().getPartitions().size());
-
-                // Get and process Hive partitions.
-                for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix,
-                    storageFilePaths, storageUnitAvailabilityDto.getStorageName()))
+                // Process Hive partitions.
+                for (HivePartitionDto hivePartition : hivePartitions)
                 {
                     if (!generateDdlRequest.isGeneratePartitionsRequest)
                     {
@@ -589,12 +607,14 @@ public class BusinessObjectDataDdlPartitionsHelper
                         addPartitionStatement.append(String.format(") LOCATION 's3n://%s/%s%s'", s3BucketName, s3KeyPrefix,
                             StringUtils.isNotBlank(hivePartition.getPath()) ? hivePartition.getPath() : ""));
 
-                        // Add this add partition statement to the list.
-                        addPartitionStatements.add(addPartitionStatement.toString());
+                        // Add this add partition statement to the main string builder.
+                        appendAlterTableStatement(generateDdlRequest, sb, alterTableFirstToken, addPartitionStatement.toString(), addPartitionStatementCount,
+                            chunkSize);
+                        addPartitionStatementCount++;
 
                         // If flag is set to include single table location and this is the first partition in the list, then set value for
                         // partitioned table custom DDL token based on this partition bucket name and first level S3 key prefix.
-                        if (addPartitionStatements.size() == 1 && BooleanUtils.isTrue(generateDdlRequest.includeSingleLocation))
+                        if (addPartitionStatementCount == 1 && BooleanUtils.isTrue(generateDdlRequest.includeSingleLocation))
                         {
                             // Set value for partitioned table location custom DDL token based on S3 bucket name and first level S3 key prefix.
                             String tableLocation = String.format("s3n://%s/%s", s3BucketName, HerdStringUtils.getFirstLevelPrefix(s3KeyPrefix));
@@ -641,41 +661,103 @@ public class BusinessObjectDataDdlPartitionsHelper
             }
         }
 
-        // Add all add partition statements to the main string builder.
-        if (CollectionUtils.isNotEmpty(addPartitionStatements))
+        // Complete the last alter table statement.
+        if (addPartitionStatementCount > 0)
         {
-            // Get the size on the list.
-            int listSize = CollectionUtils.size(addPartitionStatements);
-
-            // Append partition statements in chunks as determined by the optionally specified maximum number of partitions in combined alter table statement.
-            int chunkSize = generateDdlRequest.combinedAlterTableMaxPartitions != null ? generateDdlRequest.combinedAlterTableMaxPartitions :
-                BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? listSize : 1;
-
-            // Add a blank line before the first alter table statement.
-            sb.append('\n');
+            sb.append(";\n");
+        }
+    }
 
-            // Loop through each chunk until we have reached the end of the list.
-            for (int i = 0; i < listSize; i += chunkSize)
+    /**
+     * Appends an "alter table" partition statement to the string builder, starting a new alter table statement when the current one reaches the chunk size.
+     *
+     * @param generateDdlRequest the generate ddl request wrapper object
+     * @param sb the string builder to be updated with the partition statement
+     * @param alterTableFirstToken the beginning of the alter table statement
+     * @param partitionStatement the partition statement to append
+     * @param partitionStatementIndex the zero-based index of this partition statement
+     * @param chunkSize the maximum number of partition statements in a single alter table statement
+     */
+    private void appendAlterTableStatement(GenerateDdlRequestWrapper generateDdlRequest, StringBuilder sb, String alterTableFirstToken, String partitionStatement,
+        int partitionStatementIndex, int chunkSize)
+    {
+        if (partitionStatementIndex % chunkSize == 0)
+        {
+            if (partitionStatementIndex == 0)
+            {
+                // Add a blank line before the first alter table statement.
+                sb.append('\n');
+            }
+            else
             {
+                // Complete the previous alter table statement.
+                sb.append(";\n");
+
                 // If we are combining multiple partitions into single alter table statement, add an extra blank line as a separator between the chunks.
-                if (BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) && i > 0)
+                if (BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable))
                 {
                     sb.append('\n');
                 }
+            }
 
-                // Add first token for alter table statement.
-                sb.append(alterTableFirstToken);
+            // Add first token for alter table statement.
+            sb.append(alterTableFirstToken);
 
-                // Add end-of-line along with an indent if we are combining multiple partitions
-                // into single alter table statement or one space character otherwise.
-                sb.append(BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? "\n    " : " ");
+            // Add end-of-line along with an indent if we are combining multiple partitions
+            // into single alter table statement or one space character otherwise.
+            sb.append(BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? "\n    " : " ");
+        }
+        else
+        {
+            // Separate this statement from the previous one in the same chunk.
+            sb.append("\n    ");
+        }
 
-                // Add all statements in this chunk.
-                sb.append(StringUtils.join(addPartitionStatements.subList(i, Math.min(listSize, i + chunkSize)), chunkSize > 1 ? "\n    " : ""));
+        sb.append(partitionStatement);
+    }
 
-                // Complete this alter table statement.
-                sb.append(";\n");
-            }
+    /**
+     * Writes the DDL accumulated in the string builder to the DDL writer of the request and clears the string builder. The leading whitespace of the DDL is
+     * removed when nothing was written yet and the trailing whitespace is removed from the last piece, so the streamed DDL matches the non-streamed one.
+     *
+     * @param generateDdlRequest the generate ddl request wrapper object
+     * @param sb the string builder with the DDL to write
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param isLast specifies whether this is the last piece of the DDL
+     */
+    public void writeDdl(GenerateDdlRequestWrapper generateDdlRequest, StringBuilder sb, Map<String, String> replacements, boolean isLast)
+    {
+        String ddl = sb.toString();
+        sb.setLength(0);
+
+        if (!generateDdlRequest.isDdlWritten)
+        {
+            ddl = StringUtils.stripStart(ddl, null);
+        }
+        if (isLast)
+        {
+            ddl = StringUtils.stripEnd(ddl, null);
+        }
+
+        // Substitute the relative custom DDL tokens with their values.
+        for (Map.Entry<String, String> entry : replacements.entrySet())
+        {
+            ddl = ddl.replaceAll(Pattern.quote(entry.getKey()), entry.getValue());
+        }
+
+        try
+        {
+            generateDdlRequest.ddlWriter.write(ddl);
+            generateDdlRequest.ddlWriter.flush();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to write the generated DDL.", e);
+        }
+
+        if (!ddl.isEmpty())
+        {
+            generateDdlRequest.isDdlWritten = true;
         }
     }
 
@@ -947,6 +1029,180 @@ public class BusinessObjectDataDdlPartitionsHelper
         return s3BucketName;
     }
 
+    /**
+     * Builds the expected S3 key prefix for the specified storage unit.
+     *
+     * @param generateDdlRequest the generate ddl request wrapper object
+     * @param storageUnitAvailabilityDto the storage unit availability DTO
+     * @param dataProviderName the data provider name
+     * @param s3KeyPrefixVelocityTemplates the map of storage names in upper case to their relative S3 key prefix velocity templates
+     * @param businessObjectFormats the map of business object format keys to their relative business object format instances
+     *
+     * @return the S3 key prefix
+     */
+    private String getS3KeyPrefix(GenerateDdlRequestWrapper generateDdlRequest, StorageUnitAvailabilityDto storageUnitAvailabilityDto, String dataProviderName,
+        Map<String, String> s3KeyPrefixVelocityTemplates, Map<BusinessObjectFormatKey, BusinessObjectFormat> businessObjectFormats)
+    {
+        // Get storage name in upper case for this storage unit.
+        String upperCaseStorageName = storageUnitAvailabilityDto.getStorageName().toUpperCase();
+
+        // Get storage entity for this storage unit.
+        StorageEntity storageEntity = getStorageEntity(upperCaseStorageName, generateDdlRequest.cachedStorageEntities);
+
+        // Retrieve s3 key prefix velocity template for this storage.
+        String s3KeyPrefixVelocityTemplate = getS3KeyPrefixVelocityTemplate(upperCaseStorageName, storageEntity, s3KeyPrefixVelocityTemplates);
+
+        // Retrieve business object format for this business object data.
+        BusinessObjectFormat businessObjectFormat =
+            getBusinessObjectFormat(businessObjectFormatHelper.getBusinessObjectFormatKey(storageUnitAvailabilityDto.getBusinessObjectDataKey()),
+                businessObjectFormats);
+
+        // Build the expected S3 key prefix for this storage unit.
+        return s3KeyPrefixHelper.buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, dataProviderName, businessObjectFormat,
+            storageUnitAvailabilityDto.getBusinessObjectDataKey(), storageUnitAvailabilityDto.getStorageName());
+    }
+
+    /**
+     * Validates the storage file paths registered with a storage unit and discovers the Hive partitions for it. For multiple level partitioning, the
+     * subpartitions (subdirectories) not already included into the S3 key prefix are auto-discovered from the storage file paths.
+     *
+     * @param generateDdlRequest the generate ddl request wrapper object
+     * @param businessObjectFormatForSchema the business object format to be used for schema
+     * @param storageUnitAvailabilityDto the storage unit availability DTO
+     * @param s3KeyPrefix the expected S3 key prefix for the storage unit
+     * @param registeredStorageFilePaths the storage file paths registered with the storage unit, not used when scan for unregistered sub-partitions is
+     * suppressed
+     *
+     * @return the list of Hive partitions for a partitioned table, otherwise an empty list
+     */
+    private List<HivePartitionDto> getStorageUnitHivePartitions(GenerateDdlRequestWrapper generateDdlRequest, BusinessObjectFormat businessObjectFormatForSchema,
+        StorageUnitAvailabilityDto storageUnitAvailabilityDto, String s3KeyPrefix, List<String> registeredStorageFilePaths)
+    {
+        // Get business object data key for this business object data.
+        BusinessObjectDataKey businessObjectDataKey = storageUnitAvailabilityDto.getBusinessObjectDataKey();
+
+        // If flag is set to suppress scan for unregistered sub-partitions, use the directory path or the S3 key prefix
+        // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions.
+        List<String> storageFilePaths = new ArrayList<>();
+        if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+        {
+            // Validate the directory path value if it is present.
+            if (StringUtils.isNotBlank(storageUnitAvailabilityDto.getStorageUnitDirectoryPath()))
+            {
+                Assert.isTrue(storageUnitAvailabilityDto.getStorageUnitDirectoryPath().equals(s3KeyPrefix), String.format(
+                    "Storage directory path \"%s\" registered with business object data {%s} " +
+                        "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitAvailabilityDto.getStorageUnitDirectoryPath(),
+                    businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), storageUnitAvailabilityDto.getStorageName(),
+                    s3KeyPrefix));
+            }
+
+            // Add the S3 key prefix to the list of storage files.
+            // We add a trailing '/' character to the prefix, since it represents a directory.
+            storageFilePaths.add(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
+        }
+        else
+        {
+            // Use storage file paths registered with this business object data in the specified storage.
+            storageFilePaths = registeredStorageFilePaths;
+
+            // If storage directory path is specified, prepend it to storage file paths, if not already there.
+            if (StringUtils.isNotBlank(storageUnitAvailabilityDto.getStorageUnitDirectoryPath()))
+            {
+                // Get storage unit directory path as is.
+                String storageUnitDirectoryPath = storageUnitAvailabilityDto.getStorageUnitDirectoryPath();
+
+                // Since storage unit directory path represents a directory, we add a trailing '/' character to it, unless it is already present.
+                String storageUnitDirectoryPathWithSlash = StringUtils.appendIfMissing(storageUnitAvailabilityDto.getStorageUnitDirectoryPath(), "/");
+
+                // If storage file path does not start with storage unit directory path:
+                // - For the empty folder S3 marker prepend storage unit directory path as is
+                // - For all other storage files, prepend storage unit directory path with slash
+                List<String> fullStorageFilePaths = new ArrayList<>();
+                for (String storageFilePath : storageFilePaths)
+                {
+                    if (StringUtils.startsWith(storageFilePath, storageUnitDirectoryPath))
+                    {
+                        fullStorageFilePaths.add(storageFilePath);
+                    }
+                    else
+                    {
+                        if (StringUtils.equals(storageFilePath, StorageFileEntity.S3_EMPTY_PARTITION))
+                        {
+                            fullStorageFilePaths.add(storageUnitDirectoryPath + storageFilePath);
+                        }
+                        else
+                        {
+                            fullStorageFilePaths.add(storageUnitDirectoryPathWithSlash + storageFilePath);
+                        }
+                    }
+                }
+                storageFilePaths = fullStorageFilePaths;
+            }
+
+            // Validate storage file paths registered with this business object data in the specified storage.
+            // The validation check below is required even if we have no storage files registered.
+            storageFileHelper.validateStorageFilePaths(storageFilePaths, s3KeyPrefix, businessObjectDataKey, storageUnitAvailabilityDto.getStorageName());
+
+            // If there are no storage files registered for this storage unit, we should use the storage directory path value.
+            if (storageFilePaths.isEmpty())
+            {
+                // Validate that directory path value is present and it matches the S3 key prefix.
+                Assert.isTrue(storageUnitAvailabilityDto.getStorageUnitDirectoryPath() != null &&
+                    storageUnitAvailabilityDto.getStorageUnitDirectoryPath().startsWith(s3KeyPrefix), String.format(
+                    "Storage directory path \"%s\" registered with business object data {%s} " +
+                        "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitAvailabilityDto.getStorageUnitDirectoryPath(),
+                    businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), storageUnitAvailabilityDto.getStorageName(),
+                    s3KeyPrefix));
+                // Add storage directory path the empty storage files list.
+                // We add a trailing '/' character to the path, since it represents a directory.
+                storageFilePaths.add(storageUnitAvailabilityDto.getStorageUnitDirectoryPath() + "/");
+            }
+        }
+
+        // A non-partitioned table has no Hive partitions.
+        if (!generateDdlRequest.isPartitioned)
+        {
+            return new ArrayList<>();
+        }
+
+        // If flag is set to suppress scan for unregistered sub-partitions, validate that the number of primary and sub-partition values specified for
+        // the business object data equals to the number of partition columns defined in schema for the format selected for DDL/Partitions generation.
+        if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+        {
+            int businessObjectDataRegisteredPartitions = 1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues());
+            Assert.isTrue(businessObjectFormatForSchema.getSchema().getPartitions().size() == businessObjectDataRegisteredPartitions, String.format(
+                "Number of primary and sub-partition values (%d) specified for the business object data is not equal to the number of partition " +
+                    "columns (%d) defined in the schema of the business object format selected for DDL/Partitions generation. " +
+                    "Business object data: {%s},  business object format: {%s}", businessObjectDataRegisteredPartitions,
+                businessObjectFormatForSchema.getSchema().getPartitions().size(),
+                businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), businessObjectFormatHelper
+                    .businessObjectFormatKeyToString(businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectFormatForSchema))));
+        }
+        // Otherwise, since the format version selected for DDL/Partitions generation might not match the relative business object format version that
+        // business bject data is registered against, validate that the number of sub-partition values specified for the business object data is less
+        // than the number of partition columns defined in schema for the format selected for DDL/Partitions generation.
+        else
+        {
+            Assert.isTrue(
+                businessObjectFormatForSchema.getSchema().getPartitions().size() > CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
+                String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
+                        "the number of partition columns defined in the schema of the business object format selected for DDL/Partitions generation. " +
+                        "Business object data: {%s},  business object format: {%s}",
+                    businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), businessObjectFormatHelper
+                        .businessObjectFormatKeyToString(businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectFormatForSchema))));
+        }
+
+        // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories) not already included into the S3 key
+        // prefix. Each discovered partition requires a standalone "add partition" clause. Please note that due to the above validation check, there
+        // should be no auto discoverable sub-partition columns, when flag is set to suppress scan for unregistered sub-partitions.
+        List<SchemaColumn> autoDiscoverableSubPartitionColumns = businessObjectFormatForSchema.getSchema().getPartitions()
+            .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
+                businessObjectFormatForSchema.getSchema().getPartitions().size());
+
+        return getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix, storageFilePaths,
+            storageUnitAvailabilityDto.getStorageName());
+    }
+
     /**
      * Gets a list of Hive partitions. For single level partitioning, no auto-discovery of sub-partitions (sub-directories) is needed - the business object data
      * will be represented by a single Hive partition instance. For multiple level partitioning, this method performs an auto-discovery of all sub-partitions
@@ -1027,15 +1283,64 @@ public class BusinessObjectDataDdlPartitionsHelper
     }
 
     /**
-     * Gets a pattern to match Hive partition sub-directories.
+     * Gets a pattern to match Hive partition sub-directories. The compiled patterns are cached per list of partition column names.
      *
      * @param partitionColumns the list of partition columns
      *
-     * @return the newly created pattern to match Hive partition sub-directories.
+     * @return the pattern to match Hive partition sub-directories
+     */
+    public Pattern getHivePathPattern(List<SchemaColumn> partitionColumns)
+    {
+        List<String> partitionColumnNames = new ArrayList<>(partitionColumns.size());
+        for (SchemaColumn partitionColumn : partitionColumns)
+        {
+            partitionColumnNames.add(partitionColumn.getName());
+        }
+
+        Pattern pattern = hivePathPatterns.get(partitionColumnNames);
+
+        if (pattern != null)
+        {
+            hivePathPatternCacheHits.incrementAndGet();
+        }
+        else
+        {
+            long misses = hivePathPatternCacheMisses.incrementAndGet();
+
+            // Keep the cache bounded. Patterns are cheap to rebuild, so we simply start over once the limit is reached.
+            if (hivePathPatterns.size() >= HIVE_PATH_PATTERN_CACHE_MAX_SIZE)
+            {
+                hivePathPatterns.clear();
+            }
+
+            pattern = Pattern.compile(getHivePathRegex(partitionColumns));
+            hivePathPatterns.put(partitionColumnNames, pattern);
+
+            LOGGER.debug("Compiled Hive path pattern. partitionColumnNames={} hivePathPatternCacheHits={} hivePathPatternCacheMisses={}", partitionColumnNames,
+                hivePathPatternCacheHits.get(), misses);
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Gets the number of Hive path pattern lookups served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHivePathPatternCacheHits()
+    {
+        return hivePathPatternCacheHits.get();
+    }
+
+    /**
+     * Gets the number of Hive path pattern lookups that required the pattern to be compiled.
+     *
+     * @return the number of cache misses
      */
-    private Pattern getHivePathPattern(List<SchemaColumn> partitionColumns)
+    public long getHivePathPatternCacheMisses()
     {
-        return Pattern.compile(getHivePathRegex(partitionColumns));
+        return hivePathPatternCacheMisses.get();
     }
 
     /**
@@ -1149,6 +1454,14 @@ public class BusinessObjectDataDdlPartitionsHelper
 
         private Boolean suppressQuotesInNumericTypePartitionValues;
 
+        private XMLGregorianCalendar businessObjectDataUpdatedOnWatermark;
+
+        private XMLGregorianCalendar newBusinessObjectDataUpdatedOnWatermark;
+
+        private Writer ddlWriter;
+
+        private boolean isDdlWritten;
+
         public Boolean getGeneratePartitionsRequest()
         {
             return isGeneratePartitionsRequest;
@@ -1378,6 +1691,46 @@ public class BusinessObjectDataDdlPartitionsHelper
         {
             this.suppressQuotesInNumericTypePartitionValues = suppressQuotesInNumericTypePartitionValues;
         }
+
+        public XMLGregorianCalendar getBusinessObjectDataUpdatedOnWatermark()
+        {
+            return businessObjectDataUpdatedOnWatermark;
+        }
+
+        public void setBusinessObjectDataUpdatedOnWatermark(XMLGregorianCalendar businessObjectDataUpdatedOnWatermark)
+        {
+            this.businessObjectDataUpdatedOnWatermark = businessObjectDataUpdatedOnWatermark;
+        }
+
+        public XMLGregorianCalendar getNewBusinessObjectDataUpdatedOnWatermark()
+        {
+            return newBusinessObjectDataUpdatedOnWatermark;
+        }
+
+        public void setNewBusinessObjectDataUpdatedOnWatermark(XMLGregorianCalendar newBusinessObjectDataUpdatedOnWatermark)
+        {
+            this.newBusinessObjectDataUpdatedOnWatermark = newBusinessObjectDataUpdatedOnWatermark;
+        }
+
+        public Writer getDdlWriter()
+        {
+            return ddlWriter;
+        }
+
+        public void setDdlWriter(Writer ddlWriter)
+        {
+            this.ddlWriter = ddlWriter;
+        }
+
+        public boolean isDdlWritten()
+        {
+            return isDdlWritten;
+        }
+
+        public void setDdlWritten(boolean ddlWritten)
+        {
+            isDdlWritten = ddlWritten;
+        }
     }
 
     GenerateDdlRequestWrapper getGenerateDdlRequestWrapperInstance()
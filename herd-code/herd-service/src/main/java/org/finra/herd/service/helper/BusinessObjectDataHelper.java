@@ -868,7 +868,7 @@ public class BusinessObjectDataHelper
      *
      * @return the business object data version-less alternate key
      */
-    private BusinessObjectDataVersionLessKey getBusinessObjectDataVersionLessKeyFromBusinessObjectDataKey(BusinessObjectDataKey businessObjectDataKey)
+    public BusinessObjectDataVersionLessKey getBusinessObjectDataVersionLessKeyFromBusinessObjectDataKey(BusinessObjectDataKey businessObjectDataKey)
     {
         return new BusinessObjectDataVersionLessKey(businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName(),
             StringUtils.upperCase(businessObjectDataKey.getBusinessObjectFormatUsage()), businessObjectDataKey.getBusinessObjectFormatFileType(),
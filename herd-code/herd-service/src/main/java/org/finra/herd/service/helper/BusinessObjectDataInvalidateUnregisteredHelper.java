@@ -389,6 +389,9 @@ public class BusinessObjectDataInvalidateUnregisteredHelper
                 // Set this data as latest version if this is the end of the loop
                 businessObjectDataEntity.setLatestVersion(!unregisteredBusinessObjectDataKeysIterator.hasNext());
 
+                // This data is not registered as VALID, so it is not the latest valid version.
+                businessObjectDataEntity.setLatestValidVersion(false);
+
                 businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
 
                 createdBusinessObjectDataEntities.add(businessObjectDataEntity);
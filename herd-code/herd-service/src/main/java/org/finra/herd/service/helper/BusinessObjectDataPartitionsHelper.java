@@ -20,6 +20,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.apache.commons.lang3.mutable.MutableObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -47,12 +50,15 @@ public class BusinessObjectDataPartitionsHelper
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
      * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
      * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param newBusinessObjectDataUpdatedOnWatermark the holder to be populated with the new business object data updated on watermark, only populated when
+     * the request specifies a watermark
      *
      * @return the business object data partitions list
      */
     public List<Partition> generatePartitions(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames, List<StorageEntity> requestedStorageEntities,
-        Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames)
+        Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames,
+        MutableObject<XMLGregorianCalendar> newBusinessObjectDataUpdatedOnWatermark)
     {
 
         BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequestWrapper = businessObjectDataDdlPartitionsHelper
@@ -68,6 +74,7 @@ public class BusinessObjectDataPartitionsHelper
         businessObjectDataDdlPartitionsHelper
             .processStorageUnitsForGenerateDdlPartitions(generateDdlRequestWrapper, sb, partitions, replacements, businessObjectFormatForSchema, null,
                 storageUnitAvailabilityDtos);
+        newBusinessObjectDataUpdatedOnWatermark.setValue(generateDdlRequestWrapper.getNewBusinessObjectDataUpdatedOnWatermark());
         return partitions;
     }
 }
@@ -15,9 +15,14 @@
  */
 package org.finra.herd.service.helper;
 
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
 import org.finra.herd.model.api.xml.BusinessObjectFormatDdlRequest;
@@ -60,12 +65,16 @@ public abstract class DdlGenerator
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
      * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
      * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param newBusinessObjectDataUpdatedOnWatermark the holder to be populated with the new business object data updated on watermark, only populated when
+     * the request specifies a watermark
+     * @param ddlWriter the optional writer to stream the generated DDL to, when specified the DDL is written to it as it gets generated
      *
-     * @return the generated DDL
+     * @return the generated DDL or null when the DDL was written to the specified writer
      */
     public abstract String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
-        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames);
+        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames,
+        MutableObject<XMLGregorianCalendar> newBusinessObjectDataUpdatedOnWatermark, Writer ddlWriter);
 
     public abstract String generateReplaceColumnsStatement(BusinessObjectFormatDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity);
 
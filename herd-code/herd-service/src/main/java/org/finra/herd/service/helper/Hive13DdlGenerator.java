@@ -15,6 +15,7 @@
  */
 package org.finra.herd.service.helper;
 
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,11 +27,14 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector.Category;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -100,6 +104,11 @@ public class Hive13DdlGenerator extends DdlGenerator
     private static final List<String> HIVE_COMPLEX_DATA_TYPES =
         Arrays.asList(Category.LIST.toString(), Category.MAP.toString(), Category.UNION.toString(), Category.STRUCT.toString());
 
+    /**
+     * The pattern that matches a single quote character that is not already escaped by a backslash.
+     */
+    private static final Pattern UNESCAPED_SINGLE_QUOTE_PATTERN = Pattern.compile("(?<!\\\\)(')");
+
     @Autowired
     private BusinessObjectDataDdlPartitionsHelper businessObjectDataDdlPartitionsHelper;
 
@@ -118,8 +127,7 @@ public class Hive13DdlGenerator extends DdlGenerator
      */
     public String escapeSingleQuotes(String string)
     {
-        Pattern pattern = Pattern.compile("(?<!\\\\)(')");
-        Matcher matcher = pattern.matcher(string);
+        Matcher matcher = UNESCAPED_SINGLE_QUOTE_PATTERN.matcher(string);
         StringBuffer stringBuffer = new StringBuffer();
 
         while (matcher.find())
@@ -142,18 +150,25 @@ public class Hive13DdlGenerator extends DdlGenerator
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
      * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
      * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param newBusinessObjectDataUpdatedOnWatermark the holder to be populated with the new business object data updated on watermark, only populated when
+     * the request specifies a watermark
+     * @param ddlWriter the optional writer to stream the generated DDL to
      *
-     * @return the create table Hive DDL
+     * @return the create table Hive DDL or null when the DDL was written to the specified writer
      */
     @Override
     public String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
-        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames)
+        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames,
+        MutableObject<XMLGregorianCalendar> newBusinessObjectDataUpdatedOnWatermark, Writer ddlWriter)
     {
         BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequestWrapper = businessObjectDataDdlPartitionsHelper
             .buildGenerateDdlPartitionsWrapper(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
                 requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames);
-        return generateCreateTableDdlHelper(generateDdlRequestWrapper);
+        generateDdlRequestWrapper.setDdlWriter(ddlWriter);
+        String ddl = generateCreateTableDdlHelper(generateDdlRequestWrapper);
+        newBusinessObjectDataUpdatedOnWatermark.setValue(generateDdlRequestWrapper.getNewBusinessObjectDataUpdatedOnWatermark());
+        return ddl;
     }
 
     /**
@@ -352,11 +367,11 @@ public class Hive13DdlGenerator extends DdlGenerator
      *
      * @param partitionColumns the list of partition columns
      *
-     * @return the newly created pattern to match Hive partition sub-directories.
+     * @return the pattern to match Hive partition sub-directories
      */
     public Pattern getHivePathPattern(List<SchemaColumn> partitionColumns)
     {
-        return Pattern.compile(getHivePathRegex(partitionColumns));
+        return businessObjectDataDdlPartitionsHelper.getHivePathPattern(partitionColumns);
     }
 
     /**
@@ -364,55 +379,11 @@ public class Hive13DdlGenerator extends DdlGenerator
      *
      * @param partitionColumns the list of partition columns
      *
-     * @return the newly created regex to match Hive partition sub-directories.
+     * @return the regex to match Hive partition sub-directories
      */
     public String getHivePathRegex(List<SchemaColumn> partitionColumns)
     {
-        StringBuilder sb = new StringBuilder(26);
-
-        sb.append("^(?:");      // Start a non-capturing group for the entire regex.
-
-        // For each partition column, add a regular expression to match "<COLUMN_NAME|COLUMN-NAME>=<VALUE>" sub-directory.
-        for (SchemaColumn partitionColumn : partitionColumns)
-        {
-            sb.append("(?:");   // Start a non-capturing group for the remainder of the regex.
-            sb.append("(?:");   // Start a non-capturing group for folder markers.
-            sb.append("\\/");   // Add a trailing "/".
-            sb.append('|');     // Ann an OR.
-            sb.append(REGEX_S3_EMPTY_PARTITION);    // Add a trailing "_$folder$", which represents an empty partition in S3.
-            sb.append(')');     // Close the non-capturing group for folder markers.
-            sb.append('|');     // Add an OR.
-            sb.append("(?:");   // Start a non-capturing group for "/<column name>=<column value>".
-            sb.append("\\/");   // Add a "/".
-            // We are using a non-capturing group for the partition column names here - this is done by adding "?:" to the beginning of a capture group.
-            sb.append("(?:");   // Start a non-capturing group for column name.
-            sb.append("(?i)");  // Match partition column names case insensitive.
-            sb.append(Matcher.quoteReplacement(partitionColumn.getName()));
-            sb.append('|');     // Add an OR.
-            // For sub-partition folder, we do support partition column names having all underscores replaced with hyphens.
-            sb.append(Matcher.quoteReplacement(partitionColumn.getName().replace("_", "-")));
-            sb.append(')');     // Close the non-capturing group for column name.
-            sb.append("=([^/]+)"); // Add a capturing group for a column value.
-        }
-
-        // Add additional regular expression for the trailing empty folder marker and/or "/" followed by an optional file name.
-        sb.append("(");     // Start a capturing group for folder markers and an optional file name.
-        sb.append("\\/");   // Add a trailing "/".
-        sb.append("[^/]*"); // Add an optional file name.
-        sb.append('|');     // Add an OR.
-        sb.append(REGEX_S3_EMPTY_PARTITION);    // Add a trailing "_$folder$", which represents an empty partition in S3.
-        sb.append(")");     // Close the capturing group for folder markers and an optional file name.
-
-        // Close all non-capturing groups that are still open.
-        for (int i = 0; i < 2 * partitionColumns.size(); i++)
-        {
-            sb.append(')');
-        }
-
-        sb.append(')');     // Close the non-capturing group for the entire regex.
-        sb.append('$');
-
-        return sb.toString();
+        return getHivePathPattern(partitionColumns).pattern();
     }
 
     /**
@@ -468,6 +439,13 @@ public class Hive13DdlGenerator extends DdlGenerator
             processPartitionFiltersForGenerateDdl(generateDdlRequest, sb, replacements, businessObjectFormat, ifNotExistsOption);
         }
 
+        // When DDL is streamed, write out the rest of the generated DDL.
+        if (generateDdlRequest.getDdlWriter() != null)
+        {
+            businessObjectDataDdlPartitionsHelper.writeDdl(generateDdlRequest, sb, replacements, true);
+            return null;
+        }
+
         // Trim to remove unnecessary end-of-line characters, if any, from the end of the generated DDL.
         String resultDdl = sb.toString().trim();
 
@@ -162,9 +162,9 @@ public class S3KeyPrefixHelper
         context.put("businessObjectDataSubPartitions", subPartitions);
         context.put("CollectionUtils", CollectionUtils.class);
 
-        // Process the velocity template.
+        // Process the velocity template. The parsed template is cached, since the same template gets evaluated for every partition when generating DDL.
         String s3KeyPrefix = velocityHelper
-            .evaluate(s3KeyPrefixVelocityTemplate, context, configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE));
+            .evaluateCached(s3KeyPrefixVelocityTemplate, context, configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE));
 
         // Validate that S3 key prefix is not blank.
         Assert.isTrue(StringUtils.isNotBlank(s3KeyPrefix), String
@@ -215,7 +215,7 @@ public class S3KeyPrefixHelper
         // Process the velocity template.
         String s3KeyPrefix =
                 velocityHelper
-                        .evaluate(s3KeyPrefixVelocityTemplate, context, configurationHelper
+                        .evaluateCached(s3KeyPrefixVelocityTemplate, context, configurationHelper
                                 .getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE));
 
         // Validate that S3 key prefix is not blank.
@@ -25,12 +25,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -424,45 +426,67 @@ public class StorageFileHelper
     public void validateRegisteredS3Files(List<StorageFile> expectedStorageFiles, List<S3ObjectSummary> s3ObjectSummaries, String storageName,
         BusinessObjectDataKey businessObjectDataKey)
     {
-        // Get a set of actual S3 file paths.
-        Set<String> actualS3FilePaths = new HashSet<>(getFilePathsFromS3ObjectSummaries(s3ObjectSummaries));
-
-        // Validate existence and file size for all expected files.
-        for (StorageFile expectedStorageFile : expectedStorageFiles)
-        {
-            if (!actualS3FilePaths.contains(expectedStorageFile.getFilePath()))
-            {
-                throw new ObjectNotFoundException(
-                    String.format("Registered file \"%s\" does not exist in \"%s\" storage.", expectedStorageFile.getFilePath(), storageName));
-            }
-        }
+        validateRegisteredS3Files(expectedStorageFiles, s3ObjectSummaries::forEach, storageName, businessObjectDataKey);
+    }
 
+    /**
+     * Validates registered S3 files per list of expected storage files against S3 files streamed by the specified producer. The actual S3 files are not
+     * collected, so only the expected file paths are held in memory regardless of the number of S3 files. The S3 files are expected to be listed without
+     * the zero byte objects that represent S3 directories.
+     *
+     * @param expectedStorageFiles the list of expected S3 files represented by storage files
+     * @param s3ObjectSummaryProducer the producer that passes each actual S3 file represented by S3 object summary to the specified consumer
+     * @param storageName the storage name
+     * @param businessObjectDataKey the business object data key
+     */
+    public void validateRegisteredS3Files(List<StorageFile> expectedStorageFiles, Consumer<Consumer<S3ObjectSummary>> s3ObjectSummaryProducer,
+        String storageName, BusinessObjectDataKey businessObjectDataKey)
+    {
         // Get a set of expected file paths.
         Set<String> expectedFilePaths = new HashSet<>(getFilePathsFromStorageFiles(expectedStorageFiles));
 
         // Create a JSON representation of the business object data key.
         String businessObjectDataKeyAsJson = jsonHelper.objectToJson(businessObjectDataKey);
 
-        // Validate that no other files in S3 bucket except for expected storage files have the same S3 key prefix.
+        // Keep track of the expected files found in S3 and of the first unregistered non-empty S3 file.
+        Set<String> actualExpectedFilePaths = new HashSet<>();
+        MutableObject<String> unregisteredS3FilePath = new MutableObject<>();
+
         // Please note that this validation ignores (does not fail on) any unregistered zero byte S3 files.
-        for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+        s3ObjectSummaryProducer.accept(s3ObjectSummary -> {
+            if (expectedFilePaths.contains(s3ObjectSummary.getKey()))
+            {
+                actualExpectedFilePaths.add(s3ObjectSummary.getKey());
+            }
+            // Ignore unregistered zero byte S3 files.
+            else if (s3ObjectSummary.getSize() == 0)
+            {
+                LOGGER.info("Ignoring unregistered zero byte S3 file. s3Key=\"{}\" storageName=\"{}\" businessObjectDataKey={}", s3ObjectSummary.getKey(),
+                    storageName, businessObjectDataKeyAsJson);
+            }
+            else if (unregisteredS3FilePath.getValue() == null)
+            {
+                unregisteredS3FilePath.setValue(s3ObjectSummary.getKey());
+            }
+        });
+
+        // Validate existence for all expected files.
+        for (StorageFile expectedStorageFile : expectedStorageFiles)
         {
-            if (!expectedFilePaths.contains(s3ObjectSummary.getKey()))
+            if (!actualExpectedFilePaths.contains(expectedStorageFile.getFilePath()))
             {
-                // Ignore unregistered zero byte S3 files.
-                if (s3ObjectSummary.getSize() == 0)
-                {
-                    LOGGER.info("Ignoring unregistered zero byte S3 file. s3Key=\"{}\" storageName=\"{}\" businessObjectDataKey={}", s3ObjectSummary.getKey(),
-                        storageName, businessObjectDataKeyAsJson);
-                }
-                else
-                {
-                    throw new IllegalStateException(String
-                        .format("Found unregistered non-empty S3 file \"%s\" in \"%s\" storage. Business object data {%s}", s3ObjectSummary.getKey(),
-                            storageName, businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
-                }
+                throw new ObjectNotFoundException(
+                    String.format("Registered file \"%s\" does not exist in \"%s\" storage.", expectedStorageFile.getFilePath(), storageName));
             }
         }
+
+        // Validate that no other files in S3 bucket except for expected storage files have the same S3 key prefix.
+        if (unregisteredS3FilePath.getValue() != null)
+        {
+            throw new IllegalStateException(String
+                .format("Found unregistered non-empty S3 file \"%s\" in \"%s\" storage. Business object data {%s}", unregisteredS3FilePath.getValue(),
+                    storageName, businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
+        }
     }
 
     /**
@@ -537,6 +561,24 @@ public class StorageFileHelper
         }
     }
 
+    /**
+     * Validates that all storage files match the expected S3 key prefix.
+     *
+     * @param storageFiles the list of storage files to be validated
+     * @param s3KeyPrefix the S3 key prefix that was prepended to the S3 file paths, when they were uploaded to S3
+     */
+    public void validateStorageFilesS3KeyPrefix(List<StorageFile> storageFiles, String s3KeyPrefix)
+    {
+        if (!CollectionUtils.isEmpty(storageFiles))
+        {
+            for (StorageFile storageFile : storageFiles)
+            {
+                Assert.isTrue(storageFile.getFilePath().startsWith(s3KeyPrefix), String
+                    .format("Storage file S3 key prefix \"%s\" does not match the expected S3 key prefix \"%s\".", storageFile.getFilePath(), s3KeyPrefix));
+            }
+        }
+    }
+
     /**
      * Validates S3 files per storage unit information.
      *
@@ -547,13 +589,12 @@ public class StorageFileHelper
     public void validateStorageUnitS3Files(StorageUnit storageUnit, List<String> actualS3Files, String s3KeyPrefix)
     {
         // Validate that all files match the expected S3 key prefix and build a list of registered S3 files.
+        validateStorageFilesS3KeyPrefix(storageUnit.getStorageFiles(), s3KeyPrefix);
         List<String> registeredS3Files = new ArrayList<>();
         if (!CollectionUtils.isEmpty(storageUnit.getStorageFiles()))
         {
             for (StorageFile storageFile : storageUnit.getStorageFiles())
             {
-                Assert.isTrue(storageFile.getFilePath().startsWith(s3KeyPrefix), String
-                    .format("Storage file S3 key prefix \"%s\" does not match the expected S3 key prefix \"%s\".", storageFile.getFilePath(), s3KeyPrefix));
                 registeredS3Files.add(storageFile.getFilePath());
             }
         }
@@ -145,6 +145,9 @@ public class StorageHelper
         setProxyHostAndPort(params);
 
         params.setAwsRegionName(configurationHelper.getProperty(ConfigurationValue.AWS_REGION_NAME));
+        params.setListingParallelism(configurationHelper.getProperty(ConfigurationValue.S3_LIST_OBJECTS_PARALLELISM, Integer.class));
+        params.setTaggingMaxRequestsPerSecond(
+            configurationHelper.getProperty(ConfigurationValue.S3_TAG_OBJECTS_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Integer.class));
 
         return params;
     }
@@ -21,10 +21,17 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.WildcardHelper;
@@ -45,9 +52,22 @@ import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
 @Component
 public class UserNamespaceAuthorizationHelper
 {
+    /**
+     * The name of the counter that tracks the number of namespace authorizations served from the cache.
+     */
+    public static final String CACHE_HITS_METRIC_NAME = MetricRegistry.name("userNamespaceAuthorizationCache", "hits");
+
+    /**
+     * The name of the counter that tracks the number of namespace authorizations loaded from the database while the cache is enabled.
+     */
+    public static final String CACHE_MISSES_METRIC_NAME = MetricRegistry.name("userNamespaceAuthorizationCache", "misses");
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private MetricRegistry metricRegistry;
+
     @Autowired
     private NamespaceDao namespaceDao;
 
@@ -61,7 +81,18 @@ public class UserNamespaceAuthorizationHelper
     private WildcardHelper wildcardHelper;
 
     /**
-     * Builds a set of namespace authorizations per specified user and adds them to the application user.
+     * The cache of the resolved namespace authorizations keyed by the upper-cased user id. It is only used when the cache time to live is configured.
+     */
+    private final ConcurrentMap<String, CachedNamespaceAuthorizations> namespaceAuthorizationsCache = new ConcurrentHashMap<>();
+
+    /**
+     * The number of cache evictions so far. It lets a cache load that raced with an eviction detect that its result might already be stale.
+     */
+    private final AtomicLong namespaceAuthorizationsCacheEvictionCount = new AtomicLong();
+
+    /**
+     * Builds a set of namespace authorizations per specified user and adds them to the application user. When the user namespace authorization cache is
+     * enabled, the namespace authorizations resolved for the user within the cache time to live are reused.
      *
      * @param applicationUser the application user
      */
@@ -70,34 +101,93 @@ public class UserNamespaceAuthorizationHelper
         // Get the user id from the application user.
         String userId = applicationUser.getUserId();
 
-        // Check if user namespace authorization is not enabled or this user is a namespace authorization administrator.
-        if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)) ||
-            isNamespaceAuthorizationAdmin(userId))
+        // Load the namespace authorizations from the database if the cache is not enabled.
+        int cacheTimeToLiveSeconds = configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Integer.class);
+        if (cacheTimeToLiveSeconds <= 0)
         {
-            // Assign all permissions for all namespaces configured in the system.
-            applicationUser.setNamespaceAuthorizations(getAllNamespaceAuthorizations());
+            applicationUser.setNamespaceAuthorizations(getNamespaceAuthorizations(userId));
+            return;
+        }
+
+        // Get the cached namespace authorizations for this user, if they have not expired yet.
+        String cacheKey = userId.toUpperCase();
+        long currentTimeMillis = System.currentTimeMillis();
+        CachedNamespaceAuthorizations cachedNamespaceAuthorizations = namespaceAuthorizationsCache.get(cacheKey);
+        if (cachedNamespaceAuthorizations != null && currentTimeMillis - cachedNamespaceAuthorizations.createdTimeMillis < cacheTimeToLiveSeconds * 1000L)
+        {
+            metricRegistry.counter(CACHE_HITS_METRIC_NAME).inc();
         }
         else
         {
-            // Assign a set of namespace authorizations per specified user.
-            Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
-            applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
-            for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao
-                .getUserNamespaceAuthorizationsByUserId(userId))
-            {
-                namespaceAuthorizations.add(toNamespaceAuthorization(userNamespaceAuthorizationEntity));
-            }
+            metricRegistry.counter(CACHE_MISSES_METRIC_NAME).inc();
+
+            long evictionCount = namespaceAuthorizationsCacheEvictionCount.get();
+            cachedNamespaceAuthorizations = new CachedNamespaceAuthorizations(getNamespaceAuthorizations(userId), currentTimeMillis);
+            cacheNamespaceAuthorizations(cacheKey, cachedNamespaceAuthorizations, cacheTimeToLiveSeconds);
 
-            // Search authorizations by wildcard token
-            for (UserNamespaceAuthorizationEntity wildcardEntity : userNamespaceAuthorizationDao
-                .getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN))
+            // Do not keep the loaded namespace authorizations if the cache got evicted while they were being loaded.
+            if (evictionCount != namespaceAuthorizationsCacheEvictionCount.get())
             {
-                if (wildcardHelper.matches(userId.toUpperCase(), wildcardEntity.getUserId().toUpperCase()))
-                {
-                    namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
-                }
+                namespaceAuthorizationsCache.remove(cacheKey, cachedNamespaceAuthorizations);
             }
         }
+
+        // Give each application user its own copy, so the cached namespace authorizations can not be modified by the caller.
+        Set<NamespaceAuthorization> namespaceAuthorizations = new LinkedHashSet<>();
+        for (NamespaceAuthorization namespaceAuthorization : cachedNamespaceAuthorizations.namespaceAuthorizations)
+        {
+            namespaceAuthorizations
+                .add(new NamespaceAuthorization(namespaceAuthorization.getNamespace(), new ArrayList<>(namespaceAuthorization.getNamespacePermissions())));
+        }
+        applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of the specified user. If the user id is a wildcard user id, the cached namespace authorizations of all users
+     * are evicted, since any of them might be matched by the wildcard.
+     *
+     * @param userId the user id of the user namespace authorization that has changed
+     */
+    public void evictNamespaceAuthorizations(String userId)
+    {
+        if (StringUtils.startsWith(userId, WildcardHelper.WILDCARD_TOKEN))
+        {
+            clearNamespaceAuthorizationsCache();
+        }
+        else
+        {
+            namespaceAuthorizationsCacheEvictionCount.incrementAndGet();
+            namespaceAuthorizationsCache.remove(userId.toUpperCase());
+        }
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of all users.
+     */
+    public void clearNamespaceAuthorizationsCache()
+    {
+        namespaceAuthorizationsCacheEvictionCount.incrementAndGet();
+        namespaceAuthorizationsCache.clear();
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of the specified user once the current transaction commits. Evicting them before the commit would let a
+     * concurrent load cache the namespace authorizations that do not have this change yet. When no transaction is active, they are evicted right away.
+     *
+     * @param userId the user id of the user namespace authorization that has changed
+     */
+    public void evictNamespaceAuthorizationsAfterCommit(String userId)
+    {
+        runAfterCommit(() -> evictNamespaceAuthorizations(userId));
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of all users once the current transaction commits. When no transaction is active, they are evicted right
+     * away.
+     */
+    public void clearNamespaceAuthorizationsCacheAfterCommit()
+    {
+        runAfterCommit(this::clearNamespaceAuthorizationsCache);
     }
 
     /**
@@ -171,6 +261,68 @@ public class UserNamespaceAuthorizationHelper
             NamespacePermissionEnum.WRITE_DESCRIPTIVE_CONTENT, NamespacePermissionEnum.WRITE_ATTRIBUTE);
     }
 
+    /**
+     * Adds the namespace authorizations to the cache. When the cache is full, the expired entries get removed first. If the cache is still full, the namespace
+     * authorizations are not cached.
+     *
+     * @param cacheKey the cache key
+     * @param cachedNamespaceAuthorizations the namespace authorizations to cache
+     * @param cacheTimeToLiveSeconds the cache time to live in seconds
+     */
+    private void cacheNamespaceAuthorizations(String cacheKey, CachedNamespaceAuthorizations cachedNamespaceAuthorizations, int cacheTimeToLiveSeconds)
+    {
+        int cacheMaxSize = configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_SIZE, Integer.class);
+        if (namespaceAuthorizationsCache.size() >= cacheMaxSize && !namespaceAuthorizationsCache.containsKey(cacheKey))
+        {
+            long expirationTimeMillis = cachedNamespaceAuthorizations.createdTimeMillis - cacheTimeToLiveSeconds * 1000L;
+            namespaceAuthorizationsCache.values().removeIf(cachedValue -> cachedValue.createdTimeMillis <= expirationTimeMillis);
+
+            if (namespaceAuthorizationsCache.size() >= cacheMaxSize)
+            {
+                return;
+            }
+        }
+
+        namespaceAuthorizationsCache.put(cacheKey, cachedNamespaceAuthorizations);
+    }
+
+    /**
+     * Loads a set of namespace authorizations per specified user from the database.
+     *
+     * @param userId the user id
+     *
+     * @return the set of namespace authorizations
+     */
+    private Set<NamespaceAuthorization> getNamespaceAuthorizations(String userId)
+    {
+        // Check if user namespace authorization is not enabled or this user is a namespace authorization administrator.
+        if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)) ||
+            isNamespaceAuthorizationAdmin(userId))
+        {
+            // Assign all permissions for all namespaces configured in the system.
+            return getAllNamespaceAuthorizations();
+        }
+
+        // Assign a set of namespace authorizations per specified user.
+        Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
+        for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(userId))
+        {
+            namespaceAuthorizations.add(toNamespaceAuthorization(userNamespaceAuthorizationEntity));
+        }
+
+        // Search authorizations by wildcard token
+        for (UserNamespaceAuthorizationEntity wildcardEntity : userNamespaceAuthorizationDao
+            .getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN))
+        {
+            if (wildcardHelper.matches(userId.toUpperCase(), wildcardEntity.getUserId().toUpperCase()))
+            {
+                namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
+            }
+        }
+
+        return namespaceAuthorizations;
+    }
+
     /**
      * Converts the given UserNamespaceAuthorizationEntity to NamespaceAuthorization.
      *
@@ -198,4 +350,44 @@ public class UserNamespaceAuthorizationHelper
         UserEntity userEntity = userDao.getUserByUserId(userId);
         return userEntity != null ? userEntity.getNamespaceAuthorizationAdmin() : false;
     }
+
+    /**
+     * Runs the specified action once the current transaction commits or right away when no transaction is active.
+     *
+     * @param action the action to run
+     */
+    private void runAfterCommit(Runnable action)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+        }
+        else
+        {
+            action.run();
+        }
+    }
+
+    /**
+     * The namespace authorizations resolved for a user along with the time they were loaded.
+     */
+    private static class CachedNamespaceAuthorizations
+    {
+        private final Set<NamespaceAuthorization> namespaceAuthorizations;
+
+        private final long createdTimeMillis;
+
+        private CachedNamespaceAuthorizations(Set<NamespaceAuthorization> namespaceAuthorizations, long createdTimeMillis)
+        {
+            this.namespaceAuthorizations = namespaceAuthorizations;
+            this.createdTimeMillis = createdTimeMillis;
+        }
+    }
 }
@@ -20,9 +20,18 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Map;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
+import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.util.introspection.SecureUberspector;
 import org.springframework.stereotype.Component;
 
@@ -33,6 +42,17 @@ import org.springframework.stereotype.Component;
 @Component
 public class VelocityHelper
 {
+    /**
+     * The maximum number of parsed templates to keep in memory. When exceeded, the least recently used templates get evicted.
+     */
+    static final int TEMPLATE_CACHE_MAX_SIZE = 1000;
+
+    /**
+     * The cache of parsed templates used by {@link #evaluateCached(String, Map, String)}, keyed by the log tag and the template text. Since the key is the
+     * template content itself, an updated template (e.g. a changed storage attribute value) simply results in a different key.
+     */
+    private final Cache<Pair<String, String>, Template> templates = CacheBuilder.newBuilder().maximumSize(TEMPLATE_CACHE_MAX_SIZE).recordStats().build();
+
     /**
      * Initializes the Velocity engine.
      */
@@ -82,4 +102,80 @@ public class VelocityHelper
         StringReader templateReader = new StringReader(template);
         return evaluate(templateReader, variables, logTag);
     }
+
+    /**
+     * Evaluates the specified template the same way as {@link #evaluate(String, Map, String)}, but keeps the parsed template in a bounded LRU cache, so
+     * repeated evaluations of the same template skip the parsing step. This should be used only by the call sites that evaluate a small set of templates
+     * over and over again (e.g. the S3 key prefix template evaluated per partition when generating DDL).
+     *
+     * @param template The template {@link String}
+     * @param variables Variables to add to context
+     * @param logTag The log tag
+     *
+     * @return {@link String} result of evaluation
+     */
+    public String evaluateCached(String template, Map<String, Object> variables, String logTag)
+    {
+        StringWriter writer = new StringWriter();
+        getTemplate(template, logTag).merge(new VelocityContext(variables), writer);
+        return writer.toString();
+    }
+
+    /**
+     * Gets the number of cached template evaluations that reused an already parsed template.
+     *
+     * @return the number of cache hits
+     */
+    public long getTemplateCacheHits()
+    {
+        return templates.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of cached template evaluations that required the template to be parsed.
+     *
+     * @return the number of cache misses
+     */
+    public long getTemplateCacheMisses()
+    {
+        return templates.stats().missCount();
+    }
+
+    /**
+     * Gets a parsed and initialized template for the specified template text. The parsed templates are cached, so repeated evaluations of the same template
+     * skip the parsing step.
+     *
+     * @param template the template {@link String}
+     * @param logTag the log tag, used as the template name
+     *
+     * @return the parsed template
+     */
+    private Template getTemplate(String template, String logTag)
+    {
+        Pair<String, String> key = new ImmutablePair<>(logTag, template);
+
+        Template parsedTemplate = templates.getIfPresent(key);
+
+        if (parsedTemplate == null)
+        {
+            RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+            parsedTemplate = new Template();
+            parsedTemplate.setName(logTag);
+            parsedTemplate.setRuntimeServices(runtimeServices);
+            try
+            {
+                parsedTemplate.setData(runtimeServices.parse(new StringReader(template), logTag));
+            }
+            catch (ParseException e)
+            {
+                // Velocity.evaluate() reports parse failures as ParseErrorException, so we do the same here.
+                throw new ParseErrorException(e, logTag);
+            }
+            parsedTemplate.initDocument();
+
+            templates.put(key, parsedTemplate);
+        }
+
+        return parsedTemplate;
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
  */
 package org.finra.herd.service.impl;
 
+import java.io.Writer;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -22,9 +23,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -307,6 +311,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @NamespacePermission(fields = "#request.namespace", permissions = NamespacePermissionEnum.READ)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer ddlWriter)
+    {
+        return generateBusinessObjectDataDdlImpl(request, false, ddlWriter);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -989,6 +1006,21 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation)
+    {
+        return generateBusinessObjectDataDdlImpl(request, skipRequestValidation, null);
+    }
+
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage.
+     *
+     * @param request the business object data DDL request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param ddlWriter the optional writer to stream the generated DDL to
+     *
+     * @return the business object data DDL information, without the DDL when it was written to the specified writer
+     */
+    BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation, Writer ddlWriter)
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -996,7 +1028,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             validateBusinessObjectDataDdlRequest(request);
         }
 
-        return generateDdlOrPartitions(request, false);
+        return generateDdlOrPartitions(request, false, ddlWriter);
     }
 
     /**
@@ -1012,7 +1044,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         validateBusinessObjectDataPartitionsRequest(request);
 
         // Generate partitions for the business object data as per specified request.
-        return generateDdlOrPartitions(businessObjectDataDdlPartitionsHelper.buildBusinessObjectDataDdlRequest(request), true);
+        return generateDdlOrPartitions(businessObjectDataDdlPartitionsHelper.buildBusinessObjectDataDdlRequest(request), true, null);
     }
 
     /**
@@ -1020,12 +1052,13 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      *
      * @param request business object data DDL request
      * @param isGeneratePartitions flag to indicate if this is a generateDDL or generatePartitions request
+     * @param ddlWriter the optional writer to stream the generated DDL to, only applicable to generateDDL request
      * @param <T> the type of the results produced by this method
      *
      * @return business object data DDL object instance if isGenerateDdl = true, otherwise, return business Object Data partitions object instance
      */
     @SuppressWarnings("unchecked")
-    private <T> T generateDdlOrPartitions(BusinessObjectDataDdlRequest request, boolean isGeneratePartitions)
+    private <T> T generateDdlOrPartitions(BusinessObjectDataDdlRequest request, boolean isGeneratePartitions, Writer ddlWriter)
     {
         // Get the business object format entity for the specified parameters and make sure it exists.
         // Please note that when format version is not specified, we should get back the latest format version.
@@ -1091,13 +1124,17 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             cachedS3BucketNames.put(upperCaseStorageName, s3BucketName);
         }
 
+        // Create a holder for the new business object data updated on watermark, which gets populated only when the request specifies a watermark.
+        MutableObject<XMLGregorianCalendar> newBusinessObjectDataUpdatedOnWatermark = new MutableObject<>();
+
         if (isGeneratePartitions)
         {
             // Create and initialize a business object data partitions object instance.
             BusinessObjectDataPartitions businessObjectDataPartitions = createBusinessObjectDataPartitions(request, businessObjectDataStatusEntity);
             businessObjectDataPartitions.setPartitions(
                 businessObjectDataPartitionsHelper.generatePartitions(request, businessObjectFormatEntity, businessObjectDataStatusEntity, storageNames,
-                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames));
+                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames, newBusinessObjectDataUpdatedOnWatermark));
+            businessObjectDataPartitions.setBusinessObjectDataUpdatedOnWatermark(newBusinessObjectDataUpdatedOnWatermark.getValue());
 
             return (T) businessObjectDataPartitions;
         }
@@ -1107,8 +1144,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request, businessObjectDataStatusEntity);
             businessObjectDataDdl.setDdl(ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
                 .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
-                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames));
+                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames, newBusinessObjectDataUpdatedOnWatermark, ddlWriter));
             businessObjectDataDdl.setAsOfTime(request.getAsOfTime());
+            businessObjectDataDdl.setBusinessObjectDataUpdatedOnWatermark(newBusinessObjectDataUpdatedOnWatermark.getValue());
 
             return (T) businessObjectDataDdl;
         }
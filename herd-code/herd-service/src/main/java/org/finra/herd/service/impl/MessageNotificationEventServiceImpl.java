@@ -45,6 +45,7 @@ import org.finra.herd.model.dto.UserNamespaceAuthorizationChangeNotificationEven
 import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.service.MessageNotificationEventService;
 import org.finra.herd.service.helper.NotificationMessageInMemoryQueue;
+import org.finra.herd.service.helper.UserNamespaceAuthorizationHelper;
 import org.finra.herd.service.helper.notification.NotificationMessageManager;
 
 /**
@@ -65,6 +66,9 @@ public class MessageNotificationEventServiceImpl implements MessageNotificationE
     @Autowired
     private NotificationMessageInMemoryQueue notificationMessageInMemoryQueue;
 
+    @Autowired
+    private UserNamespaceAuthorizationHelper userNamespaceAuthorizationHelper;
+
     @Override
     public List<NotificationMessage> processBusinessObjectDataPublishedAttributesChangeNotificationEvent(BusinessObjectDataKey businessObjectDataKey,
         List<AttributeDto> oldPublishedBusinessObjectAttributes)
@@ -102,6 +106,9 @@ public class MessageNotificationEventServiceImpl implements MessageNotificationE
     @Override
     public List<NotificationMessage> processUserNamespaceAuthorizationChangeNotificationEvent(UserNamespaceAuthorizationKey userNamespaceAuthorizationKey)
     {
+        // Evict the cached namespace authorizations affected by this change once it is committed.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizationsAfterCommit(userNamespaceAuthorizationKey.getUserId());
+
         return processNotificationMessages(
             notificationMessageManager.buildNotificationMessages(new UserNamespaceAuthorizationChangeNotificationEvent(userNamespaceAuthorizationKey)));
     }
@@ -48,6 +48,7 @@ import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.NamespaceDaoHelper;
 import org.finra.herd.service.helper.NamespaceHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
+import org.finra.herd.service.helper.UserNamespaceAuthorizationHelper;
 import org.finra.herd.service.SearchableService;
 
 /**
@@ -78,6 +79,9 @@ public class NamespaceServiceImpl implements NamespaceService, SearchableService
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
+    @Autowired
+    private UserNamespaceAuthorizationHelper userNamespaceAuthorizationHelper;
+
     @Override
     public Namespace createNamespace(NamespaceCreateRequest request)
     {
@@ -100,6 +104,9 @@ public class NamespaceServiceImpl implements NamespaceService, SearchableService
         // Persist the new entity.
         namespaceEntity = namespaceDao.saveAndRefresh(namespaceEntity);
 
+        // Evict the cached namespace authorizations once the new namespace is committed, since the users with access to all namespaces now have access to it.
+        userNamespaceAuthorizationHelper.clearNamespaceAuthorizationsCacheAfterCommit();
+
         // Create and return the namespace object from the persisted entity.
         return createNamespaceFromEntity(namespaceEntity);
     }
@@ -129,6 +136,9 @@ public class NamespaceServiceImpl implements NamespaceService, SearchableService
         // Delete the namespace.
         namespaceDao.delete(namespaceEntity);
 
+        // Evict the cached namespace authorizations that might reference the deleted namespace once the deletion is committed.
+        userNamespaceAuthorizationHelper.clearNamespaceAuthorizationsCacheAfterCommit();
+
         // Create and return the namespace object from the deleted entity.
         return createNamespaceFromEntity(namespaceEntity);
     }
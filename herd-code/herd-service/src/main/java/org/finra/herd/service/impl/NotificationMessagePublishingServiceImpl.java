@@ -16,15 +16,28 @@
 package org.finra.herd.service.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import com.amazonaws.services.sns.model.PublishResult;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,8 +48,10 @@ import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessagePublishingResultsDto;
 import org.finra.herd.model.jpa.MessageTypeEntity;
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 import org.finra.herd.service.NotificationMessagePublishingService;
@@ -63,6 +78,10 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
     @Autowired
     private NotificationMessageDao notificationMessageDao;
 
+    @Autowired
+    @Qualifier("notificationMessagePublishingTaskExecutor")
+    private AsyncTaskExecutor notificationMessagePublishingTaskExecutor;
+
     @Autowired
     private SnsDao snsDao;
 
@@ -105,6 +124,18 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public NotificationMessagePublishingResultsDto publishOldestNotificationMessagesFromDatabaseQueue(Long startAfterNotificationMessageId, int maxMessages)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(startAfterNotificationMessageId, maxMessages);
+    }
+
     /**
      * Adds a notification message to the database queue.
      *
@@ -183,7 +214,6 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
      *
      * @return true if notification message was successfully published and false otherwise
      */
-    @SuppressWarnings("unchecked")
     protected boolean publishOldestNotificationMessageFromDatabaseQueueImpl()
     {
         // Initialize the result flag to false.
@@ -195,35 +225,214 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         // If message is retrieved, publish and remove it from the queue.
         if (notificationMessageEntity != null)
         {
-            // Get the message headers from the entity.
-            List<MessageHeader> messageHeaders = null;
-            if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+            // Publish notification message.
+            publishNotificationMessageImpl(getNotificationMessage(notificationMessageEntity));
+
+            // Delete this message from the queue.
+            notificationMessageDao.delete(notificationMessageEntity);
+
+            // Set the result flag to true.
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Claims up to the specified number of the oldest notification messages from the database queue, publishes them concurrently and removes the successfully
+     * published messages from the queue. SQS notification messages are grouped per destination queue and sent using batch requests, while SNS notification
+     * messages are published one per request.
+     *
+     * @param startAfterNotificationMessageId the optional notification message id, when specified only notification messages with greater ids are claimed
+     * @param maxMessages the maximum number of notification messages to publish
+     *
+     * @return the numbers of claimed and published notification messages along with the id of the last claimed notification message
+     */
+    protected NotificationMessagePublishingResultsDto publishOldestNotificationMessagesFromDatabaseQueueImpl(Long startAfterNotificationMessageId,
+        int maxMessages)
+    {
+        // Retrieve and lock the oldest notification messages from the database queue.
+        List<NotificationMessageEntity> notificationMessageEntities =
+            notificationMessageDao.getOldestNotificationMessages(startAfterNotificationMessageId, maxMessages);
+
+        // Return right away if the queue is empty.
+        if (CollectionUtils.isEmpty(notificationMessageEntities))
+        {
+            return new NotificationMessagePublishingResultsDto(0, 0, startAfterNotificationMessageId);
+        }
+
+        // Convert the entities to notification messages, while grouping SQS notification messages by their destination queues.
+        AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
+        Map<String, Map<Long, NotificationMessage>> sqsNotificationMessages = new LinkedHashMap<>();
+        List<Callable<List<Long>>> publishingTasks = new ArrayList<>();
+        for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+        {
+            Long notificationMessageId = notificationMessageEntity.getId();
+            NotificationMessage notificationMessage = getNotificationMessage(notificationMessageEntity);
+
+            if (notificationMessage.getMessageType().equals(MessageTypeEntity.MessageEventTypes.SQS.name()))
+            {
+                sqsNotificationMessages.computeIfAbsent(notificationMessage.getMessageDestination(), key -> new LinkedHashMap<>())
+                    .put(notificationMessageId, notificationMessage);
+            }
+            else
+            {
+                publishingTasks.add(() -> publishNotificationMessageSafely(notificationMessageId, notificationMessage));
+            }
+        }
+
+        // Create one publishing task per SQS batch request.
+        for (Map.Entry<String, Map<Long, NotificationMessage>> entry : sqsNotificationMessages.entrySet())
+        {
+            for (List<Long> notificationMessageIds : ListUtils.partition(new ArrayList<>(entry.getValue().keySet()), SqsDao.MAX_BATCH_SIZE))
+            {
+                publishingTasks.add(() -> publishSqsNotificationMessageBatch(awsParamsDto, entry.getKey(), notificationMessageIds, entry.getValue()));
+            }
+        }
+
+        // Run the publishing tasks concurrently and collect the ids of the successfully published notification messages.
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (Callable<List<Long>> publishingTask : publishingTasks)
+        {
+            futures.add(notificationMessagePublishingTaskExecutor.submit(publishingTask));
+        }
+        List<Long> publishedNotificationMessageIds = new ArrayList<>();
+        try
+        {
+            for (Future<List<Long>> future : futures)
             {
                 try
                 {
-                    messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+                    publishedNotificationMessageIds.addAll(future.get());
                 }
-                catch (IOException e)
+                catch (ExecutionException e)
                 {
-                    throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
-                        "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
-                        notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                        notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+                    LOGGER.error("Failed to publish notification messages.", e);
                 }
             }
+        }
+        catch (InterruptedException e)
+        {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing notification messages.", e);
+        }
+
+        // Delete all successfully published messages from the queue.
+        notificationMessageDao.deleteNotificationMessages(publishedNotificationMessageIds);
+
+        return new NotificationMessagePublishingResultsDto(notificationMessageEntities.size(), publishedNotificationMessageIds.size(),
+            notificationMessageEntities.get(notificationMessageEntities.size() - 1).getId());
+    }
+
+    /**
+     * Gets a notification message from a notification message entity.
+     *
+     * @param notificationMessageEntity the notification message entity
+     *
+     * @return the notification message
+     */
+    @SuppressWarnings("unchecked")
+    private NotificationMessage getNotificationMessage(NotificationMessageEntity notificationMessageEntity)
+    {
+        // Get the message headers from the entity.
+        List<MessageHeader> messageHeaders = null;
+        if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+        {
+            try
+            {
+                messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
+                    "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
+                    notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+                    notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+            }
+        }
 
-            // Publish notification message.
-            publishNotificationMessageImpl(
-                new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                    notificationMessageEntity.getMessageText(), messageHeaders));
+        return new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+            notificationMessageEntity.getMessageText(), messageHeaders);
+    }
 
-            // Delete this message from the queue.
-            notificationMessageDao.delete(notificationMessageEntity);
+    /**
+     * Publishes a single notification message without propagating publishing failures, since those are already logged.
+     *
+     * @param notificationMessageId the id of the notification message in the database queue
+     * @param notificationMessage the notification message
+     *
+     * @return the singleton list with the notification message id if the message was published or an empty list otherwise
+     */
+    private List<Long> publishNotificationMessageSafely(Long notificationMessageId, NotificationMessage notificationMessage)
+    {
+        try
+        {
+            publishNotificationMessageImpl(notificationMessage);
+            return Collections.singletonList(notificationMessageId);
+        }
+        catch (IllegalStateException e)
+        {
+            return Collections.emptyList();
+        }
+    }
 
-            // Set the result flag to true.
-            result = true;
+    /**
+     * Publishes a batch of SQS notification messages to the same destination queue.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param queueName the name of the destination queue
+     * @param notificationMessageIds the ids of the notification messages to publish
+     * @param notificationMessages the notification messages keyed by their ids
+     *
+     * @return the ids of the successfully published notification messages
+     */
+    private List<Long> publishSqsNotificationMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<Long> notificationMessageIds,
+        Map<Long, NotificationMessage> notificationMessages)
+    {
+        // Build the list of message texts and message headers, where a batch entry id is the index of the relative notification message id.
+        List<String> messageTexts = new ArrayList<>();
+        List<List<MessageHeader>> messageHeaders = new ArrayList<>();
+        for (Long notificationMessageId : notificationMessageIds)
+        {
+            messageTexts.add(notificationMessages.get(notificationMessageId).getMessageText());
+            messageHeaders.add(notificationMessages.get(notificationMessageId).getMessageHeaders());
         }
 
-        return result;
+        // Publish the messages using SQS batch requests.
+        SendMessageBatchResult sendMessageBatchResult;
+        try
+        {
+            sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, queueName, messageTexts, messageHeaders);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to publish {} notification messages to \"{}\" destination. messageIds={}", MessageTypeEntity.MessageEventTypes.SQS.name(),
+                queueName, jsonHelper.objectToJson(notificationMessageIds), e);
+            return Collections.emptyList();
+        }
+
+        // Log failed entries, so they can be retried by the next run.
+        for (BatchResultErrorEntry failedEntry : sendMessageBatchResult.getFailed())
+        {
+            NotificationMessage notificationMessage = notificationMessages.get(notificationMessageIds.get(Integer.parseInt(failedEntry.getId())));
+            LOGGER.error("Failed to publish {} notification message to \"{}\" destination. messageText={} messageHeaders={} errorCode=\"{}\" errorMessage=\"{}\"",
+                notificationMessage.getMessageType(), queueName, notificationMessage.getMessageText(),
+                jsonHelper.objectToJson(notificationMessage.getMessageHeaders()), failedEntry.getCode(), failedEntry.getMessage());
+        }
+
+        // Log and collect successful entries.
+        List<Long> publishedNotificationMessageIds = new ArrayList<>();
+        for (SendMessageBatchResultEntry successfulEntry : sendMessageBatchResult.getSuccessful())
+        {
+            Long notificationMessageId = notificationMessageIds.get(Integer.parseInt(successfulEntry.getId()));
+            NotificationMessage notificationMessage = notificationMessages.get(notificationMessageId);
+            LOGGER.info("Published {} notification message. messageDestination=\"{}\" messageText={} messageHeaders={} sendMessageBatchResultEntry={}",
+                notificationMessage.getMessageType(), queueName, notificationMessage.getMessageText(),
+                jsonHelper.objectToJson(notificationMessage.getMessageHeaders()), jsonHelper.objectToJson(successfulEntry));
+            publishedNotificationMessageIds.add(notificationMessageId);
+        }
+
+        return publishedNotificationMessageIds;
     }
 }
@@ -0,0 +1,131 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.service.ReconcileBusinessObjectDataLatestValidVersionService;
+import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
+import org.finra.herd.service.helper.BusinessObjectDataHelper;
+
+/**
+ * An implementation of the service that reconciles the latest valid version flags of business object data.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class ReconcileBusinessObjectDataLatestValidVersionServiceImpl implements ReconcileBusinessObjectDataLatestValidVersionService
+{
+    @Autowired
+    private BusinessObjectDataDao businessObjectDataDao;
+
+    @Autowired
+    private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
+
+    @Autowired
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private HerdDao herdDao;
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BusinessObjectDataKey> getBusinessObjectDataToReconcile(int maxResult)
+    {
+        return getBusinessObjectDataToReconcileImpl(maxResult);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reconcileBusinessObjectData(BusinessObjectDataKey businessObjectDataKey)
+    {
+        reconcileBusinessObjectDataImpl(businessObjectDataKey);
+    }
+
+    /**
+     * Retrieves a list of keys for business object data that does not have the latest valid version flag computed yet or that was recently updated and has
+     * the flag set inconsistently.
+     *
+     * @param maxResult the maximum number of business object data instances to select
+     *
+     * @return the list of business object data keys without business object data versions
+     */
+    List<BusinessObjectDataKey> getBusinessObjectDataToReconcileImpl(int maxResult)
+    {
+        // Select business object data without the latest valid version flag.
+        List<BusinessObjectDataEntity> businessObjectDataEntities =
+            new ArrayList<>(businessObjectDataDao.getBusinessObjectDataWithoutLatestValidVersionFlag(maxResult));
+
+        // If the maximum is not reached yet, also select recently updated business object data with an inconsistent latest valid version flag.
+        if (businessObjectDataEntities.size() < maxResult)
+        {
+            Timestamp updatedOnThreshold = HerdDateUtils.addMinutes(herdDao.getCurrentTimestamp(),
+                -configurationHelper.getProperty(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_LOOKBACK_MINUTES, Integer.class));
+            businessObjectDataEntities.addAll(businessObjectDataDao
+                .getBusinessObjectDataWithInconsistentLatestValidVersionFlag(updatedOnThreshold, maxResult - businessObjectDataEntities.size()));
+        }
+
+        // Build a list of unique business object data keys without business object data versions, so each business object data gets reconciled only once.
+        Set<BusinessObjectDataKey> businessObjectDataKeys = new LinkedHashSet<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+        {
+            BusinessObjectDataKey businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity);
+            businessObjectDataKey.setBusinessObjectDataVersion(null);
+            businessObjectDataKeys.add(businessObjectDataKey);
+        }
+
+        return new ArrayList<>(businessObjectDataKeys);
+    }
+
+    /**
+     * Reconciles the latest valid version flags on all versions of the specified business object data.
+     *
+     * @param businessObjectDataKey the business object data key, business object data version is ignored
+     */
+    void reconcileBusinessObjectDataImpl(BusinessObjectDataKey businessObjectDataKey)
+    {
+        businessObjectDataDaoHelper.updateLatestValidVersionFlags(businessObjectDataKey);
+    }
+}
@@ -419,6 +419,7 @@ public class RelationalTableRegistrationHelperServiceImpl implements RelationalT
         businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
         businessObjectDataEntity.setVersion(0);
         businessObjectDataEntity.setLatestVersion(true);
+        businessObjectDataEntity.setLatestValidVersion(true);
         businessObjectDataEntity.setPartitionValue(BusinessObjectDataServiceImpl.NO_PARTITIONING_PARTITION_VALUE);
 
         // Get a storage unit status entity for the ENABLED status.
@@ -542,6 +543,7 @@ public class RelationalTableRegistrationHelperServiceImpl implements RelationalT
         businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
         businessObjectDataEntity.setVersion(0);
         businessObjectDataEntity.setLatestVersion(true);
+        businessObjectDataEntity.setLatestValidVersion(true);
         businessObjectDataEntity.setPartitionValue(BusinessObjectDataServiceImpl.NO_PARTITIONING_PARTITION_VALUE);
 
         // Get a storage unit status entity for the ENABLED status.
@@ -26,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -100,6 +101,12 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.downloadFile(params);
     }
 
+    @Override
+    public S3FileTransferResultsDto downloadStorageFiles(S3FileTransferRequestParamsDto params, List<StorageFile> storageFiles) throws InterruptedException
+    {
+        return s3Dao.downloadStorageFiles(params, storageFiles);
+    }
+
     @Override
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto params)
     {
@@ -131,6 +138,12 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.uploadFileList(params);
     }
 
+    @Override
+    public S3FileTransferResultsDto uploadFileListResumable(S3FileTransferRequestParamsDto params) throws InterruptedException
+    {
+        return s3Dao.uploadFileListResumable(params);
+    }
+
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
@@ -19,6 +19,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.elasticsearch.common.settings.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +51,10 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
 {
     public static final int BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE = 100;
 
+    public static final String INDEX_NUMBER_OF_REPLICAS_SETTING = "index.number_of_replicas";
+
+    public static final String INDEX_REFRESH_INTERVAL_SETTING = "index.refresh_interval";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexHelperServiceImpl.class);
 
     @Autowired
@@ -73,27 +79,61 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllBusinessObjectDefinitions(SearchIndexKey searchIndexKey)
     {
-        // Index all business object definitions defined in the system using pagination.
-        int startPosition = 0;
-        int processedBusinessObjectDefinitionsCount = 0;
-        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities;
-        while ((businessObjectDefinitionEntities =
-            businessObjectDefinitionDao.getAllBusinessObjectDefinitions(startPosition, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).size() > 0)
+        final String indexName = searchIndexKey.getSearchIndexName();
+
+        // Disable index refresh and replication while the index is being built, since bulk indexing is considerably faster without them.
+        final Settings originalIndexSettings = indexFunctionsDao.getIndexSettings(indexName);
+        indexFunctionsDao.updateIndexSettings(indexName,
+            Settings.builder().put(INDEX_REFRESH_INTERVAL_SETTING, "-1").put(INDEX_NUMBER_OF_REPLICAS_SETTING, 0).build());
+
+        final long startTime = System.currentTimeMillis();
+        final MutableInt processedBusinessObjectDefinitionsCount = new MutableInt();
+        long failedDocumentsCount;
+        try
+        {
+            // Stream all business object definitions defined in the system to the bulk processor using keyset pagination.
+            failedDocumentsCount = indexFunctionsDao.createIndexDocumentsInBulk(indexName, documentConsumer -> {
+                Long lastBusinessObjectDefinitionId = null;
+                List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities;
+                while ((businessObjectDefinitionEntities = businessObjectDefinitionDao
+                    .getBusinessObjectDefinitionsStartingAfterId(lastBusinessObjectDefinitionId, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).size() > 0)
+                {
+                    // Serialize business object definitions selected for processing and hand them over to the bulk processor.
+                    businessObjectDefinitionHelper.executeFunctionForBusinessObjectDefinitionEntities(indexName, businessObjectDefinitionEntities,
+                        (index, id, json) -> documentConsumer.accept(id, json));
+
+                    // Remember the last processed business object definition to continue from.
+                    lastBusinessObjectDefinitionId = businessObjectDefinitionEntities.get(businessObjectDefinitionEntities.size() - 1).getId();
+
+                    // Increment the total count of processed business object definition entities.
+                    processedBusinessObjectDefinitionsCount.add(businessObjectDefinitionEntities.size());
+                }
+            });
+        }
+        finally
         {
-            // Index business object definitions selected for processing.
-            businessObjectDefinitionHelper
-                .executeFunctionForBusinessObjectDefinitionEntities(searchIndexKey.getSearchIndexName(), businessObjectDefinitionEntities,
-                    indexFunctionsDao::createIndexDocument);
+            // Restore the original index refresh and replication settings.
+            restoreIndexSettings(indexName, originalIndexSettings, INDEX_REFRESH_INTERVAL_SETTING, INDEX_NUMBER_OF_REPLICAS_SETTING);
+        }
 
-            // Increment the offset.
-            startPosition += BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
+        final long elapsedTimeMillis = Math.max(System.currentTimeMillis() - startTime, 1L);
+        LOGGER.info("Finished bulk indexing of business object definitions, indexName={}, documentsCount={}, failedDocumentsCount={}, elapsedTimeMillis={}, " +
+                "documentsPerSecond={}", indexName, processedBusinessObjectDefinitionsCount.intValue(), failedDocumentsCount, elapsedTimeMillis,
+            processedBusinessObjectDefinitionsCount.longValue() * 1000L / elapsedTimeMillis);
 
-            // Increment the total count of processed business object definition entities.
-            processedBusinessObjectDefinitionsCount += businessObjectDefinitionEntities.size();
+        // Do not promote a partially built index to READY.
+        if (failedDocumentsCount > 0)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to index %d business object definition documents in bulk. Search index \"%s\" will not be marked as READY.",
+                    failedDocumentsCount, indexName));
         }
 
+        // Refresh the index, since refresh was disabled while bulk indexing and otherwise the documents would not be visible to the count validation yet.
+        indexFunctionsDao.refreshIndex(indexName);
+
         // Perform a simple count validation, index size should equal entity list size.
-        validateSearchIndexSize(searchIndexKey.getSearchIndexName(), processedBusinessObjectDefinitionsCount);
+        validateSearchIndexSize(indexName, processedBusinessObjectDefinitionsCount.intValue());
 
         // Update search index status to READY.
         searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
@@ -124,6 +164,32 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
         return new AsyncResult<>(null);
     }
 
+    /**
+     * Restores the specified index settings to their original values. Settings that were not explicitly set on the index are reset to their defaults.
+     *
+     * @param indexName the name of the index
+     * @param originalIndexSettings the original index settings
+     * @param settingNames the names of the settings to restore
+     */
+    private void restoreIndexSettings(String indexName, Settings originalIndexSettings, String... settingNames)
+    {
+        Settings.Builder settingsBuilder = Settings.builder();
+        for (String settingName : settingNames)
+        {
+            String originalValue = originalIndexSettings != null ? originalIndexSettings.get(settingName) : null;
+            if (originalValue != null)
+            {
+                settingsBuilder.put(settingName, originalValue);
+            }
+            else
+            {
+                settingsBuilder.putNull(settingName);
+            }
+        }
+
+        indexFunctionsDao.updateIndexSettings(indexName, settingsBuilder.build());
+    }
+
     /**
      * Performs a simple count validation on the specified search index.
      *
@@ -15,7 +15,9 @@
  */
 package org.finra.herd.service.impl;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
@@ -185,6 +187,12 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         Integer s3ObjectTaggerRoleSessionDurationSeconds =
             configurationHelper.getProperty(ConfigurationValue.AWS_ASSUME_S3_TAGGING_ROLE_DURATION_SECS, Integer.class);
 
+        // Get the maximum number of S3 objects to tag concurrently. The storage attribute, when specified, overrides the default configured value.
+        Integer s3ObjectTaggingParallelism = storageHelper
+            .getStorageAttributeIntegerValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM),
+                storagePolicyEntity.getStorage(),
+                configurationHelper.getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM, Integer.class));
+
         // Retrieve the storage unit and ensure it exists.
         StorageUnitEntity storageUnitEntity = storageUnitDaoHelper.getStorageUnitEntity(storageName, businessObjectDataEntity);
 
@@ -205,9 +213,13 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         storageUnitDaoHelper.validateNoExplicitlyRegisteredSubPartitionInStorageForBusinessObjectData(storageUnitEntity.getStorage(),
             businessObjectDataEntity.getBusinessObjectFormat(), businessObjectDataKey, s3KeyPrefix);
 
+        // Get the storage policy transition checkpoint. The checkpoint is only used to resume a storage policy transition that is already in progress.
+        String oldStorageUnitStatus = storageUnitEntity.getStatus().getCode();
+        String storagePolicyTransitionCheckpoint =
+            StorageUnitStatusEntity.ARCHIVING.equals(oldStorageUnitStatus) ? storageUnitEntity.getStoragePolicyTransitionCheckpoint() : null;
+
         // Update the storage unit status.
         String reason = StorageUnitStatusEntity.ARCHIVING;
-        String oldStorageUnitStatus = storageUnitEntity.getStatus().getCode();
         storageUnitDaoHelper.updateStorageUnitStatus(storageUnitEntity, StorageUnitStatusEntity.ARCHIVING, reason);
 
         // Create and initialize the S3 object tagger role parameters DTO.
@@ -226,6 +238,8 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         storagePolicyTransitionParamsDto.setS3ObjectTagKey(s3ObjectTagKey);
         storagePolicyTransitionParamsDto.setS3ObjectTagValue(s3ObjectTagValue);
         storagePolicyTransitionParamsDto.setS3ObjectTaggerRoleParamsDto(s3ObjectTaggerRoleParamsDto);
+        storagePolicyTransitionParamsDto.setS3ObjectTaggingParallelism(s3ObjectTaggingParallelism);
+        storagePolicyTransitionParamsDto.setStoragePolicyTransitionCheckpoint(storagePolicyTransitionCheckpoint);
     }
 
     /**
@@ -307,17 +321,19 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
 
     @Override
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto, Runnable checkpointCallback)
     {
-        executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto);
+        executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto, checkpointCallback);
     }
 
     /**
-     * Executes a storage policy transition as per specified storage policy selection.
+     * Executes a storage policy transition as per specified storage policy selection. Each time a chunk of S3 objects gets tagged, the storage policy
+     * transition checkpoint in the storage policy transition DTO is advanced and the specified checkpoint callback is called.
      *
      * @param storagePolicyTransitionParamsDto the storage policy transition DTO that contains parameters needed to perform a storage policy transition
+     * @param checkpointCallback the callback that persists the storage policy transition checkpoint, may be null
      */
-    protected void executeStoragePolicyTransitionImpl(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    protected void executeStoragePolicyTransitionImpl(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto, Runnable checkpointCallback)
     {
         // Create an S3 file transfer parameters DTO to access the S3 bucket.
         // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
@@ -329,12 +345,10 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         // For directory only registration, we have no registered storage files to check against actual S3 files.
         if (CollectionUtils.isNotEmpty(storagePolicyTransitionParamsDto.getStorageFiles()))
         {
-            // Get actual S3 files by selecting all S3 keys matching the S3 key prefix form the S3 bucket.
+            // Validate existence of the S3 files against actual S3 files streamed from the S3 bucket for all S3 keys matching the S3 key prefix.
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<S3ObjectSummary> actualS3FilesWithoutZeroByteDirectoryMarkers = s3Dao.listDirectory(s3FileTransferRequestParamsDto, true);
-
-            // Validate existence of the S3 files.
-            storageFileHelper.validateRegisteredS3Files(storagePolicyTransitionParamsDto.getStorageFiles(), actualS3FilesWithoutZeroByteDirectoryMarkers,
+            storageFileHelper.validateRegisteredS3Files(storagePolicyTransitionParamsDto.getStorageFiles(),
+                s3ObjectSummaryConsumer -> s3Dao.listDirectory(s3FileTransferRequestParamsDto, true, s3ObjectSummaryConsumer),
                 storagePolicyTransitionParamsDto.getStorageName(), storagePolicyTransitionParamsDto.getBusinessObjectDataKey());
         }
 
@@ -342,9 +356,34 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         // This time, we do not ignore 0 byte objects that represent S3 directories.
         List<S3ObjectSummary> actualS3Files = s3Dao.listDirectory(s3FileTransferRequestParamsDto, false);
 
-        // Tag the S3 objects to initiate the archiving.
-        s3Dao.tagObjects(s3FileTransferRequestParamsDto, storagePolicyTransitionParamsDto.getS3ObjectTaggerRoleParamsDto(), actualS3Files,
-            new Tag(storagePolicyTransitionParamsDto.getS3ObjectTagKey(), storagePolicyTransitionParamsDto.getS3ObjectTagValue()));
+        // Order the S3 files by key, so the storage policy transition checkpoint (the last tagged S3 key) splits them into tagged and not yet tagged files.
+        actualS3Files.sort(Comparator.comparing(S3ObjectSummary::getKey));
+
+        // Skip the S3 files already tagged by the previous attempts of this storage policy transition.
+        String storagePolicyTransitionCheckpoint = storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint();
+        List<S3ObjectSummary> s3FilesToTag = actualS3Files;
+        if (storagePolicyTransitionCheckpoint != null)
+        {
+            s3FilesToTag = actualS3Files.stream().filter(s3ObjectSummary -> s3ObjectSummary.getKey().compareTo(storagePolicyTransitionCheckpoint) > 0)
+                .collect(Collectors.toList());
+
+            LOGGER.info("Resuming storage policy transition from the checkpoint. storagePolicyTransitionCheckpoint=\"{}\" s3KeyCount={} s3KeyCountToTag={}",
+                storagePolicyTransitionCheckpoint, actualS3Files.size(), s3FilesToTag.size());
+        }
+
+        // Tag the S3 objects to initiate the archiving. The S3 objects are tagged in chunks using a single S3 object tagger role session and the checkpoint is
+        // advanced and persisted after each chunk, so a retry of this storage policy transition does not have to re-tag them.
+        s3FileTransferRequestParamsDto.setTaggingParallelism(storagePolicyTransitionParamsDto.getS3ObjectTaggingParallelism());
+        int checkpointInterval = configurationHelper.getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS, Integer.class);
+        s3Dao.tagObjects(s3FileTransferRequestParamsDto, storagePolicyTransitionParamsDto.getS3ObjectTaggerRoleParamsDto(), s3FilesToTag,
+            new Tag(storagePolicyTransitionParamsDto.getS3ObjectTagKey(), storagePolicyTransitionParamsDto.getS3ObjectTagValue()), checkpointInterval,
+            s3Key -> {
+                storagePolicyTransitionParamsDto.setStoragePolicyTransitionCheckpoint(s3Key);
+                if (checkpointCallback != null)
+                {
+                    checkpointCallback.run();
+                }
+            });
     }
 
     @PublishNotificationMessages
@@ -387,6 +426,7 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         // Change the storage unit status to ARCHIVED.
         String reason = StorageUnitStatusEntity.ARCHIVED;
         storagePolicyTransitionParamsDto.setOldStorageUnitStatus(storageUnitEntity.getStatus().getCode());
+        storageUnitEntity.setStoragePolicyTransitionCheckpoint(null);
         storageUnitDaoHelper.updateStorageUnitStatus(storageUnitEntity, StorageUnitStatusEntity.ARCHIVED, reason);
         storagePolicyTransitionParamsDto.setNewStorageUnitStatus(storageUnitEntity.getStatus().getCode());
 
@@ -395,6 +435,45 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
             jsonHelper.objectToJson(storagePolicyTransitionParamsDto.getBusinessObjectDataKey()));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateStoragePolicyTransitionCheckpointIgnoreException(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    {
+        updateStoragePolicyTransitionCheckpointIgnoreExceptionImpl(storagePolicyTransitionParamsDto);
+    }
+
+    /**
+     * Saves the storage policy transition checkpoint with the storage unit, so the next attempt of this storage policy transition resumes after the last tagged
+     * S3 object. This method does not fail in case storage unit entity update is unsuccessful, but simply logs the exception information as a warning.
+     *
+     * @param storagePolicyTransitionParamsDto the storage policy transition DTO that contains the storage policy transition checkpoint. The business object
+     * data key and storage name identify the storage unit to be updated
+     */
+    protected void updateStoragePolicyTransitionCheckpointIgnoreExceptionImpl(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    {
+        try
+        {
+            // Create a storage unit key.
+            BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey = storageUnitHelper
+                .createBusinessObjectDataStorageUnitKey(storagePolicyTransitionParamsDto.getBusinessObjectDataKey(),
+                    storagePolicyTransitionParamsDto.getStorageName());
+
+            // Retrieve the storage unit entity and make sure it exists.
+            StorageUnitEntity storageUnitEntity = storageUnitDaoHelper.getStorageUnitEntityByKey(businessObjectDataStorageUnitKey);
+
+            // Save the storage policy transition checkpoint.
+            storageUnitEntity.setStoragePolicyTransitionCheckpoint(storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint());
+            storageUnitDao.saveAndRefresh(storageUnitEntity);
+
+            LOGGER.info("Saved storage policy transition checkpoint. businessObjectDataStorageUnitKey={} storagePolicyTransitionCheckpoint=\"{}\"",
+                jsonHelper.objectToJson(businessObjectDataStorageUnitKey), storageUnitEntity.getStoragePolicyTransitionCheckpoint());
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn(e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void updateStoragePolicyTransitionFailedAttemptsIgnoreException(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto,
@@ -430,13 +509,21 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
                 // Update the storage policy transition failed attempts count.
                 storageUnitEntity.setStoragePolicyTransitionFailedAttempts(storageUnitEntity.getStoragePolicyTransitionFailedAttempts() == null ? 1 :
                     storageUnitEntity.getStoragePolicyTransitionFailedAttempts() + 1);
+
+                // Save the storage policy transition checkpoint, so the next attempt resumes after the last tagged S3 object.
+                if (storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint() != null)
+                {
+                    storageUnitEntity.setStoragePolicyTransitionCheckpoint(storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint());
+                }
+
                 storageUnitDao.saveAndRefresh(storageUnitEntity);
 
                 // Log the new value for the storage policy transition failed attempts counter, businessObjectDataKey and transition exception
                 LOGGER.info("Incremented storage policy transition failed attempts counter. " +
-                        "storagePolicyTransitionFailedAttempts={};businessObjectDataStorageUnitKey={};storyPolicyTransitionException={}",
-                    storageUnitEntity.getStoragePolicyTransitionFailedAttempts(), jsonHelper.objectToJson(businessObjectDataStorageUnitKey),
-                    exception.getMessage());
+                        "storagePolicyTransitionFailedAttempts={};businessObjectDataStorageUnitKey={};storyPolicyTransitionException={};" +
+                        "storagePolicyTransitionCheckpoint={}", storageUnitEntity.getStoragePolicyTransitionFailedAttempts(),
+                    jsonHelper.objectToJson(businessObjectDataStorageUnitKey), exception.getMessage(),
+                    storageUnitEntity.getStoragePolicyTransitionCheckpoint());
             }
             catch (Exception e)
             {
@@ -68,8 +68,9 @@ public class StoragePolicyProcessorServiceImpl implements StoragePolicyProcessor
                 storagePolicyTransitionParamsDto.getBusinessObjectDataKey(), storagePolicyTransitionParamsDto.getStorageName(),
                 storagePolicyTransitionParamsDto.getNewStorageUnitStatus(), storagePolicyTransitionParamsDto.getOldStorageUnitStatus());
 
-            // Execute the actual transition using the DAO tier.
-            storagePolicyProcessorHelperService.executeStoragePolicyTransition(storagePolicyTransitionParamsDto);
+            // Execute the actual transition using the DAO tier. Save the checkpoint in a new transaction each time a chunk of S3 objects gets tagged.
+            storagePolicyProcessorHelperService.executeStoragePolicyTransition(storagePolicyTransitionParamsDto,
+                () -> storagePolicyProcessorHelperService.updateStoragePolicyTransitionCheckpointIgnoreException(storagePolicyTransitionParamsDto));
 
             // Complete the storage policy transition.
             storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
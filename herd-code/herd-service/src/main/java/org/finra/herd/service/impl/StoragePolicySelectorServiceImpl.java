@@ -20,13 +20,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,14 +46,13 @@ import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
-import org.finra.herd.model.api.xml.StoragePolicyKey;
 import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.BusinessObjectDataVersionLessKey;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.StoragePolicyCandidateDto;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.dto.StoragePolicySelection;
-import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
-import org.finra.herd.model.jpa.StoragePolicyEntity;
 import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity;
 import org.finra.herd.service.StoragePolicySelectorService;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
@@ -100,9 +103,9 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
     @Override
     public List<StoragePolicySelection> execute(String sqsQueueName, int maxResult)
     {
-        // Create a result map. We use the map here to prevent duplicate selection of business object data entities.
+        // Create a result map. We use the map here to prevent duplicate selection of business object data. The map is keyed by business object data ID.
         // Please note that we use linked has map here in order to preserve the order of selections.
-        Map<BusinessObjectDataEntity, StoragePolicySelection> storagePolicySelectionMap = new LinkedHashMap<>();
+        Map<Long, StoragePolicySelection> storagePolicySelectionMap = new LinkedHashMap<>();
 
         // Get the current timestamp from the database.
         Timestamp currentTimestamp = herdDao.getCurrentTimestamp();
@@ -124,126 +127,73 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         Timestamp updatedOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -updatedOnThresholdInDays);
 
         // First, we want to process all storage policies level by level that are configured to ignore latest valid versions. This is done, in order for the
-        // regular policies, possibly from the same priority level, to still be able to select the latest valid business object data entities that got selected
+        // regular policies, possibly from the same priority level, to still be able to select the latest valid business object data that got selected
         // for rule checking by the policies that that are configured to ignore latest valid versions. The second scan is for all policies that are not
         // configured to ignore latest valid versions.
         for (Boolean doNotTransitionLatestValid : new Boolean[] {true, false})
         {
-            // Keep track of all business object data entities selected per storage policies. This is need to avoid a lower priority selection policy to be
+            // Keep track of IDs of all business object data selected per storage policies. This is need to avoid a lower priority selection policy to be
             // executed ahead of a higher priority one. Please note that this check also implies that, for each of the two scans that we perform, any business
             // object data could be selected for checking applicable rules only by one storage policy regardless of storage policy priority level.
-            Set<BusinessObjectDataEntity> businessObjectDataEntitiesSelectedForReview = new HashSet<>();
+            Set<Long> businessObjectDataIdsSelectedForReview = new HashSet<>();
 
             // Separately process all possible storage policy priority levels in order of priorities. This is done to assure that higher priority level storage
             // policies will be listed earlier in the final result map.
             for (StoragePolicyPriorityLevel storagePolicyPriorityLevel : STORAGE_POLICY_PRIORITY_LEVELS)
             {
-                // Until we reach maximum number of results or run out of entities to select, retrieve and process business object data entities mapped to their
-                // corresponding storage policy entities, where the business object data status is supported by the storage policy feature and the business
-                // object data alternate key values match storage policy's filter and transition (not taking into account storage policy rules).
-                int startPosition = 0;
+                // Until we reach maximum number of results or run out of business object data to select, retrieve and process storage policy candidates,
+                // where the business object data status is supported by the storage policy feature and the business object data alternate key values match
+                // storage policy's filter and transition (not taking into account storage policy rules). The scan is keyset paginated by business object data
+                // ID, so each query continues right after the last business object data selected by the previous query.
+                Long lastBusinessObjectDataId = null;
                 while (true)
                 {
-                    Map<BusinessObjectDataEntity, StoragePolicyEntity> map = businessObjectDataDao
-                        .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, doNotTransitionLatestValid,
-                            SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, maxAllowedTransitionAttempts, startPosition, maxResult);
+                    List<StoragePolicyCandidateDto> storagePolicyCandidateDtos = businessObjectDataDao
+                        .getStoragePolicyCandidates(storagePolicyPriorityLevel, doNotTransitionLatestValid, SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
+                            maxAllowedTransitionAttempts, lastBusinessObjectDataId, maxResult);
 
                     // If we are processing storage policies that are configured to ignore latest valid business object data, then find all latest valid
-                    // business object data that is present in this chunk of selected business object data matching storage policies.
-                    Set<BusinessObjectDataEntity> latestValidBusinessObjectDataEntities =
-                        doNotTransitionLatestValid ? businessObjectDataHelper.getLatestValidBusinessObjectDataEntities(new ArrayList<>(map.keySet())) : null;
+                    // business object data that is present in this chunk of selected storage policy candidates.
+                    Set<Long> latestValidBusinessObjectDataIds =
+                        doNotTransitionLatestValid ? getLatestValidBusinessObjectDataIds(storagePolicyCandidateDtos) : null;
 
-                    // Process all business object data entities that are matching storage polices.
-                    for (Map.Entry<BusinessObjectDataEntity, StoragePolicyEntity> entry : map.entrySet())
+                    // Process all storage policy candidates.
+                    for (StoragePolicyCandidateDto storagePolicyCandidateDto : storagePolicyCandidateDtos)
                     {
-                        // Get business object data entity.
-                        BusinessObjectDataEntity businessObjectDataEntity = entry.getKey();
+                        // Get business object data ID.
+                        Long businessObjectDataId = storagePolicyCandidateDto.getBusinessObjectDataId();
 
-                        // Process this storage policy selection, only if this business object data entity has not been selected for review earlier. This is
+                        // Process this storage policy selection, only if this business object data has not been selected for review earlier. This is
                         // needed in order to avoid a lower priority selection policy to be executed ahead of a higher priority one. Please note that we clear
-                        // the set that tracks business object data entities selected for review between the scans. This is needed, so storage policies that
-                        // are not configured to ignore the latest valid business object data would still be able to select business object data entities that
-                        // got selected for rule checking by the policies configured to ignore latest valid versions.  The below check also implies that, for
-                        // each of the two scans that we perform, any business object data could be selected for checking applicable rules only by one storage
-                        // policy regardless of storage policy priority level. Since two sets of storage policies configured and not configured to ignore
-                        // the latest valid business object data select data independent from each other, we also check against all already created storage
-                        // policy selections. This is needed in order to avoid selecting the same business object data entity for transition twice.
-                        if (!businessObjectDataEntitiesSelectedForReview.contains(businessObjectDataEntity) &&
-                            !storagePolicySelectionMap.containsKey(businessObjectDataEntity))
+                        // the set that tracks business object data selected for review between the scans. This is needed, so storage policies that are not
+                        // configured to ignore the latest valid business object data would still be able to select business object data that got selected
+                        // for rule checking by the policies configured to ignore latest valid versions.  The below check also implies that, for each of the
+                        // two scans that we perform, any business object data could be selected for checking applicable rules only by one storage policy
+                        // regardless of storage policy priority level. Since two sets of storage policies configured and not configured to ignore the latest
+                        // valid business object data select data independent from each other, we also check against all already created storage policy
+                        // selections. This is needed in order to avoid selecting the same business object data for transition twice.
+                        if (!businessObjectDataIdsSelectedForReview.contains(businessObjectDataId) &&
+                            !storagePolicySelectionMap.containsKey(businessObjectDataId))
                         {
-                            boolean createStoragePolicySelection = false;
-
-                            // Remember that we got this business object data entity as matching to a storage policy.
+                            // Remember that we got this business object data as matching to a storage policy.
                             // This is done so we would not try to select this business object data again later by a lower level storage policy.
-                            businessObjectDataEntitiesSelectedForReview.add(businessObjectDataEntity);
-
-                            // Get the storage policy entity, so we can validate the storage policy rule against this business object data.
-                            StoragePolicyEntity storagePolicyEntity = entry.getValue();
+                            businessObjectDataIdsSelectedForReview.add(businessObjectDataId);
 
                             // Do not select this business object data if it was identified as a latest valid business object data and the storage policy
-                            // is configured to ignore latest valid versions.
-                            if (!doNotTransitionLatestValid || !latestValidBusinessObjectDataEntities.contains(businessObjectDataEntity))
+                            // is configured to ignore latest valid versions. Otherwise, validate the storage policy rule against this business object data.
+                            if ((!doNotTransitionLatestValid || !latestValidBusinessObjectDataIds.contains(businessObjectDataId)) &&
+                                isStoragePolicyRuleSatisfied(storagePolicyCandidateDto, currentTimestamp, updatedOnThresholdTimestamp))
                             {
-                                // Get a storage policy rule type and value.
-                                String storagePolicyRuleType = storagePolicyEntity.getStoragePolicyRuleType().getCode();
-                                Integer storagePolicyRuleValue = storagePolicyEntity.getStoragePolicyRuleValue();
-
-                                // For DAYS_SINCE_BDATA_REGISTERED storage policy rule type, select business object data based on it's "created on" timestamp.
-                                if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED.equals(storagePolicyRuleType))
-                                {
-                                    // Compute "created on" threshold timestamp based on the current timestamp and storage policy rule value.
-                                    Timestamp createdOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue);
-
-                                    // Select this business object data if it has "created on" timestamp before or equal to the threshold timestamp.
-                                    createStoragePolicySelection = (businessObjectDataEntity.getCreatedOn().compareTo(createdOnThresholdTimestamp) <= 0);
-                                }
-                                // For DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type, select business object data based on both it's
-                                // primary partition value compared against storage policy rule value and "updated on" timestamp being below the threshold.
-                                else if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE.equals(storagePolicyRuleType))
-                                {
-                                    // For this storage policy rule, we ignore this business object data entity
-                                    // if it was updated earlier than the threshold value of days ago.
-                                    if (businessObjectDataEntity.getUpdatedOn().compareTo(updatedOnThresholdTimestamp) <= 0)
-                                    {
-                                        // Try to convert business object data primary partition value to a timestamp.
-                                        // If it is not a date, the storage policy rule is not matching this business object data.
-                                        Date primaryPartitionValue = businessObjectDataHelper.getDateFromString(businessObjectDataEntity.getPartitionValue());
-
-                                        // For this storage policy rule, we ignore this business data if primary partition value is not a date.
-                                        if (primaryPartitionValue != null)
-                                        {
-                                            // Compute the relative primary partition value threshold date based
-                                            // on the current timestamp and storage policy rule value.
-                                            Date primaryPartitionValueThreshold =
-                                                new Date(HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue).getTime());
-
-                                            // Select this business object data if it has it's primary partition value before or equal to the threshold date.
-                                            createStoragePolicySelection = (primaryPartitionValue.compareTo(primaryPartitionValueThreshold) <= 0);
-                                        }
-                                    }
-                                }
-                                // Fail on an un-supported storage policy rule type.
-                                else
-                                {
-                                    throw new IllegalStateException(String.format("Storage policy type \"%s\" is not supported.", storagePolicyRuleType));
-                                }
-                            }
-
-                            // If this business object data got selected, create a storage policy selection and add it to the result list.
-                            if (createStoragePolicySelection)
-                            {
-                                // Create business object data key and storage policy key per selected entities.
-                                BusinessObjectDataKey businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity);
-                                StoragePolicyKey storagePolicyKey =
-                                    new StoragePolicyKey(storagePolicyEntity.getNamespace().getCode(), storagePolicyEntity.getName());
-
                                 // Create and add a storage policy selection to the result map.
-                                storagePolicySelectionMap.put(businessObjectDataEntity,
-                                    new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, storagePolicyEntity.getVersion()));
+                                storagePolicySelectionMap.put(businessObjectDataId,
+                                    new StoragePolicySelection(storagePolicyCandidateDto.getBusinessObjectDataKey(),
+                                        storagePolicyCandidateDto.getStoragePolicyKey(), storagePolicyCandidateDto.getStoragePolicyVersion()));
 
                                 LOGGER.info("Selected business object data for storage policy processing: " +
-                                        "businessObjectDataKey={} storagePolicyKey={} storagePolicyVersion={}", jsonHelper.objectToJson(businessObjectDataKey),
-                                    jsonHelper.objectToJson(storagePolicyKey), storagePolicyEntity.getVersion());
+                                        "businessObjectDataKey={} storagePolicyKey={} storagePolicyVersion={}",
+                                    jsonHelper.objectToJson(storagePolicyCandidateDto.getBusinessObjectDataKey()),
+                                    jsonHelper.objectToJson(storagePolicyCandidateDto.getStoragePolicyKey()),
+                                    storagePolicyCandidateDto.getStoragePolicyVersion());
 
                                 // Stop adding storage policy selections to the result map if we reached the maximum results limit.
                                 if (storagePolicySelectionMap.size() >= maxResult)
@@ -255,13 +205,13 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
                     }
 
                     // Stop processing storage policies if we reached the max result limit or there are no more business object data to select.
-                    if (storagePolicySelectionMap.size() >= maxResult || map.isEmpty())
+                    if (storagePolicySelectionMap.size() >= maxResult || storagePolicyCandidateDtos.isEmpty())
                     {
                         break;
                     }
 
-                    // Increment start position for the next select.
-                    startPosition += maxResult;
+                    // Move the cursor to the last business object data selected by this query.
+                    lastBusinessObjectDataId = storagePolicyCandidateDtos.get(storagePolicyCandidateDtos.size() - 1).getBusinessObjectDataId();
                 }
 
                 // Stop processing storage policies if we reached the max result limit.
@@ -282,6 +232,130 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         return storagePolicySelections;
     }
 
+    /**
+     * Select IDs of all latest valid business object data from the specified list of storage policy candidates. This method does not look at business object
+     * data outside of the specified list.
+     *
+     * @param storagePolicyCandidateDtos the list of storage policy candidates
+     *
+     * @return the set of latest valid business object data IDs selected from the specified list of storage policy candidates
+     */
+    private Set<Long> getLatestValidBusinessObjectDataIds(List<StoragePolicyCandidateDto> storagePolicyCandidateDtos)
+    {
+        // Use hash map to filter in entries using version-less business object data alternate key as map key.
+        Map<BusinessObjectDataVersionLessKey, StoragePolicyCandidateDto> latestValidStoragePolicyCandidateDtos = new HashMap<>();
+
+        // Process each storage policy candidate in the list.
+        for (StoragePolicyCandidateDto storagePolicyCandidateDto : storagePolicyCandidateDtos)
+        {
+            // Only process business object data that is in VALID state.
+            if (StringUtils.equals(storagePolicyCandidateDto.getBusinessObjectDataStatus(), BusinessObjectDataStatusEntity.VALID))
+            {
+                // Get business object data version-less key.
+                BusinessObjectDataVersionLessKey businessObjectDataVersionLessKey =
+                    businessObjectDataHelper.getBusinessObjectDataVersionLessKeyFromBusinessObjectDataKey(storagePolicyCandidateDto.getBusinessObjectDataKey());
+
+                // Try to retrieve latest valid storage policy candidate that is currently associated with this business object data version-less key.
+                StoragePolicyCandidateDto latestValidStoragePolicyCandidateDto = latestValidStoragePolicyCandidateDtos.get(businessObjectDataVersionLessKey);
+
+                // Store this storage policy candidate as the latest valid for this version-less key, if there is no other candidate associated with this key
+                // yet, or this candidate has greater format version, or format versions are equal and this candidate has greater business object data version.
+                if (latestValidStoragePolicyCandidateDto == null || isGreaterBusinessObjectDataVersion(storagePolicyCandidateDto.getBusinessObjectDataKey(),
+                    latestValidStoragePolicyCandidateDto.getBusinessObjectDataKey()))
+                {
+                    latestValidStoragePolicyCandidateDtos.put(businessObjectDataVersionLessKey, storagePolicyCandidateDto);
+                }
+            }
+        }
+
+        // Return a set of the latest valid business object data IDs.
+        Set<Long> latestValidBusinessObjectDataIds = new HashSet<>();
+        for (StoragePolicyCandidateDto storagePolicyCandidateDto : latestValidStoragePolicyCandidateDtos.values())
+        {
+            latestValidBusinessObjectDataIds.add(storagePolicyCandidateDto.getBusinessObjectDataId());
+        }
+
+        return latestValidBusinessObjectDataIds;
+    }
+
+    /**
+     * Checks if the first business object data key identifies a later version of business object data than the second one. The business object format
+     * versions are compared first and, when they are equal, the business object data versions are compared.
+     *
+     * @param businessObjectDataKey the business object data key to check
+     * @param otherBusinessObjectDataKey the business object data key to compare against
+     *
+     * @return true if the first business object data key identifies a later version of business object data, false otherwise
+     */
+    private boolean isGreaterBusinessObjectDataVersion(BusinessObjectDataKey businessObjectDataKey, BusinessObjectDataKey otherBusinessObjectDataKey)
+    {
+        int formatVersionComparison =
+            businessObjectDataKey.getBusinessObjectFormatVersion().compareTo(otherBusinessObjectDataKey.getBusinessObjectFormatVersion());
+
+        return formatVersionComparison > 0 ||
+            (formatVersionComparison == 0 && businessObjectDataKey.getBusinessObjectDataVersion() > otherBusinessObjectDataKey.getBusinessObjectDataVersion());
+    }
+
+    /**
+     * Checks if the storage policy rule of the specified storage policy candidate is satisfied by the relative business object data.
+     *
+     * @param storagePolicyCandidateDto the storage policy candidate
+     * @param currentTimestamp the current database timestamp
+     * @param updatedOnThresholdTimestamp the business object data "updated on" threshold timestamp
+     *
+     * @return true if the storage policy rule is satisfied, false otherwise
+     */
+    private boolean isStoragePolicyRuleSatisfied(StoragePolicyCandidateDto storagePolicyCandidateDto, Timestamp currentTimestamp,
+        Timestamp updatedOnThresholdTimestamp)
+    {
+        boolean storagePolicyRuleSatisfied = false;
+
+        // Get a storage policy rule type and value.
+        String storagePolicyRuleType = storagePolicyCandidateDto.getStoragePolicyRuleType();
+        Integer storagePolicyRuleValue = storagePolicyCandidateDto.getStoragePolicyRuleValue();
+
+        // For DAYS_SINCE_BDATA_REGISTERED storage policy rule type, select business object data based on it's "created on" timestamp.
+        if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED.equals(storagePolicyRuleType))
+        {
+            // Compute "created on" threshold timestamp based on the current timestamp and storage policy rule value.
+            Timestamp createdOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue);
+
+            // Select this business object data if it has "created on" timestamp before or equal to the threshold timestamp.
+            storagePolicyRuleSatisfied =
+                (storagePolicyCandidateDto.getBusinessObjectDataCreatedOn().toGregorianCalendar().getTimeInMillis() <= createdOnThresholdTimestamp.getTime());
+        }
+        // For DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type, select business object data based on both it's
+        // primary partition value compared against storage policy rule value and "updated on" timestamp being below the threshold.
+        else if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE.equals(storagePolicyRuleType))
+        {
+            // For this storage policy rule, we ignore this business object data if it was updated earlier than the threshold value of days ago.
+            if (storagePolicyCandidateDto.getBusinessObjectDataUpdatedOn().toGregorianCalendar().getTimeInMillis() <= updatedOnThresholdTimestamp.getTime())
+            {
+                // Try to convert business object data primary partition value to a timestamp.
+                // If it is not a date, the storage policy rule is not matching this business object data.
+                Date primaryPartitionValue =
+                    businessObjectDataHelper.getDateFromString(storagePolicyCandidateDto.getBusinessObjectDataKey().getPartitionValue());
+
+                // For this storage policy rule, we ignore this business data if primary partition value is not a date.
+                if (primaryPartitionValue != null)
+                {
+                    // Compute the relative primary partition value threshold date based on the current timestamp and storage policy rule value.
+                    Date primaryPartitionValueThreshold = new Date(HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue).getTime());
+
+                    // Select this business object data if it has it's primary partition value before or equal to the threshold date.
+                    storagePolicyRuleSatisfied = (primaryPartitionValue.compareTo(primaryPartitionValueThreshold) <= 0);
+                }
+            }
+        }
+        // Fail on an un-supported storage policy rule type.
+        else
+        {
+            throw new IllegalStateException(String.format("Storage policy type \"%s\" is not supported.", storagePolicyRuleType));
+        }
+
+        return storagePolicyRuleSatisfied;
+    }
+
     /**
      * Sends storage policy selections to the specified AWS SQS queue.
      *
@@ -294,21 +368,38 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         {
             AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
 
+            // Build the message texts.
+            List<String> messageTexts = new ArrayList<>();
             for (StoragePolicySelection storagePolicySelection : storagePolicySelections)
             {
-                String messageText = null;
+                messageTexts.add(jsonHelper.objectToJson(storagePolicySelection));
+            }
+
+            // Send the messages using SQS batch requests.
+            SendMessageBatchResult sendMessageBatchResult;
+            try
+            {
+                sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, sqsQueueName, messageTexts, null);
+            }
+            catch (RuntimeException e)
+            {
+                // Log the error and throw the exception up.
+                LOGGER.error("Failed to publish messages to the JMS queue. jmsQueueName=\"{}\" messageCount={}", sqsQueueName, messageTexts.size());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
 
-                try
-                {
-                    messageText = jsonHelper.objectToJson(storagePolicySelection);
-                    sqsDao.sendMessage(awsParamsDto, sqsQueueName, messageText, null);
-                }
-                catch (Exception e)
+            // Log the failed entries and fail the run, so the storage policy selections would be picked up again by the next run.
+            if (CollectionUtils.isNotEmpty(sendMessageBatchResult.getFailed()))
+            {
+                for (BatchResultErrorEntry failedEntry : sendMessageBatchResult.getFailed())
                 {
-                    // Log the error and throw the exception up.
-                    LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}", sqsQueueName, messageText);
-                    throw new IllegalStateException(e.getMessage(), e);
+                    LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={} errorCode=\"{}\" errorMessage=\"{}\"",
+                        sqsQueueName, messageTexts.get(Integer.parseInt(failedEntry.getId())), failedEntry.getCode(), failedEntry.getMessage());
                 }
+
+                throw new IllegalStateException(String
+                    .format("Failed to publish %d out of %d messages to \"%s\" JMS queue.", sendMessageBatchResult.getFailed().size(), messageTexts.size(),
+                        sqsQueueName));
             }
         }
     }
@@ -36,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
@@ -150,6 +152,9 @@ public class TagServiceImpl implements TagService, SearchableService
         // Create and persist a new tag entity from the information in the request.
         TagEntity tagEntity = createTagEntity(request, tagTypeEntity, parentTagEntity);
 
+        // The tag hierarchy has changed, so clear the cached tag hierarchies.
+        clearTagHierarchyCacheAfterCommit();
+
         // Notify the tag search index that a tag must be created.
         tagEntities.add(tagEntity);
         LOGGER.info("Modify the tags in the search index associated with the tag being created." +
@@ -186,6 +191,9 @@ public class TagServiceImpl implements TagService, SearchableService
         // delete the tag.
         tagDao.delete(tagEntity);
 
+        // The tag hierarchy has changed, so clear the cached tag hierarchies.
+        clearTagHierarchyCacheAfterCommit();
+
         // Notify the tag search index that a tag must be deleted.
         LOGGER.info(
             "Delete the tag in the search index associated with the tag being deleted." + " tagTypeCode=\"{}\", tagCode=\"{}\", searchIndexUpdateType=\"{}\"",
@@ -386,6 +394,9 @@ public class TagServiceImpl implements TagService, SearchableService
         // Update and persist the tag entity.
         updateTagEntity(tagEntity, tagUpdateRequest, parentTagEntity);
 
+        // The tag hierarchy or the display name order of the tags might have changed, so clear the cached tag hierarchies.
+        clearTagHierarchyCacheAfterCommit();
+
         // Notify the search index that a business object definition must be updated.
         List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities = businessObjectDefinitionDao.getBusinessObjectDefinitions(tagEntities);
         LOGGER.info("Modify the business object definitions in the search index associated with the tag being updated." +
@@ -406,6 +417,29 @@ public class TagServiceImpl implements TagService, SearchableService
         return createTagFromEntity(tagEntity);
     }
 
+    /**
+     * Clears the cached tag hierarchies once the current transaction commits. Clearing the cache before the commit would let the concurrent callers cache the
+     * tag hierarchies that they still load without this change. When no transaction is active, the cache is cleared right away.
+     */
+    private void clearTagHierarchyCacheAfterCommit()
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    tagDaoHelper.clearTagHierarchyCache();
+                }
+            });
+        }
+        else
+        {
+            tagDaoHelper.clearTagHierarchyCache();
+        }
+    }
+
     /**
      * Creates and persists a new Tag entity.
      *
@@ -30,6 +30,7 @@ import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.model.api.xml.Parameter;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.NotificationMessagePublishingResultsDto;
 import org.finra.herd.service.NotificationMessagePublishingService;
 
 /**
@@ -71,13 +72,39 @@ public class JmsPublishingJob extends AbstractSystemJob
         // Log that the system job is started.
         LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
 
+        // Get the batch size.
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_BATCH_SIZE, Integer.class);
+
         // Publish all notification messages stored in the database queue.
         int count = 0;
+        int failedCount = 0;
         try
         {
-            while (notificationMessagePublishingService.publishOldestNotificationMessageFromDatabaseQueue())
+            if (batchSize > 1)
+            {
+                // Publish notification messages in batches. Messages that failed to get published are left in the queue for the next run of this system job,
+                // so each batch claims only messages that follow the last message claimed by the previous batch. This way, a message that keeps failing at the
+                // head of the queue does not stop this run from draining the rest of the queue. A batch that claimed fewer messages than the batch size means
+                // that the queue is drained.
+                Long lastClaimedNotificationMessageId = null;
+                NotificationMessagePublishingResultsDto notificationMessagePublishingResultsDto;
+                do
+                {
+                    notificationMessagePublishingResultsDto =
+                        notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(lastClaimedNotificationMessageId, batchSize);
+                    count += notificationMessagePublishingResultsDto.getPublishedNotificationMessageCount();
+                    failedCount += notificationMessagePublishingResultsDto.getClaimedNotificationMessageCount() -
+                        notificationMessagePublishingResultsDto.getPublishedNotificationMessageCount();
+                    lastClaimedNotificationMessageId = notificationMessagePublishingResultsDto.getLastClaimedNotificationMessageId();
+                }
+                while (notificationMessagePublishingResultsDto.getClaimedNotificationMessageCount() == batchSize);
+            }
+            else
             {
-                count++;
+                while (notificationMessagePublishingService.publishOldestNotificationMessageFromDatabaseQueue())
+                {
+                    count++;
+                }
             }
         }
         catch (Exception e)
@@ -89,6 +116,12 @@ public class JmsPublishingJob extends AbstractSystemJob
         // Log the number of notification messages successfully published.
         LOGGER.info("Published {} notification messages. systemJobName=\"{}\"", Integer.toString(count), JOB_NAME);
 
+        // Log the number of notification messages left in the queue for the next run of this system job, if any.
+        if (failedCount > 0)
+        {
+            LOGGER.warn("Failed to publish {} notification messages, leaving them in the queue. systemJobName=\"{}\"", Integer.toString(failedCount), JOB_NAME);
+        }
+
         // Log that the system job is ended.
         LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
     }
@@ -0,0 +1,135 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.systemjobs;
+
+import java.util.List;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.Parameter;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.ReconcileBusinessObjectDataLatestValidVersionService;
+import org.finra.herd.service.helper.ParameterHelper;
+
+/**
+ * The system job that backfills and reconciles the latest valid version flags of business object data.
+ */
+@Component(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME)
+@DisallowConcurrentExecution
+public class ReconcileBusinessObjectDataLatestValidVersionJob extends AbstractSystemJob
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReconcileBusinessObjectDataLatestValidVersionJob.class);
+
+    public static final String JOB_NAME = "reconcileBusinessObjectDataLatestValidVersion";
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Autowired
+    private ParameterHelper parameterHelper;
+
+    @Autowired
+    private ReconcileBusinessObjectDataLatestValidVersionService reconcileBusinessObjectDataLatestValidVersionService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException
+    {
+        // Log that the system job is started.
+        LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
+
+        // Get the parameter values.
+        int maxBusinessObjectDataInstancesToProcess =
+            parameterHelper.getParameterValueAsInteger(parameters, ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES);
+
+        // Log the parameter values.
+        LOGGER.info("systemJobName=\"{}\" {}={}", JOB_NAME, ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES,
+            maxBusinessObjectDataInstancesToProcess);
+
+        // Continue the processing only if the maximum number of business object data instances
+        // that is allowed to be processed in a single run of this system job is greater than zero.
+        int processedBusinessObjectDataInstances = 0;
+        if (maxBusinessObjectDataInstancesToProcess > 0)
+        {
+            // Select business object data that does not have the latest valid version flag computed yet or has the flag set inconsistently.
+            List<BusinessObjectDataKey> businessObjectDataKeys =
+                reconcileBusinessObjectDataLatestValidVersionService.getBusinessObjectDataToReconcile(maxBusinessObjectDataInstancesToProcess);
+
+            // Log the number of business object data instances selected for processing.
+            LOGGER.info("Selected for processing business object data instances. systemJobName=\"{}\" businessObjectDataCount={}", JOB_NAME,
+                businessObjectDataKeys.size());
+
+            // Try to reconcile each of the selected business object data instances.
+            for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+            {
+                try
+                {
+                    reconcileBusinessObjectDataLatestValidVersionService.reconcileBusinessObjectData(businessObjectDataKey);
+                    processedBusinessObjectDataInstances += 1;
+                }
+                catch (RuntimeException runtimeException)
+                {
+                    // Log the exception.
+                    LOGGER.error("Failed to reconcile latest valid version flags of a business object data. systemJobName=\"{}\" businessObjectDataKey={}",
+                        JOB_NAME, jsonHelper.objectToJson(businessObjectDataKey), runtimeException);
+                }
+            }
+        }
+
+        // Log the number of reconciled business object data instances.
+        LOGGER.info("Reconciled business object data instances. systemJobName=\"{}\" businessObjectDataCount={}", JOB_NAME,
+            processedBusinessObjectDataInstances);
+
+        // Log that the system job is ended.
+        LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
+    }
+
+    @Override
+    public void validateParameters(List<Parameter> parameters)
+    {
+        // This system job accepts only one optional parameter with an integer value.
+        if (!CollectionUtils.isEmpty(parameters))
+        {
+            Assert.isTrue(parameters.size() == 1, String.format("Too many parameters are specified for \"%s\" system job.", JOB_NAME));
+            Assert.isTrue(
+                parameters.get(0).getName().equalsIgnoreCase(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES.getKey()),
+                String.format("Parameter \"%s\" is not supported by \"%s\" system job.", parameters.get(0).getName(), JOB_NAME));
+            parameterHelper.getParameterValueAsInteger(parameters.get(0));
+        }
+    }
+
+    @Override
+    public JobDataMap getJobDataMap()
+    {
+        return getJobDataMap(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES);
+    }
+
+    @Override
+    public String getCronExpression()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_CRON_EXPRESSION);
+    }
+}
@@ -21,14 +21,19 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -88,6 +93,100 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             .validateBusinessObjectDataDdl(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(), resultDdl);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws Exception
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Build a list of requests that cover standard and custom DDL, drop partitions, single location, and combined alter table statements.
+        List<BusinessObjectDataDdlRequest> requests = new ArrayList<>();
+        requests.add(businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES));
+        BusinessObjectDataDdlRequest request =
+            businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        request.setIncludeDropPartitions(INCLUDE_DROP_PARTITIONS);
+        request.setIncludeSingleLocation(true);
+        requests.add(request);
+        request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES);
+        request.setCombineMultiplePartitionsInSingleAlterTable(COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE);
+        requests.add(request);
+        request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES);
+        request.setCombineMultiplePartitionsInSingleAlterTable(COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE);
+        request.setCombinedAlterTableMaxPartitions(2);
+        requests.add(request);
+
+        // Override configuration to write out the DDL after every storage unit.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STREAMING_PAGE_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            for (BusinessObjectDataDdlRequest businessObjectDataDdlRequest : requests)
+            {
+                // Retrieve business object data ddl without and with streaming.
+                BusinessObjectDataDdl expectedDdl = businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
+                StringWriter stringWriter = new StringWriter();
+                BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, stringWriter);
+
+                // Validate that the streamed DDL matches the DDL returned in the response.
+                assertNull(resultDdl.getDdl());
+                assertEquals(expectedDdl.getDdl(), stringWriter.toString());
+                resultDdl.setDdl(expectedDdl.getDdl());
+                assertEquals(expectedDdl, resultDdl);
+            }
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlBusinessObjectDataUpdatedOnWatermark()
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data ddl using a watermark in the distant past, which selects all available partitions.
+        BusinessObjectDataDdlRequest request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        request.setIncludeDropPartitions(INCLUDE_DROP_PARTITIONS);
+        request.setBusinessObjectDataUpdatedOnWatermark(HerdDateUtils.getXMLGregorianCalendarValue(new Date(0)));
+        BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Validate the results.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataDdl(request, getExpectedBusinessObjectDataDdl(STORAGE_1_AVAILABLE_PARTITION_VALUES),
+            resultDdl);
+        XMLGregorianCalendar watermark = resultDdl.getBusinessObjectDataUpdatedOnWatermark();
+        assertNotNull(watermark);
+
+        // Retrieve business object data ddl using the returned watermark. Since nothing changed, no partitions are expected.
+        request.setBusinessObjectDataUpdatedOnWatermark(watermark);
+        resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Validate the results.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataDdl(request, getExpectedBusinessObjectDataDdl(new ArrayList<>()), resultDdl);
+        assertEquals(watermark, resultDdl.getBusinessObjectDataUpdatedOnWatermark());
+
+        // Update one of the business object data instances. This moves its updated on timestamp past the watermark.
+        String updatedPartitionValue = STORAGE_1_AVAILABLE_PARTITION_VALUES.get(0);
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDao.getBusinessObjectDataByAltKey(
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, updatedPartitionValue,
+                SUBPARTITION_VALUES, DATA_VERSION));
+        businessObjectDataEntity.setRetentionExpiration(new Timestamp(System.currentTimeMillis()));
+        businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
+        Timestamp updatedOn = businessObjectDataEntity.getUpdatedOn();
+
+        // Retrieve business object data ddl using the same watermark.
+        resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Validate that only the updated partition gets dropped and re-added and that the watermark moves forward.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataDdl(request,
+            getExpectedBusinessObjectDataDdl(Collections.singletonList(updatedPartitionValue)), resultDdl);
+        assertEquals(HerdDateUtils.getXMLGregorianCalendarValue(updatedOn), resultDdl.getBusinessObjectDataUpdatedOnWatermark());
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlPartitionValueListStandalonePartitionValueFilter()
     {
@@ -159,14 +258,16 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                     NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER,
                     DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME,
-                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME),
+                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataDdl);
         }
     }
@@ -191,7 +292,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -236,7 +338,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER,
                 NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL,
                 TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE),
-                AbstractServiceTest.NO_AS_OF_TIME), result);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), result);
         }
     }
 
@@ -257,14 +359,16 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(lowerBoundPartitionValue))), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS,
                     NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
-                    businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME),
+                    businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataDdl);
         }
     }
@@ -289,7 +393,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -333,7 +438,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(lowerBoundPartitionValue))), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION,
                     BusinessObjectDataStatusEntity.UPLOADING, NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME,
-                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME),
+                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
                 result);
         }
     }
@@ -823,14 +929,16 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                     NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER,
                     DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME,
-                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME),
+                    NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataDdl);
         }
     }
@@ -852,14 +960,16 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(lowerBoundPartitionValue))), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS,
                     NO_STORAGE_NAMES, NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
-                    businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME),
+                    businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2), AbstractServiceTest.NO_AS_OF_TIME,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataDdl);
         }
     }
@@ -1077,7 +1187,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
             try
             {
@@ -1950,7 +2060,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
-            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME), result);
+            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE), AbstractServiceTest.NO_AS_OF_TIME,
+            AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), result);
 
         // Update the storage unit status to a non-available one.
         storageUnitEntity.setStatus(
@@ -2041,7 +2152,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE_2), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
-            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2, null), AbstractServiceTest.NO_AS_OF_TIME), result);
+            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(PARTITION_VALUE_2, null), AbstractServiceTest.NO_AS_OF_TIME,
+            AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), result);
     }
 
     @Test
@@ -2452,7 +2564,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Should throw an IllegalArgumentException when storage directory path does not match the expected S3 key prefix.");
         }
         catch (IllegalArgumentException e)
@@ -2483,7 +2596,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Should throw an IllegalArgumentException when storage directory path is null.");
         }
         catch (IllegalArgumentException e)
@@ -2690,7 +2804,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the results.
         assertNotNull(businessObjectDataDdl);
@@ -2713,7 +2827,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest before partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -2744,7 +2859,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest after partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -2780,7 +2896,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2792,7 +2908,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, STORAGE_NAMES, NO_STORAGE_NAME,
-                BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl, AbstractServiceTest.NO_AS_OF_TIME);
+                BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl, AbstractServiceTest.NO_AS_OF_TIME,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -2819,7 +2936,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2832,7 +2950,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING,
                 STORAGE_NAMES, NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -2860,7 +2978,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2873,7 +2992,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID,
                 STORAGE_NAMES, NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -2901,7 +3020,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2913,7 +3033,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, Arrays.asList(STORAGE_NAME),
                 NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -2942,7 +3062,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2955,7 +3076,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING,
                 Arrays.asList(STORAGE_NAME), NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -2984,7 +3105,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         String expectedDdl =
@@ -2997,7 +3119,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID,
                 Arrays.asList(STORAGE_NAME), NO_STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -3024,7 +3146,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -3047,7 +3170,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -3126,7 +3250,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data has more or " +
                 "equal sub-partition values then the latest business object format version.");
         }
@@ -3161,14 +3286,15 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
                 BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdlTwoPartitionLevels(testPartitions), AbstractServiceTest.NO_AS_OF_TIME),
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdlTwoPartitionLevels(testPartitions), AbstractServiceTest.NO_AS_OF_TIME,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataDdl);
     }
 
@@ -3193,7 +3319,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3201,7 +3327,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper
             .getExpectedBusinessObjectDataDdlTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
-            AbstractServiceTest.NO_AS_OF_TIME), resultBusinessObjectDataDdl);
+            AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataDdl);
     }
 
     @Test
@@ -3227,7 +3353,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has an INVALID status.");
         }
         catch (ObjectNotFoundException e)
@@ -3261,7 +3388,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3295,7 +3423,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3333,7 +3462,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3369,7 +3499,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3377,7 +3507,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper
             .getExpectedBusinessObjectDataDdlTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
-            AbstractServiceTest.NO_AS_OF_TIME), resultBusinessObjectDataDdl);
+            AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataDdl);
     }
 
     @Test
@@ -3401,7 +3531,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3409,7 +3540,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, NO_DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME,
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper
             .getExpectedBusinessObjectDataDdlTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
-            AbstractServiceTest.NO_AS_OF_TIME), resultBusinessObjectDataDdl);
+            AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataDdl);
     }
 
     @Test
@@ -3428,7 +3559,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3437,7 +3569,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper
             .getExpectedBusinessObjectDataDdlTwoPartitionLevels(
                 Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2))),
-            AbstractServiceTest.NO_AS_OF_TIME), resultBusinessObjectDataDdl);
+            AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataDdl);
     }
 
     @Test
@@ -3463,7 +3595,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3472,7 +3605,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper
             .getExpectedBusinessObjectDataDdlTwoPartitionLevels(
                 Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2))),
-            AbstractServiceTest.NO_AS_OF_TIME), resultBusinessObjectDataDdl);
+            AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataDdl);
     }
 
     @Test
@@ -3498,7 +3631,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -3574,7 +3708,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -3605,7 +3740,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3615,7 +3751,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME,
                 businessObjectDataServiceTestHelper
                     .getExpectedBusinessObjectDataDdlTwoPartitionLevelsWithMultiplePartitionsInSingleAlterTableStatement(Arrays.asList(PARTITION_VALUE),
-                        Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)), 1), AbstractServiceTest.NO_AS_OF_TIME);
+                        Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)), 1), AbstractServiceTest.NO_AS_OF_TIME,
+                        AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3636,7 +3773,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3648,7 +3786,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2), Arrays
                         .asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2),
                             Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_3), Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_4)), null),
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3669,7 +3807,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 1, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3681,7 +3819,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2), Arrays
                         .asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2),
                             Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_3), Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_4)), 1),
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3704,7 +3842,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 2, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3719,7 +3857,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                             Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_3), Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_4),
                             Arrays.asList(PARTITION_VALUE_3, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE_3, SUB_PARTITION_VALUE_3),
                             Arrays.asList(PARTITION_VALUE_4, SUB_PARTITION_VALUE_2), Arrays.asList(PARTITION_VALUE_4, SUB_PARTITION_VALUE_4)), 2),
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3741,7 +3879,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 2, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3754,7 +3892,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2, PARTITION_VALUE_3), Arrays
                         .asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2),
                             Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_3), Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_4),
-                            Arrays.asList(PARTITION_VALUE_3, SUB_PARTITION_VALUE_1)), 2), AbstractServiceTest.NO_AS_OF_TIME);
+                            Arrays.asList(PARTITION_VALUE_3, SUB_PARTITION_VALUE_1)), 2), AbstractServiceTest.NO_AS_OF_TIME,
+                            AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3775,7 +3914,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 1000, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3787,7 +3926,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2), Arrays
                         .asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2),
                             Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_3), Arrays.asList(PARTITION_VALUE_2, SUB_PARTITION_VALUE_4)), null),
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
 
@@ -3910,7 +4049,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
             Calendar cal = Calendar.getInstance();
             java.util.Date dateTime = cal.getTime();
@@ -4353,7 +4493,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION,
                 NO_INCLUDE_DROP_PARTITIONS, INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                NO_AS_OF_TIME, NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                NO_AS_OF_TIME, NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, NO_BDATA_UPDATED_ON_WATERMARK);
         BusinessObjectDataDdl resultBusinessObjectDataDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
 
         // Validate the response object.
@@ -4366,7 +4506,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, STORAGE_NAMES, NO_STORAGE_NAME,
-                BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl, NO_AS_OF_TIME);
+                BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, expectedDdl, NO_AS_OF_TIME, NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedDdl, resultBusinessObjectDataDdl.getDdl());
         assertEquals(expectedBusinessObjectDataDdl, resultBusinessObjectDataDdl);
     }
@@ -4425,7 +4565,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                NO_AS_OF_TIME, SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                NO_AS_OF_TIME, SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -4433,7 +4573,23 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     new LatestBeforePartitionValue("1"), NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER,
                 DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES, STORAGE_NAME, BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME,
                 NO_CUSTOM_DDL_NAME, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdlWithSpecifiedType("1", "1", numericPartitionType),
-                NO_AS_OF_TIME),
+                NO_AS_OF_TIME, NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataDdl);
     }
+
+    /**
+     * Returns Hive DDL that is expected to be produced by the business object data updated on watermark unit test.
+     *
+     * @param partitionValues the list of partition values expected to be dropped and added
+     *
+     * @return the Hive DDL
+     */
+    private String getExpectedBusinessObjectDataDdl(List<String> partitionValues)
+    {
+        return businessObjectDataServiceTestHelper
+            .getExpectedBusinessObjectDataDdl(PARTITION_COLUMNS.length, FIRST_COLUMN_NAME, FIRST_COLUMN_DATA_TYPE, ROW_FORMAT, CUSTOM_CLUSTERED_BY_VALUE,
+                NO_SCHEMA_CUSTOM_TBL_PROPERTIES, Hive13DdlGenerator.TEXT_HIVE_FILE_FORMAT, FileTypeEntity.TXT_FILE_TYPE,
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, partitionValues, SUBPARTITION_VALUES, false, true, true, INCLUDE_DROP_PARTITIONS,
+                NO_INCLUDE_SINGLE_LOCATION);
+    }
 }
@@ -20,17 +20,22 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
@@ -86,6 +91,84 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             .validateBusinessObjectDataPartitions(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(), resultPartitions);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataPartitionsBusinessObjectDataUpdatedOnWatermark()
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data partitions using a watermark in the distant past, which selects all available partitions.
+        BusinessObjectDataPartitionsRequest request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataPartitionsRequest(UNSORTED_PARTITION_VALUES);
+        request.setBusinessObjectDataUpdatedOnWatermark(HerdDateUtils.getXMLGregorianCalendarValue(new Date(0)));
+        BusinessObjectDataPartitions resultPartitions = businessObjectDataService.generateBusinessObjectDataPartitions(request);
+
+        // Validate the results.
+        businessObjectDataServiceTestHelper
+            .validateBusinessObjectDataPartitions(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(), resultPartitions);
+        XMLGregorianCalendar watermark = resultPartitions.getBusinessObjectDataUpdatedOnWatermark();
+        assertNotNull(watermark);
+
+        // Retrieve business object data partitions using the returned watermark. Since nothing changed, no partitions are expected.
+        request.setBusinessObjectDataUpdatedOnWatermark(watermark);
+        resultPartitions = businessObjectDataService.generateBusinessObjectDataPartitions(request);
+
+        // Validate the results.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataPartitions(request, new ArrayList<>(), resultPartitions);
+        assertEquals(watermark, resultPartitions.getBusinessObjectDataUpdatedOnWatermark());
+
+        // Update one of the business object data instances. This moves its updated on timestamp past the watermark.
+        String updatedPartitionValue = STORAGE_1_AVAILABLE_PARTITION_VALUES.get(0);
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDao.getBusinessObjectDataByAltKey(
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, updatedPartitionValue,
+                SUBPARTITION_VALUES, DATA_VERSION));
+        businessObjectDataEntity.setRetentionExpiration(new Timestamp(System.currentTimeMillis()));
+        businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
+        Timestamp updatedOn = businessObjectDataEntity.getUpdatedOn();
+
+        // Retrieve business object data partitions using the same watermark.
+        resultPartitions = businessObjectDataService.generateBusinessObjectDataPartitions(request);
+
+        // Validate that only the updated partition is returned and that the watermark moves forward.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataPartitions(request, businessObjectDataServiceTestHelper
+            .getExpectedBusinessObjectDataPartitions(PARTITION_COLUMNS.length, FileTypeEntity.TXT_FILE_TYPE,
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, Collections.singletonList(updatedPartitionValue), SUBPARTITION_VALUES, false),
+            resultPartitions);
+        assertEquals(HerdDateUtils.getXMLGregorianCalendarValue(updatedOn), resultPartitions.getBusinessObjectDataUpdatedOnWatermark());
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataPartitionsBusinessObjectDataUpdatedOnWatermarkStorageUnitUpdated()
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data partitions using a watermark in the distant past to obtain the current watermark.
+        BusinessObjectDataPartitionsRequest request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataPartitionsRequest(UNSORTED_PARTITION_VALUES);
+        request.setBusinessObjectDataUpdatedOnWatermark(HerdDateUtils.getXMLGregorianCalendarValue(new Date(0)));
+        request.setBusinessObjectDataUpdatedOnWatermark(businessObjectDataService.generateBusinessObjectDataPartitions(request)
+            .getBusinessObjectDataUpdatedOnWatermark());
+
+        // Update only the storage unit of one of the business object data instances. This moves the storage unit updated on timestamp past the watermark.
+        String updatedPartitionValue = STORAGE_1_AVAILABLE_PARTITION_VALUES.get(0);
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDao.getBusinessObjectDataByAltKey(
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, updatedPartitionValue,
+                SUBPARTITION_VALUES, DATA_VERSION));
+        StorageUnitEntity storageUnitEntity = businessObjectDataEntity.getStorageUnits().iterator().next();
+        storageUnitEntity.setStoragePolicyTransitionFailedAttempts(1);
+        storageUnitDao.saveAndRefresh(storageUnitEntity);
+        Timestamp updatedOn = storageUnitEntity.getUpdatedOn();
+
+        // Retrieve business object data partitions using the same watermark.
+        BusinessObjectDataPartitions resultPartitions = businessObjectDataService.generateBusinessObjectDataPartitions(request);
+
+        // Validate that only the partition with the updated storage unit is returned and that the watermark moves forward.
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataPartitions(request, businessObjectDataServiceTestHelper
+            .getExpectedBusinessObjectDataPartitions(PARTITION_COLUMNS.length, FileTypeEntity.TXT_FILE_TYPE,
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, Collections.singletonList(updatedPartitionValue), SUBPARTITION_VALUES, false),
+            resultPartitions);
+        assertEquals(HerdDateUtils.getXMLGregorianCalendarValue(updatedOn), resultPartitions.getBusinessObjectDataUpdatedOnWatermark());
+    }
+
     @Test
     public void testGenerateBusinessObjectDataPartitionsPartitionValueRange()
     {
@@ -133,13 +216,15 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS,
-                    SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                     new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS,
-                    SINGLE_STORAGE_NAMES, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE)),
+                    SINGLE_STORAGE_NAMES, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataPartitions);
         }
     }
@@ -160,7 +245,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                     new LatestBeforePartitionValue(PARTITION_VALUE), NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS);
+                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -204,7 +289,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                     new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION,
                 BusinessObjectDataStatusEntity.UPLOADING, SINGLE_STORAGE_NAMES,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE)), result);
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE), NO_BDATA_UPDATED_ON_WATERMARK), result);
         }
     }
 
@@ -221,13 +306,14 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(lowerBoundPartitionValue))), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     new LatestAfterPartitionValue(lowerBoundPartitionValue))), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2)), resultBusinessObjectDataPartitions);
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2),
+                NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataPartitions);
         }
     }
 
@@ -247,7 +333,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     new LatestAfterPartitionValue(PARTITION_VALUE_2))), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS);
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -290,7 +376,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     new LatestAfterPartitionValue(lowerBoundPartitionValue))), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, SINGLE_STORAGE_NAMES,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2)), result);
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2), NO_BDATA_UPDATED_ON_WATERMARK), result);
         }
     }
 
@@ -483,13 +569,15 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS,
-                    SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                     new LatestBeforePartitionValue(upperBoundPartitionValue), NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS,
-                    SINGLE_STORAGE_NAMES, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE)),
+                    SINGLE_STORAGE_NAMES, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
                 resultBusinessObjectDataPartitions);
         }
     }
@@ -507,13 +595,14 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(lowerBoundPartitionValue))), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     new LatestAfterPartitionValue(lowerBoundPartitionValue))), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2)), resultBusinessObjectDataPartitions);
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE_2),
+                NO_BDATA_UPDATED_ON_WATERMARK), resultBusinessObjectDataPartitions);
         }
     }
 
@@ -701,7 +790,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         {
             request = new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION,
                 Arrays.asList(partitionValueFilter), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS);
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK);
 
             try
             {
@@ -1367,7 +1456,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         assertEquals(new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
             new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                 NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE)), result);
+            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitions(PARTITION_VALUE), NO_BDATA_UPDATED_ON_WATERMARK), result);
 
         // Update the storage unit status to a non-available one.
         storageUnitEntity.setStatus(
@@ -1668,7 +1757,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Should throw an IllegalArgumentException when storage directory path does not match the expected S3 key prefix.");
         }
         catch (IllegalArgumentException e)
@@ -1695,7 +1785,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Should throw an IllegalArgumentException when storage directory path is null.");
         }
         catch (IllegalArgumentException e)
@@ -1891,7 +1982,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(PARTITION_KEY, partitionValues, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the results.
         assertNotNull(BusinessObjectDataPartitions);
@@ -1910,7 +2001,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         new LatestBeforePartitionValue(PARTITION_VALUE), NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest before partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -1937,7 +2029,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         new LatestAfterPartitionValue(PARTITION_VALUE_2))), DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest after partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -1969,7 +2061,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, STORAGE_NAMES, ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -1978,7 +2070,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         BusinessObjectDataPartitions expectedBusinessObjectDataPartitions =
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
-                    NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, STORAGE_NAMES, expectedPartitions);
+                    NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, STORAGE_NAMES, expectedPartitions, NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2002,7 +2094,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, STORAGE_NAMES, ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -2012,7 +2104,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         BusinessObjectDataPartitions expectedBusinessObjectDataPartitions =
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
-                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, STORAGE_NAMES, expectedPartitions);
+                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, STORAGE_NAMES, expectedPartitions,
+                    NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2036,7 +2129,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, STORAGE_NAMES, ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -2045,7 +2138,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         BusinessObjectDataPartitions expectedBusinessObjectDataPartitions =
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
-                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, STORAGE_NAMES, expectedPartitions);
+                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, STORAGE_NAMES, expectedPartitions,
+                    NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2069,7 +2163,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, Arrays.asList(STORAGE_NAME), ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -2078,7 +2172,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         BusinessObjectDataPartitions expectedBusinessObjectDataPartitions =
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
-                    NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, Arrays.asList(STORAGE_NAME), expectedPartitions);
+                    NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, Arrays.asList(STORAGE_NAME), expectedPartitions,
+                    NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2103,7 +2198,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, Arrays.asList(STORAGE_NAME),
-                ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -2113,7 +2208,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.UPLOADING, Arrays.asList(STORAGE_NAME),
-                expectedPartitions);
+                expectedPartitions, NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2138,7 +2233,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                     NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, Arrays.asList(STORAGE_NAME), ALLOW_MISSING_DATA,
-                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object.
         List<Partition> expectedPartitions = businessObjectDataServiceTestHelper
@@ -2147,7 +2242,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
         BusinessObjectDataPartitions expectedBusinessObjectDataPartitions =
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
-                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, Arrays.asList(STORAGE_NAME), expectedPartitions);
+                    NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, BusinessObjectDataStatusEntity.VALID, Arrays.asList(STORAGE_NAME), expectedPartitions,
+                    NO_BDATA_UPDATED_ON_WATERMARK);
         assertEquals(expectedPartitions, resultBusinessObjectDataPartitions.getPartitions());
         assertEquals(expectedBusinessObjectDataPartitions, resultBusinessObjectDataPartitions);
     }
@@ -2171,7 +2267,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Collections
                     .singletonList(new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES,
-                    ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -2190,7 +2287,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, NO_FORMAT_VERSION, Collections
                     .singletonList(new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, UNSORTED_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES,
-                    ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -2264,7 +2362,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, null, Arrays.asList(
                     new PartitionValueFilter(PARTITION_KEY, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an IllegalArgumentException when business object data has more or " +
                 "equal sub-partition values then the latest business object format version.");
         }
@@ -2295,14 +2393,14 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
             new BusinessObjectDataPartitions(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(testPartitions)),
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(testPartitions), NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2323,7 +2421,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Only the first sub-partition should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
@@ -2331,7 +2429,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
                 businessObjectDataServiceTestHelper
-                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)))),
+                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2354,7 +2453,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has an INVALID status.");
         }
         catch (ObjectNotFoundException e)
@@ -2384,7 +2484,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -2414,7 +2515,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -2448,7 +2550,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -2480,7 +2583,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should. Only the first sub-partition should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
@@ -2488,7 +2591,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
                 businessObjectDataServiceTestHelper
-                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)))),
+                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2509,7 +2613,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Only the first sub-partition should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
@@ -2517,7 +2622,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
                 businessObjectDataServiceTestHelper
-                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)))),
+                    .getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1))),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2533,7 +2639,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
@@ -2541,7 +2647,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
                 businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(
-                    Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2)))),
+                    Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2))),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2564,7 +2671,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
             new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
 
         // Validate the response object. Both sub-partitions should be present in the generated partitions.
         validateBusinessObjectDataPartitions(
@@ -2572,7 +2679,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                     NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
                 businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataPartitionsTwoPartitionLevels(
-                    Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2)))),
+                    Arrays.asList(Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1), Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_2))),
+                    NO_BDATA_UPDATED_ON_WATERMARK),
             resultBusinessObjectDataPartitions);
     }
 
@@ -2595,7 +2703,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
                     new PartitionValueFilter(FIRST_PARTITION_COLUMN_NAME, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE,
                         NO_LATEST_BEFORE_PARTITION_VALUE, NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES,
-                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
+                    NO_BDATA_UPDATED_ON_WATERMARK));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -2666,7 +2775,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataPartitionsTest e
                 new BusinessObjectDataPartitionsRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, null, Arrays.asList(
                     new PartitionValueFilter(PARTITION_KEY, Arrays.asList(PARTITION_VALUE), NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                         NO_LATEST_AFTER_PARTITION_VALUE)), NO_DATA_VERSION, NO_BDATA_STATUS, SINGLE_STORAGE_NAMES, NO_ALLOW_MISSING_DATA,
-                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS));
+                    NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_BDATA_UPDATED_ON_WATERMARK));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -1690,7 +1690,7 @@ public class BusinessObjectDataServiceTestHelper
                     AbstractServiceTest.NO_LATEST_AFTER_PARTITION_VALUE)), AbstractServiceTest.NO_STANDALONE_PARTITION_VALUE_FILTER,
                 AbstractServiceTest.DATA_VERSION, AbstractServiceTest.NO_BDATA_STATUS, AbstractServiceTest.NO_STORAGE_NAMES, AbstractServiceTest.STORAGE_NAME,
                 BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, AbstractServiceTest.TABLE_NAME, AbstractServiceTest.NO_CUSTOM_DDL_NAME, expectedDdl,
-                AbstractServiceTest.NO_AS_OF_TIME);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Add two business object ddl responses to the collection response.
         businessObjectDataDdlResponses.add(expectedBusinessObjectDataDdl);
@@ -2448,7 +2448,8 @@ public class BusinessObjectDataServiceTestHelper
                 AbstractServiceTest.NO_INCLUDE_SINGLE_LOCATION, AbstractServiceTest.NO_ALLOW_MISSING_DATA,
                 AbstractServiceTest.NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_BDATA_UPDATED_ON_WATERMARK);
 
         // Add two business object ddl requests to the collection request.
         businessObjectDataDdlRequests.add(businessObjectDataDdlRequest);
@@ -29,9 +29,11 @@ import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.impl.MockSqsOperationsImpl;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessagePublishingResultsDto;
 import org.finra.herd.model.jpa.MessageTypeEntity;
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
@@ -110,6 +112,13 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Publish the notification message from the database queue.
         assertTrue(notificationMessagePublishingServiceImpl.publishOldestNotificationMessageFromDatabaseQueue());
 
+        // Add a notification message to the database queue and publish it as a batch.
+        notificationMessagePublishingServiceImpl.addNotificationMessageToDatabaseQueue(
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT,
+                Collections.singletonList(new MessageHeader(KEY, VALUE))));
+        assertEquals(Integer.valueOf(1),
+            notificationMessagePublishingServiceImpl.publishOldestNotificationMessagesFromDatabaseQueue(null, 10).getPublishedNotificationMessageCount());
+
         // Publish notification message directly - not from the database queue.
         notificationMessagePublishingServiceImpl.publishNotificationMessage(
             new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT,
@@ -206,4 +215,59 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Check that the test notification message is still the oldest message in the database queue.
         assertEquals(notificationMessageDao.getOldestNotificationMessage(), notificationMessageEntity);
     }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueue()
+    {
+        // Create notification messages of both SQS and SNS message types and add them to the database queue.
+        for (int i = 0; i < SqsDao.MAX_BATCH_SIZE + 1; i++)
+        {
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        }
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT);
+
+        // Publish a batch of notification messages that is smaller than the database queue.
+        NotificationMessagePublishingResultsDto result =
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, SqsDao.MAX_BATCH_SIZE);
+        assertEquals(Integer.valueOf(SqsDao.MAX_BATCH_SIZE), result.getClaimedNotificationMessageCount());
+        assertEquals(Integer.valueOf(SqsDao.MAX_BATCH_SIZE), result.getPublishedNotificationMessageCount());
+
+        // Publish the rest of notification messages.
+        result = notificationMessagePublishingService
+            .publishOldestNotificationMessagesFromDatabaseQueue(result.getLastClaimedNotificationMessageId(), SqsDao.MAX_BATCH_SIZE);
+        assertEquals(Integer.valueOf(2), result.getClaimedNotificationMessageCount());
+        assertEquals(Integer.valueOf(2), result.getPublishedNotificationMessageCount());
+
+        // Confirm that the database queue is empty now.
+        assertEquals(new NotificationMessagePublishingResultsDto(0, 0, null),
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, SqsDao.MAX_BATCH_SIZE));
+        assertNull(notificationMessageDao.getOldestNotificationMessage());
+    }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueuePartialFailure()
+    {
+        // Create database entries required for testing, where the first two messages are set to fail.
+        NotificationMessageEntity queueNotFoundNotificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        NotificationMessageEntity failedEntryNotificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME,
+                MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+
+        // Publish notification messages one batch at a time, so the failing messages make up the first batch. Only the last message is expected to get
+        // published by the second batch, that starts after the messages claimed by the first batch.
+        NotificationMessagePublishingResultsDto result = notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, 2);
+        assertEquals(new NotificationMessagePublishingResultsDto(2, 0, failedEntryNotificationMessageEntity.getId()), result);
+        result = notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(result.getLastClaimedNotificationMessageId(), 2);
+        assertEquals(Integer.valueOf(1), result.getClaimedNotificationMessageCount());
+        assertEquals(Integer.valueOf(1), result.getPublishedNotificationMessageCount());
+
+        // Check that the failed notification messages are still in the database queue.
+        notificationMessageDao.getEntityManager().clear();
+        List<NotificationMessageEntity> notificationMessageEntities = notificationMessageDao.getOldestNotificationMessages(null, SqsDao.MAX_BATCH_SIZE);
+        assertEquals(2, notificationMessageEntities.size());
+        assertEquals(queueNotFoundNotificationMessageEntity.getId(), notificationMessageEntities.get(0).getId());
+        assertEquals(failedEntryNotificationMessageEntity.getId(), notificationMessageEntities.get(1).getId());
+    }
 }
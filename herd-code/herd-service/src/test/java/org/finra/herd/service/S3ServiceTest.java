@@ -32,6 +32,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.finra.herd.dao.S3Dao;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -196,6 +197,32 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testDownloadStorageFiles() throws InterruptedException
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a list of storage files.
+        List<StorageFile> storageFiles = Collections.singletonList(new StorageFile(FILE_NAME, FILE_SIZE, ROW_COUNT));
+
+        // Create an S3 file transfer result DTO.
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+
+        // Mock the external calls.
+        when(s3Dao.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles)).thenReturn(s3FileTransferResultsDto);
+
+        // Call the method under test.
+        S3FileTransferResultsDto result = s3Service.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+
+        // Verify the external calls.
+        verify(s3Dao).downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3FileTransferResultsDto, result);
+    }
+
     @Test
     public void testListDirectory()
     {
@@ -311,6 +338,29 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testUploadFileListResumable() throws InterruptedException
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create an S3 file transfer result DTO.
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+
+        // Mock the external calls.
+        when(s3Dao.uploadFileListResumable(s3FileTransferRequestParamsDto)).thenReturn(s3FileTransferResultsDto);
+
+        // Call the method under test.
+        S3FileTransferResultsDto result = s3Service.uploadFileListResumable(s3FileTransferRequestParamsDto);
+
+        // Verify the external calls.
+        verify(s3Dao).uploadFileListResumable(s3FileTransferRequestParamsDto);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3FileTransferResultsDto, result);
+    }
+
     @Test
     public void testValidateGlacierS3FilesRestored() throws RuntimeException
     {
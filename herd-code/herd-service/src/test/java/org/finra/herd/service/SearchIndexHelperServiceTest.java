@@ -17,9 +17,12 @@ package org.finra.herd.service;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -30,7 +33,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import org.elasticsearch.common.settings.Settings;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -97,9 +103,23 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         // Get a chunk size.
         int chunkSize = SearchIndexHelperServiceImpl.BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
 
+        // Get the ID of the last business object definition in the list.
+        Long lastBusinessObjectDefinitionId = businessObjectDefinitionEntities.get(1).getId();
+
+        // Create the original index settings.
+        Settings originalIndexSettings = Settings.builder().put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, 1).build();
+
         // Mock the external calls. Please note that we mock index size is set to be equal to the business object definition entity list size.
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(0, chunkSize)).thenReturn(businessObjectDefinitionEntities);
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(chunkSize, chunkSize)).thenReturn(new ArrayList<>());
+        when(indexFunctionsDao.getIndexSettings(SEARCH_INDEX_NAME)).thenReturn(originalIndexSettings);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionsStartingAfterId(null, chunkSize)).thenReturn(businessObjectDefinitionEntities);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionsStartingAfterId(lastBusinessObjectDefinitionId, chunkSize)).thenReturn(new ArrayList<>());
+        doAnswer(invocation -> {
+            // Let the document producer run against a no-op document consumer.
+            Consumer<BiConsumer<String, String>> documentProducer = invocation.getArgument(1);
+            documentProducer.accept((id, json) -> {
+            });
+            return 0L;
+        }).when(indexFunctionsDao).createIndexDocumentsInBulk(eq(SEARCH_INDEX_NAME), any());
 
         when(indexFunctionsDao.getNumberOfTypesInIndex(any())).thenReturn(2L);
 
@@ -107,20 +127,66 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         Future<Void> response = searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey);
 
         // Verify the external calls.
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(0, chunkSize);
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(chunkSize, chunkSize);
+        verify(indexFunctionsDao).getIndexSettings(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().put(SearchIndexHelperServiceImpl.INDEX_REFRESH_INTERVAL_SETTING, "-1")
+                .put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, 0).build());
+        verify(indexFunctionsDao).createIndexDocumentsInBulk(eq(SEARCH_INDEX_NAME), any());
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionsStartingAfterId(null, chunkSize);
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionsStartingAfterId(lastBusinessObjectDefinitionId, chunkSize);
         verify(businessObjectDefinitionHelper)
             .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities),
                 any());
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().putNull(SearchIndexHelperServiceImpl.INDEX_REFRESH_INTERVAL_SETTING)
+                .put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, "1").build());
+        verify(indexFunctionsDao).refreshIndex(SEARCH_INDEX_NAME);
         verify(indexFunctionsDao).getNumberOfTypesInIndex(any());
         verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
-        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, searchIndexDaoHelper, tagDao, tagHelper);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexDaoHelper, tagDao, tagHelper);
 
         // Validate the results.
         assertNotNull(response);
         assertThat(response, instanceOf(Future.class));
     }
 
+    @Test
+    public void testIndexAllBusinessObjectDefinitionsFailedDocuments()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create the original index settings.
+        Settings originalIndexSettings = Settings.builder().put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, 1).build();
+
+        // Mock the external calls. Bulk indexing reports a failed document.
+        when(indexFunctionsDao.getIndexSettings(SEARCH_INDEX_NAME)).thenReturn(originalIndexSettings);
+        when(indexFunctionsDao.createIndexDocumentsInBulk(eq(SEARCH_INDEX_NAME), any())).thenReturn(1L);
+
+        // Try to index all business object definitions defined in the system.
+        try
+        {
+            searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(String.format("Failed to index 1 business object definition documents in bulk. Search index \"%s\" will not be marked as READY.",
+                SEARCH_INDEX_NAME), e.getMessage());
+        }
+
+        // Verify the external calls. The index settings are restored and the search index status is not updated.
+        verify(indexFunctionsDao).getIndexSettings(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().put(SearchIndexHelperServiceImpl.INDEX_REFRESH_INTERVAL_SETTING, "-1")
+                .put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, 0).build());
+        verify(indexFunctionsDao).createIndexDocumentsInBulk(eq(SEARCH_INDEX_NAME), any());
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().putNull(SearchIndexHelperServiceImpl.INDEX_REFRESH_INTERVAL_SETTING)
+                .put(SearchIndexHelperServiceImpl.INDEX_NUMBER_OF_REPLICAS_SETTING, "1").build());
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexDaoHelper, tagDao, tagHelper);
+    }
+
     @Test
     public void testIndexAllTags()
     {
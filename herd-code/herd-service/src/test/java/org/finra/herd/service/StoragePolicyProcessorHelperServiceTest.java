@@ -124,7 +124,9 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
             assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, s3KeyPrefix,
                     StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ENABLED,
                     Arrays.asList(new StorageFile(storageFilePath, FILE_SIZE_1_KB, ROW_COUNT_1000)), S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                    (Integer) ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM.getDefaultValue(),
+                    NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
                 storagePolicyTransitionParamsDto);
         }
         finally
@@ -192,7 +194,9 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
             // Validate the results.
             assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, s3KeyPrefix,
                     StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ENABLED, new ArrayList<>(), S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                    (Integer) ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM.getDefaultValue(),
+                    NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
                 storagePolicyTransitionParamsDto);
         }
         finally
@@ -261,7 +265,9 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
             assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, s3KeyPrefix,
                     StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ARCHIVING,
                     Arrays.asList(new StorageFile(storageFilePath, FILE_SIZE_1_KB, ROW_COUNT_1000)), S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                    new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                    (Integer) ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM.getDefaultValue(),
+                    NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
                 storagePolicyTransitionParamsDto);
         }
         finally
@@ -974,7 +980,7 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
                     NO_SUBPARTITION_VALUES, DATA_VERSION), STORAGE_NAME, NO_S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, storageFiles, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
                 new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME,
-                    S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)));
+                    S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS), NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT), null);
 
             // Validate that all S3 files are now tagged.
             for (StorageFile storageFile : storageFiles)
@@ -1017,14 +1023,16 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
         storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
 
         // Validate the results.
         assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
                 StorageUnitStatusEntity.ARCHIVED, StorageUnitStatusEntity.ARCHIVING, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY,
                 S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
             storagePolicyTransitionParamsDto);
 
         // Validate that storage unit status is updated to ARCHIVED.
@@ -1043,7 +1051,8 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
         try
         {
             storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
@@ -1070,7 +1079,8 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
         try
         {
             storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
@@ -1104,7 +1114,8 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
         try
         {
             storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
@@ -1139,7 +1150,8 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, NO_STORAGE_UNIT_STATUS,
                 NO_STORAGE_UNIT_STATUS, NO_STORAGE_FILES, S3_ARCHIVE_TO_GLACIER_TAG_KEY, S3_ARCHIVE_TO_GLACIER_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
         try
         {
             storagePolicyProcessorHelperService.completeStoragePolicyTransition(storagePolicyTransitionParamsDto);
@@ -1172,7 +1184,7 @@ public class StoragePolicyProcessorHelperServiceTest extends AbstractServiceTest
 
         try
         {
-            storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransition(null);
+            storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransition(null, null);
             fail("Should throw an NullPointerException.");
         }
         catch (NullPointerException e)
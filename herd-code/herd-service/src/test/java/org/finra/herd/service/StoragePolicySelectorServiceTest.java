@@ -706,9 +706,10 @@ public class StoragePolicySelectorServiceTest extends AbstractServiceTest
         // Try to retrieve both business object data instances as matching to the storage policy, but with max result limit set to 1.
         List<StoragePolicySelection> resultStoragePolicySelections = storagePolicySelectorService.execute(AWS_SQS_QUEUE_NAME, 1);
 
-        // Validate the results. Only the oldest business object data should get selected.
+        // Validate the results. Since business object data is scanned in order of business object data ID, only the business object data
+        // registered first should get selected, even though it is not the oldest per "created on" timestamp.
         assertEquals(Collections.singletonList(new StoragePolicySelection(
-            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
                 SUBPARTITION_VALUES, DATA_VERSION), storagePolicyKey, INITIAL_VERSION)), resultStoragePolicySelections);
     }
 
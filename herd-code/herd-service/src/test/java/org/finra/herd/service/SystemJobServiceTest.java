@@ -30,6 +30,7 @@ import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.service.systemjobs.BusinessObjectDataFinalizeRestoreJob;
 import org.finra.herd.service.systemjobs.FileUploadCleanupJob;
 import org.finra.herd.service.systemjobs.JmsPublishingJob;
+import org.finra.herd.service.systemjobs.ReconcileBusinessObjectDataLatestValidVersionJob;
 import org.finra.herd.service.systemjobs.StoragePolicySelectorJob;
 
 /**
@@ -519,4 +520,65 @@ public class SystemJobServiceTest extends AbstractServiceTest
                 ConfigurationValue.BDATA_FINALIZE_RESTORE_JOB_MAX_BDATA_INSTANCES.getKey()), e.getMessage());
         }
     }
+
+    // Reconcile business object data latest valid version system job
+
+    @Test
+    public void testRunSystemJobReconcileBusinessObjectDataLatestValidVersion() throws Exception
+    {
+        // Create the system job run request.
+        SystemJobRunRequest systemJobRunRequest = new SystemJobRunRequest(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME, Arrays
+            .asList(new Parameter(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES.getKey(), String.valueOf(INTEGER_VALUE))));
+
+        // Request to run the system job.
+        SystemJobRunResponse resultSystemJobRunResponse = systemJobService.runSystemJob(systemJobRunRequest);
+
+        // Validate the returned object.
+        assertEquals(new SystemJobRunResponse(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME, Arrays
+            .asList(new Parameter(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES.getKey(), String.valueOf(INTEGER_VALUE)))),
+            resultSystemJobRunResponse);
+    }
+
+    @Test
+    public void testRunSystemJobReconcileBusinessObjectDataLatestValidVersionInvalidParameters() throws Exception
+    {
+        // Try to run a system job when too many parameters are specified.
+        try
+        {
+            systemJobService.runSystemJob(new SystemJobRunRequest(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME,
+                Arrays.asList(new Parameter(ATTRIBUTE_NAME_1_MIXED_CASE, ATTRIBUTE_VALUE_1), new Parameter(ATTRIBUTE_NAME_2_MIXED_CASE, ATTRIBUTE_VALUE_2))));
+            fail("Should throw an IllegalArgumentException when too many parameters are specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Too many parameters are specified for \"%s\" system job.", ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME),
+                e.getMessage());
+        }
+
+        // Try to run a system job when invalid parameter name is specified.
+        try
+        {
+            systemJobService.runSystemJob(new SystemJobRunRequest(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME,
+                Arrays.asList(new Parameter(ATTRIBUTE_NAME_1_MIXED_CASE, ATTRIBUTE_VALUE_1))));
+            fail("Should throw an IllegalArgumentException when invalid parameter name is specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Parameter \"%s\" is not supported by \"%s\" system job.", ATTRIBUTE_NAME_1_MIXED_CASE,
+                ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME), e.getMessage());
+        }
+
+        // Try to run a system job when invalid parameter value is specified.
+        try
+        {
+            systemJobService.runSystemJob(new SystemJobRunRequest(ReconcileBusinessObjectDataLatestValidVersionJob.JOB_NAME,
+                Arrays.asList(new Parameter(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES.getKey(), "NOT_AN_INTEGER"))));
+            fail("Should throw an IllegalArgumentException when invalid parameter value is specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Parameter \"%s\" specifies a non-integer value \"NOT_AN_INTEGER\".",
+                ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_MAX_BDATA_INSTANCES.getKey()), e.getMessage());
+        }
+    }
 }
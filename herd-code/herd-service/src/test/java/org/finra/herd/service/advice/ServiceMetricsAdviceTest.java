@@ -0,0 +1,61 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.advice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.helper.MetricsHelper;
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.api.xml.NamespaceKey;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the service metrics advice.
+ */
+public class ServiceMetricsAdviceTest extends AbstractServiceTest
+{
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    @Test
+    public void testRecordMethodMetrics()
+    {
+        String metricName = MetricRegistry.name(ServiceMetricsAdvice.METRIC_NAME_PREFIX, "NamespaceServiceImpl", "getNamespace");
+        long timerCount = metricRegistry.timer(metricName).getCount();
+        long errorCount = metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount();
+
+        // Call a service method that fails since the namespace does not exist.
+        try
+        {
+            namespaceService.getNamespace(new NamespaceKey(NAMESPACE));
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            // Ignore the expected exception.
+        }
+
+        // Validate that the failed method invocation was recorded.
+        assertEquals(timerCount + 1, metricRegistry.timer(metricName).getCount());
+        assertEquals(errorCount + 1, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.ERRORS_METRIC_NAME_SUFFIX)).getCount());
+        assertEquals(0, metricRegistry.counter(MetricRegistry.name(metricName, MetricsHelper.IN_FLIGHT_METRIC_NAME_SUFFIX)).getCount());
+    }
+}
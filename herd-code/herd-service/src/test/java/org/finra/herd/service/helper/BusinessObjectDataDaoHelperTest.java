@@ -1,6 +1,8 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -28,6 +30,8 @@ import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.api.xml.StorageUnitCreateRequest;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StorageFileEntity;
@@ -558,4 +562,62 @@ public class BusinessObjectDataDaoHelperTest extends AbstractServiceTest
         // Verify the results.
         businessObjectDataServiceTestHelper.validateBusinessObjectData(request, INITIAL_DATA_VERSION, true, resultBusinessObjectData);
     }
+
+    @Test
+    public void testUpdateLatestValidVersionFlags()
+    {
+        // Create three business object data versions without the latest valid version flag computed.
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION, NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, SECOND_DATA_VERSION, NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        BusinessObjectDataEntity thirdVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, THIRD_DATA_VERSION, LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.INVALID);
+
+        // Compute the latest valid version flags.
+        businessObjectDataDaoHelper.updateLatestValidVersionFlags(initialVersionBusinessObjectDataEntity);
+
+        // Validate that only the latest VALID business object data version is flagged.
+        assertFalse(initialVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertTrue(secondVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertFalse(thirdVersionBusinessObjectDataEntity.getLatestValidVersion());
+
+        // Invalidate the latest valid business object data version and validate that the flag moves to the previous valid version.
+        businessObjectDataDaoHelper.updateBusinessObjectDataStatus(secondVersionBusinessObjectDataEntity, BusinessObjectDataStatusEntity.INVALID);
+        assertTrue(initialVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertFalse(secondVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertFalse(thirdVersionBusinessObjectDataEntity.getLatestValidVersion());
+
+        // Validate the latest business object data version and validate that the flag moves to this version.
+        businessObjectDataDaoHelper.updateBusinessObjectDataStatus(thirdVersionBusinessObjectDataEntity, BusinessObjectDataStatusEntity.VALID);
+        assertFalse(initialVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertFalse(secondVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertTrue(thirdVersionBusinessObjectDataEntity.getLatestValidVersion());
+    }
+
+    @Test
+    public void testUpdateLatestValidVersionFlagsInvalidateLatestValidVersion()
+    {
+        // Create two VALID business object data versions and flag the second one as the latest valid version.
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION, NO_LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, SECOND_DATA_VERSION, LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.VALID);
+        businessObjectDataDaoHelper.updateLatestValidVersionFlags(initialVersionBusinessObjectDataEntity);
+        assertFalse(initialVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertTrue(secondVersionBusinessObjectDataEntity.getLatestValidVersion());
+
+        // Invalidate the second business object data version. The test database allows only one flagged business object data version per partition, so this
+        // fails when the flag gets set on the initial version before it is cleared on the second version.
+        businessObjectDataDaoHelper.updateBusinessObjectDataStatus(secondVersionBusinessObjectDataEntity, BusinessObjectDataStatusEntity.INVALID);
+
+        // Validate that the flag moved to the initial business object data version.
+        assertTrue(initialVersionBusinessObjectDataEntity.getLatestValidVersion());
+        assertFalse(secondVersionBusinessObjectDataEntity.getLatestValidVersion());
+    }
 }
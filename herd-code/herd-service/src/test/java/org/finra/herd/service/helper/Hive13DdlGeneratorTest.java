@@ -16,6 +16,8 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -24,6 +26,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -83,6 +86,20 @@ public class Hive13DdlGeneratorTest extends AbstractServiceTest
         assertEquals(expectedHivePartitions, resultHivePartitions);
     }
 
+    @Test
+    public void testGetHivePathPatternCached()
+    {
+        // Get a pattern twice for the same list of partition columns and validate that the compiled pattern gets reused.
+        Pattern pattern = hive13DdlGenerator.getHivePathPattern(getPartitionColumns(Arrays.asList("Column1", "column2")));
+        long cacheHits = businessObjectDataDdlPartitionsHelper.getHivePathPatternCacheHits();
+        assertSame(pattern, hive13DdlGenerator.getHivePathPattern(getPartitionColumns(Arrays.asList("Column1", "column2"))));
+        assertEquals(cacheHits + 1, businessObjectDataDdlPartitionsHelper.getHivePathPatternCacheHits());
+
+        // Validate that a different list of partition columns results in a different pattern.
+        Pattern otherPattern = hive13DdlGenerator.getHivePathPattern(getPartitionColumns(Arrays.asList("Column1", "column3")));
+        assertNotEquals(pattern.pattern(), otherPattern.pattern());
+    }
+
     @Test
     public void testGetHivePartitionsPatternMismatch()
     {
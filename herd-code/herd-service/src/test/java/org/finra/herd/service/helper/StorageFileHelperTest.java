@@ -195,6 +195,48 @@ public class StorageFileHelperTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testValidateRegisteredS3FilesStreamedS3Files()
+    {
+        // Create a list of expected storage files and a list of actual S3 files that also has an unregistered zero byte S3 file.
+        List<StorageFile> testExpectedFiles = new ArrayList<>();
+        List<S3ObjectSummary> testActualFiles = new ArrayList<>();
+        for (String file : LOCAL_FILES)
+        {
+            String filePath = String.format("%s/%s", TEST_S3_KEY_PREFIX, file);
+            testExpectedFiles.add(new StorageFile(filePath, FILE_SIZE, ROW_COUNT));
+            testActualFiles.add(createS3ObjectSummary(filePath, FILE_SIZE));
+        }
+        testActualFiles.add(createS3ObjectSummary(TARGET_S3_KEY, FILE_SIZE_0_BYTE));
+
+        // Validate the files streamed one at a time by the producer.
+        storageFileHelper.validateRegisteredS3Files(testExpectedFiles, s3ObjectSummaryConsumer -> testActualFiles.forEach(s3ObjectSummaryConsumer), STORAGE_NAME,
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION));
+    }
+
+    @Test
+    public void testValidateRegisteredS3FilesStreamedS3FilesActualFileNoExistsAndUnexpectedNonEmptyS3FileFound()
+    {
+        // Create a list of expected storage files and a list of actual S3 files that has an unregistered non-empty S3 file, but not the expected file.
+        List<StorageFile> testExpectedFiles = Collections.singletonList(new StorageFile(TARGET_S3_KEY, FILE_SIZE, ROW_COUNT_1000));
+        List<S3ObjectSummary> testActualFiles = Collections.singletonList(createS3ObjectSummary(TARGET_S3_KEY + "_unregistered", FILE_SIZE_1_KB));
+
+        // Try to validate S3 files. The missing registered file is expected to be reported before the unregistered S3 file.
+        try
+        {
+            storageFileHelper
+                .validateRegisteredS3Files(testExpectedFiles, s3ObjectSummaryConsumer -> testActualFiles.forEach(s3ObjectSummaryConsumer), STORAGE_NAME,
+                    new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                        SUBPARTITION_VALUES, DATA_VERSION));
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(String.format("Registered file \"%s\" does not exist in \"%s\" storage.", TARGET_S3_KEY, STORAGE_NAME), e.getMessage());
+        }
+    }
+
     @Test
     public void testValidateRegisteredS3FilesUnexpectedZeroByteS3FileFound() throws IOException
     {
@@ -253,6 +295,33 @@ public class StorageFileHelperTest extends AbstractServiceTest
         return s3ObjectSummary;
     }
 
+    @Test
+    public void testValidateStorageFilesS3KeyPrefix()
+    {
+        StorageUnit storageUnit = createStorageUnit(TEST_S3_KEY_PREFIX, LOCAL_FILES, FILE_SIZE_1_KB);
+
+        storageFileHelper.validateStorageFilesS3KeyPrefix(storageUnit.getStorageFiles(), TEST_S3_KEY_PREFIX);
+        storageFileHelper.validateStorageFilesS3KeyPrefix(null, TEST_S3_KEY_PREFIX);
+    }
+
+    @Test
+    public void testValidateStorageFilesS3KeyPrefixMismatch()
+    {
+        StorageUnit storageUnit = createStorageUnit("SOME_S3_KEY_PREFIX", LOCAL_FILES, FILE_SIZE_1_KB);
+
+        // Try to validate storage files that do not match the S3 key prefix.
+        try
+        {
+            storageFileHelper.validateStorageFilesS3KeyPrefix(storageUnit.getStorageFiles(), TEST_S3_KEY_PREFIX);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Storage file S3 key prefix \"%s\" does not match the expected S3 key prefix \"%s\".",
+                storageUnit.getStorageFiles().get(0).getFilePath(), TEST_S3_KEY_PREFIX), e.getMessage());
+        }
+    }
+
     @Test
     public void testValidateStorageUnitS3Files() throws IOException
     {
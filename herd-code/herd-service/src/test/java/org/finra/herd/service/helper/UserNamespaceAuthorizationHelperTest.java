@@ -17,25 +17,32 @@ package org.finra.herd.service.helper;
 
 import static org.finra.herd.service.AbstractServiceTest.NAMESPACE_CODE;
 import static org.finra.herd.service.AbstractServiceTest.USER_ID;
+import static org.finra.herd.service.AbstractServiceTest.USER_ID_2;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.collections4.IterableUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.WildcardHelper;
@@ -62,6 +69,9 @@ public class UserNamespaceAuthorizationHelperTest
     @Mock
     private ConfigurationHelper configurationHelper;
 
+    @Spy
+    private MetricRegistry metricRegistry = new MetricRegistry();
+
     @Mock
     private UserDao userDao;
 
@@ -75,6 +85,9 @@ public class UserNamespaceAuthorizationHelperTest
     public void before()
     {
         initMocks(this);
+
+        // The user namespace authorization cache is disabled by default.
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(0);
     }
 
     @Test
@@ -275,4 +288,141 @@ public class UserNamespaceAuthorizationHelperTest
         verify(namespaceDao).getNamespaceKeys();
         verifyNoMoreInteractions(namespaceDao, userNamespaceAuthorizationDao, wildcardHelper);
     }
+
+    @Test
+    public void testEvictNamespaceAuthorizationsAfterCommit()
+    {
+        List<UserNamespaceAuthorizationEntity> userNamespaceAuthorizationEntities = new ArrayList<>();
+        UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity = new UserNamespaceAuthorizationEntity();
+        userNamespaceAuthorizationEntity.setUserId(USER_ID);
+        userNamespaceAuthorizationEntity.setReadPermission(true);
+        ReflectionTestUtils.setField(userNamespaceAuthorizationEntity, "namespaceCode", NAMESPACE_CODE);
+        userNamespaceAuthorizationEntities.add(userNamespaceAuthorizationEntity);
+
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(60);
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_SIZE, Integer.class)).thenReturn(10);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(true);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(USER_ID)).thenReturn(userNamespaceAuthorizationEntities);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN)).thenReturn(new ArrayList<>());
+
+        // Load the namespace authorizations into the cache.
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            // Request the evictions within a transaction. The cached namespace authorizations must still be served until the transaction commits.
+            userNamespaceAuthorizationHelper.evictNamespaceAuthorizationsAfterCommit(USER_ID);
+            userNamespaceAuthorizationHelper.clearNamespaceAuthorizationsCacheAfterCommit();
+            userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+            assertEquals(1, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_HITS_METRIC_NAME).getCount());
+
+            // Commit the transaction.
+            for (TransactionSynchronization transactionSynchronization : TransactionSynchronizationManager.getSynchronizations())
+            {
+                transactionSynchronization.afterCommit();
+            }
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // After the commit, the namespace authorizations must be reloaded from the database.
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(2, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_MISSES_METRIC_NAME).getCount());
+        assertEquals(1, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_HITS_METRIC_NAME).getCount());
+
+        verify(userNamespaceAuthorizationDao, times(2)).getUserNamespaceAuthorizationsByUserId(USER_ID);
+        verify(userNamespaceAuthorizationDao, times(2)).getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN);
+        verify(userDao, times(2)).getUserByUserId(USER_ID);
+        verifyNoMoreInteractions(userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testBuildNamespaceAuthorizationsUserNamespaceAuthorizationCacheEnabled()
+    {
+        List<UserNamespaceAuthorizationEntity> userNamespaceAuthorizationEntities = new ArrayList<>();
+        UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity = new UserNamespaceAuthorizationEntity();
+        userNamespaceAuthorizationEntity.setUserId(USER_ID);
+        userNamespaceAuthorizationEntity.setReadPermission(true);
+        ReflectionTestUtils.setField(userNamespaceAuthorizationEntity, "namespaceCode", NAMESPACE_CODE);
+        userNamespaceAuthorizationEntities.add(userNamespaceAuthorizationEntity);
+
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(60);
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_SIZE, Integer.class)).thenReturn(10);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(true);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(any())).thenReturn(userNamespaceAuthorizationEntities);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN)).thenReturn(new ArrayList<>());
+
+        // Build the namespace authorizations twice. The second time they must be served from the cache.
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+
+        ApplicationUser cachedApplicationUser = new ApplicationUser(getClass());
+        cachedApplicationUser.setUserId(USER_ID.toLowerCase());
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+
+        assertEquals(applicationUser.getNamespaceAuthorizations(), cachedApplicationUser.getNamespaceAuthorizations());
+        assertEquals(1, cachedApplicationUser.getNamespaceAuthorizations().size());
+        NamespaceAuthorization namespaceAuthorization = IterableUtils.get(cachedApplicationUser.getNamespaceAuthorizations(), 0);
+        assertEquals(NAMESPACE_CODE, namespaceAuthorization.getNamespace());
+        assertEquals(Arrays.asList(NamespacePermissionEnum.READ), namespaceAuthorization.getNamespacePermissions());
+        assertEquals(1, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_MISSES_METRIC_NAME).getCount());
+        assertEquals(1, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_HITS_METRIC_NAME).getCount());
+
+        // Changes to the namespace authorizations of one application user must not affect the cached namespace authorizations.
+        namespaceAuthorization.getNamespacePermissions().add(NamespacePermissionEnum.GRANT);
+        cachedApplicationUser.getNamespaceAuthorizations().clear();
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+        assertEquals(applicationUser.getNamespaceAuthorizations(), cachedApplicationUser.getNamespaceAuthorizations());
+
+        // Evict the cached namespace authorizations of another user and then of this user, after which they get reloaded from the database.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(USER_ID_2);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(USER_ID.toLowerCase());
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+
+        // Evict the cached namespace authorizations of all users on a wildcard user namespace authorization change.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(WildcardHelper.WILDCARD_TOKEN + USER_ID_2);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+
+        assertEquals(applicationUser.getNamespaceAuthorizations(), cachedApplicationUser.getNamespaceAuthorizations());
+        assertEquals(3, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_MISSES_METRIC_NAME).getCount());
+        assertEquals(3, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_HITS_METRIC_NAME).getCount());
+
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserId(USER_ID);
+        verify(userNamespaceAuthorizationDao, times(2)).getUserNamespaceAuthorizationsByUserId(USER_ID.toLowerCase());
+        verify(userNamespaceAuthorizationDao, times(3)).getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN);
+        verify(userDao, times(3)).getUserByUserId(any());
+        verifyNoMoreInteractions(userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testBuildNamespaceAuthorizationsUserNamespaceAuthorizationCacheFull()
+    {
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Integer.class)).thenReturn(60);
+        when(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_SIZE, Integer.class)).thenReturn(1);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(true);
+
+        // Build the namespace authorizations for two users while the cache can only hold one of them.
+        for (String userId : Arrays.asList(USER_ID, USER_ID_2, USER_ID, USER_ID_2))
+        {
+            ApplicationUser applicationUser = new ApplicationUser(getClass());
+            applicationUser.setUserId(userId);
+            userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+            assertEquals(0, applicationUser.getNamespaceAuthorizations().size());
+        }
+
+        assertEquals(1, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_HITS_METRIC_NAME).getCount());
+        assertEquals(3, metricRegistry.counter(UserNamespaceAuthorizationHelper.CACHE_MISSES_METRIC_NAME).getCount());
+
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserId(USER_ID);
+        verify(userNamespaceAuthorizationDao, times(2)).getUserNamespaceAuthorizationsByUserId(USER_ID_2);
+        verify(userNamespaceAuthorizationDao, times(3)).getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN);
+        verifyNoMoreInteractions(userNamespaceAuthorizationDao, wildcardHelper);
+    }
 }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.velocity.exception.MethodInvocationException;
+import org.apache.velocity.exception.ParseErrorException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -58,4 +59,55 @@ public class VelocityHelperTest extends AbstractServiceTest
                 methodInvocationException.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEvaluateCachedParsedTemplateReused()
+    {
+        String template = "${foo}-${bar}";
+        String logTag = "testEvaluateCachedParsedTemplateReused";
+        long cacheMisses = velocityHelper.getTemplateCacheMisses();
+        long cacheHits = velocityHelper.getTemplateCacheHits();
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "a");
+        variables.put("bar", "b");
+        Assert.assertEquals("result", "a-b", velocityHelper.evaluateCached(template, variables, logTag));
+
+        // Evaluate the same template with different variables and validate that the parsed template gets reused.
+        variables.put("foo", "c");
+        Assert.assertEquals("result", "c-b", velocityHelper.evaluateCached(template, variables, logTag));
+
+        Assert.assertEquals(cacheMisses + 1, velocityHelper.getTemplateCacheMisses());
+        Assert.assertEquals(cacheHits + 1, velocityHelper.getTemplateCacheHits());
+    }
+
+    @Test
+    public void testEvaluateNotCached()
+    {
+        long cacheMisses = velocityHelper.getTemplateCacheMisses();
+        long cacheHits = velocityHelper.getTemplateCacheHits();
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "a");
+        Assert.assertEquals("result", "a", velocityHelper.evaluate("${foo}", variables, "testEvaluateNotCached"));
+        Assert.assertEquals("result", "a", velocityHelper.evaluate("${foo}", variables, "testEvaluateNotCached"));
+
+        // Validate that the template cache was not used.
+        Assert.assertEquals(cacheMisses, velocityHelper.getTemplateCacheMisses());
+        Assert.assertEquals(cacheHits, velocityHelper.getTemplateCacheHits());
+    }
+
+    @Test
+    public void testEvaluateCachedInvalidTemplate()
+    {
+        try
+        {
+            velocityHelper.evaluateCached("#if(", new HashMap<>(), "test");
+            fail();
+        }
+        catch (ParseErrorException parseErrorException)
+        {
+            Assert.assertEquals("test", parseErrorException.getTemplateName());
+        }
+    }
+}
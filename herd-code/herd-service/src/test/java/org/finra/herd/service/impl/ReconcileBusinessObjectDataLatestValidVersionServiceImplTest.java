@@ -0,0 +1,182 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
+import org.finra.herd.service.helper.BusinessObjectDataHelper;
+
+/**
+ * This class tests functionality within the reconcile business object data latest valid version service implementation.
+ */
+public class ReconcileBusinessObjectDataLatestValidVersionServiceImplTest extends AbstractServiceTest
+{
+    @Mock
+    private BusinessObjectDataDao businessObjectDataDao;
+
+    @Mock
+    private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
+
+    @Mock
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Mock
+    private HerdDao herdDao;
+
+    @InjectMocks
+    private ReconcileBusinessObjectDataLatestValidVersionServiceImpl reconcileBusinessObjectDataLatestValidVersionServiceImpl;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testGetBusinessObjectDataToReconcile()
+    {
+        // Create two business object data entities that are versions of the same business object data and a business object data entity with an
+        // inconsistent latest valid version flag.
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity = new BusinessObjectDataEntity();
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity = new BusinessObjectDataEntity();
+        BusinessObjectDataEntity inconsistentBusinessObjectDataEntity = new BusinessObjectDataEntity();
+
+        // Create the business object data keys for all business object data entities.
+        BusinessObjectDataKey initialVersionBusinessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                INITIAL_DATA_VERSION);
+        BusinessObjectDataKey secondVersionBusinessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                SECOND_DATA_VERSION);
+        BusinessObjectDataKey inconsistentBusinessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create a current timestamp and compute the expected updated on threshold.
+        Timestamp currentTimestamp = new Timestamp(System.currentTimeMillis());
+        int lookbackMinutes = 120;
+        Timestamp updatedOnThreshold = HerdDateUtils.addMinutes(currentTimestamp, -lookbackMinutes);
+
+        // Mock the external calls.
+        when(businessObjectDataDao.getBusinessObjectDataWithoutLatestValidVersionFlag(MAX_RESULT))
+            .thenReturn(Arrays.asList(initialVersionBusinessObjectDataEntity, secondVersionBusinessObjectDataEntity));
+        when(herdDao.getCurrentTimestamp()).thenReturn(currentTimestamp);
+        when(configurationHelper.getProperty(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_LOOKBACK_MINUTES, Integer.class))
+            .thenReturn(lookbackMinutes);
+        when(businessObjectDataDao.getBusinessObjectDataWithInconsistentLatestValidVersionFlag(updatedOnThreshold, MAX_RESULT - 2))
+            .thenReturn(Collections.singletonList(inconsistentBusinessObjectDataEntity));
+        when(businessObjectDataHelper.getBusinessObjectDataKey(initialVersionBusinessObjectDataEntity)).thenReturn(initialVersionBusinessObjectDataKey);
+        when(businessObjectDataHelper.getBusinessObjectDataKey(secondVersionBusinessObjectDataEntity)).thenReturn(secondVersionBusinessObjectDataKey);
+        when(businessObjectDataHelper.getBusinessObjectDataKey(inconsistentBusinessObjectDataEntity)).thenReturn(inconsistentBusinessObjectDataKey);
+
+        // Call the method under test.
+        List<BusinessObjectDataKey> result = reconcileBusinessObjectDataLatestValidVersionServiceImpl.getBusinessObjectDataToReconcile(MAX_RESULT);
+
+        // Verify the external calls.
+        verify(businessObjectDataDao).getBusinessObjectDataWithoutLatestValidVersionFlag(MAX_RESULT);
+        verify(herdDao).getCurrentTimestamp();
+        verify(configurationHelper).getProperty(ConfigurationValue.RECONCILE_BDATA_LATEST_VALID_VERSION_JOB_LOOKBACK_MINUTES, Integer.class);
+        verify(businessObjectDataDao).getBusinessObjectDataWithInconsistentLatestValidVersionFlag(updatedOnThreshold, MAX_RESULT - 2);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(initialVersionBusinessObjectDataEntity);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(secondVersionBusinessObjectDataEntity);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(inconsistentBusinessObjectDataEntity);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. Both business object data versions are expected to be reduced to a single key without business object data version.
+        assertEquals(Arrays.asList(
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                NO_DATA_VERSION),
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, NO_DATA_VERSION)), result);
+    }
+
+    @Test
+    public void testGetBusinessObjectDataToReconcileMaxResultReached()
+    {
+        // Create a business object data entity and its key.
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Mock the external calls.
+        when(businessObjectDataDao.getBusinessObjectDataWithoutLatestValidVersionFlag(1)).thenReturn(Collections.singletonList(businessObjectDataEntity));
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
+
+        // Call the method under test.
+        List<BusinessObjectDataKey> result = reconcileBusinessObjectDataLatestValidVersionServiceImpl.getBusinessObjectDataToReconcile(1);
+
+        // Verify the external calls. Business object data with an inconsistent flag is not selected, since the maximum is already reached.
+        verify(businessObjectDataDao).getBusinessObjectDataWithoutLatestValidVersionFlag(1);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(Collections.singletonList(
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                NO_DATA_VERSION)), result);
+    }
+
+    @Test
+    public void testReconcileBusinessObjectData()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                NO_DATA_VERSION);
+
+        // Call the method under test.
+        reconcileBusinessObjectDataLatestValidVersionServiceImpl.reconcileBusinessObjectData(businessObjectDataKey);
+
+        // Verify the external calls.
+        verify(businessObjectDataDaoHelper).updateLatestValidVersionFlags(businessObjectDataKey);
+        verifyNoMoreInteractionsHelper();
+    }
+
+    /**
+     * Checks if any of the mocks has any interaction.
+     */
+    private void verifyNoMoreInteractionsHelper()
+    {
+        verifyNoMoreInteractions(businessObjectDataDao, businessObjectDataDaoHelper, businessObjectDataHelper, configurationHelper, herdDao);
+    }
+}
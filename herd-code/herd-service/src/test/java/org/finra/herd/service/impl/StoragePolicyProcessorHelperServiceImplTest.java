@@ -16,14 +16,20 @@
 package org.finra.herd.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
@@ -151,7 +157,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
                 StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ARCHIVING, storageFiles, S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
 
         // Mock the external calls.
         when(businessObjectDataDaoHelper.getBusinessObjectDataEntity(businessObjectDataKey)).thenReturn(businessObjectDataEntity);
@@ -189,7 +196,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         // Validate the results.
         assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
                 StorageUnitStatusEntity.ARCHIVED, StorageUnitStatusEntity.ARCHIVING, storageFiles, S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
             storagePolicyTransitionParamsDto);
     }
 
@@ -211,7 +219,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
             new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
                 StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ENABLED, storageFiles, S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS));
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                NO_S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT);
 
         // Create an S3 file transfer parameters DTO to access the S3 bucket.
         S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
@@ -222,11 +231,14 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
         s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
 
-        // Create a list of S3 object summaries selected without zero byte directory markers.
-        List<S3ObjectSummary> actualS3FilesWithoutZeroByteDirectoryMarkers = Collections.singletonList(new S3ObjectSummary());
+        // Create a consumer of S3 object summaries selected without zero byte directory markers.
+        Consumer<S3ObjectSummary> s3ObjectSummaryConsumer = s3ObjectSummary -> {
+        };
 
         // Create a list of all S3 files matching the S3 key prefix form the S3 bucket.
-        List<S3ObjectSummary> actualS3Files = Collections.singletonList(new S3ObjectSummary());
+        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+        s3ObjectSummary.setKey(S3_KEY);
+        List<S3ObjectSummary> actualS3Files = Collections.singletonList(s3ObjectSummary);
 
         // Create an updated S3 file transfer parameters DTO to access the S3 bucket.
         S3FileTransferRequestParamsDto updatedS3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
@@ -240,26 +252,111 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Dao.listDirectory(s3FileTransferRequestParamsDto, true)).thenReturn(actualS3FilesWithoutZeroByteDirectoryMarkers);
+        doAnswer(invocation -> {
+            // Stream the actual S3 files to the validation consumer.
+            Consumer<Consumer<S3ObjectSummary>> s3ObjectSummaryProducer = invocation.getArgument(1);
+            s3ObjectSummaryProducer.accept(s3ObjectSummaryConsumer);
+            return null;
+        }).when(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Consumer.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
         when(s3Dao.listDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(actualS3Files);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS, Integer.class))
+            .thenReturn(STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS);
+        doAnswer(invocation -> {
+            // Report the only S3 object as tagged.
+            Consumer<String> checkpointConsumer = invocation.getArgument(5);
+            checkpointConsumer.accept(S3_KEY);
+            return null;
+        }).when(s3Dao).tagObjects(eq(updatedS3FileTransferRequestParamsDto), eq(s3ObjectTaggerRoleParamsDto), eq(actualS3Files),
+            eq(new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE)), eq(STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS), any(Consumer.class));
 
         // Call the method under test.
-        storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto);
+        storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto, null);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, true);
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3FilesWithoutZeroByteDirectoryMarkers, STORAGE_NAME, businessObjectDataKey);
-        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, true);
+        verify(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Consumer.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
+        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, true, s3ObjectSummaryConsumer);
         verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, false);
-        verify(s3Dao)
-            .tagObjects(updatedS3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, actualS3Files, new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS, Integer.class);
+        verify(s3Dao).tagObjects(eq(updatedS3FileTransferRequestParamsDto), eq(s3ObjectTaggerRoleParamsDto), eq(actualS3Files),
+            eq(new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE)), eq(STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS), any(Consumer.class));
         verifyNoMoreInteractionsHelper();
 
         // Validate the results.
         assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
             StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ENABLED, storageFiles, S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-            s3ObjectTaggerRoleParamsDto), storagePolicyTransitionParamsDto);
+            s3ObjectTaggerRoleParamsDto, NO_S3_OBJECT_TAGGING_PARALLELISM, S3_KEY), storagePolicyTransitionParamsDto);
+    }
+
+    @Test
+    public void testExecuteStoragePolicyTransitionImplResumeFromCheckpoint()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create three S3 object summaries listed out of the S3 key order.
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+        for (String s3Key : Arrays.asList(TEST_S3_KEY_PREFIX + "/file1", TEST_S3_KEY_PREFIX + "/file3", TEST_S3_KEY_PREFIX + "/file2"))
+        {
+            S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+            s3ObjectSummary.setKey(s3Key);
+            s3ObjectSummaries.add(s3ObjectSummary);
+        }
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create a storage policy transition parameters DTO for a directory only registration with the first S3 object already tagged.
+        StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto =
+            new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX,
+                StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ARCHIVING, new ArrayList<>(), S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
+                s3ObjectTaggerRoleParamsDto, S3_OBJECT_TAGGING_PARALLELISM, TEST_S3_KEY_PREFIX + "/file1");
+
+        // Create an S3 file transfer parameters DTO to access the S3 bucket.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create an updated S3 file transfer parameters DTO to access the S3 bucket.
+        S3FileTransferRequestParamsDto updatedS3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
+        updatedS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        updatedS3FileTransferRequestParamsDto.setTaggingParallelism(S3_OBJECT_TAGGING_PARALLELISM);
+
+        // Only the S3 objects after the checkpoint are expected to be tagged and in the S3 key order.
+        List<S3ObjectSummary> s3FilesToTag = Arrays.asList(s3ObjectSummaries.get(2), s3ObjectSummaries.get(1));
+
+        // Mock the external calls. Tag S3 objects one at a time, so the checkpoint gets advanced after each S3 object.
+        when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
+        when(s3Dao.listDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(s3ObjectSummaries);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS, Integer.class)).thenReturn(1);
+        doAnswer(invocation -> {
+            // Report each S3 object as a separately tagged chunk.
+            List<S3ObjectSummary> s3ObjectSummariesToTag = invocation.getArgument(2);
+            Consumer<String> checkpointConsumer = invocation.getArgument(5);
+            s3ObjectSummariesToTag.forEach(s3ObjectSummary -> checkpointConsumer.accept(s3ObjectSummary.getKey()));
+            return null;
+        }).when(s3Dao).tagObjects(eq(updatedS3FileTransferRequestParamsDto), eq(s3ObjectTaggerRoleParamsDto), eq(s3FilesToTag),
+            eq(new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE)), eq(1), any(Consumer.class));
+
+        // Call the method under test with a checkpoint callback that collects the checkpoints to be persisted.
+        List<String> persistedCheckpoints = new ArrayList<>();
+        storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto,
+            () -> persistedCheckpoints.add(storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint()));
+
+        // Verify the external calls.
+        verify(storageHelper).getS3FileTransferRequestParamsDto();
+        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, false);
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_CHECKPOINT_INTERVAL_S3_OBJECTS, Integer.class);
+        verify(s3Dao).tagObjects(eq(updatedS3FileTransferRequestParamsDto), eq(s3ObjectTaggerRoleParamsDto), eq(s3FilesToTag),
+            eq(new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE)), eq(1), any(Consumer.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. The checkpoint is expected to be persisted after each tagged S3 object and to point to the last tagged S3 object.
+        assertEquals(Arrays.asList(TEST_S3_KEY_PREFIX + "/file2", TEST_S3_KEY_PREFIX + "/file3"), persistedCheckpoints);
+        assertEquals(TEST_S3_KEY_PREFIX + "/file3", storagePolicyTransitionParamsDto.getStoragePolicyTransitionCheckpoint());
     }
 
     @Test
@@ -340,6 +437,12 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
             .thenReturn(S3_OBJECT_TAGGER_ROLE_SESSION_NAME);
         when(configurationHelper.getProperty(ConfigurationValue.AWS_ASSUME_S3_TAGGING_ROLE_DURATION_SECS, Integer.class))
             .thenReturn(S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM))
+            .thenReturn(S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM);
+        when(configurationHelper.getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM, Integer.class))
+            .thenReturn(NO_S3_OBJECT_TAGGING_PARALLELISM);
+        when(storageHelper.getStorageAttributeIntegerValueByName(S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM, storageEntity, NO_S3_OBJECT_TAGGING_PARALLELISM))
+            .thenReturn(S3_OBJECT_TAGGING_PARALLELISM);
         when(storageUnitDaoHelper.getStorageUnitEntity(STORAGE_NAME, businessObjectDataEntity)).thenReturn(storageUnitEntity);
         when(s3KeyPrefixHelper.buildS3KeyPrefix(storageEntity, businessObjectFormatEntity, businessObjectDataKey)).thenReturn(S3_KEY_PREFIX);
         when(storageFileHelper.getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false))
@@ -386,6 +489,9 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         verify(configurationHelper).getRequiredProperty(ConfigurationValue.S3_ARCHIVE_TO_GLACIER_ROLE_ARN);
         verify(configurationHelper).getRequiredProperty(ConfigurationValue.S3_ARCHIVE_TO_GLACIER_ROLE_SESSION_NAME);
         verify(configurationHelper).getProperty(ConfigurationValue.AWS_ASSUME_S3_TAGGING_ROLE_DURATION_SECS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM);
+        verify(configurationHelper).getProperty(ConfigurationValue.STORAGE_POLICY_PROCESSOR_TAG_OBJECTS_PARALLELISM, Integer.class);
+        verify(storageHelper).getStorageAttributeIntegerValueByName(S3_ATTRIBUTE_NAME_TAG_OBJECTS_PARALLELISM, storageEntity, NO_S3_OBJECT_TAGGING_PARALLELISM);
         verify(storageUnitDaoHelper).getStorageUnitEntity(STORAGE_NAME, businessObjectDataEntity);
         verify(s3KeyPrefixHelper).buildS3KeyPrefix(storageEntity, businessObjectFormatEntity, businessObjectDataKey);
         verify(storageFileHelper).getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false);
@@ -399,10 +505,52 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         // Validate the results.
         assertEquals(new StoragePolicyTransitionParamsDto(businessObjectDataKey, STORAGE_NAME, S3_ENDPOINT, S3_BUCKET_NAME, S3_KEY_PREFIX,
                 StorageUnitStatusEntity.ARCHIVING, StorageUnitStatusEntity.ENABLED, storageFiles, S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE,
-                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS)),
+                new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS),
+                S3_OBJECT_TAGGING_PARALLELISM, NO_STORAGE_POLICY_TRANSITION_CHECKPOINT),
             storagePolicyTransitionParamsDto);
     }
 
+    @Test
+    public void testUpdateStoragePolicyTransitionCheckpointIgnoreExceptionImpl()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a storage unit entity.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+
+        // Create a business object data storage unit key.
+        BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey =
+            new BusinessObjectDataStorageUnitKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, STORAGE_NAME);
+
+        // Create a storage policy transition parameters DTO with a checkpoint advanced by the running storage policy transition.
+        StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto = new StoragePolicyTransitionParamsDto();
+        storagePolicyTransitionParamsDto.setBusinessObjectDataKey(businessObjectDataKey);
+        storagePolicyTransitionParamsDto.setStorageName(STORAGE_NAME);
+        storagePolicyTransitionParamsDto.setStoragePolicyTransitionCheckpoint(S3_KEY);
+
+        // Mock the external calls.
+        when(storageUnitHelper.createBusinessObjectDataStorageUnitKey(businessObjectDataKey, STORAGE_NAME)).thenReturn(businessObjectDataStorageUnitKey);
+        when(storageUnitDaoHelper.getStorageUnitEntityByKey(businessObjectDataStorageUnitKey)).thenReturn(storageUnitEntity);
+
+        // Call the method under test.
+        storagePolicyProcessorHelperServiceImpl.updateStoragePolicyTransitionCheckpointIgnoreException(storagePolicyTransitionParamsDto);
+
+        // Verify the external calls.
+        verify(storageUnitHelper).createBusinessObjectDataStorageUnitKey(businessObjectDataKey, STORAGE_NAME);
+        verify(storageUnitDaoHelper).getStorageUnitEntityByKey(businessObjectDataStorageUnitKey);
+        verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(jsonHelper).objectToJson(businessObjectDataStorageUnitKey);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. The checkpoint is expected to be saved with the storage unit without counting a failed attempt.
+        assertEquals(S3_KEY, storageUnitEntity.getStoragePolicyTransitionCheckpoint());
+        assertNull(storageUnitEntity.getStoragePolicyTransitionFailedAttempts());
+    }
+
     @Test
     public void testUpdateStoragePolicyTransitionFailedAttemptsIgnoreExceptionImplFirstFailure()
     {
@@ -443,6 +591,48 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         assertEquals(Integer.valueOf(1), storageUnitEntity.getStoragePolicyTransitionFailedAttempts());
     }
 
+    @Test
+    public void testUpdateStoragePolicyTransitionFailedAttemptsIgnoreExceptionImplSaveCheckpoint()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a storage unit entity with its storagePolicyTransitionFailedAttempts set to NULL.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+
+        // Create a business object data storage unit key.
+        BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey =
+            new BusinessObjectDataStorageUnitKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, STORAGE_NAME);
+
+        // Create a storage policy transition parameters DTO with a checkpoint advanced by the failed storage policy transition.
+        StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto = new StoragePolicyTransitionParamsDto();
+        storagePolicyTransitionParamsDto.setBusinessObjectDataKey(businessObjectDataKey);
+        storagePolicyTransitionParamsDto.setStorageName(STORAGE_NAME);
+        storagePolicyTransitionParamsDto.setStoragePolicyTransitionCheckpoint(S3_KEY);
+
+        // Mock the external calls.
+        when(storageUnitHelper.createBusinessObjectDataStorageUnitKey(businessObjectDataKey, STORAGE_NAME)).thenReturn(businessObjectDataStorageUnitKey);
+        when(storageUnitDaoHelper.getStorageUnitEntityByKey(businessObjectDataStorageUnitKey)).thenReturn(storageUnitEntity);
+
+        // Call the method under test.
+        storagePolicyProcessorHelperServiceImpl.updateStoragePolicyTransitionFailedAttemptsIgnoreException(storagePolicyTransitionParamsDto,
+            new RuntimeException());
+
+        // Verify the external calls.
+        verify(storageUnitHelper).createBusinessObjectDataStorageUnitKey(businessObjectDataKey, STORAGE_NAME);
+        verify(storageUnitDaoHelper).getStorageUnitEntityByKey(businessObjectDataStorageUnitKey);
+        verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(jsonHelper).objectToJson(businessObjectDataStorageUnitKey);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results. The checkpoint is expected to be saved with the storage unit.
+        assertEquals(Integer.valueOf(1), storageUnitEntity.getStoragePolicyTransitionFailedAttempts());
+        assertEquals(S3_KEY, storageUnitEntity.getStoragePolicyTransitionCheckpoint());
+    }
+
     @Test
     public void testUpdateStoragePolicyTransitionFailedAttemptsIgnoreExceptionImplNoBusinessObjectDataKey()
     {
@@ -24,22 +24,37 @@ import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.HerdDaoImpl;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.BusinessObjectDataVersionLessKey;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.StoragePolicyCandidateDto;
+import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.dto.StoragePolicySelection;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 
@@ -101,44 +116,132 @@ public class StoragePolicySelectorServiceImplTest extends AbstractServiceTest
         verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_PROCESSOR_BDATA_UPDATED_ON_THRESHOLD_DAYS);
         verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
                 DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
                 DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
                 DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
                 DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
                 NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
                 NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
                 NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
+            .getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
                 NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
-        verify(businessObjectDataHelper, times(4)).getLatestValidBusinessObjectDataEntities(any());
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
         verifyNoMoreInteractionsHelper();
 
         // Validate the results.
         assertEquals(storagePolicySelections, result);
     }
 
+    @Test
+    public void testExecuteDoNotTransitionLatestValid()
+    {
+        // Create a current timestamp.
+        Timestamp currentTimestamp = new Timestamp(System.currentTimeMillis());
+
+        // Set some parametes rquired for testing.
+        final int maxResults = 10;
+        final int storagePolicyTransitionMaxAllowedAttempts = 3;
+        final long businessObjectDataId = 1L;
+        final long storagePolicyId = 2L;
+
+        // Create business object data keys for two versions of the same business object data along with the relative version-less key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION);
+        BusinessObjectDataKey latestBusinessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, SECOND_DATA_VERSION);
+        BusinessObjectDataVersionLessKey businessObjectDataVersionLessKey =
+            new BusinessObjectDataVersionLessKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, PARTITION_VALUE, SUBPARTITION_VALUES);
+
+        // Create a storage policy key.
+        StoragePolicyKey storagePolicyKey = new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME);
+
+        // Create storage policy candidates for both business object data versions, that are old enough to be selected by the storage policy.
+        XMLGregorianCalendar createdOn = HerdDateUtils.getXMLGregorianCalendarValue(HerdDateUtils.addDays(currentTimestamp, -(BDATA_AGE_IN_DAYS + 1)));
+        List<StoragePolicyCandidateDto> storagePolicyCandidateDtos = Arrays
+            .asList(new StoragePolicyCandidateDto(businessObjectDataId, businessObjectDataKey, BusinessObjectDataStatusEntity.VALID, createdOn, createdOn,
+                    storagePolicyId, storagePolicyKey, INITIAL_VERSION, StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS),
+                new StoragePolicyCandidateDto(businessObjectDataId + 1, latestBusinessObjectDataKey, BusinessObjectDataStatusEntity.VALID, createdOn, createdOn,
+                    storagePolicyId, storagePolicyKey, INITIAL_VERSION, StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS));
+
+        // Create the expected storage policy selection. The latest valid business object data version is not expected to be selected.
+        StoragePolicySelection storagePolicySelection = new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, INITIAL_VERSION);
+
+        // Create AWS parameters DTO.
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+
+        // Mock the external calls.
+        when(herdDao.getCurrentTimestamp()).thenReturn(currentTimestamp);
+        when(herdStringHelper.getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS))
+            .thenReturn(storagePolicyTransitionMaxAllowedAttempts);
+        when(businessObjectDataDao.getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
+            DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts,
+            null, maxResults)).thenReturn(storagePolicyCandidateDtos);
+        when(businessObjectDataHelper.getBusinessObjectDataVersionLessKeyFromBusinessObjectDataKey(any(BusinessObjectDataKey.class)))
+            .thenReturn(businessObjectDataVersionLessKey);
+        when(jsonHelper.objectToJson(storagePolicySelection)).thenReturn(JSON_STRING);
+        when(sqsDao.sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Collections.singletonList(JSON_STRING), null))
+            .thenReturn(new SendMessageBatchResult().withSuccessful(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID)));
+        when(awsHelper.getAwsParamsDto()).thenReturn(awsParamsDto);
+
+        // Call the method under test.
+        List<StoragePolicySelection> result = storagePolicySelectorServiceImpl.execute(AWS_SQS_QUEUE_NAME, maxResults);
+
+        // Verify the external calls.
+        verify(herdDao).getCurrentTimestamp();
+        verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_PROCESSOR_BDATA_UPDATED_ON_THRESHOLD_DAYS);
+        verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS);
+        verify(businessObjectDataDao).getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
+            DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts,
+            null, maxResults);
+        verify(businessObjectDataDao).getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
+            DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts,
+            businessObjectDataId + 1, maxResults);
+        for (int i = 1; i < StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.size(); i++)
+        {
+            verify(businessObjectDataDao).getStoragePolicyCandidates(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(i),
+                DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
+                storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
+        }
+        for (StoragePolicyPriorityLevel storagePolicyPriorityLevel : StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS)
+        {
+            verify(businessObjectDataDao).getStoragePolicyCandidates(storagePolicyPriorityLevel, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, maxResults);
+        }
+        verify(businessObjectDataHelper, times(2)).getBusinessObjectDataVersionLessKeyFromBusinessObjectDataKey(any(BusinessObjectDataKey.class));
+        verify(jsonHelper).objectToJson(businessObjectDataKey);
+        verify(jsonHelper).objectToJson(storagePolicyKey);
+        verify(awsHelper).getAwsParamsDto();
+        verify(jsonHelper).objectToJson(storagePolicySelection);
+        verify(sqsDao).sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Collections.singletonList(JSON_STRING), null);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(Collections.singletonList(storagePolicySelection), result);
+    }
+
     /**
      * Checks if any of the mocks has any interaction.
      */
@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessagePublishingResultsDto;
 
 @Service
 @Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
@@ -59,4 +60,15 @@ public class TestNotificationMessagePublishingServiceImpl extends NotificationMe
     {
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public NotificationMessagePublishingResultsDto publishOldestNotificationMessagesFromDatabaseQueue(Long startAfterNotificationMessageId, int maxMessages)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(startAfterNotificationMessageId, maxMessages);
+    }
 }
@@ -0,0 +1,56 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+
+/**
+ * This is a reconcile business object data latest valid version service implementation for testing.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+@Primary
+public class TestReconcileBusinessObjectDataLatestValidVersionServiceImpl extends ReconcileBusinessObjectDataLatestValidVersionServiceImpl
+{
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public List<BusinessObjectDataKey> getBusinessObjectDataToReconcile(int maxResult)
+    {
+        return getBusinessObjectDataToReconcileImpl(maxResult);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public void reconcileBusinessObjectData(BusinessObjectDataKey businessObjectDataKey)
+    {
+        reconcileBusinessObjectDataImpl(businessObjectDataKey);
+    }
+}
@@ -46,9 +46,20 @@ public class TestStoragePolicyProcessorHelperServiceImpl extends StoragePolicyPr
      * This implementation keeps the current transaction context.
      */
     @Override
-    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    public void executeStoragePolicyTransition(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto, Runnable checkpointCallback)
     {
-        executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto);
+        executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto, checkpointCallback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public void updateStoragePolicyTransitionCheckpointIgnoreException(StoragePolicyTransitionParamsDto storagePolicyTransitionParamsDto)
+    {
+        updateStoragePolicyTransitionCheckpointIgnoreExceptionImpl(storagePolicyTransitionParamsDto);
     }
 
     /**
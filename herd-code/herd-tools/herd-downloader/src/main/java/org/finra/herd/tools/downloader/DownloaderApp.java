@@ -15,6 +15,7 @@
 */
 package org.finra.herd.tools.downloader;
 
+import org.apache.commons.cli.Option;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.finra.herd.sdk.invoker.ApiException;
@@ -36,6 +37,9 @@ public class DownloaderApp extends DataBridgeApp
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DownloaderApp.class);
 
+    // The downloader specific command line options.
+    private Option resumeOpt;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
@@ -45,6 +49,12 @@ public class DownloaderApp extends DataBridgeApp
     public DownloaderApp()
     {
         argParser = new ArgumentParser("herd-downloader-app");
+
+        // Create command line options specific to the downloader. Other common options will be handled by the base class.
+        resumeOpt = argParser.addArgument("r", "resume", false,
+            "If set, resumes a previous download to the same local path by skipping the files and the parts of the files that are already downloaded. When " +
+                "the download fails, the files downloaded so far are kept, so the download can be resumed again. Files are downloaded in ranges of 16 MB. " +
+                "Files larger than one range only get their sizes and S3 ETags validated, since no content checksum is verified for them.", false);
     }
 
     /**
@@ -81,7 +91,7 @@ public class DownloaderApp extends DataBridgeApp
             RegServerAccessParamsDto.builder().withRegServerHost(regServerHost).withRegServerPort(regServerPort).withUseSsl(useSsl)
                 .withUsername(argParser.getStringValue(usernameOpt)).withPassword(password).withAccessTokenUrl(argParser.getStringValue(accessTokenUrlOpt))
                 .withTrustSelfSignedCertificate(trustSelfSignedCertificate).withDisableHostnameVerification(disableHostnameVerification).build();
-        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params);
+        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(resumeOpt));
 
         // No exceptions were returned so return success.
         return ReturnValue.SUCCESS;
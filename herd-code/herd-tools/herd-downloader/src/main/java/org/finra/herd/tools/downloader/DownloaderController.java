@@ -93,6 +93,31 @@ public class DownloaderController extends DataBridgeController
      * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
      * @param manifestPath the local path to the manifest file
      * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     *
+     * @throws InterruptedException if an interrupted error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     * @throws ApiException if an Api exception was encountered
+     */
+    public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        throws ApiException, IOException, InterruptedException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        performDownload(regServerAccessParamsDto, manifestPath, s3FileTransferRequestParamsDto, false);
+    }
+
+    /**
+     * Executes the downloader workflow. The registered storage files are downloaded using parallel ranged GET requests. When resuming, the target local
+     * directory is allowed to contain the files left behind by a previous download of the same business object data, so only the files and the ranges that
+     * are not on the local file system yet get downloaded, and a failed download leaves the target local directory in place to be resumed again.
+     *
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
+     * @param manifestPath the local path to the manifest file
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param resume specifies whether to resume a previous download to the same target local directory
      * @throws InterruptedException if an interrupted error was encountered
      * @throws IOException if an I/O error was encountered
      * @throws URISyntaxException if a URI syntax error was encountered
@@ -105,7 +130,7 @@ public class DownloaderController extends DataBridgeController
         "manifestReader.readJsonManifest will always return an DownloaderInputManifestDto object. targetLocalDirectory.list().length will not" +
             " return a NullPointerException.")
     public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
-        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean resume)
         throws ApiException, IOException, InterruptedException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         boolean cleanUpTargetLocalDirectoryOnFailure = false;
@@ -151,7 +176,7 @@ public class DownloaderController extends DataBridgeController
                     throw new IllegalArgumentException(String.format("Failed to create target local directory \"%s\".", targetLocalDirectory.getPath()));
                 }
             }
-            else
+            else if (!resume)
             {
                 // Check if the target local directory is empty.
                 if (targetLocalDirectory.list().length > 0)
@@ -168,28 +193,20 @@ public class DownloaderController extends DataBridgeController
                 storageHelper.getStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME),
                     ToolsDtoHelper.convertStorage(storage), true);
 
-            // Get the list of S3 files matching the expected S3 key prefix.
-            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
+            // Validate that the registered storage files match the expected S3 key prefix. The download is planned from these files, so there is no need to
+            // list the S3 key prefix, and the files that are not registered with the business object data never get downloaded.
             // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
+            List<org.finra.herd.model.api.xml.StorageFile> storageFiles = ToolsDtoHelper.convertStorageUnit(storageUnit).getStorageFiles();
+            storageFileHelper.validateStorageFilesS3KeyPrefix(storageFiles, s3KeyPrefixInformation.getS3KeyPrefix() + "/");
+            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
             s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefixInformation.getS3KeyPrefix() + "/");
-            // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3Service.listDirectory(s3FileTransferRequestParamsDto, true));
-
-            // Validate S3 files before we start the download.
-            storageFileHelper.validateStorageUnitS3Files(ToolsDtoHelper.convertStorageUnit(storageUnit), actualS3Files,
-                s3KeyPrefixInformation.getS3KeyPrefix());
 
             // Special handling for the maxThreads command line option.
             s3FileTransferRequestParamsDto.setMaxThreads(adjustIntegerValue(s3FileTransferRequestParamsDto.getMaxThreads(), MIN_THREADS, MAX_THREADS));
 
-            // Download S3 files to the target local directory.
-            s3FileTransferRequestParamsDto.setRecursive(true);
-            cleanUpTargetLocalDirectoryOnFailure = true;
-            s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
-
-            // Validate the downloaded files.
-            storageFileHelper.validateDownloadedS3Files(s3FileTransferRequestParamsDto.getLocalPath(), s3KeyPrefixInformation.getS3KeyPrefix(),
-                ToolsDtoHelper.convertStorageUnit(storageUnit));
+            // Download the storage files to the target local directory using parallel ranged GET requests that verify the size and the ETag of each file.
+            cleanUpTargetLocalDirectoryOnFailure = !resume;
+            s3Service.downloadStorageFiles(s3FileTransferRequestParamsDto, storageFiles);
 
             // Log a list of files downloaded to the target local directory.
             if (LOGGER.isInfoEnabled())
@@ -202,8 +219,15 @@ public class DownloaderController extends DataBridgeController
                 createDownloaderOutputManifestDto(businessObjectData, storageUnit, s3KeyPrefixInformation.getS3KeyPrefix());
             manifestWriter.writeJsonManifest(targetLocalDirectory, OUTPUT_MANIFEST_FILE_NAME, downloaderOutputManifestDto);
         }
-        catch (ApiException | URISyntaxException | IOException | InterruptedException e)
+        catch (ApiException | URISyntaxException | IOException | InterruptedException | RuntimeException e)
         {
+            // A resumed download keeps the files downloaded so far, so it can be resumed again.
+            if (resume && targetLocalDirectory != null)
+            {
+                LOGGER.warn(String.format("Download failed. Run the downloader again with the resume option to resume the download to \"%s\" target local " +
+                    "directory.", targetLocalDirectory));
+            }
+
             // If we got to the point of validating the target local directory being empty before this failure
             // occurred, let's rollback the data transfer by cleaning up the local target directory.
             if (cleanUpTargetLocalDirectoryOnFailure)
@@ -198,6 +198,26 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto);
     }
 
+    @Test
+    public void testPerformDownloadResume() throws Exception
+    {
+        // Prepare test data and run a normal download scenario.
+        runDownload();
+
+        // Create a downloader input manifest file in LOCAL_TEMP_PATH_INPUT directory
+        File downloaderInputManifestFile = createManifestFile(LOCAL_TEMP_PATH_INPUT.toString(), getTestDownloaderInputManifestDto());
+
+        // Resume the download to the target local directory that is not empty anymore.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(LOCAL_TEMP_PATH_OUTPUT.toString());
+        s3FileTransferRequestParamsDto.setMaxThreads(DownloaderController.MIN_THREADS);
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+        downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto, true);
+    }
+
     /**
      * Prepares test data and runs a normal download scenario.
      *
@@ -298,7 +318,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             when(mockDownloaderWebClient.getBusinessObjectData(any())).thenReturn(businessObjectData);
             when(mockDownloaderWebClient.getStorage(any())).thenReturn(storage);
             when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
+            when(mockS3Service.downloadStorageFiles(any(), any())).then(new Answer<S3FileTransferResultsDto>()
             {
                 @Override
                 public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
@@ -496,7 +516,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             when(mockDownloaderWebClient.getBusinessObjectData(any())).thenReturn(businessObjectData);
             when(mockDownloaderWebClient.getStorage(any())).thenReturn(storage);
             when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
+            when(mockS3Service.downloadStorageFiles(any(), any())).then(new Answer<S3FileTransferResultsDto>()
             {
                 @Override
                 public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
@@ -521,7 +541,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             verify(mockDownloaderManifestReader).readJsonManifest(manifestPath);
             verify(mockDownloaderWebClient).getBusinessObjectData(downloaderInputManifestDto);
             verify(mockDownloaderWebClient).getS3KeyPrefix(businessObjectData);
-            verify(mockS3Service).downloadDirectory(s3FileTransferRequestParamsDto);
+            verify(mockS3Service).downloadStorageFiles(s3FileTransferRequestParamsDto, Collections.emptyList());
         }
         finally
         {
@@ -607,7 +627,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             StorageUnitDownloadCredential storageUnitDownloadCredential = new StorageUnitDownloadCredential();
             storageUnitDownloadCredential.setAwsCredential(awsCredential);
             when(mockDownloaderWebClient.getStorageUnitDownloadCredential(any(), any())).thenReturn(storageUnitDownloadCredential);
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
+            when(mockS3Service.downloadStorageFiles(any(), any())).then(new Answer<S3FileTransferResultsDto>()
             {
                 @Override
                 public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
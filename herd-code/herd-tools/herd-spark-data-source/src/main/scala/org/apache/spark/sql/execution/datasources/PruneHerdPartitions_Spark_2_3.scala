@@ -19,7 +19,7 @@ import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, Attri
 import org.apache.spark.sql.catalyst.planning.PhysicalOperation
 import org.apache.spark.sql.catalyst.plans.logical.{Filter, LogicalPlan, Project}
 import org.apache.spark.sql.catalyst.rules.Rule
-import org.apache.spark.sql.herd.HerdFileIndex
+import org.apache.spark.sql.herd.{HerdFileIndex, PrunedHerdFileIndex}
 
 private[sql] object PruneHerdPartitions extends Rule[LogicalPlan] {
   override def apply(plan: LogicalPlan): LogicalPlan = plan transformDown {
@@ -60,11 +60,16 @@ private[sql] object PruneHerdPartitions extends Rule[LogicalPlan] {
         val prunedFileIndex = herdFileIndex.filterPartitions(partitionKeyFilters.toSeq)
         val prunedFsRelation =
           fsRelation.copy(location = prunedFileIndex)(sparkSession)
-        // Change table stats based on the sizeInBytes of pruned files
-//        val withStats = logicalRelation.catalogTable.map(_.copy(
-//          stats = Some(CatalogStatistics(sizeInBytes = BigInt(prunedFileIndex.sizeInBytes)))))
+        // Change table stats based on the storage files registered in herd for the pruned partitions.
+        // Relations without a catalog table report the size of the pruned file index instead.
+        val herdStatistics = prunedFileIndex match {
+          case prunedHerdFileIndex: PrunedHerdFileIndex => prunedHerdFileIndex.statistics
+          case _ => None
+        }
+        val withStats = logicalRelation.catalogTable.map(catalogTable =>
+          herdStatistics.map(stats => catalogTable.copy(stats = Some(stats.toCatalogStatistics))).getOrElse(catalogTable))
         val prunedLogicalRelation = logicalRelation.copy(
-          relation = prunedFsRelation)
+          relation = prunedFsRelation, catalogTable = withStats)
         // Keep partition-pruning predicates so that they are visible in physical planning
         val filterExpression = filters.reduceLeft(And)
         val filter = Filter(filterExpression, prunedLogicalRelation)
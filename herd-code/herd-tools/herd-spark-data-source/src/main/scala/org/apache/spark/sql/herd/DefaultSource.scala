@@ -73,6 +73,16 @@ import org.finra.herd.sdk.model._
     * If `username` and `password` are defined those will be used for authentication. If `credName` is specified
     * then that will be used. If no credentials are specified, then anonymous authentication will be used.
     *
+    * `useHerdFileListing` - Build the list of files to read from the storage files registered in Herd instead of listing
+    * S3 (optional, default `spark.herd.default.useHerdFileListing` or `false`). Herd has no bulk call that returns the
+    * storage files of many partitions, so this issues one business object data GET per partition read. Partitions
+    * registered without storage files or without file sizes are still listed from S3.
+    *
+    * `useHerdStatistics` - Report the size and row count of the partitions selected by partition filters from the storage
+    * files registered in Herd (optional, default `spark.herd.default.useHerdStatistics` or `false`). This issues one
+    * business object data GET per selected partition. The row count only reaches the plan statistics of relations with
+    * a catalog table. Reads without partition filters keep an unknown size.
+    *
     * ==Example==
     * {{{
     * val df = spark.read.format("herd")
@@ -412,7 +422,9 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String], O
       formatFileType,
       fmt.getPartitionKey,
       partitionSchema.getOrElse(new StructType),
-      params.storagePathPrefix
+      params.storagePathPrefix,
+      params.useHerdFileListing,
+      params.useHerdStatistics
     )
 
     val useHerdOrcFormat = sparkSession.version < "2.3.0"
@@ -23,6 +23,7 @@ import org.apache.hadoop.fs.{FileStatus, Path}
 import org.apache.spark.internal.Logging
 import org.apache.spark.sql.SparkSession
 import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.catalog.CatalogStatistics
 import org.apache.spark.sql.catalyst.catalog.ExternalCatalogUtils.unescapePathName
 import org.apache.spark.sql.catalyst.expressions._
 import org.apache.spark.sql.execution.datasources.{FileIndex, PartitionPath, PartitionSpec}
@@ -50,6 +51,10 @@ import org.finra.herd.sdk.model.Partition
  * @param formatFileType      The business object format file type (e.g. GZ).
  * @param partitionKey        The business object format partition key.
  * @param herdPartitionSchema The schema associated with the business object format
+ * @param storagePathPrefix   The storage path prefix (e.g. s3a://)
+ * @param useHerdFileListing  Whether to build the file list from the storage files registered in Herd instead of listing S3.
+ *                            Herd has no bulk call for storage files, so this costs one business object data GET per partition.
+ * @param useHerdStatistics   Whether to report the size and row count of the pruned partitions from the storage files registered in Herd
  */
 private[sql] abstract class HerdFileIndexBase(
                                              sparkSession: SparkSession,
@@ -61,7 +66,9 @@ private[sql] abstract class HerdFileIndexBase(
                                              formatFileType: String,
                                              partitionKey: String,
                                              herdPartitionSchema: StructType,
-                                             storagePathPrefix: String) extends FileIndex with Logging with Serializable {
+                                             storagePathPrefix: String,
+                                             useHerdFileListing: Boolean = false,
+                                             useHerdStatistics: Boolean = false) extends FileIndex with Logging with Serializable {
 
   import HerdFileIndexBase._
 
@@ -106,6 +113,8 @@ private[sql] abstract class HerdFileIndexBase(
 
   @transient protected val cachedAllFiles = mutable.LinkedHashMap[Path, Array[FileStatus]]()
 
+  @transient protected val cachedRegisteredFiles = mutable.HashMap[Path, Option[Array[RegisteredFile]]]()
+
   override def rootPaths: Seq[Path] = partitionSpec.partitions.map(_.path)
 
   /**
@@ -115,24 +124,48 @@ private[sql] abstract class HerdFileIndexBase(
    * @return The list of files under herd paths
    */
   protected def bulkListLeafFiles(paths: Seq[Path], formatFileType: String): Seq[(Path, Array[FileStatus])] = {
+    val fileStatuses = if (useHerdFileListing) {
+      listRegisteredLeafFiles(paths, formatFileType)
+    } else {
+      listS3LeafFiles(paths.map(_.toString), formatFileType)
+    }
+
+    fileStatuses.map {
+      case (path, statuses) =>
+        val newPath = new Path(path)
+        val newStatuses = statuses.map {
+          case (filePath, size) => new FileStatus(size, false, 0, 0, 0, new Path(filePath))
+        }.toArray
+
+        (newPath, newStatuses)
+    }
+  }
+
+  /**
+   * List all files for the specified herd paths by walking the S3 key prefixes
+   *
+   * @param paths list of paths
+   * @return The list of file paths and sizes under herd paths
+   */
+  private def listS3LeafFiles(paths: Seq[String], formatFileType: String): Seq[(String, Array[(String, Long)])] = {
     val localApiFactory = api
-    val fileStatuses = if (paths.size < sparkSession.sessionState.conf.parallelPartitionDiscoveryThreshold) {
-      listS3KeyPrefixes(localApiFactory(), paths.map(_.toString), storagePathPrefix)
+    if (paths.size < sparkSession.sessionState.conf.parallelPartitionDiscoveryThreshold) {
+      listS3KeyPrefixes(localApiFactory(), paths, storagePathPrefix)
         .map {
           case (path, s3KeyPrefixes) => (path, getAllFilesUnderS3KeyPrefixes(hadoopConf, s3KeyPrefixes, formatFileType).toArray)
         }
         .map {
           case (path, statuses) => (path, statuses.map { s => (s.getPath.toString, s.getLen) })
         }
-        .toArray
     } else {
       val serializableConfiguration = new SerializableConfiguration(hadoopConf)
       val parallelPartitionDiscoveryParallelism = sparkSession.sessionState.conf.parallelPartitionDiscoveryParallelism
       val numParallelism = Math.min(paths.size, parallelPartitionDiscoveryParallelism)
+      val localStoragePathPrefix = storagePathPrefix
 
       sparkSession.sparkContext
-        .parallelize(paths.map(_.toString), numParallelism)
-        .mapPartitions { pathStrings => listS3KeyPrefixes(localApiFactory(), pathStrings.toList, storagePathPrefix).iterator }
+        .parallelize(paths, numParallelism)
+        .mapPartitions { pathStrings => listS3KeyPrefixes(localApiFactory(), pathStrings.toList, localStoragePathPrefix).iterator }
         .map {
           case (path, s3KeyPrefixes) => (path, getAllFilesUnderS3KeyPrefixes(serializableConfiguration.value, s3KeyPrefixes, formatFileType).toArray)
         }
@@ -141,15 +174,91 @@ private[sql] abstract class HerdFileIndexBase(
         }
         .collect()
     }
+  }
 
-    fileStatuses.map {
-      case (path, statuses) =>
-        val newPath = new Path(path)
-        val newStatuses = statuses.map {
-          case (filePath, size) => new FileStatus(size, false, 0, 0, 0, new Path(filePath))
-        }.toArray
+  /**
+   * List all files for the specified herd paths using the storage files registered in Herd.
+   * Partitions that were registered without storage files (directory only) fall back to the S3 listing.
+   *
+   * @param paths list of paths
+   * @return The list of file paths and sizes under herd paths
+   */
+  private def listRegisteredLeafFiles(paths: Seq[Path], formatFileType: String): Seq[(String, Array[(String, Long)])] = {
+    val registeredFiles = getRegisteredFiles(paths)
 
-        (newPath, newStatuses)
+    val unregisteredPaths = registeredFiles.collect { case (path, None) => path.toString }
+    if (unregisteredPaths.nonEmpty) {
+      logInfo(s"No storage files with file sizes are registered in Herd for ${unregisteredPaths.size} partition(s), falling back to S3 listing.")
+    }
+
+    registeredFiles.collect {
+      case (path, Some(files)) => (path.toString, files.map(file => (file.path, file.size)))
+    } ++ listS3LeafFiles(unregisteredPaths, formatFileType)
+  }
+
+  /**
+   * Get the storage files registered in Herd for the specified herd paths, one page of partitions per API client.
+   * The registered files are cached, so each partition is looked up in Herd only once.
+   *
+   * @param paths list of paths
+   * @return The registered files per herd path, or None when the partition has no registered storage files
+   */
+  protected def getRegisteredFiles(paths: Seq[Path]): Seq[(Path, Option[Array[RegisteredFile]])] = {
+    val missingPaths = paths.filterNot(cachedRegisteredFiles.contains)
+
+    if (missingPaths.nonEmpty) {
+      val localApiFactory = api
+      val localNamespace = namespace
+      val localBusinessObjectName = businessObjectName
+      val localFormatUsage = formatUsage
+      val localFormatFileType = formatFileType
+      val localPartitionKey = partitionKey
+      val localStoragePathPrefix = storagePathPrefix
+
+      val partitionsByPath = herdPartitions.map(partition => new Path(partition._5) -> partition).toMap
+      val pages = missingPaths.distinct.map(partitionsByPath).grouped(HerdFileListingPageSize).toSeq
+
+      val listPage = (page: Seq[(Integer, String, Seq[String], Integer, String)]) =>
+        listRegisteredFiles(localApiFactory(), page, localNamespace, localBusinessObjectName, localFormatUsage, localFormatFileType,
+          localPartitionKey, localStoragePathPrefix)
+
+      val registeredFiles = if (missingPaths.size < sparkSession.sessionState.conf.parallelPartitionDiscoveryThreshold) {
+        pages.flatMap(listPage)
+      } else {
+        val numParallelism = Math.min(pages.size, sparkSession.sessionState.conf.parallelPartitionDiscoveryParallelism)
+
+        sparkSession.sparkContext
+          .parallelize(pages, numParallelism)
+          .flatMap(listPage)
+          .collect()
+          .toSeq
+      }
+
+      cachedRegisteredFiles ++= registeredFiles.map { case (path, files) => (new Path(path), files) }
+    }
+
+    paths.map(path => (path, cachedRegisteredFiles(path)))
+  }
+
+  /**
+   * Compute the size and row count statistics for the specified herd paths from the storage files registered in Herd
+   *
+   * @param paths list of paths
+   * @return The statistics, or None when any of the partitions has no registered storage files
+   */
+  protected def herdStatistics(paths: Seq[Path]): Option[HerdStatistics] = {
+    val registeredFiles = getRegisteredFiles(paths).map(_._2)
+
+    if (registeredFiles.exists(_.isEmpty)) {
+      None
+    } else {
+      val files = registeredFiles.flatMap(_.get)
+      val rowCounts = files.map(_.rowCount)
+
+      Some(HerdStatistics(
+        BigInt(files.map(_.size).sum),
+        if (rowCounts.forall(_.isDefined)) Some(BigInt(rowCounts.flatten.sum)) else None
+      ))
     }
   }
 
@@ -157,6 +266,7 @@ private[sql] abstract class HerdFileIndexBase(
 
   override def refresh(): Unit = {
     cachedAllFiles.clear()
+    cachedRegisteredFiles.clear()
   }
 
   override def sizeInBytes: Long = Long.MaxValue
@@ -177,6 +287,9 @@ private[sql] abstract class HerdFileIndexBase(
 
 private object HerdFileIndexBase extends Logging with Serializable {
 
+  /** The number of partitions whose registered storage files are fetched with a single Herd API client */
+  val HerdFileListingPageSize = 100
+
   def parsePartitionPath(path: String): Map[String, Option[String]] = {
     path.split("/").map(_.split("=")).map(i => i.head -> i.drop(1).headOption).toMap
   }
@@ -206,6 +319,55 @@ private object HerdFileIndexBase extends Logging with Serializable {
     )
   }
 
+  /**
+   * Find all files registered in Herd for the specified partitions
+   *
+   * @param api                The ApiClient instance needed by Herd SDK
+   * @param partitions         The page of partitions to look up
+   * @param namespace          The namespace
+   * @param businessObjectName The business object definition name
+   * @param formatUsage        The business object format usage (e.g. PRC).
+   * @param formatFileType     The business object format file type (e.g. GZ).
+   * @param partitionKey       The business object format partition key.
+   * @param storagePathPrefix  The storage path prefix (e.g. s3a://)
+   * @return list of registered files per partition path, or None when the partition has no registered storage files
+   *         or has storage files registered without a file size
+   */
+  def listRegisteredFiles(api: HerdApi, partitions: Seq[(Integer, String, Seq[String], Integer, String)], namespace: String,
+                          businessObjectName: String, formatUsage: String, formatFileType: String, partitionKey: String,
+                          storagePathPrefix: String): Seq[(String, Option[Array[RegisteredFile]])] = {
+    partitions.map {
+      case (formatVersion, partitionValue, subPartitionValues, dataVersion, partitionLocation) =>
+        val businessObjectData = api.getBusinessObjectData(namespace, businessObjectName, formatUsage, formatFileType, formatVersion,
+          partitionKey, partitionValue, subPartitionValues, dataVersion)
+
+        // the partition location is made of the bucket name followed by the s3 key prefix
+        val bucketName = StringUtils.substringBefore(partitionLocation, "/")
+        val s3KeyPrefix = StringUtils.appendIfMissing(StringUtils.substringAfter(partitionLocation, "/"), "/")
+
+        val storageFiles = Option(businessObjectData.getStorageUnits).map(_.asScala).getOrElse(Seq.empty)
+          .flatMap(storageUnit => Option(storageUnit.getStorageFiles).map(_.asScala).getOrElse(Seq.empty))
+
+        val partitionStorageFiles = storageFiles
+          .filter(storageFile => storageFile.getFilePath.startsWith(s3KeyPrefix))
+          // ignore _committed_ file
+          .filterNot(storageFile => new Path(storageFile.getFilePath).getName.matches("^_committed_.*$"))
+
+        // a file status needs the file size, so storage files registered without one can only be listed from S3
+        val files = if (storageFiles.isEmpty || partitionStorageFiles.exists(_.getFileSizeBytes == null)) {
+          None
+        } else {
+          Some(partitionStorageFiles
+            .map(storageFile => RegisteredFile(getPathByAddingStoragePrefix(bucketName + "/" + storageFile.getFilePath, storagePathPrefix),
+              storageFile.getFileSizeBytes.longValue(), Option(storageFile.getRowCount).map(_.longValue())))
+            .distinct
+            .toArray)
+        }
+
+        (partitionLocation, files)
+    }
+  }
+
   /**
    * List all files under the s3 directories(aka S3 key prefixes)
    *
@@ -235,3 +397,23 @@ private object HerdFileIndexBase extends Logging with Serializable {
   }
 
 }
+
+/** A storage file registered in Herd
+ *
+ * @param path     The full path of the file, including the storage path prefix
+ * @param size     The file size in bytes
+ * @param rowCount The row count, if registered
+ */
+private[sql] case class RegisteredFile(path: String, size: Long, rowCount: Option[Long])
+
+/** The size and row count of a set of herd partitions, computed from the storage files registered in Herd
+ *
+ * @param sizeInBytes The total size of the registered storage files
+ * @param rowCount    The total row count, if every registered storage file has a row count
+ */
+case class HerdStatistics(sizeInBytes: BigInt, rowCount: Option[BigInt]) {
+
+  def sizeInBytesAsLong: Long = sizeInBytes.min(Long.MaxValue).toLong
+
+  def toCatalogStatistics: CatalogStatistics = CatalogStatistics(sizeInBytes, rowCount)
+}
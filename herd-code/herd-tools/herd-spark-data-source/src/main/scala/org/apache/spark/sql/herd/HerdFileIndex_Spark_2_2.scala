@@ -32,7 +32,9 @@ private[sql] class HerdFileIndex(
                                   formatFileType: String,
                                   partitionKey: String,
                                   herdPartitionSchema: StructType,
-                                  storagePathPrefix: String)
+                                  storagePathPrefix: String,
+                                  useHerdFileListing: Boolean = false,
+                                  useHerdStatistics: Boolean = false)
   extends HerdFileIndexBase(
     sparkSession,
     api,
@@ -43,19 +45,27 @@ private[sql] class HerdFileIndex(
     formatFileType,
     partitionKey,
     herdPartitionSchema,
-    storagePathPrefix) {
+    storagePathPrefix,
+    useHerdFileListing,
+    useHerdStatistics) {
 
   override def listFiles(
                           filters: Seq[Expression],
                           dataFilters: scala.Seq[org.apache.spark.sql.catalyst.expressions.Expression]
                         ): Seq[PartitionDirectory] = {
 
-    val prunedPartitions = if (partitionSpec.partitionColumns.isEmpty) {
+    listPartitionDirectories(selectPartitions(filters))
+  }
+
+  private def selectPartitions(filters: Seq[Expression]): Seq[PartitionPath] = {
+    if (partitionSpec.partitionColumns.isEmpty) {
       partitionSpec.partitions
     } else {
       prunePartitions(filters, partitionSpec)
     }
+  }
 
+  private def listPartitionDirectories(prunedPartitions: Seq[PartitionPath]): Seq[PartitionDirectory] = {
     val selectedPartitions = {
 
       cachedAllFiles ++= bulkListLeafFiles(prunedPartitions.map(partitionPath => Seq(partitionPath.path)).flatten, formatFileType)
@@ -106,17 +116,23 @@ private[sql] class HerdFileIndex(
   }
 
   override def filterPartitions(filters: Seq[Expression]): FileIndex = {
-    val files = listFiles(filters, Seq.empty).toArray
-    new PrunedHerdFileIndex(files, partitionSchema)
+    val prunedPartitions = selectPartitions(filters)
+    val files = listPartitionDirectories(prunedPartitions).toArray
+    // Only the pruned partitions are looked up in Herd for statistics, since each lookup is a Herd API call per partition
+    val statistics = if (useHerdStatistics) herdStatistics(prunedPartitions.map(_.path)) else None
+    new PrunedHerdFileIndex(files, partitionSchema, statistics)
   }
 
 }
 
-class PrunedHerdFileIndex(files: Array[PartitionDirectory], override val partitionSchema: StructType) extends FileIndex {
+class PrunedHerdFileIndex(
+                           files: Array[PartitionDirectory],
+                           override val partitionSchema: StructType,
+                           val statistics: Option[HerdStatistics] = None) extends FileIndex {
 
-  override def sizeInBytes: Long = files
+  override def sizeInBytes: Long = statistics.map(_.sizeInBytesAsLong).getOrElse(files
     .flatMap(_.files.asInstanceOf[Seq[Any]])
-    .map(FileStatusShim.getLen).sum
+    .map(FileStatusShim.getLen).sum)
 
   override def listFiles(partitionFilters: Seq[Expression], dataFilters: Seq[Expression]): Seq[PartitionDirectory] = {
     files
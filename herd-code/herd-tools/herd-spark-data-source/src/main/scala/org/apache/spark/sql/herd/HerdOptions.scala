@@ -73,7 +73,9 @@ private case class HerdOptions(
   partitionValue: Option[String],
   subPartitions: Array[String],
   storageName: String,
-  storagePathPrefix: String
+  storagePathPrefix: String,
+  useHerdFileListing: Boolean,
+  useHerdStatistics: Boolean
 )
 
 // todo: massive clean up needed here, remove defaults
@@ -162,6 +164,16 @@ private object HerdOptions {
       .orElse(sparkSession.conf.getOption("spark.herd.default.storagePathPrefix"))
       .getOrElse("s3a://")
 
+    val useHerdFileListing = input.get("useHerdFileListing")
+      .orElse(sparkSession.conf.getOption("spark.herd.default.useHerdFileListing"))
+      .getOrElse("false")
+      .toBoolean
+
+    val useHerdStatistics = input.get("useHerdStatistics")
+      .orElse(sparkSession.conf.getOption("spark.herd.default.useHerdStatistics"))
+      .getOrElse("false")
+      .toBoolean
+
     HerdOptions(
       namespace,
       businessObjectName,
@@ -179,7 +191,9 @@ private object HerdOptions {
       partitionValue,
       subPartitions,
       storageName,
-      storagePathPrefix
+      storagePathPrefix,
+      useHerdFileListing,
+      useHerdStatistics
     )
   }
 }
@@ -355,6 +355,59 @@ class DefaultSourceSuite extends FunSuite with BeforeAndAfterAll with Matchers {
     result should contain theSameElementsAs(expected)
   }
 
+  test("load all partitions using storage files registered in herd and filter") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataPartitions.json",
+      ("2017-01-01", "") -> "businessObjectData1.json",
+      ("2017-01-02", "") -> "businessObjectData2.json"
+    )
+    val df = getDataFrame(new BaseHerdApi("test-case-1", parts), defaultParams + ("useHerdFileListing" -> "true"))
+
+    val result = df.filter('sdate === "2017-01-01").collect()
+
+    val fmt = new SimpleDateFormat("yyyy-MM-dd")
+    val sdate = fmt.parse("2017-01-01")
+
+    val expected = EXPECTED_ROWS.filter(_.getDate(0) == sdate)
+
+    result should contain theSameElementsAs(expected)
+  }
+
+  test("report the size of pruned partitions from storage files registered in herd") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataPartitions.json",
+      ("2017-01-01", "") -> "businessObjectData1.json",
+      ("2017-01-02", "") -> "businessObjectData2.json"
+    )
+    val api = new BaseHerdApi("test-case-1", parts) {
+      override def getBusinessObjectData(namespace: String, businessObjectName: String, formatUsage: String,
+                                         formatFileType: String, formatVersion: Integer, partitionKey: String,
+                                         partitionValue: String, subPartitionValues: Seq[String],
+                                         dataVersion: Integer): BusinessObjectData = {
+        val data = super.getBusinessObjectData(namespace, businessObjectName, formatUsage, formatFileType, formatVersion,
+          partitionKey, partitionValue, subPartitionValues, dataVersion)
+
+        // register file sizes that differ from the sizes of the files on disk
+        data.getStorageUnits.asScala.flatMap(_.getStorageFiles.asScala).foreach(_.setFileSizeBytes(1000L))
+
+        data
+      }
+    }
+    val df = getDataFrame(api, defaultParams + ("useHerdStatistics" -> "true"))
+
+    // relations read without partition filters are not looked up in herd, so their size stays unknown
+    df.queryExecution.optimizedPlan.stats.sizeInBytes shouldBe BigInt(Long.MaxValue)
+
+    val prunedStats = df.filter('sdate === "2017-01-01").queryExecution.optimizedPlan.stats
+    prunedStats.sizeInBytes shouldBe BigInt(1000)
+    // relations loaded through the data source options have no catalog table to carry the row count
+    prunedStats.rowCount shouldBe None
+
+    // without herd statistics the size of pruned partitions is the size of the listed files
+    val listedStats = getDataFrame(api, defaultParams).filter('sdate === "2017-01-01").queryExecution.optimizedPlan.stats
+    listedStats.sizeInBytes shouldBe BigInt(88)
+  }
+
   test("load non-partitioned data") {
     val parts = Map(("none", "") -> "businessObjectDataPartitions.json")
     val df = getDataFrame(new BaseHerdApi("test-case-2", parts), defaultParams)
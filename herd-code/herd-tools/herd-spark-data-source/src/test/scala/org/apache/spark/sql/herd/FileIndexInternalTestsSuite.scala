@@ -4,6 +4,9 @@ import org.junit.Assert._
 import org.junit.runner.RunWith
 import org.scalatest.FunSuite
 import org.scalatest.junit.JUnitRunner
+import scala.collection.JavaConverters._
+
+import org.finra.herd.sdk.model.BusinessObjectData
 
 @RunWith(classOf[JUnitRunner])
 class FileIndexInternalTestsSuite extends FunSuite {
@@ -15,4 +18,67 @@ class FileIndexInternalTestsSuite extends FunSuite {
     val foundMatch = fileName.matches(committedRegex)
     assertTrue(foundMatch)
   }
+
+  test("Registered storage files should be listed from herd") {
+    val parts = Map(
+      ("2017-01-01", "") -> "businessObjectData1.json",
+      ("2017-01-02", "") -> "businessObjectData2.json"
+    )
+    val api = new BaseHerdApi("test-case-1", parts) {
+      override def getBusinessObjectData(namespace: String, businessObjectName: String, formatUsage: String,
+                                         formatFileType: String, formatVersion: Integer, partitionKey: String,
+                                         partitionValue: String, subPartitionValues: Seq[String],
+                                         dataVersion: Integer): BusinessObjectData = {
+        val data = super.getBusinessObjectData(namespace, businessObjectName, formatUsage, formatFileType, formatVersion,
+          partitionKey, partitionValue, subPartitionValues, dataVersion)
+
+        // emulate business object data registered without storage files
+        if (partitionValue == "2017-01-02") {
+          data.getStorageUnits.asScala.foreach(_.setStorageFiles(null))
+        }
+
+        data
+      }
+    }
+
+    val partitions = Seq[(Integer, String, Seq[String], Integer, String)](
+      (0, "2017-01-01", Seq.empty, 0, "src/src/test/resources/test/prc/csv/foo/schm-v0/data-v0/sdate=2017-01-01"),
+      (0, "2017-01-02", Seq.empty, 1, "src/src/test/resources/test/prc/csv/foo/schm-v0/data-v1/sdate=2017-01-02")
+    )
+
+    val files = HerdFileIndexBase.listRegisteredFiles(api, partitions, "FOO", "TEST", "PRC", "CSV", "sdate", "s3a://")
+
+    assertEquals(2, files.size)
+    assertEquals(partitions(0)._5, files(0)._1)
+    assertEquals(Seq(RegisteredFile("s3a://src/src/test/resources/test/prc/csv/foo/schm-v0/data-v0/sdate=2017-01-01/file0.csv", 88L, None)),
+      files(0)._2.get.toSeq)
+    assertEquals(partitions(1)._5, files(1)._1)
+    assertEquals(None, files(1)._2)
+  }
+
+  test("Registered storage files without a file size should not be listed from herd") {
+    val parts = Map(("2017-01-01", "") -> "businessObjectData1.json")
+    val api = new BaseHerdApi("test-case-1", parts) {
+      override def getBusinessObjectData(namespace: String, businessObjectName: String, formatUsage: String,
+                                         formatFileType: String, formatVersion: Integer, partitionKey: String,
+                                         partitionValue: String, subPartitionValues: Seq[String],
+                                         dataVersion: Integer): BusinessObjectData = {
+        val data = super.getBusinessObjectData(namespace, businessObjectName, formatUsage, formatFileType, formatVersion,
+          partitionKey, partitionValue, subPartitionValues, dataVersion)
+
+        // emulate storage files registered without a file size
+        data.getStorageUnits.asScala.flatMap(_.getStorageFiles.asScala).foreach(_.setFileSizeBytes(null))
+
+        data
+      }
+    }
+
+    val partitions = Seq[(Integer, String, Seq[String], Integer, String)](
+      (0, "2017-01-01", Seq.empty, 0, "src/src/test/resources/test/prc/csv/foo/schm-v0/data-v0/sdate=2017-01-01")
+    )
+
+    val files = HerdFileIndexBase.listRegisteredFiles(api, partitions, "FOO", "TEST", "PRC", "CSV", "sdate", "s3a://")
+
+    assertEquals(Seq((partitions(0)._5, None)), files)
+  }
 }
@@ -80,6 +80,18 @@ class HerdOptionsSuite extends FunSuite with Matchers with BeforeAndAfterAll {
     val herdOptionsNoStoragePrefix: HerdOptions = HerdOptions(getDefaultHerdOptions - "storagePathPrefix")(spark)
     assert(!herdOptionsNoStoragePrefix.storagePathPrefix.isEmpty, "storagePathPrefix should have a default value")
     herdOptionsNoStoragePrefix.storagePathPrefix shouldBe "s3a://"
+
+    val herdOptionsNoHerdFileListing: HerdOptions = HerdOptions(getDefaultHerdOptions)(spark)
+    herdOptionsNoHerdFileListing.useHerdFileListing shouldBe false
+
+    val herdOptionsHerdFileListing: HerdOptions = HerdOptions(getDefaultHerdOptions + ("useHerdFileListing" -> "true"))(spark)
+    herdOptionsHerdFileListing.useHerdFileListing shouldBe true
+
+    val herdOptionsNoHerdStatistics: HerdOptions = HerdOptions(getDefaultHerdOptions)(spark)
+    herdOptionsNoHerdStatistics.useHerdStatistics shouldBe false
+
+    val herdOptionsHerdStatistics: HerdOptions = HerdOptions(getDefaultHerdOptions + ("useHerdStatistics" -> "true"))(spark)
+    herdOptionsHerdStatistics.useHerdStatistics shouldBe true
   }
 
   test("validate that subPartitionKeys/Values are valid that are read correctly") {
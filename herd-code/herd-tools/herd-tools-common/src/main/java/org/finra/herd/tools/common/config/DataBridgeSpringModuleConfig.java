@@ -21,6 +21,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.AwsS3ClientFactory;
@@ -28,6 +29,7 @@ import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.SimpleExponentialBackoffStrategy;
 import org.finra.herd.dao.StsDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
@@ -96,6 +98,13 @@ public class DataBridgeSpringModuleConfig
         return new ConfigurationHelper();
     }
 
+    // This dependency is required when S3Dao is used.
+    @Bean
+    public AsyncTaskExecutor daoTaskExecutor()
+    {
+        return DaoSpringModuleConfig.createDaoTaskExecutor(configurationHelper());
+    }
+
     @Bean
     public HerdStringHelper herdStringHelper()
     {
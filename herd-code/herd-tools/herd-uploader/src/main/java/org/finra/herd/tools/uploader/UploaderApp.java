@@ -50,11 +50,17 @@ public class UploaderApp extends DataBridgeApp
 
     private Option forceOpt;
 
+    private Option uploadJournalPathOpt;
+
+    private Option fileParallelismOpt;
+
     // Integer values for command line options that are of type "Integer".
     private Integer maxRetryAttempts;
 
     private Integer retryDelaySecs;
 
+    private Integer fileParallelism;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
@@ -70,6 +76,12 @@ public class UploaderApp extends DataBridgeApp
 
     private static final Integer RETRY_DELAY_SECS_MAX = 900;        // Maximum delay in seconds between the business object data registration retry attempts.
 
+    private static final Integer FILE_PARALLELISM_DEFAULT = 4;      // Default number of files uploaded concurrently by a resumable upload.
+
+    private static final Integer FILE_PARALLELISM_MIN = 1;          // Minimum number of files uploaded concurrently by a resumable upload.
+
+    private static final Integer FILE_PARALLELISM_MAX = 100;        // Maximum number of files uploaded concurrently by a resumable upload.
+
     /**
      * Constructs a new UploaderApp instance.
      */
@@ -87,6 +99,11 @@ public class UploaderApp extends DataBridgeApp
             argParser.addArgument("D", "retryDelaySecs", true, "The delay in seconds between the business object data registration retry attempts.", false);
         forceOpt = argParser.addArgument("f", "force", false,
             "If set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version.", false);
+        uploadJournalPathOpt = argParser.addArgument("j", "uploadJournalPath", true,
+            "If set, makes the upload resumable by recording its progress in the specified local file. When the upload fails, the business object data is " +
+                "kept in UPLOADING state and running the uploader again with the same upload journal skips the content already uploaded to S3.", false);
+        fileParallelismOpt = argParser.addArgument("F", "fileParallelism", true,
+            "The maximum number of files uploaded concurrently by a resumable upload. The parts of each file are uploaded by the maxThreads threads.", false);
     }
 
     /**
@@ -113,6 +130,7 @@ public class UploaderApp extends DataBridgeApp
             // Extract uploader specific Integer option values here to catch any NumberFormatException exceptions.
             maxRetryAttempts = argParser.getIntegerValue(maxRetryAttemptsOpt, MAX_RETRY_ATTEMPTS_DEFAULT, MAX_RETRY_ATTEMPTS_MIN, MAX_RETRY_ATTEMPTS_MAX);
             retryDelaySecs = argParser.getIntegerValue(retryDelaySecsOpt, RETRY_DELAY_SECS_DEFAULT, RETRY_DELAY_SECS_MIN, RETRY_DELAY_SECS_MAX);
+            fileParallelism = argParser.getIntegerValue(fileParallelismOpt, FILE_PARALLELISM_DEFAULT, FILE_PARALLELISM_MIN, FILE_PARALLELISM_MAX);
         }
         catch (Exception ex)
         {
@@ -152,7 +170,8 @@ public class UploaderApp extends DataBridgeApp
                 .withAwsAccessKeyId(argParser.getStringValue(s3AccessKeyOpt)).withAwsSecretKey(argParser.getStringValue(s3SecretKeyOpt))
                 .withS3Endpoint(argParser.getStringValue(s3EndpointOpt)).withMaxThreads(maxThreads)
                 .withHttpProxyHost(argParser.getStringValue(httpProxyHostOpt)).withHttpProxyPort(httpProxyPort)
-                .withSocketTimeout(argParser.getIntegerValue(socketTimeoutOpt)).build();
+                .withSocketTimeout(argParser.getIntegerValue(socketTimeoutOpt)).withUploadJournalPath(argParser.getStringValue(uploadJournalPathOpt))
+                .withFileParallelism(fileParallelism).build();
 
         // Call the controller with the user specified parameters to perform the upload.
         UploaderController controller = applicationContext.getBean(UploaderController.class);
@@ -18,6 +18,7 @@ package org.finra.herd.tools.uploader;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
@@ -30,6 +31,7 @@ import com.amazonaws.services.s3.model.S3ObjectSummary;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.finra.herd.sdk.invoker.ApiException;
 import org.finra.herd.sdk.model.BusinessObjectData;
@@ -53,6 +55,7 @@ import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.tools.common.dto.ManifestFile;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileUploadJournalDto;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.tools.common.databridge.AutoRefreshCredentialProvider;
 import org.finra.herd.tools.common.databridge.DataBridgeController;
@@ -65,6 +68,8 @@ public class UploaderController extends DataBridgeController
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(UploaderController.class);
 
+    private static final Integer MIN_FILE_PARALLELISM = 1;  // Minimum number of files to be uploaded concurrently by a resumable upload.
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
@@ -92,7 +97,8 @@ public class UploaderController extends DataBridgeController
      * <li><code>s3SecretKey</code> the S3 secret key <li><code>localPath</code> the local path to directory containing data files
      * <li><code>httpProxyHost</code> the HTTP proxy host <li><code>httpProxyPort</code> the HTTP proxy port <li><code>maxThreads</code> the maximum number of
      * threads to use for file transfer to S3< <li><code>useRrs</code> specifies whether S3 reduced redundancy storage option will be used when copying to S3
-     * </ul>
+     * <li><code>uploadJournalPath</code> the optional local path to the upload journal that makes the upload resumable <li><code>fileParallelism</code> the
+     * maximum number of files to upload concurrently when the upload is resumable </ul>
      * @param createNewVersion if not set, only initial version of the business object data is allowed to be created
      * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
      * @param maxRetryAttempts the maximum number of the business object data registration retry attempts
@@ -115,6 +121,9 @@ public class UploaderController extends DataBridgeController
         boolean cleanUpS3KeyPrefixOnFailure = false;
         BusinessObjectDataKey businessObjectDataKey = null;
 
+        // When an upload journal is specified, a failed upload keeps its business object data and the files already uploaded to S3, so it can be resumed.
+        boolean resumableUpload = StringUtils.isNotBlank(params.getUploadJournalPath());
+
         try
         {
             // Process manifest file
@@ -138,14 +147,29 @@ public class UploaderController extends DataBridgeController
             // Initialize uploader web client.
             uploaderWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-            // Handle the latest business object data version if one exists.
-            checkLatestBusinessObjectDataVersion(manifest, force);
+            // Read the upload journal left behind by a previously failed upload, if one exists.
+            S3FileUploadJournalDto uploadJournal = resumableUpload ? readUploadJournal(params.getUploadJournalPath()) : null;
 
-            // Pre-register a new version of business object data in UPLOADING state with the registration server.
-            BusinessObjectData businessObjectData = uploaderWebClient.preRegisterBusinessObjectData(manifest, storageName, createNewVersion);
+            // Handle the latest business object data version if one exists. This returns the key of the business object data to resume the upload for, if any.
+            businessObjectDataKey = checkLatestBusinessObjectDataVersion(manifest, force, uploadJournal);
+
+            String s3KeyPrefix;
+            if (businessObjectDataKey == null)
+            {
+                // Pre-register a new version of business object data in UPLOADING state with the registration server.
+                BusinessObjectData businessObjectData = uploaderWebClient.preRegisterBusinessObjectData(manifest, storageName, createNewVersion);
 
-            // Get business object data key.
-            businessObjectDataKey = uploaderWebClient.getBusinessObjectDataKey(businessObjectData);
+                // Get business object data key.
+                businessObjectDataKey = uploaderWebClient.getBusinessObjectDataKey(businessObjectData);
+
+                // Get S3 key prefix from the business object data pre-registration response.
+                s3KeyPrefix = IterableUtils.get(businessObjectData.getStorageUnits(), 0).getStorageDirectory().getDirectoryPath();
+            }
+            else
+            {
+                // Resume the upload to the S3 key prefix recorded in the upload journal, which was already validated against the business object data.
+                s3KeyPrefix = StringUtils.removeEnd(uploadJournal.getS3KeyPrefix(), "/");
+            }
 
             // Get the business object data version.
             Integer businessObjectDataVersion = businessObjectDataKey.getBusinessObjectDataVersion();
@@ -161,9 +185,6 @@ public class UploaderController extends DataBridgeController
                 }
             });
 
-            // Get S3 key prefix from the business object data pre-registration response.
-            String s3KeyPrefix = IterableUtils.get(businessObjectData.getStorageUnits(), 0).getStorageDirectory().getDirectoryPath();
-
             // Get S3 bucket information.
             Storage storage = uploaderWebClient.getStorage(storageName);
 
@@ -180,15 +201,26 @@ public class UploaderController extends DataBridgeController
             // Special handling for the maxThreads command line option.
             params.setMaxThreads(adjustIntegerValue(params.getMaxThreads(), MIN_THREADS, MAX_THREADS));
 
+            // The files are uploaded concurrently only by a resumable upload, while their parts are uploaded by the maxThreads threads in either case.
+            if (params.getFileParallelism() != null)
+            {
+                params.setFileParallelism(adjustIntegerValue(params.getFileParallelism(), MIN_FILE_PARALLELISM, MAX_THREADS));
+            }
+
             // Populate several missing fields in the S3 file transfer request parameters DTO.
             params.setS3BucketName(s3BucketName);
             // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
             params.setS3KeyPrefix(s3KeyPrefix + "/");
             params.setFiles(sourceFiles);
 
-            // Check if the destination S3 key prefix is empty.
+            // Check if the destination S3 key prefix is empty, unless resuming an upload that already put some of the files there.
             // When listing S3 files, by default, we do not ignore 0 byte objects that represent S3 directories.
-            if (s3Service.listDirectory(params).isEmpty())
+            if (uploadJournal != null)
+            {
+                LOGGER.info(String.format("Resuming the upload to the S3 key prefix \"%s\" in bucket \"%s\" using the upload journal \"%s\".",
+                    params.getS3KeyPrefix(), params.getS3BucketName(), params.getUploadJournalPath()));
+            }
+            else if (s3Service.listDirectory(params).isEmpty())
             {
                 cleanUpS3KeyPrefixOnFailure = true;
             }
@@ -200,7 +232,14 @@ public class UploaderController extends DataBridgeController
             }
 
             // Upload files.
-            s3Service.uploadFileList(params);
+            if (resumableUpload)
+            {
+                s3Service.uploadFileListResumable(params);
+            }
+            else
+            {
+                s3Service.uploadFileList(params);
+            }
 
             // Get the list of files uploaded to S3 key prefix.
             if (LOGGER.isInfoEnabled())
@@ -213,9 +252,24 @@ public class UploaderController extends DataBridgeController
 
             // Change status of the business object data to VALID.
             uploaderWebClient.updateBusinessObjectDataStatus(businessObjectDataKey, BusinessObjectDataStatusEntity.VALID);
+
+            // The upload is complete, so its journal is no longer needed.
+            if (resumableUpload)
+            {
+                FileUtils.deleteQuietly(new File(params.getUploadJournalPath()));
+            }
         }
         catch (ApiException | URISyntaxException e)
         {
+            // Once a resumable upload has started writing its journal, keep the business object data in UPLOADING state along with the files already
+            // uploaded to S3, so the upload can be resumed by running the uploader again with the same upload journal.
+            if (resumableUpload && new File(params.getUploadJournalPath()).isFile())
+            {
+                LOGGER.warn(String.format("Keeping the business object data in UPLOADING state, so the upload can be resumed using the upload journal \"%s\".",
+                    params.getUploadJournalPath()));
+                throw e;
+            }
+
             // If we got to the point of checking the target S3 key prefix before this failure
             // occurred, let's rollback the data transfer (clean up the S3 key prefix).
             if (cleanUpS3KeyPrefixOnFailure)
@@ -299,13 +353,17 @@ public class UploaderController extends DataBridgeController
      *
      * @param manifest the uploader input manifest
      * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
+     * @param uploadJournal the upload journal left behind by a previously failed upload, may be null
+     *
+     * @return the key of the latest business object data version to resume the upload for, or null if a new business object data version is to be registered
      * @throws URISyntaxException if a URI syntax error was encountered
      * @throws KeyStoreException if a key store exception occurs
      * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
      * @throws KeyManagementException if key management exception
      * @throws ApiException if an Api exception was encountered
      */
-    private void checkLatestBusinessObjectDataVersion(UploaderInputManifestDto manifest, Boolean force)
+    private BusinessObjectDataKey checkLatestBusinessObjectDataVersion(UploaderInputManifestDto manifest, Boolean force,
+        S3FileUploadJournalDto uploadJournal)
         throws ApiException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         // Retrieve all already registered versions for this business object data.
@@ -320,35 +378,58 @@ public class UploaderController extends DataBridgeController
 
         BusinessObjectDataVersions businessObjectDataVersions = uploaderWebClient.getBusinessObjectDataVersions(businessObjectDataKey);
 
-        // Check if the latest version of the business object data.
+        // Get the latest version of the business object data.
+        BusinessObjectDataVersion latestBusinessObjectDataVersion = null;
         if (CollectionUtils.isNotEmpty(businessObjectDataVersions.getBusinessObjectDataVersions()))
         {
-            BusinessObjectDataVersion latestBusinessObjectDataVersion =
+            latestBusinessObjectDataVersion =
                 businessObjectDataVersions.getBusinessObjectDataVersions().get(businessObjectDataVersions.getBusinessObjectDataVersions().size() - 1);
+        }
 
-            // Check if the latest version of the business object data is in UPLOADING state.
-            if (BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataVersion.getStatus()))
+        // Check if the latest version of the business object data is in UPLOADING state.
+        boolean latestVersionUploading =
+            latestBusinessObjectDataVersion != null && BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataVersion.getStatus());
+        if (latestVersionUploading)
+        {
+            LOGGER.info(String.format("Found the latest version of the business object data in UPLOADING state. businessObjectDataKey=%s",
+                jsonHelper.objectToJson(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
+        }
+
+        // An upload journal can only be used to resume the upload of the latest business object data version, when that version is still in UPLOADING state.
+        if (uploadJournal != null)
+        {
+            if (latestVersionUploading && StringUtils.equals(uploadJournal.getS3KeyPrefix(), uploaderWebClient
+                .getBusinessObjectDataS3KeyPrefix(manifest, latestBusinessObjectDataVersion.getBusinessObjectDataKey().getBusinessObjectDataVersion()) + "/"))
             {
-                LOGGER.info(String.format("Found the latest version of the business object data in UPLOADING state. businessObjectDataKey=%s",
-                    jsonHelper.objectToJson(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
+                return latestBusinessObjectDataVersion.getBusinessObjectDataKey();
+            }
 
-                if (force)
-                {
-                    // If the "force" flag is set, change the status of the latest business object data version to INVALID.
-                    uploaderWebClient
-                        .updateBusinessObjectDataStatus(latestBusinessObjectDataVersion.getBusinessObjectDataKey(), BusinessObjectDataStatusEntity.INVALID);
-                }
-                else
-                {
-                    // Fail the upload due to the status of the latest business object data version being UPLOADING.
-                    throw new IllegalArgumentException(String.format(
-                        "Unable to register business object data because the latest business object data version is detected in UPLOADING state. " +
-                            "Please use -force option to invalidate the latest business object version and allow upload to proceed. " +
-                            "Business object data {%s}",
-                            ToolsDtoHelper.businessObjectDataKeyToString(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
-                }
+            throw new IllegalArgumentException(String.format(
+                "Unable to resume the upload because the upload journal does not belong to the latest business object data version in UPLOADING state. " +
+                    "Please remove the upload journal or specify a different upload journal path. Upload journal S3 key prefix: \"%s\".",
+                uploadJournal.getS3KeyPrefix()));
+        }
+
+        if (latestVersionUploading)
+        {
+            if (force)
+            {
+                // If the "force" flag is set, change the status of the latest business object data version to INVALID.
+                uploaderWebClient
+                    .updateBusinessObjectDataStatus(latestBusinessObjectDataVersion.getBusinessObjectDataKey(), BusinessObjectDataStatusEntity.INVALID);
+            }
+            else
+            {
+                // Fail the upload due to the status of the latest business object data version being UPLOADING.
+                throw new IllegalArgumentException(String.format(
+                    "Unable to register business object data because the latest business object data version is detected in UPLOADING state. " +
+                        "Please use -force option to invalidate the latest business object version and allow upload to proceed. " +
+                        "Business object data {%s}",
+                        ToolsDtoHelper.businessObjectDataKeyToString(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
             }
         }
+
+        return null;
     }
 
     /**
@@ -430,6 +511,26 @@ public class UploaderController extends DataBridgeController
         return resultFiles;
     }
 
+    /**
+     * Reads the upload journal left behind by a previously failed resumable upload.
+     *
+     * @param uploadJournalPath the local path to the upload journal
+     *
+     * @return the upload journal or null if the upload journal file does not exist
+     * @throws IOException if the upload journal could not be read
+     */
+    private S3FileUploadJournalDto readUploadJournal(String uploadJournalPath) throws IOException
+    {
+        File uploadJournalFile = new File(uploadJournalPath);
+
+        if (!uploadJournalFile.isFile())
+        {
+            return null;
+        }
+
+        return jsonHelper.unmarshallJsonToObject(S3FileUploadJournalDto.class, FileUtils.readFileToString(uploadJournalFile, StandardCharsets.UTF_8));
+    }
+
     /**
      * Logs all files found in the specified S3 location.
      *
@@ -101,6 +101,25 @@ public class UploaderWebClient extends DataBridgeWebClient
         return sdkResponse;
     }
 
+    /**
+     * Retrieves the S3 key prefix of the specified business object data version from the registration server.
+     *
+     * @param manifest the manifest file information
+     * @param businessObjectDataVersion the business object data version
+     *
+     * @return the S3 key prefix
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     * @throws ApiException if an Api exception was encountered
+     */
+    public String getBusinessObjectDataS3KeyPrefix(DataBridgeBaseManifestDto manifest, Integer businessObjectDataVersion)
+        throws ApiException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        return getS3KeyPrefix(manifest, businessObjectDataVersion, false).getS3KeyPrefix();
+    }
+
     /**
      * Updates the business object data status. This method does not fail in case business object data status update is unsuccessful, but simply logs the
      * exception information as a warning.
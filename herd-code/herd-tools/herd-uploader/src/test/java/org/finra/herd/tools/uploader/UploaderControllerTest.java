@@ -16,10 +16,12 @@
 package org.finra.herd.tools.uploader;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -232,6 +234,83 @@ public class UploaderControllerTest extends AbstractUploaderTest
         runUpload(UploaderController.MIN_THREADS);
     }
 
+    @Test
+    public void testPerformUploadResumable() throws Exception
+    {
+        // Upload and register business object data parents.
+        uploadAndRegisterTestDataParents(uploaderWebClient);
+
+        // Create local data files in LOCAL_TEMP_PATH_INPUT directory
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), manifestFile.getFileName(), FILE_SIZE_1_KB);
+        }
+
+        // Create uploader input manifest file in LOCAL_TEMP_PATH_INPUT directory
+        File manifestFile = createManifestFile(LOCAL_TEMP_PATH_INPUT.toString(), getTestUploaderInputManifestDto());
+        Assert.assertTrue(manifestFile.isFile());
+
+        // Perform a resumable upload.
+        File uploadJournalFile = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), "upload-journal.json").toFile();
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(LOCAL_TEMP_PATH_INPUT.toString());
+        s3FileTransferRequestParamsDto.setMaxThreads(UploaderController.MIN_THREADS);
+        s3FileTransferRequestParamsDto.setFileParallelism(2);
+        s3FileTransferRequestParamsDto.setUploadJournalPath(uploadJournalFile.getPath());
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+        uploaderController.performUpload(regServerAccessParamsDto, manifestFile, s3FileTransferRequestParamsDto, false, false, TEST_RETRY_ATTEMPTS,
+            TEST_RETRY_DELAY_SECS);
+
+        // Validate that the upload journal got removed once the upload completed.
+        assertFalse(uploadJournalFile.exists());
+    }
+
+    @Test
+    public void testPerformUploadResumableUploadJournalDoesNotMatchLatestBusinessObjectDataVersion() throws Exception
+    {
+        // Create local data files in LOCAL_TEMP_PATH_INPUT directory
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), manifestFile.getFileName(), FILE_SIZE_1_KB);
+        }
+
+        // Create uploader input manifest file in LOCAL_TEMP_PATH_INPUT directory
+        File manifestFile = createManifestFile(LOCAL_TEMP_PATH_INPUT.toString(), getTestUploaderInputManifestDto());
+        Assert.assertTrue(manifestFile.isFile());
+
+        // Create an upload journal left behind by an upload to some other S3 key prefix.
+        File uploadJournalFile = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), "upload-journal.json").toFile();
+        FileUtils.writeStringToFile(uploadJournalFile, "{\"s3BucketName\":\"bucket\",\"s3KeyPrefix\":\"other/prefix/\",\"files\":[]}",
+            StandardCharsets.UTF_8);
+
+        // Try to perform a resumable upload using this upload journal.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setLocalPath(LOCAL_TEMP_PATH_INPUT.toString());
+        s3FileTransferRequestParamsDto.setUploadJournalPath(uploadJournalFile.getPath());
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+        try
+        {
+            uploaderController.performUpload(regServerAccessParamsDto, manifestFile, s3FileTransferRequestParamsDto, false, false, TEST_RETRY_ATTEMPTS,
+                TEST_RETRY_DELAY_SECS);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Unable to resume the upload because the upload journal does not belong to the latest business object data version in UPLOADING " +
+                "state. Please remove the upload journal or specify a different upload journal path. Upload journal S3 key prefix: \"other/prefix/\".",
+                e.getMessage());
+        }
+
+        // The upload journal is kept, so it can still be used to resume the upload it belongs to.
+        assertTrue(uploadJournalFile.isFile());
+    }
+
     @Test
     public void testPerformUploadTargetS3FolderIsNotEmpty() throws Exception
     {